@@ -0,0 +1,10 @@
+#!/usr/bin/env sh
+# Runs the backend built by build-fast-startup.sh with the AOT-generated bean
+# definitions and the AppCDS archive. Arguments are passed to the application.
+set -e
+cd "$(dirname "$0")/.."
+
+exec java -XX:SharedArchiveFile=target/application/application.jsa \
+    -Xshare:auto \
+    -Dspring.aot.enabled=true \
+    -jar target/application/backend-0.0.1-SNAPSHOT-exec.jar "$@"
@@ -0,0 +1,96 @@
+package com.ashaassist.backend.admission;
+
+/**
+ * A concurrency limit that adapts to the observed latency of the downstream
+ * service. It keeps a fast and a slow moving average of the latency: while
+ * the fast average stays within a tolerance of the slow one and the limit is
+ * fully used, the limit grows additively by one per limit's worth of
+ * samples; when the fast average drifts above the tolerance the limit is
+ * pulled towards the ratio of the two averages, and on overload errors it
+ * backs off multiplicatively.
+ * <p>
+ * Latency samples are expected to be normalised by the caller, e.g. to
+ * latency per MiB of audio, so that the averages do not swing with the size
+ * of individual requests.
+ */
+public class AdaptiveLimit {
+
+    private static final double SHORT_ALPHA = 0.2;
+    private static final double LONG_ALPHA = 0.02;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double backoffRatio;
+
+    private double limit;
+    private double shortLatency;
+    private double longLatency;
+
+    /**
+     * Creates an adaptive limit.
+     *
+     * @param initialLimit the limit before any samples are seen.
+     * @param minLimit     the lowest the limit shrinks to.
+     * @param maxLimit     the highest the limit grows to.
+     * @param tolerance    how far the fast average may rise above the slow one
+     *                     before the limit shrinks, e.g. 1.5.
+     * @param backoffRatio the factor applied to the limit on an overload
+     *                     error, e.g. 0.7.
+     */
+    public AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Returns the current limit.
+     *
+     * @return the number of requests that may be in flight.
+     */
+    public synchronized int limit() {
+        return (int) limit;
+    }
+
+    /**
+     * Records a successful call.
+     *
+     * @param latencyNanos the normalised latency of the call.
+     * @param inFlight     the number of calls in flight when it was made.
+     */
+    public synchronized void onSuccess(long latencyNanos, int inFlight) {
+        if (longLatency == 0) {
+            shortLatency = latencyNanos;
+            longLatency = latencyNanos;
+            return;
+        }
+        shortLatency += SHORT_ALPHA * (latencyNanos - shortLatency);
+        longLatency += LONG_ALPHA * (latencyNanos - longLatency);
+
+        double gradient = tolerance * longLatency / shortLatency;
+        if (gradient < 1.0) {
+            // Move a fifth of the way towards limit * gradient, so one slow call does not halve the limit
+            double target = limit * Math.max(MIN_GRADIENT, gradient);
+            limit = Math.max(minLimit, limit + SMOOTHING * (target - limit));
+        } else if (inFlight >= (int) limit) {
+            // Only grow while the limit is actually the bottleneck
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    /**
+     * Records a call that failed because the downstream service is overloaded
+     * or unavailable, e.g. a timeout or a 5xx response.
+     */
+    public synchronized void onOverload() {
+        limit = Math.max(minLimit, limit * backoffRatio);
+    }
+}
@@ -0,0 +1,42 @@
+package com.ashaassist.backend.admission;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a request is shed by {@link TranscriptionAdmission} instead of
+ * being admitted.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final String reason;
+    private final Duration retryAfter;
+
+    /**
+     * Constructs a new {@code AdmissionRejectedException}.
+     *
+     * @param reason     why the request was shed, as used in the metrics.
+     * @param retryAfter how long the client should wait before retrying.
+     */
+    public AdmissionRejectedException(String reason, Duration retryAfter) {
+        super("Transcription request shed: " + reason);
+        this.reason = reason;
+        this.retryAfter = retryAfter;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Returns the {@code Retry-After} header value, in whole seconds.
+     *
+     * @return the number of seconds, at least one.
+     */
+    public String retryAfterSeconds() {
+        return Long.toString(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
+}
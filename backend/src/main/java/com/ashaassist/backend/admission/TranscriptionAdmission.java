@@ -0,0 +1,298 @@
+package com.ashaassist.backend.admission;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Admission control for the transcription pipeline. A request is admitted
+ * while fewer requests than the {@link AdaptiveLimit} are in flight and their
+ * uploads stay within the in-flight byte budget; otherwise it waits in a FIFO
+ * queue for at most the queue wait, and is shed if the queue is full, the
+ * expected wait is longer than that, or the wait runs out. The limit adapts
+ * to the Whisper latency reported through {@link #recordSuccess} and
+ * {@link #recordOverload}.
+ * <p>
+ * Meters: {@code transcription.admission.decisions{decision,reason}},
+ * {@code transcription.admission.queue.wait}, and gauges for the limit, the
+ * requests and bytes in flight and the queue depth.
+ */
+@Component
+public class TranscriptionAdmission {
+
+    private static final long MIB = 1024 * 1024;
+    private static final long MIN_NORMALISED_BYTES = 256 * 1024;
+    private static final double LATENCY_ALPHA = 0.2;
+
+    private final AdaptiveLimit limit;
+    private final long maxInFlightBytes;
+    private final int maxQueueDepth;
+    private final long maxQueueWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<Waiter> queue = new ArrayDeque<>();
+    private int inFlight;
+    private long inFlightBytes;
+    private double averageLatencyNanos;
+
+    private final Counter admittedImmediately;
+    private final Counter admittedAfterWait;
+    private final Counter shedQueueFull;
+    private final Counter shedExpectedWait;
+    private final Counter shedQueueTimeout;
+    private final Timer queueWait;
+
+    /**
+     * Constructs a new {@code TranscriptionAdmission} and registers its meters.
+     *
+     * @param meterRegistry    the registry receiving the meters.
+     * @param initialLimit     the concurrency limit before Whisper latency is known.
+     * @param minLimit         the lowest concurrency limit.
+     * @param maxLimit         the highest concurrency limit.
+     * @param latencyTolerance how far recent latency may rise above the long-term
+     *                         average before the limit shrinks.
+     * @param backoffRatio     the factor applied to the limit when Whisper is overloaded.
+     * @param maxInFlightBytes the upload bytes that may be in flight at once.
+     * @param maxQueueDepth    the number of requests that may wait.
+     * @param maxQueueWait     how long a request may wait.
+     */
+    public TranscriptionAdmission(MeterRegistry meterRegistry,
+            @Value("${app.admission.initial-limit:4}") int initialLimit,
+            @Value("${app.admission.min-limit:1}") int minLimit,
+            @Value("${app.admission.max-limit:4}") int maxLimit,
+            @Value("${app.admission.latency-tolerance:1.5}") double latencyTolerance,
+            @Value("${app.admission.backoff-ratio:0.7}") double backoffRatio,
+            @Value("${app.admission.max-in-flight-bytes:200MB}") DataSize maxInFlightBytes,
+            @Value("${app.admission.max-queue-depth:20}") int maxQueueDepth,
+            @Value("${app.admission.max-queue-wait:10s}") Duration maxQueueWait) {
+        this.limit = new AdaptiveLimit(initialLimit, minLimit, maxLimit, latencyTolerance, backoffRatio);
+        this.maxInFlightBytes = maxInFlightBytes.toBytes();
+        this.maxQueueDepth = maxQueueDepth;
+        this.maxQueueWaitNanos = maxQueueWait.toNanos();
+
+        Gauge.builder("transcription.admission.limit", limit, AdaptiveLimit::limit)
+                .description("Current adaptive concurrency limit of transcription requests")
+                .register(meterRegistry);
+        Gauge.builder("transcription.admission.in.flight", this, TranscriptionAdmission::inFlight)
+                .description("Admitted transcription requests in flight")
+                .register(meterRegistry);
+        Gauge.builder("transcription.admission.in.flight.bytes", this, TranscriptionAdmission::inFlightBytes)
+                .description("Upload bytes of admitted transcription requests in flight")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("transcription.admission.queue.depth", this, TranscriptionAdmission::queueDepth)
+                .description("Transcription requests waiting for admission")
+                .register(meterRegistry);
+        this.admittedImmediately = decisionCounter(meterRegistry, "admitted", "capacity");
+        this.admittedAfterWait = decisionCounter(meterRegistry, "admitted", "queued");
+        this.shedQueueFull = decisionCounter(meterRegistry, "shed", "queue-full");
+        this.shedExpectedWait = decisionCounter(meterRegistry, "shed", "expected-wait");
+        this.shedQueueTimeout = decisionCounter(meterRegistry, "shed", "queue-timeout");
+        this.queueWait = Timer.builder("transcription.admission.queue.wait")
+                .description("Time transcription requests waited for admission")
+                .register(meterRegistry);
+    }
+
+    private static Counter decisionCounter(MeterRegistry meterRegistry, String decision, String reason) {
+        return Counter.builder("transcription.admission.decisions")
+                .description("Admission decisions for transcription requests")
+                .tag("decision", decision)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Admits a request, waiting in the queue if needed.
+     *
+     * @param bytes the size of the request's upload.
+     * @return the permit, to be closed when the request completes.
+     * @throws AdmissionRejectedException if the request is shed.
+     */
+    public Permit acquire(long bytes) {
+        lock.lock();
+        try {
+            if (queue.isEmpty() && fits(bytes)) {
+                admit(bytes);
+                admittedImmediately.increment();
+                return new Permit(bytes);
+            }
+            if (queue.size() >= maxQueueDepth) {
+                shedQueueFull.increment();
+                throw new AdmissionRejectedException("queue-full", estimatedWait(queue.size() + 1));
+            }
+            Duration expectedWait = estimatedWait(queue.size() + 1);
+            if (expectedWait.toNanos() > maxQueueWaitNanos) {
+                shedExpectedWait.increment();
+                throw new AdmissionRejectedException("expected-wait", expectedWait);
+            }
+
+            Waiter waiter = new Waiter(bytes, lock.newCondition());
+            queue.addLast(waiter);
+            long start = System.nanoTime();
+            long remaining = maxQueueWaitNanos;
+            try {
+                while (!waiter.admitted && remaining > 0) {
+                    remaining = waiter.condition.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            queueWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (!waiter.admitted) {
+                queue.remove(waiter);
+                // The waiter may have been holding back smaller requests behind it
+                admitWaiters();
+                shedQueueTimeout.increment();
+                throw new AdmissionRejectedException("queue-timeout", estimatedWait(queue.size() + 1));
+            }
+            admittedAfterWait.increment();
+            return new Permit(bytes);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a successful Whisper call, to adapt the limit.
+     *
+     * @param latencyNanos the latency of the call.
+     * @param bytes        the size of the transcribed audio.
+     */
+    public void recordSuccess(long latencyNanos, long bytes) {
+        long normalised = latencyNanos * MIB / Math.max(bytes, MIN_NORMALISED_BYTES);
+        limit.onSuccess(normalised, inFlight());
+        lock.lock();
+        try {
+            averageLatencyNanos = averageLatencyNanos == 0
+                    ? latencyNanos
+                    : averageLatencyNanos + LATENCY_ALPHA * (latencyNanos - averageLatencyNanos);
+            admitWaiters();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a Whisper call that failed because Whisper is overloaded or
+     * unavailable, to back the limit off.
+     */
+    public void recordOverload() {
+        limit.onOverload();
+    }
+
+    private boolean fits(long bytes) {
+        return inFlight < limit.limit()
+                && (inFlightBytes == 0 || inFlightBytes + bytes <= maxInFlightBytes);
+    }
+
+    private void admit(long bytes) {
+        inFlight++;
+        inFlightBytes += bytes;
+    }
+
+    private void release(long bytes) {
+        lock.lock();
+        try {
+            inFlight--;
+            inFlightBytes -= bytes;
+            admitWaiters();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Called with the lock held. Strict FIFO: a large upload at the head is not overtaken.
+    private void admitWaiters() {
+        while (!queue.isEmpty() && fits(queue.peekFirst().bytes)) {
+            Waiter waiter = queue.removeFirst();
+            admit(waiter.bytes);
+            waiter.admitted = true;
+            waiter.condition.signal();
+        }
+    }
+
+    /**
+     * Estimates how long the request at the given queue position waits: the
+     * requests ahead of it drain at the limit, each taking about the average
+     * Whisper latency.
+     */
+    private Duration estimatedWait(int position) {
+        double nanos = averageLatencyNanos * position / Math.max(1, limit.limit());
+        return Duration.ofNanos((long) nanos);
+    }
+
+    private int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long inFlightBytes() {
+        lock.lock();
+        try {
+            return inFlightBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int queueDepth() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A slot in the transcription pipeline, held until Whisper has answered.
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final long bytes;
+        private boolean released;
+
+        private Permit(long bytes) {
+            this.bytes = bytes;
+        }
+
+        /**
+         * Releases the slot. Releasing more than once has no effect.
+         */
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                release(bytes);
+            }
+        }
+    }
+
+    private static final class Waiter {
+
+        private final long bytes;
+        private final Condition condition;
+        private boolean admitted;
+
+        private Waiter(long bytes, Condition condition) {
+            this.bytes = bytes;
+            this.condition = condition;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.ashaassist.backend.admission;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.ashaassist.backend.ratelimit.RateLimitedEndpoint;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Puts transcription uploads through {@link TranscriptionAdmission} before
+ * their multipart body is read, so a request that is queued or shed holds no
+ * buffered audio. Shed requests are answered with {@code 503} and a
+ * {@code Retry-After} header. The permit is handed to the controller in the
+ * {@link #PERMIT_ATTRIBUTE} request attribute and released as soon as Whisper
+ * has answered, so saving and indexing the transcript take no slot and do not
+ * count towards the latency the limit adapts to. Offline sync bundles are not
+ * admitted here: they may carry several recordings, each admitted on its own
+ * by {@link com.ashaassist.backend.service.VisitSyncService}.
+ */
+@Component
+public class TranscriptionAdmissionFilter extends OncePerRequestFilter {
+
+    /**
+     * The request attribute holding the {@link TranscriptionAdmission.Permit}
+     * of an admitted transcription request.
+     */
+    public static final String PERMIT_ATTRIBUTE =
+            "com.ashaassist.backend.admission.TranscriptionAdmissionFilter.permit";
+
+    private final TranscriptionAdmission admission;
+
+    @Value("${app.admission.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Constructs a new {@code TranscriptionAdmissionFilter}.
+     *
+     * @param admission the admission controller.
+     */
+    public TranscriptionAdmissionFilter(TranscriptionAdmission admission) {
+        this.admission = admission;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!enabled || RateLimitedEndpoint.match(request) != RateLimitedEndpoint.TRANSCRIBE) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        TranscriptionAdmission.Permit permit;
+        try {
+            permit = admission.acquire(Math.max(0, request.getContentLengthLong()));
+        } catch (AdmissionRejectedException e) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", e.retryAfterSeconds());
+            response.setContentType("text/plain");
+            response.getWriter().write("Transcription is busy. Please retry after " + e.retryAfterSeconds() + " seconds.");
+            return;
+        }
+        // Normally released earlier, once Whisper has answered
+        try (permit) {
+            request.setAttribute(PERMIT_ATTRIBUTE, permit);
+            filterChain.doFilter(request, response);
+        }
+    }
+}
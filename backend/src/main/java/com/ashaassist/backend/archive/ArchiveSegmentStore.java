@@ -0,0 +1,263 @@
+package com.ashaassist.backend.archive;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Stores archived rows in compressed, append-only segment files on local disk.
+ * <p>
+ * A segment starts with a 4 byte magic header followed by entries of the form
+ * {@code [long key][int rawLength][int compressedLength][deflated bytes]}.
+ * Segments are written to a temporary file and atomically renamed once
+ * complete, after which they are never modified. An in-memory index from key to
+ * file offset is rebuilt from the segment headers on startup.
+ */
+@Component
+public class ArchiveSegmentStore {
+
+    private static final int MAGIC = 0x41565331; // "AVS1"
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Map<Long, Location> index = new ConcurrentHashMap<>();
+
+    @Value("${app.archive.directory:./data/archive}")
+    private String archiveDirectory;
+
+    private Path directory;
+
+    private record Location(Path segment, long offset, int rawLength, int compressedLength) {
+    }
+
+    /**
+     * Creates the archive directory if needed and indexes all existing segments.
+     *
+     * @throws IOException if the directory cannot be read.
+     */
+    @PostConstruct
+    public void loadIndex() throws IOException {
+        directory = Paths.get(archiveDirectory);
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path segment : segments) {
+                indexSegment(segment);
+            }
+        }
+        System.out.println("---- Archive index loaded with " + index.size() + " entries ----");
+    }
+
+    /**
+     * Checks whether a segment with the given name has already been written.
+     *
+     * @param name the segment name, without suffix.
+     * @return {@code true} if the segment exists.
+     */
+    public boolean hasSegment(String name) {
+        return Files.exists(directory.resolve(name + SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Opens a new segment for writing. Entries only become visible once the
+     * writer is committed.
+     *
+     * @param name the segment name, without suffix.
+     * @return a writer for the new segment.
+     * @throws IOException if the segment cannot be created.
+     */
+    public SegmentWriter openSegment(String name) throws IOException {
+        if (hasSegment(name)) {
+            throw new IllegalStateException("Archive segment already exists: " + name);
+        }
+        return new SegmentWriter(directory.resolve(name + SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Reads the archived payload stored under the given key.
+     *
+     * @param key the key, e.g. a visit ID.
+     * @return the decompressed payload, or empty if the key is not archived.
+     */
+    public Optional<byte[]> read(long key) {
+        Location location = index.get(key);
+        if (location == null) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(location.segment(), StandardOpenOption.READ)) {
+            ByteBuffer compressed = ByteBuffer.allocate(location.compressedLength());
+            long position = location.offset();
+            while (compressed.hasRemaining()) {
+                int read = channel.read(compressed, position);
+                if (read < 0) {
+                    throw new EOFException("Truncated archive segment " + location.segment());
+                }
+                position += read;
+            }
+            return Optional.of(inflate(compressed.array(), location.rawLength()));
+        } catch (IOException | DataFormatException e) {
+            throw new RuntimeException("Failed to read archived entry " + key, e);
+        }
+    }
+
+    /**
+     * Returns the number of archived entries.
+     *
+     * @return the index size.
+     */
+    public int size() {
+        return index.size();
+    }
+
+    private void indexSegment(Path segment) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment)))) {
+            if (in.readInt() != MAGIC) {
+                System.err.println("Skipping archive file with unknown format: " + segment);
+                return;
+            }
+            long offset = Integer.BYTES;
+            while (true) {
+                long key;
+                try {
+                    key = in.readLong();
+                } catch (EOFException e) {
+                    break;
+                }
+                int rawLength = in.readInt();
+                int compressedLength = in.readInt();
+                offset += Long.BYTES + 2 * Integer.BYTES;
+                index.put(key, new Location(segment, offset, rawLength, compressedLength));
+                skipFully(in, compressedLength);
+                offset += compressedLength;
+            }
+        }
+    }
+
+    private static void skipFully(InputStream in, long bytes) throws IOException {
+        long remaining = bytes;
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                throw new EOFException("Truncated archive segment");
+            }
+            remaining -= skipped;
+        }
+    }
+
+    private static byte[] inflate(byte[] compressed, int rawLength) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[rawLength];
+            int offset = 0;
+            while (offset < rawLength && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, offset, rawLength - offset);
+                if (inflated == 0 && inflater.needsInput()) {
+                    throw new DataFormatException("Truncated archive entry");
+                }
+                offset += inflated;
+            }
+            return raw;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Writes entries to a single segment file. The segment is published
+     * atomically by {@link #commit()}; closing an uncommitted writer discards it.
+     */
+    public final class SegmentWriter implements AutoCloseable {
+
+        private final Path target;
+        private final Path temp;
+        private final DataOutputStream out;
+        private final Map<Long, Location> pending = new HashMap<>();
+        private long offset;
+        private boolean committed;
+
+        private SegmentWriter(Path target) throws IOException {
+            this.target = target;
+            this.temp = target.resolveSibling(target.getFileName() + ".tmp");
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)));
+            this.out.writeInt(MAGIC);
+            this.offset = Integer.BYTES;
+        }
+
+        /**
+         * Appends a compressed entry to the segment.
+         *
+         * @param key     the key, e.g. a visit ID.
+         * @param payload the raw payload bytes.
+         * @throws IOException if the entry cannot be written.
+         */
+        public void append(long key, byte[] payload) throws IOException {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, payload.length / 2));
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            try (OutputStream compressor = new DeflaterOutputStream(buffer, deflater)) {
+                compressor.write(payload);
+            } finally {
+                deflater.end();
+            }
+            byte[] compressed = buffer.toByteArray();
+            out.writeLong(key);
+            out.writeInt(payload.length);
+            out.writeInt(compressed.length);
+            offset += Long.BYTES + 2 * Integer.BYTES;
+            out.write(compressed);
+            pending.put(key, new Location(target, offset, payload.length, compressed.length));
+            offset += compressed.length;
+        }
+
+        /**
+         * Flushes the segment to disk, publishes it under its final name and
+         * makes its entries readable.
+         *
+         * @throws IOException if the segment cannot be published.
+         */
+        public void commit() throws IOException {
+            out.flush();
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            out.close();
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            index.putAll(pending);
+            committed = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                out.close();
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+}
@@ -0,0 +1,433 @@
+package com.ashaassist.backend.audio;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Stores audio blobs on local disk, addressed by the SHA-256 digest of their
+ * content, so the same recording uploaded twice is stored once.
+ * <p>
+ * Blobs are appended to segment files named {@code <id>.seg}, which start with
+ * a 4 byte magic header followed by entries of the form
+ * {@code [int entryMagic][32 byte digest][long length][bytes]}. Only the newest
+ * segment is appended to; once it reaches the segment size a new one is
+ * started. An in-memory index from digest to location is rebuilt from the
+ * entry headers on startup, and an entry left incomplete by a crash is cut
+ * off. Reads map segments into memory and hand out read-only views, so
+ * serving a blob does not copy it onto the heap.
+ * <p>
+ * Blobs are never removed individually: {@link #collect} drops unreferenced
+ * blobs from the index, deletes segments without live blobs and rewrites
+ * segments that are mostly garbage.
+ */
+@Component
+public class AudioBlobStore {
+
+    private static final int SEGMENT_MAGIC = 0x41554431; // "AUD1"
+    private static final int ENTRY_MAGIC = 0x424c4f42; // "BLOB"
+    private static final int DIGEST_BYTES = 32;
+    private static final int ENTRY_HEADER_BYTES = Integer.BYTES + DIGEST_BYTES + Long.BYTES;
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final Path directory;
+    private final long segmentSize;
+    private final boolean fsync;
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    private final Map<Integer, Segment> segments = new ConcurrentHashMap<>();
+
+    // Guarded by this
+    private Segment active;
+
+    /**
+     * Constructs a new {@code AudioBlobStore}.
+     *
+     * @param directory   the directory holding the segment files.
+     * @param segmentSize the size at which a new segment is started; at most 2 GiB.
+     * @param fsync       whether every blob is forced to disk before it is indexed.
+     */
+    public AudioBlobStore(@Value("${app.audio.directory:./data/audio}") String directory,
+            @Value("${app.audio.segment-size:512MB}") DataSize segmentSize,
+            @Value("${app.audio.fsync:true}") boolean fsync) {
+        if (segmentSize.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Audio segments are mapped whole and must not exceed 2 GiB");
+        }
+        this.directory = Paths.get(directory);
+        this.segmentSize = segmentSize.toBytes();
+        this.fsync = fsync;
+    }
+
+    /**
+     * Creates the directory if needed, indexes all existing segments and
+     * repairs a segment whose last entry is incomplete.
+     *
+     * @throws IOException if the segments cannot be read.
+     */
+    @PostConstruct
+    public synchronized void open() throws IOException {
+        Files.createDirectories(directory);
+        TreeMap<Integer, Path> files = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                try {
+                    files.put(Integer.parseInt(name.substring(0, name.length() - SEGMENT_SUFFIX.length())), file);
+                } catch (NumberFormatException e) {
+                    System.err.println("Skipping audio file with unknown name: " + file);
+                }
+            }
+        }
+        for (Map.Entry<Integer, Path> file : files.entrySet()) {
+            Segment segment = new Segment(file.getKey(), file.getValue(),
+                    FileChannel.open(file.getValue(), StandardOpenOption.READ, StandardOpenOption.WRITE));
+            indexSegment(segment);
+            segments.put(segment.id, segment);
+            active = segment;
+        }
+        if (active == null || active.size >= segmentSize) {
+            active = createSegment(files.isEmpty() ? 1 : files.lastKey() + 1);
+        }
+        System.out.println("---- Audio blob store loaded with " + index.size() + " blobs in "
+                + segments.size() + " segments ----");
+    }
+
+    /**
+     * Closes all segment files.
+     */
+    @PreDestroy
+    public synchronized void close() {
+        for (Segment segment : segments.values()) {
+            try {
+                segment.channel.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close audio segment " + segment.path + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stores a blob unless an identical one is already stored. The source is
+     * read twice: once to compute the digest and once to copy it.
+     *
+     * @param source the blob content, e.g. an uploaded file.
+     * @return the digest and size of the blob.
+     * @throws IOException if the blob cannot be read or written.
+     */
+    public StoredBlob put(InputStreamSource source) throws IOException {
+        MessageDigest sha256 = newDigest();
+        long length = 0;
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = new DigestInputStream(source.getInputStream(), sha256)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                length += read;
+            }
+        }
+        byte[] digestBytes = sha256.digest();
+        String digest = HEX.formatHex(digestBytes);
+
+        Location existing = index.get(digest);
+        if (existing != null) {
+            existing.touch();
+            return new StoredBlob(digest, existing.length, true);
+        }
+        synchronized (this) {
+            existing = index.get(digest);
+            if (existing != null) {
+                existing.touch();
+                return new StoredBlob(digest, existing.length, true);
+            }
+            try (ReadableByteChannel in = Channels.newChannel(source.getInputStream())) {
+                index.put(digest, append(digestBytes, length, in));
+            }
+        }
+        return new StoredBlob(digest, length, false);
+    }
+
+    /**
+     * Returns a read-only view of a stored blob, backed by the memory mapping
+     * of its segment.
+     *
+     * @param digest the hex SHA-256 digest of the blob.
+     * @return the blob, or empty if it is not stored.
+     */
+    public Optional<ByteBuffer> get(String digest) {
+        // A concurrent compaction may move the blob; its new location is indexed before the old segment goes
+        for (int attempt = 0; attempt < 2; attempt++) {
+            Location location = index.get(digest);
+            if (location == null) {
+                return Optional.empty();
+            }
+            Segment segment = segments.get(location.segmentId);
+            if (segment != null) {
+                return Optional.of(segment.slice(location.offset, location.length));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Checks whether a blob is stored.
+     *
+     * @param digest the hex SHA-256 digest of the blob.
+     * @return {@code true} if the blob is stored.
+     */
+    public boolean contains(String digest) {
+        return index.containsKey(digest);
+    }
+
+    /**
+     * Returns the number of stored blobs.
+     *
+     * @return the index size.
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Drops the blobs that are not in the live set and were neither stored
+     * nor deduplicated within the grace period, which keeps a blob alive
+     * between {@link #put} and the caller recording its reference. Segments
+     * left without live blobs are deleted, and segments whose live blobs take
+     * up less than the given share are rewritten into the active segment.
+     *
+     * @param live             the digests that are still referenced.
+     * @param grace            how long a newly stored blob is kept unreferenced.
+     * @param compactBelowLive the share of live bytes below which a segment is rewritten, e.g. 0.5.
+     * @return the number of bytes reclaimed on disk.
+     * @throws IOException if a segment cannot be rewritten or deleted.
+     */
+    public synchronized long collect(Set<String> live, Duration grace, double compactBelowLive) throws IOException {
+        long cutoff = System.currentTimeMillis() - grace.toMillis();
+        index.entrySet().removeIf(entry -> !live.contains(entry.getKey()) && entry.getValue().touchedAt < cutoff);
+
+        Map<Integer, List<Map.Entry<String, Location>>> liveBySegment = new HashMap<>();
+        for (Map.Entry<String, Location> entry : index.entrySet()) {
+            liveBySegment.computeIfAbsent(entry.getValue().segmentId, id -> new ArrayList<>()).add(entry);
+        }
+
+        // Live blobs are copied into the active segment, which may roll over; neither it nor its successors are collected
+        int firstUncollected = active.id;
+        long reclaimed = 0;
+        for (Segment segment : List.copyOf(segments.values())) {
+            if (segment.id >= firstUncollected) {
+                continue;
+            }
+            List<Map.Entry<String, Location>> entries = liveBySegment.getOrDefault(segment.id, List.of());
+            long liveBytes = entries.stream().mapToLong(entry -> ENTRY_HEADER_BYTES + entry.getValue().length).sum();
+            if (!entries.isEmpty() && liveBytes >= compactBelowLive * segment.size) {
+                continue;
+            }
+            for (Map.Entry<String, Location> entry : entries) {
+                Location from = entry.getValue();
+                segment.channel.position(from.offset);
+                Location to = append(HEX.parseHex(entry.getKey()), from.length, segment.channel);
+                to.touchedAt = from.touchedAt;
+                index.put(entry.getKey(), to);
+            }
+            segments.remove(segment.id);
+            segment.channel.close();
+            Files.delete(segment.path);
+            reclaimed += segment.size - liveBytes;
+        }
+        return reclaimed;
+    }
+
+    // Called with the lock held.
+    private Location append(byte[] digest, long length, ReadableByteChannel content) throws IOException {
+        if (active.size > Integer.BYTES && active.size + ENTRY_HEADER_BYTES + length > segmentSize) {
+            active = createSegment(active.id + 1);
+        }
+        long entryOffset = active.size;
+        ByteBuffer header = ByteBuffer.allocate(ENTRY_HEADER_BYTES)
+                .putInt(ENTRY_MAGIC)
+                .put(digest)
+                .putLong(length)
+                .flip();
+        try {
+            writeFully(active.channel, header, entryOffset);
+            long dataOffset = entryOffset + ENTRY_HEADER_BYTES;
+            long copied = 0;
+            while (copied < length) {
+                long transferred = active.channel.transferFrom(content, dataOffset + copied, length - copied);
+                if (transferred <= 0) {
+                    throw new EOFException("Blob source ended after " + copied + " of " + length + " bytes");
+                }
+                copied += transferred;
+            }
+            if (fsync) {
+                active.channel.force(false);
+            }
+            active.size = dataOffset + length;
+            return new Location(active.id, dataOffset, length);
+        } catch (IOException e) {
+            active.channel.truncate(entryOffset);
+            throw e;
+        }
+    }
+
+    private Segment createSegment(int id) throws IOException {
+        Path path = directory.resolve(id + SEGMENT_SUFFIX);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        writeFully(channel, ByteBuffer.allocate(Integer.BYTES).putInt(SEGMENT_MAGIC).flip(), 0);
+        channel.force(true);
+        Segment segment = new Segment(id, path, channel);
+        segment.size = Integer.BYTES;
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private void indexSegment(Segment segment) throws IOException {
+        FileChannel channel = segment.channel;
+        long fileSize = channel.size();
+        ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES);
+        if (fileSize < Integer.BYTES || readFully(channel, magic, 0) < Integer.BYTES
+                || magic.flip().getInt() != SEGMENT_MAGIC) {
+            throw new IOException("Not an audio segment: " + segment.path);
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(ENTRY_HEADER_BYTES);
+        long offset = Integer.BYTES;
+        while (offset < fileSize) {
+            header.clear();
+            if (readFully(channel, header, offset) < ENTRY_HEADER_BYTES) {
+                break;
+            }
+            header.flip();
+            if (header.getInt() != ENTRY_MAGIC) {
+                break;
+            }
+            byte[] digest = new byte[DIGEST_BYTES];
+            header.get(digest);
+            long length = header.getLong();
+            long dataOffset = offset + ENTRY_HEADER_BYTES;
+            if (length < 0 || dataOffset + length > fileSize) {
+                break;
+            }
+            index.put(HEX.formatHex(digest), new Location(segment.id, dataOffset, length));
+            offset = dataOffset + length;
+        }
+        if (offset < fileSize) {
+            System.err.println("Truncating incomplete entry at offset " + offset + " of audio segment " + segment.path);
+            channel.truncate(offset);
+        }
+        segment.size = offset;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static int readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        int total = 0;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class Location {
+
+        private final int segmentId;
+        private final long offset;
+        private final long length;
+        private volatile long touchedAt = System.currentTimeMillis();
+
+        private Location(int segmentId, long offset, long length) {
+            this.segmentId = segmentId;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        private void touch() {
+            touchedAt = System.currentTimeMillis();
+        }
+    }
+
+    private static final class Segment {
+
+        private final int id;
+        private final Path path;
+        private final FileChannel channel;
+        private volatile long size;
+        private volatile MappedByteBuffer mapping;
+
+        private Segment(int id, Path path, FileChannel channel) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+        }
+
+        /**
+         * Returns a read-only view of a region. The active segment grows after
+         * it is mapped, so it is mapped again when a region lies beyond the
+         * current mapping.
+         */
+        private ByteBuffer slice(long offset, long length) {
+            MappedByteBuffer current = mapping;
+            if (current == null || current.capacity() < offset + length) {
+                synchronized (this) {
+                    current = mapping;
+                    if (current == null || current.capacity() < offset + length) {
+                        try {
+                            current = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException("Failed to map audio segment " + path, e);
+                        }
+                        mapping = current;
+                    }
+                }
+            }
+            return current.slice((int) offset, (int) length).asReadOnlyBuffer();
+        }
+    }
+}
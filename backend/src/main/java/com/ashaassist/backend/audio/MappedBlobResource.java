@@ -0,0 +1,106 @@
+package com.ashaassist.backend.audio;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import org.springframework.core.io.AbstractResource;
+
+/**
+ * Exposes a memory-mapped blob as a {@link org.springframework.core.io.Resource},
+ * so Spring MVC can serve it including HTTP range requests. Every stream reads
+ * from its own view of the mapping; skipping to a range start is free.
+ */
+public class MappedBlobResource extends AbstractResource {
+
+    private final ByteBuffer blob;
+    private final String description;
+    private final String filename;
+
+    /**
+     * Constructs a new {@code MappedBlobResource}.
+     *
+     * @param blob        the mapped blob; its position and limit delimit the content.
+     * @param description a description for error messages, e.g. the digest.
+     */
+    public MappedBlobResource(ByteBuffer blob, String description) {
+        this(blob, description, null);
+    }
+
+    /**
+     * Constructs a new {@code MappedBlobResource} with a file name, which is
+     * sent along when the resource is posted as a multipart file.
+     *
+     * @param blob        the mapped blob; its position and limit delimit the content.
+     * @param description a description for error messages, e.g. the digest.
+     * @param filename    the file name, or {@code null} for none.
+     */
+    public MappedBlobResource(ByteBuffer blob, String description, String filename) {
+        this.blob = blob.asReadOnlyBuffer();
+        this.description = description;
+        this.filename = filename;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return new ByteBufferInputStream(blob.duplicate());
+    }
+
+    @Override
+    public long contentLength() {
+        return blob.remaining();
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public String getFilename() {
+        return filename;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Audio blob [" + description + "]";
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.ashaassist.backend.audio;
+
+/**
+ * The result of storing a blob in the {@link AudioBlobStore}.
+ *
+ * @param digest       the hex SHA-256 digest that addresses the blob.
+ * @param length       the size of the blob in bytes.
+ * @param deduplicated whether an identical blob was already stored.
+ */
+public record StoredBlob(String digest, long length, boolean deduplicated) {
+}
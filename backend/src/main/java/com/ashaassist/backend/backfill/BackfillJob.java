@@ -0,0 +1,32 @@
+package com.ashaassist.backend.backfill;
+
+/**
+ * A job that processes every medical record once, e.g. to send it to the AI
+ * service's index again. Runs of a job walk the medical records in ID order
+ * and may process a record more than once when they are resumed after a
+ * crash, so processing must be idempotent.
+ * <p>
+ * Overload of a dependency is signalled by throwing
+ * {@link com.ashaassist.backend.resilience.DependencyUnavailableException} or
+ * {@link com.ashaassist.backend.admission.AdmissionRejectedException}; the run
+ * then slows down and retries the record. Any other exception fails the record.
+ */
+public interface BackfillJob {
+
+    /**
+     * Returns the name of the job, which identifies it in the admin API and
+     * in the metrics.
+     *
+     * @return the name.
+     */
+    String name();
+
+    /**
+     * Processes one medical record.
+     *
+     * @param medicalRecordId the ID of the medical record.
+     * @return {@code false} if the record had nothing to process and was skipped.
+     * @throws Exception if the record could not be processed.
+     */
+    boolean process(Long medicalRecordId) throws Exception;
+}
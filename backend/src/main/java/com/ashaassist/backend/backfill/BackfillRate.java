@@ -0,0 +1,83 @@
+package com.ashaassist.backend.backfill;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The target rate of a backfill run in records per second. The rate grows by
+ * a fixed step while interactive traffic is healthy and is cut by a ratio
+ * when it slows down or a dependency is overloaded, so the run settles just
+ * below the load that starts to hurt. Cuts are at least a second apart, so
+ * a burst of failures of records started together counts once.
+ * <p>
+ * {@link #pace()} spaces the starts of records evenly at the current rate.
+ * Time not used while the run waits for a free worker is not saved up, so
+ * the run never bursts above the rate.
+ */
+public class BackfillRate {
+
+    private static final long DECREASE_COOLDOWN_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final double minRate;
+    private final double maxRate;
+    private final double increaseStep;
+    private final double backoffRatio;
+
+    private double rate;
+    private long nextStartNanos;
+    private long lastDecreaseNanos;
+
+    /**
+     * Constructs a new {@code BackfillRate}.
+     *
+     * @param initialRate  the rate to start at.
+     * @param minRate      the lowest rate.
+     * @param maxRate      the highest rate.
+     * @param increaseStep the records per second added when healthy.
+     * @param backoffRatio the factor applied to the rate when slowing down.
+     */
+    public BackfillRate(double initialRate, double minRate, double maxRate, double increaseStep, double backoffRatio) {
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+        this.increaseStep = increaseStep;
+        this.backoffRatio = backoffRatio;
+        this.rate = Math.max(minRate, Math.min(maxRate, initialRate));
+        long now = System.nanoTime();
+        this.nextStartNanos = now;
+        this.lastDecreaseNanos = now - DECREASE_COOLDOWN_NANOS;
+    }
+
+    public synchronized double rate() {
+        return rate;
+    }
+
+    public synchronized void increase() {
+        rate = Math.min(maxRate, rate + increaseStep);
+    }
+
+    public synchronized void decrease() {
+        long now = System.nanoTime();
+        if (now - lastDecreaseNanos < DECREASE_COOLDOWN_NANOS) {
+            return;
+        }
+        lastDecreaseNanos = now;
+        rate = Math.max(minRate, rate * backoffRatio);
+    }
+
+    /**
+     * Waits until the next record may start.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    public void pace() throws InterruptedException {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long start = nextStartNanos - now > 0 ? nextStartNanos : now;
+            nextStartNanos = start + (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+            waitNanos = start - now;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
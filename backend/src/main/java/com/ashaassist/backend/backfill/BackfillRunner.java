@@ -0,0 +1,329 @@
+package com.ashaassist.backend.backfill;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.data.domain.PageRequest;
+
+import com.ashaassist.backend.admission.AdmissionRejectedException;
+import com.ashaassist.backend.model.BackfillRun;
+import com.ashaassist.backend.model.BackfillStatus;
+import com.ashaassist.backend.repository.BackfillRunRepository;
+import com.ashaassist.backend.repository.MedicalRecordRepository;
+import com.ashaassist.backend.resilience.DependencyUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Executes one run of a {@link BackfillJob} on this instance. The run walks
+ * the medical record IDs in keyset order after its checkpoint and hands them
+ * to a fixed number of workers, starting records at the pace of its
+ * {@link BackfillRate}. The rate is adapted every adjust interval: cut when
+ * interactive latency is above the threshold or a record hit an overloaded
+ * dependency, raised otherwise.
+ * <p>
+ * Every checkpoint interval the run saves the highest ID below which every
+ * record is done, together with its counters, and renews its heartbeat. The
+ * run stops at a checkpoint when it was paused or cancelled or another
+ * instance took it over; on a crash, it is resumed from the last checkpoint
+ * and repeats at most the records that were in flight.
+ */
+public class BackfillRunner implements Runnable {
+
+    private static final double THROUGHPUT_ALPHA = 0.3;
+    private static final long MAX_RETRY_WAIT_MILLIS = 30_000;
+
+    private final BackfillJob job;
+    private final Long runId;
+    private final String owner;
+    private final BackfillRunRepository runRepository;
+    private final MedicalRecordRepository medicalRecordRepository;
+    private final BackfillSettings settings;
+    private final BackfillRate rate;
+    private final InteractiveLatencyProbe latencyProbe;
+    private final Runnable onExit;
+
+    private final AtomicLong processed;
+    private final AtomicLong skipped;
+    private final AtomicLong failed;
+    private final Counter processedCounter;
+    private final Counter skippedCounter;
+    private final Counter failedCounter;
+    private final ConcurrentSkipListSet<Long> inFlight = new ConcurrentSkipListSet<>();
+    private final AtomicBoolean overloaded = new AtomicBoolean();
+    private volatile String lastError;
+    private volatile boolean stopRequested;
+    private volatile double throughput;
+
+    // Touched by the coordinating thread only
+    private long lastSubmittedId;
+    private long nextAdjustNanos;
+    private long nextCheckpointNanos;
+    private long doneAtLastAdjust;
+
+    /**
+     * Constructs a new {@code BackfillRunner} continuing a run from its checkpoint.
+     *
+     * @param job                     the job to run.
+     * @param run                     the run, claimed by this instance.
+     * @param owner                   the ID of this instance.
+     * @param runRepository           the repository holding the checkpoints.
+     * @param medicalRecordRepository the repository of the walked records.
+     * @param settings                the tuning of the run.
+     * @param meterRegistry           the registry receiving the meters.
+     * @param onExit                  called when the run stops on this instance.
+     */
+    public BackfillRunner(BackfillJob job, BackfillRun run, String owner,
+            BackfillRunRepository runRepository,
+            MedicalRecordRepository medicalRecordRepository,
+            BackfillSettings settings,
+            MeterRegistry meterRegistry,
+            Runnable onExit) {
+        this.job = job;
+        this.runId = run.getId();
+        this.owner = owner;
+        this.runRepository = runRepository;
+        this.medicalRecordRepository = medicalRecordRepository;
+        this.settings = settings;
+        this.rate = new BackfillRate(run.getRate() > 0 ? run.getRate() : settings.initialRate(),
+                settings.minRate(), settings.maxRate(), settings.rateIncrease(), settings.backoffRatio());
+        this.latencyProbe = new InteractiveLatencyProbe(meterRegistry, settings.excludedUris(), settings.minRequests());
+        this.onExit = onExit;
+        this.processed = new AtomicLong(run.getProcessed());
+        this.skipped = new AtomicLong(run.getSkipped());
+        this.failed = new AtomicLong(run.getFailed());
+        this.lastError = run.getLastError();
+        this.throughput = run.getThroughput();
+        this.lastSubmittedId = run.getLastId();
+        this.processedCounter = recordCounter(meterRegistry, "processed");
+        this.skippedCounter = recordCounter(meterRegistry, "skipped");
+        this.failedCounter = recordCounter(meterRegistry, "failed");
+    }
+
+    private Counter recordCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("backfill.records")
+                .description("Medical records handled by backfill runs")
+                .tag("job", job.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public Long runId() {
+        return runId;
+    }
+
+    public String jobName() {
+        return job.name();
+    }
+
+    public double rate() {
+        return rate.rate();
+    }
+
+    public double throughput() {
+        return throughput;
+    }
+
+    /**
+     * Asks the run to stop at once, e.g. because the application shuts down.
+     * The run stays running and is resumed by the next instance.
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    @Override
+    public void run() {
+        ExecutorService workers = Executors.newFixedThreadPool(settings.concurrency(),
+                Thread.ofPlatform().name("backfill-" + job.name() + "-", 0).daemon().factory());
+        Semaphore slots = new Semaphore(settings.concurrency());
+        long now = System.nanoTime();
+        nextAdjustNanos = now + settings.adjustInterval().toNanos();
+        nextCheckpointNanos = now + settings.checkpointInterval().toNanos();
+        doneAtLastAdjust = done();
+        boolean completed = false;
+        System.out.println("---- Backfill run " + runId + " of job " + job.name()
+                + " started after record " + lastSubmittedId + " ----");
+        try {
+            long cursor = lastSubmittedId;
+            walk:
+            while (true) {
+                List<Long> ids = medicalRecordRepository.findIdsAfter(cursor,
+                        PageRequest.of(0, settings.pageSize()));
+                if (ids.isEmpty()) {
+                    completed = true;
+                    break;
+                }
+                for (Long id : ids) {
+                    rate.pace();
+                    while (!slots.tryAcquire(1, TimeUnit.SECONDS)) {
+                        if (!maintain()) {
+                            break walk;
+                        }
+                    }
+                    if (!maintain()) {
+                        slots.release();
+                        break walk;
+                    }
+                    inFlight.add(id);
+                    lastSubmittedId = id;
+                    workers.execute(() -> {
+                        try {
+                            process(id);
+                        } finally {
+                            inFlight.remove(id);
+                            slots.release();
+                        }
+                    });
+                }
+                cursor = ids.get(ids.size() - 1);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            lastError = "Run failed: " + e.getMessage();
+            System.err.println("Backfill run " + runId + " failed: " + e.getMessage());
+        } finally {
+            finish(workers, completed);
+        }
+    }
+
+    private void finish(ExecutorService workers, boolean completed) {
+        workers.shutdown();
+        boolean owned = true;
+        try {
+            // The records in flight are finished, so the checkpoint does not repeat them
+            while (!workers.awaitTermination(settings.checkpointInterval().toMillis(), TimeUnit.MILLISECONDS)) {
+                owned = checkpoint() && owned;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            owned = checkpoint() && owned;
+            if (completed && owned && workers.isTerminated()
+                    && runRepository.finish(runId, List.of(BackfillStatus.RUNNING), BackfillStatus.COMPLETED,
+                            LocalDateTime.now()) == 1) {
+                System.out.println("---- Backfill run " + runId + " of job " + job.name() + " completed: "
+                        + processed.get() + " processed, " + skipped.get() + " skipped, "
+                        + failed.get() + " failed ----");
+            } else if (owned) {
+                runRepository.release(runId, owner);
+                System.out.println("---- Backfill run " + runId + " of job " + job.name()
+                        + " stopped at record " + checkpointId() + " ----");
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Failed to save backfill run " + runId + ": " + e.getMessage());
+        } finally {
+            onExit.run();
+        }
+    }
+
+    /**
+     * Adapts the rate and writes the checkpoint when they are due.
+     *
+     * @return {@code false} if the run should stop.
+     */
+    private boolean maintain() {
+        if (stopRequested) {
+            return false;
+        }
+        long now = System.nanoTime();
+        if (now - nextAdjustNanos >= 0) {
+            adjust(now);
+            nextAdjustNanos = now + settings.adjustInterval().toNanos();
+        }
+        if (now - nextCheckpointNanos >= 0) {
+            nextCheckpointNanos = now + settings.checkpointInterval().toNanos();
+            return checkpoint() && runRepository.findStatusById(runId).orElse(null) == BackfillStatus.RUNNING;
+        }
+        return true;
+    }
+
+    private void adjust(long now) {
+        long done = done();
+        double seconds = (settings.adjustInterval().toNanos() + (now - nextAdjustNanos)) / 1e9;
+        double current = (done - doneAtLastAdjust) / seconds;
+        doneAtLastAdjust = done;
+        throughput = throughput == 0 ? current : throughput + THROUGHPUT_ALPHA * (current - throughput);
+
+        OptionalDouble latency = latencyProbe.sampleMillis();
+        boolean slow = latency.isPresent() && latency.getAsDouble() > settings.latencyThreshold().toMillis();
+        if (slow) {
+            rate.decrease();
+        } else if (!overloaded.getAndSet(false)) {
+            rate.increase();
+        }
+    }
+
+    private boolean checkpoint() {
+        return runRepository.checkpoint(runId, owner, checkpointId(), processed.get(), skipped.get(),
+                failed.get(), rate.rate(), throughput, lastError, LocalDateTime.now()) == 1;
+    }
+
+    /**
+     * Returns the highest ID below which every record is done: records are
+     * started in ID order, so that is just below the lowest one in flight.
+     */
+    private long checkpointId() {
+        Long lowestInFlight = inFlight.isEmpty() ? null : inFlight.first();
+        return lowestInFlight == null ? lastSubmittedId : lowestInFlight - 1;
+    }
+
+    private long done() {
+        return processed.get() + skipped.get() + failed.get();
+    }
+
+    private void process(Long id) {
+        for (int attempt = 1;; attempt++) {
+            try {
+                if (job.process(id)) {
+                    processed.incrementAndGet();
+                    processedCounter.increment();
+                } else {
+                    skipped.incrementAndGet();
+                    skippedCounter.increment();
+                }
+                return;
+            } catch (AdmissionRejectedException | DependencyUnavailableException e) {
+                overloaded.set(true);
+                rate.decrease();
+                if (attempt >= settings.maxAttempts() || stopRequested) {
+                    fail(id, e);
+                    return;
+                }
+                Duration retryAfter = e instanceof AdmissionRejectedException rejected
+                        ? rejected.getRetryAfter()
+                        : ((DependencyUnavailableException) e).getRetryAfter();
+                try {
+                    Thread.sleep(Math.min(retryAfter.toMillis(), MAX_RETRY_WAIT_MILLIS));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    fail(id, e);
+                    return;
+                }
+            } catch (Exception e) {
+                fail(id, e);
+                return;
+            }
+        }
+    }
+
+    private void fail(Long id, Exception e) {
+        failed.incrementAndGet();
+        failedCounter.increment();
+        String message = "Record " + id + ": " + e.getMessage();
+        lastError = message.length() > 1000 ? message.substring(0, 1000) : message;
+        System.err.println("Backfill job " + job.name() + " failed on medical record " + id + ": " + e.getMessage());
+    }
+}
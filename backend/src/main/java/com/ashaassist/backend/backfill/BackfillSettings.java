@@ -0,0 +1,37 @@
+package com.ashaassist.backend.backfill;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The tuning of backfill runs.
+ *
+ * @param concurrency        the records a run processes at once.
+ * @param pageSize           the record IDs read per keyset page.
+ * @param initialRate        the target rate of a new run, in records per second.
+ * @param minRate            the lowest target rate.
+ * @param maxRate            the highest target rate.
+ * @param rateIncrease       the records per second added while healthy.
+ * @param backoffRatio       the factor applied to the rate when slowing down.
+ * @param adjustInterval     how often the rate is adapted.
+ * @param checkpointInterval how often progress is saved.
+ * @param maxAttempts        the attempts at a record whose dependency is overloaded.
+ * @param latencyThreshold   the interactive latency above which runs slow down.
+ * @param minRequests        the interactive requests a latency sample needs.
+ * @param excludedUris       Ant patterns of the URIs not counted as interactive.
+ */
+public record BackfillSettings(
+        int concurrency,
+        int pageSize,
+        double initialRate,
+        double minRate,
+        double maxRate,
+        double rateIncrease,
+        double backoffRatio,
+        Duration adjustInterval,
+        Duration checkpointInterval,
+        int maxAttempts,
+        Duration latencyThreshold,
+        int minRequests,
+        List<String> excludedUris) {
+}
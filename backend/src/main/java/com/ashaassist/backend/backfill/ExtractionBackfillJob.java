@@ -0,0 +1,32 @@
+package com.ashaassist.backend.backfill;
+
+import org.springframework.stereotype.Component;
+
+import com.ashaassist.backend.service.StructuredExtractionService;
+
+/**
+ * Queues every medical record for structured extraction, e.g. for records
+ * transcribed before the extraction stage existed or after the extraction
+ * prompt changed. The extraction itself runs in the extraction stage at its
+ * own pace.
+ */
+@Component
+public class ExtractionBackfillJob implements BackfillJob {
+
+    private final StructuredExtractionService structuredExtractionService;
+
+    public ExtractionBackfillJob(StructuredExtractionService structuredExtractionService) {
+        this.structuredExtractionService = structuredExtractionService;
+    }
+
+    @Override
+    public String name() {
+        return "extract";
+    }
+
+    @Override
+    public boolean process(Long medicalRecordId) {
+        structuredExtractionService.enqueue(medicalRecordId);
+        return true;
+    }
+}
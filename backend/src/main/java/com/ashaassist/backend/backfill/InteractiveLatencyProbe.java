@@ -0,0 +1,77 @@
+package com.ashaassist.backend.backfill;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.util.AntPathMatcher;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Measures the latency of interactive requests from the
+ * {@code http.server.requests} timers: each sample is the mean latency of the
+ * requests completed since the previous sample. Requests whose URI template
+ * matches an excluded pattern are left out, e.g. the actuator and the
+ * transcription endpoints, whose latency is Whisper's and which are already
+ * governed by transcription admission.
+ */
+public class InteractiveLatencyProbe {
+
+    private final MeterRegistry meterRegistry;
+    private final List<String> excludedUris;
+    private final int minRequests;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<Meter.Id, double[]> previous = new HashMap<>();
+
+    /**
+     * Constructs a new {@code InteractiveLatencyProbe}. The current totals of
+     * the timers are the baseline of the first sample.
+     *
+     * @param meterRegistry the registry holding the request timers.
+     * @param excludedUris  Ant patterns of the URI templates to leave out.
+     * @param minRequests   the requests a sample needs to be meaningful.
+     */
+    public InteractiveLatencyProbe(MeterRegistry meterRegistry, List<String> excludedUris, int minRequests) {
+        this.meterRegistry = meterRegistry;
+        this.excludedUris = excludedUris;
+        this.minRequests = minRequests;
+        sampleMillis();
+    }
+
+    /**
+     * Returns the mean latency of the interactive requests completed since the
+     * previous sample.
+     *
+     * @return the mean latency in milliseconds, or empty if too few requests
+     *         completed to tell.
+     */
+    public synchronized OptionalDouble sampleMillis() {
+        long requests = 0;
+        double totalMillis = 0;
+        for (Timer timer : meterRegistry.find("http.server.requests").timers()) {
+            String uri = timer.getId().getTag("uri");
+            if (uri != null && excludedUris.stream().anyMatch(pattern -> pathMatcher.match(pattern, uri))) {
+                continue;
+            }
+            double count = timer.count();
+            double total = timer.totalTime(TimeUnit.MILLISECONDS);
+            double[] last = previous.put(timer.getId(), new double[] { count, total });
+            if (last != null) {
+                requests += (long) (count - last[0]);
+                totalMillis += total - last[1];
+            } else {
+                requests += (long) count;
+                totalMillis += total;
+            }
+        }
+        if (requests < minRequests) {
+            return OptionalDouble.empty();
+        }
+        return OptionalDouble.of(totalMillis / requests);
+    }
+}
@@ -0,0 +1,31 @@
+package com.ashaassist.backend.backfill;
+
+import java.io.IOException;
+
+import org.springframework.stereotype.Component;
+
+import com.ashaassist.backend.service.VisitService;
+
+/**
+ * Sends every transcript to the AI service's index again, e.g. after its
+ * embedding model changed.
+ */
+@Component
+public class ReindexBackfillJob implements BackfillJob {
+
+    private final VisitService visitService;
+
+    public ReindexBackfillJob(VisitService visitService) {
+        this.visitService = visitService;
+    }
+
+    @Override
+    public String name() {
+        return "reindex";
+    }
+
+    @Override
+    public boolean process(Long medicalRecordId) throws IOException {
+        return visitService.reindexTranscript(medicalRecordId);
+    }
+}
@@ -0,0 +1,32 @@
+package com.ashaassist.backend.backfill;
+
+import java.io.IOException;
+
+import org.springframework.stereotype.Component;
+
+import com.ashaassist.backend.service.VisitService;
+
+/**
+ * Transcribes the stored recording of every visit again, e.g. after Whisper
+ * was upgraded, and replaces the transcripts. Records whose recording is not
+ * in the audio store are skipped.
+ */
+@Component
+public class RetranscribeBackfillJob implements BackfillJob {
+
+    private final VisitService visitService;
+
+    public RetranscribeBackfillJob(VisitService visitService) {
+        this.visitService = visitService;
+    }
+
+    @Override
+    public String name() {
+        return "retranscribe";
+    }
+
+    @Override
+    public boolean process(Long medicalRecordId) throws IOException {
+        return visitService.retranscribeStoredAudio(medicalRecordId);
+    }
+}
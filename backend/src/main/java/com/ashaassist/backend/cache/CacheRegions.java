@@ -0,0 +1,34 @@
+package com.ashaassist.backend.cache;
+
+import java.util.List;
+
+/**
+ * Names of the Hibernate second-level cache regions.
+ */
+public final class CacheRegions {
+
+    public static final String USERS = "users";
+    public static final String USERS_NATURAL_ID = "users-by-username";
+    public static final String PATIENTS = "patients";
+    public static final String PATIENTS_NATURAL_ID = "patients-by-phone";
+
+    /**
+     * Hibernate's default region for cached query results.
+     */
+    public static final String QUERY_RESULTS = "default-query-results-region";
+
+    /**
+     * Hibernate's default region for table update timestamps.
+     */
+    public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    /**
+     * All entity and natural-id regions, which share the same size and TTL
+     * bounds.
+     */
+    public static final List<String> ENTITY_REGIONS = List.of(
+            USERS, USERS_NATURAL_ID, PATIENTS, PATIENTS_NATURAL_ID);
+
+    private CacheRegions() {
+    }
+}
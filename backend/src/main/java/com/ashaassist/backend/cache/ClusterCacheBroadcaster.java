@@ -0,0 +1,20 @@
+package com.ashaassist.backend.cache;
+
+/**
+ * Hook for relaying second-level cache invalidations to the other backend
+ * instances. Hibernate keeps the local cache coherent on its own; in a
+ * multi-instance deployment an implementation of this interface (for example
+ * backed by Postgres {@code LISTEN/NOTIFY} or a message broker) must deliver
+ * each invalidation to its peers, which then call
+ * {@link EntityCacheInvalidator#evict(Class, Object)}.
+ */
+public interface ClusterCacheBroadcaster {
+
+    /**
+     * Broadcasts that the given entity changed on this instance.
+     *
+     * @param entityType the entity class.
+     * @param id         the entity ID.
+     */
+    void broadcast(Class<?> entityType, Object id);
+}
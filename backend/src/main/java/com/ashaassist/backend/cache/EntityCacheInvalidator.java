@@ -0,0 +1,70 @@
+package com.ashaassist.backend.cache;
+
+import org.hibernate.Cache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Evicts entries from Hibernate's second-level cache and forwards local
+ * changes to any registered {@link ClusterCacheBroadcaster}.
+ */
+@Component
+public class EntityCacheInvalidator {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectProvider<ClusterCacheBroadcaster> broadcasters;
+
+    /**
+     * Constructs a new {@code EntityCacheInvalidator}.
+     *
+     * @param entityManagerFactory the factory owning the second-level cache.
+     * @param broadcasters         the cluster broadcasters, if any.
+     */
+    public EntityCacheInvalidator(EntityManagerFactory entityManagerFactory,
+            ObjectProvider<ClusterCacheBroadcaster> broadcasters) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.broadcasters = broadcasters;
+    }
+
+    /**
+     * Evicts a single entity from the second-level cache. Called for
+     * invalidations received from other instances.
+     *
+     * @param entityType the entity class.
+     * @param id         the entity ID.
+     */
+    public void evict(Class<?> entityType, Object id) {
+        Cache cache = hibernateCache();
+        cache.evictEntityData(entityType, id);
+        // Natural-id and query regions cannot be addressed per entity, so they are dropped as a whole.
+        cache.evictNaturalIdData(entityType);
+        cache.evictQueryRegions();
+    }
+
+    /**
+     * Evicts every second-level cache region.
+     */
+    public void evictAll() {
+        hibernateCache().evictAllRegions();
+    }
+
+    /**
+     * Relays local changes to the other instances.
+     *
+     * @param event the change event.
+     */
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.change() == EntityChangedEvent.Change.INSERTED || event.id() == null) {
+            return;
+        }
+        broadcasters.forEach(broadcaster -> broadcaster.broadcast(event.entityType(), event.id()));
+    }
+
+    private Cache hibernateCache() {
+        return entityManagerFactory.getCache().unwrap(Cache.class);
+    }
+}
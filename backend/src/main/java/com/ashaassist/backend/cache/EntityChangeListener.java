@@ -0,0 +1,54 @@
+package com.ashaassist.backend.cache;
+
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.ashaassist.backend.model.Patient;
+import com.ashaassist.backend.model.User;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener that turns writes to cached entities into
+ * {@link EntityChangedEvent}s. Hibernate instantiates it through Spring, so the
+ * event publisher is injected.
+ */
+public class EntityChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Constructs a new {@code EntityChangeListener}.
+     *
+     * @param eventPublisher the publisher used to broadcast changes.
+     */
+    public EntityChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    void onInsert(Object entity) {
+        publish(entity, EntityChangedEvent.Change.INSERTED);
+    }
+
+    @PostUpdate
+    void onUpdate(Object entity) {
+        publish(entity, EntityChangedEvent.Change.UPDATED);
+    }
+
+    @PostRemove
+    void onRemove(Object entity) {
+        publish(entity, EntityChangedEvent.Change.REMOVED);
+    }
+
+    private void publish(Object entity, EntityChangedEvent.Change change) {
+        Object id = null;
+        if (entity instanceof User user) {
+            id = user.getId();
+        } else if (entity instanceof Patient patient) {
+            id = patient.getId();
+        }
+        eventPublisher.publishEvent(new EntityChangedEvent(entity.getClass(), id, entity, change));
+    }
+}
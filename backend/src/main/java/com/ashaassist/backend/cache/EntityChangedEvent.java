@@ -0,0 +1,19 @@
+package com.ashaassist.backend.cache;
+
+/**
+ * Published after a cached entity has been inserted, updated or removed.
+ *
+ * @param entityType the entity class.
+ * @param id         the entity ID.
+ * @param entity     the entity instance as it was flushed.
+ * @param change     the kind of change.
+ */
+public record EntityChangedEvent(Class<?> entityType, Object id, Object entity, Change change) {
+
+    /**
+     * The kind of change applied to the entity.
+     */
+    public enum Change {
+        INSERTED, UPDATED, REMOVED
+    }
+}
@@ -0,0 +1,15 @@
+package com.ashaassist.backend.cache;
+
+/**
+ * A patient's phone number together with the keys the phone index pages by.
+ *
+ * @param id          the patient ID.
+ * @param phoneNumber the phone number.
+ * @param changeSeq   the change sequence value of the patient's last write,
+ *                    or {@code null} if it has not been numbered yet.
+ */
+public record PatientPhone(
+        Long id,
+        String phoneNumber,
+        Long changeSeq) {
+}
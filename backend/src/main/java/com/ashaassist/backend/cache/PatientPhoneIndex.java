@@ -0,0 +1,287 @@
+package com.ashaassist.backend.cache;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ashaassist.backend.changefeed.ChangeSequence;
+import com.ashaassist.backend.model.Patient;
+import com.ashaassist.backend.repository.PatientRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Answers "is there a patient with this phone number" mostly from memory.
+ * <p>
+ * A {@link BloomFilter} over all phone numbers rejects unknown numbers without
+ * touching the database, and a bounded LRU map remembers numbers that were
+ * confirmed to exist. Only numbers that pass the filter but are not in the
+ * map, i.e. new lookups of existing patients and the filter's false positives,
+ * reach the database, as an {@code exists} query.
+ * <p>
+ * The filter is built from the database once the application is ready; until
+ * then every lookup goes to the database. Patients inserted on this instance
+ * are added when they are flushed, before their transaction commits, so the
+ * filter never misses a committed patient; a rolled back insert only leaves
+ * a false positive behind. Patients inserted on other instances are picked
+ * up by a periodic catch-up over the change sequence, which also checks for
+ * committed patients it has not caught up with yet; while there are any, a
+ * number the filter rejects is looked up in the database instead, so a
+ * patient inserted elsewhere can only be missed until the next catch-up
+ * notices it. When more patients have been added than the filter was sized
+ * for, the catch-up rebuilds it larger.
+ */
+@Component
+public class PatientPhoneIndex {
+
+    private static final int PAGE_SIZE = 5000;
+
+    private final PatientRepository patientRepository;
+    private final ChangeSequence changeSequence;
+    private final double falsePositiveRate;
+    private final long minCapacity;
+    private final boolean enabled;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final ReentrantLock cacheLock = new ReentrantLock();
+    private final LinkedHashMap<String, Boolean> known;
+    private final AtomicLong added = new AtomicLong();
+
+    private volatile BloomFilter filter;
+    // Set while a rebuild scans the table, so inserts meanwhile reach both filters
+    private volatile BloomFilter building;
+    private volatile long caughtUpTo;
+    // The highest change of a committed patient seen by the last catch-up
+    private volatile long newestChange = Long.MAX_VALUE;
+
+    private final Counter filtered;
+    private final Counter cached;
+    private final Counter found;
+    private final Counter absent;
+
+    /**
+     * Constructs a new {@code PatientPhoneIndex}.
+     *
+     * @param patientRepository the repository used to build the filter and
+     *                          confirm lookups.
+     * @param changeSequence    the change sequence used to catch up with
+     *                          patients inserted on other instances.
+     * @param meterRegistry     the registry receiving the lookup metrics.
+     * @param enabled           whether lookups use the index at all.
+     * @param falsePositiveRate the target false positive rate of the filter.
+     * @param minCapacity       the minimum number of phone numbers the filter
+     *                          is sized for.
+     * @param cacheSize         the number of existing phone numbers remembered.
+     */
+    public PatientPhoneIndex(PatientRepository patientRepository,
+            ChangeSequence changeSequence,
+            MeterRegistry meterRegistry,
+            @Value("${app.patients.phone-index.enabled:true}") boolean enabled,
+            @Value("${app.patients.phone-index.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${app.patients.phone-index.min-capacity:100000}") long minCapacity,
+            @Value("${app.patients.phone-index.cache-size:50000}") int cacheSize) {
+        this.patientRepository = patientRepository;
+        this.changeSequence = changeSequence;
+        this.enabled = enabled;
+        this.falsePositiveRate = falsePositiveRate;
+        this.minCapacity = minCapacity;
+        this.known = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > cacheSize;
+            }
+        };
+
+        this.filtered = lookupCounter(meterRegistry, "filtered");
+        this.cached = lookupCounter(meterRegistry, "cached");
+        this.found = lookupCounter(meterRegistry, "found");
+        this.absent = lookupCounter(meterRegistry, "absent");
+        Gauge.builder("patient.phone.index.size", added, AtomicLong::get)
+                .description("Phone numbers added to the patient phone filter")
+                .register(meterRegistry);
+        Gauge.builder("patient.phone.index.bytes", this, index -> index.filter == null ? 0 : index.filter.sizeInBytes())
+                .description("Memory taken by the patient phone filter")
+                .register(meterRegistry);
+    }
+
+    private Counter lookupCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("patient.phone.lookups")
+                .description("Patient existence checks by phone number, by how they were answered")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks whether a patient with the given phone number exists.
+     *
+     * @param phoneNumber the phone number.
+     * @return {@code true} if the patient exists.
+     */
+    public boolean exists(String phoneNumber) {
+        BloomFilter current = filter;
+        // Patients committed past the catch-up may be missing from the filter
+        if (current != null && !current.mightContain(phoneNumber) && newestChange <= caughtUpTo) {
+            filtered.increment();
+            return false;
+        }
+        if (isKnown(phoneNumber)) {
+            cached.increment();
+            return true;
+        }
+        if (patientRepository.existsByPhoneNumber(phoneNumber)) {
+            found.increment();
+            remember(phoneNumber);
+            return true;
+        }
+        absent.increment();
+        return false;
+    }
+
+    /**
+     * Builds the filter from all patients once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        rebuild(patientRepository.count());
+    }
+
+    /**
+     * Adds the patients inserted on other instances since the last catch-up,
+     * checks whether patients have been committed beyond it, and rebuilds the
+     * filter if it holds more phone numbers than it was sized for.
+     */
+    @Scheduled(fixedDelayString = "${app.patients.phone-index.catch-up-interval:1s}")
+    public void catchUp() {
+        BloomFilter current = filter;
+        if (current == null) {
+            return;
+        }
+        if (added.get() > current.expectedInsertions()) {
+            rebuild(added.get());
+            return;
+        }
+        long horizon = changeSequence.horizon();
+        long after = caughtUpTo;
+        while (after < horizon) {
+            List<PatientPhone> page = patientRepository.findChangedPhones(after, horizon,
+                    PageRequest.of(0, PAGE_SIZE));
+            if (page.isEmpty()) {
+                break;
+            }
+            page.forEach(phone -> add(phone.phoneNumber()));
+            after = page.get(page.size() - 1).changeSeq();
+        }
+        caughtUpTo = Math.max(after, horizon);
+        Long newest = patientRepository.findMaxChangeSeq();
+        newestChange = newest != null ? newest : 0;
+    }
+
+    /**
+     * Adds patients inserted on this instance and forgets removed ones.
+     *
+     * @param event the change event.
+     */
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!(event.entity() instanceof Patient patient) || patient.getPhoneNumber() == null) {
+            return;
+        }
+        if (event.change() == EntityChangedEvent.Change.INSERTED) {
+            add(patient.getPhoneNumber());
+        } else if (event.change() == EntityChangedEvent.Change.REMOVED) {
+            // The filter cannot forget; the number is confirmed against the database again
+            forget(patient.getPhoneNumber());
+        }
+    }
+
+    private void rebuild(long patients) {
+        if (!rebuildLock.tryLock()) {
+            return;
+        }
+        try {
+            long startNanos = System.nanoTime();
+            BloomFilter next = new BloomFilter(Math.max(minCapacity, patients * 2), falsePositiveRate);
+            building = next;
+            // Patients up to the horizon are committed and seen by the scan; later ones by the catch-up.
+            // Taken before the scan, so the first catch-up only reads what the scan may have missed
+            long horizon = changeSequence.horizon();
+            long count = 0;
+            long afterId = 0L;
+            while (true) {
+                List<PatientPhone> page = patientRepository.findPhonesAfterId(afterId, PageRequest.of(0, PAGE_SIZE));
+                if (page.isEmpty()) {
+                    break;
+                }
+                page.forEach(phone -> next.add(phone.phoneNumber()));
+                count += page.size();
+                afterId = page.get(page.size() - 1).id();
+            }
+            filter = next;
+            building = null;
+            added.set(count);
+            caughtUpTo = horizon;
+            System.out.println("---- Patient phone filter built with " + count + " numbers ("
+                    + next.sizeInBytes() / 1024 + " KiB) in "
+                    + (System.nanoTime() - startNanos) / 1_000_000 + " ms ----");
+        } catch (RuntimeException e) {
+            building = null;
+            System.err.println("Failed to build the patient phone filter: " + e.getMessage());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void add(String phoneNumber) {
+        BloomFilter current = filter;
+        // Numbers the filter already holds, e.g. caught up after being added locally, are not counted again
+        if (current != null && !current.mightContain(phoneNumber)) {
+            current.add(phoneNumber);
+            added.incrementAndGet();
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            next.add(phoneNumber);
+        }
+    }
+
+    private boolean isKnown(String phoneNumber) {
+        cacheLock.lock();
+        try {
+            return known.get(phoneNumber) != null;
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    private void remember(String phoneNumber) {
+        cacheLock.lock();
+        try {
+            known.put(phoneNumber, Boolean.TRUE);
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    private void forget(String phoneNumber) {
+        cacheLock.lock();
+        try {
+            known.remove(phoneNumber);
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+}
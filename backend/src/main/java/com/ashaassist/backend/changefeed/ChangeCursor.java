@@ -0,0 +1,59 @@
+package com.ashaassist.backend.changefeed;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes change feed positions as opaque cursors. Devices store the cursor of
+ * their last sync and send it back unchanged, so the encoding can change
+ * without breaking them as long as old versions are still decoded.
+ */
+public final class ChangeCursor {
+
+    private static final String VERSION_PREFIX = "v1:";
+
+    private ChangeCursor() {
+    }
+
+    /**
+     * Encodes a position in the change sequence.
+     *
+     * @param changeSeq the last change sequence value the device has seen.
+     * @return the cursor.
+     */
+    public static String encode(long changeSeq) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((VERSION_PREFIX + changeSeq).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodes a cursor. A missing cursor is the start of the feed.
+     *
+     * @param cursor the cursor, or {@code null}.
+     * @return the last change sequence value the device has seen.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor.", e);
+        }
+        if (!decoded.startsWith(VERSION_PREFIX)) {
+            throw new IllegalArgumentException("Malformed cursor.");
+        }
+        try {
+            long changeSeq = Long.parseLong(decoded.substring(VERSION_PREFIX.length()));
+            if (changeSeq < 0) {
+                throw new IllegalArgumentException("Malformed cursor.");
+            }
+            return changeSeq;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor.", e);
+        }
+    }
+}
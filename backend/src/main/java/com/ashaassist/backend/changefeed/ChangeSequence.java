@@ -0,0 +1,165 @@
+package com.ashaassist.backend.changefeed;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Owns the {@code change_seq} sequence behind the change feed. Every insert
+ * and update of a visit, patient or medical record draws the next value into
+ * the row's {@code change_seq} column via a trigger, so "everything changed
+ * since X" is an index range scan.
+ * <p>
+ * Values are drawn when a row is written but become visible when its
+ * transaction commits, so a reader could see value 11 before a slower
+ * transaction commits value 10 and then skip 10 for good. The feed therefore
+ * only serves values up to a horizon. Each sample pairs the last value the
+ * sequence had handed out with the snapshot {@code xmax} taken right after
+ * it; the trigger assigns the writing transaction its ID before drawing a
+ * value, so every transaction that drew a value up to the sample has an ID
+ * below that {@code xmax}. Once the oldest running transaction
+ * ({@code xmin}) has reached it, they have all finished and the sample
+ * becomes the horizon, however long they took.
+ * <p>
+ * A transaction that stays open holds the horizon back until it ends; the
+ * stall warning reports it.
+ */
+@Component
+public class ChangeSequence {
+
+    /**
+     * The tables that carry a {@code change_seq} column.
+     */
+    public static final List<String> TABLES = List.of("visits", "patients", "medical_records");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Deque<Sample> samples = new ArrayDeque<>();
+    private final CountDownLatch settled = new CountDownLatch(1);
+
+    private volatile boolean installed;
+
+    private volatile long horizon;
+    private boolean stallReported;
+
+    @Value("${app.sync.changes.stall-warning:1m}")
+    private Duration stallWarning;
+
+    /**
+     * Constructs a new {@code ChangeSequence}.
+     *
+     * @param jdbcTemplate the template used to run the DDL and read the sequence.
+     */
+    public ChangeSequence(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Creates the sequence, the trigger function, the triggers and the indexes
+     * once the schema is up to date. A trigger that is new numbers the rows
+     * written before it existed. Runs before the other listeners, so indexes
+     * built from the database when the application is ready find a horizon.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void install() {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS change_seq");
+        jdbcTemplate.execute("CREATE OR REPLACE FUNCTION assign_change_seq() RETURNS trigger AS $$ "
+                + "BEGIN PERFORM pg_current_xact_id(); NEW.change_seq := nextval('change_seq'); RETURN NEW; "
+                + "END $$ LANGUAGE plpgsql");
+        for (String table : TABLES) {
+            Boolean exists = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_trigger WHERE tgname = ? AND tgrelid = ?::regclass)",
+                    Boolean.class, table + "_change_seq", table);
+            if (!Boolean.TRUE.equals(exists)) {
+                jdbcTemplate.execute("CREATE TRIGGER " + table + "_change_seq BEFORE INSERT OR UPDATE ON "
+                        + table + " FOR EACH ROW EXECUTE FUNCTION assign_change_seq()");
+                int numbered = jdbcTemplate.update("UPDATE " + table + " SET change_seq = nextval('change_seq') "
+                        + "WHERE change_seq IS NULL");
+                System.out.println("---- Installed change_seq trigger on " + table + ", numbered "
+                        + numbered + " existing rows ----");
+            }
+        }
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS visits_ashakarmi_change_seq_idx "
+                + "ON visits (asha_karmi_id, change_seq)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS patients_change_seq_idx ON patients (change_seq)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS medical_records_change_seq_idx "
+                + "ON medical_records (change_seq)");
+        installed = true;
+        sample();
+    }
+
+    /**
+     * Records the last value the sequence has handed out, and advances the
+     * horizon past the samples whose transactions have all finished.
+     */
+    @Scheduled(fixedDelayString = "${app.sync.changes.sample-interval:1s}")
+    public void sample() {
+        if (!installed) {
+            return;
+        }
+        // The sequence is read before the snapshot is taken, so any transaction that
+        // drew a value up to lastValue already had its ID when the snapshot was taken
+        Long lastValue = jdbcTemplate.queryForObject(
+                "SELECT CASE WHEN is_called THEN last_value ELSE 0 END FROM change_seq", Long.class);
+        long[] snapshot = jdbcTemplate.queryForObject(
+                "SELECT pg_snapshot_xmin(s)::text::bigint, pg_snapshot_xmax(s)::text::bigint "
+                        + "FROM pg_current_snapshot() s",
+                (rs, rowNum) -> new long[] { rs.getLong(1), rs.getLong(2) });
+        long now = System.nanoTime();
+        synchronized (samples) {
+            long value = lastValue != null ? lastValue : 0;
+            // A sample with no new values adds nothing the previous one does not settle sooner
+            if (samples.isEmpty() || samples.peekLast().lastValue() != value) {
+                samples.addLast(new Sample(now, snapshot[1], value));
+            }
+            while (!samples.isEmpty() && samples.peekFirst().xmax() <= snapshot[0]) {
+                horizon = Math.max(horizon, samples.removeFirst().lastValue());
+                stallReported = false;
+                settled.countDown();
+            }
+            Sample oldest = samples.peekFirst();
+            if (oldest != null && !stallReported && now - oldest.nanoTime() >= stallWarning.toNanos()) {
+                stallReported = true;
+                System.err.println("---- Change feed horizon held back for " + stallWarning
+                        + " by a transaction older than xid " + oldest.xmax() + " ----");
+            }
+        }
+    }
+
+    /**
+     * Returns the highest change sequence value the feed may serve: every row
+     * with a value up to it is committed or rolled back.
+     *
+     * @return the horizon, or 0 if no sample has settled yet.
+     */
+    public long horizon() {
+        return horizon;
+    }
+
+    /**
+     * Waits until the first sample has settled and returns the horizon. A scan
+     * that starts afterwards sees every row up to it, so a catch-up after the
+     * scan can start there.
+     *
+     * @return the horizon.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public long awaitHorizon() throws InterruptedException {
+        settled.await();
+        return horizon;
+    }
+
+    private record Sample(long nanoTime, long xmax, long lastValue) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.ashaassist.backend.config;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ashaassist.backend.cache.CacheRegions;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+
+/**
+ * Configures the Caffeine-backed JCache manager used as Hibernate's
+ * second-level cache, with size and TTL bounded regions for the read-mostly
+ * {@code User} and {@code Patient} entities, their natural IDs and the query
+ * cache. Every region reports hit/miss metrics to Micrometer.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    @Value("${app.cache.entity.max-size:10000}")
+    private long entityMaxSize;
+
+    @Value("${app.cache.entity.ttl:30m}")
+    private Duration entityTtl;
+
+    @Value("${app.cache.query.max-size:1000}")
+    private long queryMaxSize;
+
+    @Value("${app.cache.query.ttl:5m}")
+    private Duration queryTtl;
+
+    /**
+     * Creates the JCache manager and all second-level cache regions.
+     *
+     * @param meterRegistry the registry that receives the cache metrics.
+     * @return the cache manager handed to Hibernate.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(MeterRegistry meterRegistry) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+
+        for (String region : CacheRegions.ENTITY_REGIONS) {
+            createRegion(cacheManager, meterRegistry, region, entityMaxSize, entityTtl);
+        }
+        createRegion(cacheManager, meterRegistry, CacheRegions.QUERY_RESULTS, queryMaxSize, queryTtl);
+
+        // Update timestamps must outlive every cached query result and are never evicted by size.
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStoreByValue(false);
+        timestamps.setStatisticsEnabled(true);
+        bind(meterRegistry, cacheManager.createCache(CacheRegions.UPDATE_TIMESTAMPS, timestamps));
+
+        return cacheManager;
+    }
+
+    /**
+     * Hands the cache manager to Hibernate instead of letting the region
+     * factory create its own.
+     *
+     * @param hibernateCacheManager the JCache manager.
+     * @return a customizer for the Hibernate properties.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static void createRegion(CacheManager cacheManager, MeterRegistry meterRegistry,
+            String region, long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        bind(meterRegistry, cacheManager.createCache(region, configuration));
+    }
+
+    private static void bind(MeterRegistry meterRegistry, Cache<Object, Object> cache) {
+        JCacheMetrics.monitor(meterRegistry, cache);
+    }
+}
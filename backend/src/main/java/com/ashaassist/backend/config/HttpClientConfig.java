@@ -0,0 +1,64 @@
+package com.ashaassist.backend.config;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+import com.ashaassist.backend.resilience.DeadlineAwareRequestFactory;
+
+/**
+ * Configures the shared {@link RestTemplate} used for outbound calls to the
+ * Whisper and AI services. The underlying JDK {@link HttpClient} is reused
+ * across requests and, when virtual threads are enabled, runs its
+ * asynchronous work on virtual threads as well. Each request times out at
+ * the current request deadline or the read timeout, whichever comes first.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @Value("${app.http.connect-timeout:5s}")
+    private Duration connectTimeout;
+
+    @Value("${app.http.read-timeout:60s}")
+    private Duration readTimeout;
+
+    /**
+     * Creates the JDK HTTP client shared by all outbound calls.
+     *
+     * @return the HTTP client.
+     */
+    @Bean
+    public HttpClient outboundHttpClient() {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL);
+        if (virtualThreadsEnabled) {
+            builder.executor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates the {@link RestTemplate} used for outbound calls.
+     *
+     * @param restTemplateBuilder the Boot-configured builder.
+     * @param outboundHttpClient  the shared HTTP client.
+     * @return the rest template.
+     */
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder restTemplateBuilder, HttpClient outboundHttpClient) {
+        DeadlineAwareRequestFactory requestFactory = new DeadlineAwareRequestFactory(outboundHttpClient, readTimeout);
+        return restTemplateBuilder
+                .requestFactory(() -> requestFactory)
+                .build();
+    }
+}
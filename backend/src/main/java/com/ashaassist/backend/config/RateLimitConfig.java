@@ -0,0 +1,30 @@
+package com.ashaassist.backend.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ashaassist.backend.ratelimit.InMemoryRateLimitStore;
+import com.ashaassist.backend.ratelimit.RateLimitStore;
+
+/**
+ * Provides the in-memory {@link RateLimitStore} when
+ * {@code app.ratelimit.store} is {@code memory}, the default. A shared store
+ * for a multi-instance deployment is selected with another value of the
+ * property, on which its bean is conditional, so exactly one store is
+ * registered regardless of the order in which configurations are scanned.
+ */
+@Configuration
+public class RateLimitConfig {
+
+    /**
+     * Creates the in-memory rate limit store.
+     *
+     * @return an {@link InMemoryRateLimitStore} instance.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.ratelimit.store", havingValue = "memory", matchIfMissing = true)
+    public RateLimitStore rateLimitStore() {
+        return new InMemoryRateLimitStore();
+    }
+}
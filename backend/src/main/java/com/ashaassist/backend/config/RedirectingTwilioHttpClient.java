@@ -0,0 +1,43 @@
+package com.ashaassist.backend.config;
+
+import java.net.URI;
+
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+
+import com.twilio.http.NetworkHttpClient;
+import com.twilio.http.Request;
+import com.twilio.http.Response;
+
+/**
+ * A Twilio HTTP client that sends every request to a different base URL, e.g.
+ * a local stand-in for the Twilio API during load tests. Path, parameters,
+ * headers and credentials are kept as they are.
+ */
+public class RedirectingTwilioHttpClient extends NetworkHttpClient {
+
+    private final String baseUrl;
+
+    /**
+     * Constructs a new {@code RedirectingTwilioHttpClient}.
+     *
+     * @param baseUrl       the base URL replacing {@code https://api.twilio.com}.
+     * @param clientBuilder the builder of the underlying HTTP client, with its
+     *                      timeouts and connection pool configured.
+     */
+    public RedirectingTwilioHttpClient(String baseUrl, HttpClientBuilder clientBuilder) {
+        super(clientBuilder);
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    @Override
+    public Response makeRequest(Request request) {
+        Request redirected = new Request(request.getMethod(), baseUrl + URI.create(request.getUrl()).getRawPath());
+        if (request.requiresAuthentication()) {
+            redirected.setAuth(request.getUsername(), request.getPassword());
+        }
+        request.getQueryParams().forEach((name, values) -> values.forEach(value -> redirected.addQueryParam(name, value)));
+        request.getPostParams().forEach((name, values) -> values.forEach(value -> redirected.addPostParam(name, value)));
+        request.getHeaderParams().forEach((name, values) -> values.forEach(value -> redirected.addHeaderParam(name, value)));
+        return super.makeRequest(redirected);
+    }
+}
@@ -0,0 +1,13 @@
+package com.ashaassist.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables Spring's scheduled task execution for background maintenance jobs
+ * such as partition management and archival.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
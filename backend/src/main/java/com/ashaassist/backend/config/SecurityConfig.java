@@ -1,5 +1,9 @@
 package com.ashaassist.backend.config;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -12,8 +16,13 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.expression.WebExpressionAuthorizationManager;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.session.DisableEncodeUrlFilter;
 
+import com.ashaassist.backend.admission.TranscriptionAdmissionFilter;
+import com.ashaassist.backend.ratelimit.RateLimitFilter;
+import com.ashaassist.backend.resilience.RequestDeadlineFilter;
 import com.ashaassist.backend.security.JwtAuthenticationFilter;
 
 /**
@@ -25,16 +34,33 @@ import com.ashaassist.backend.security.JwtAuthenticationFilter;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final TranscriptionAdmissionFilter transcriptionAdmissionFilter;
+    private final RequestDeadlineFilter requestDeadlineFilter;
+
+    // Prometheus scrapes from these networks without a token; anyone else needs ADMIN
+    @Value("${app.metrics.scrape-networks:127.0.0.1/32,::1/128}")
+    private List<String> scrapeNetworks;
 
     /**
-     * Constructs a new {@code SecurityConfig} with the specified JWT authentication
-     * filter.
+     * Constructs a new {@code SecurityConfig} with the specified JWT
+     * authentication, rate limiting, admission control and deadline filters.
      *
-     * @param jwtAuthenticationFilter the filter to use for JWT-based
-     *                                authentication.
+     * @param jwtAuthenticationFilter      the filter to use for JWT-based
+     *                                     authentication.
+     * @param rateLimitFilter              the filter applying the per-user rate
+     *                                     limits.
+     * @param transcriptionAdmissionFilter the filter applying admission control
+     *                                     to transcription requests.
+     * @param requestDeadlineFilter        the filter starting the deadline of
+     *                                     every request.
      */
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, RateLimitFilter rateLimitFilter,
+            TranscriptionAdmissionFilter transcriptionAdmissionFilter, RequestDeadlineFilter requestDeadlineFilter) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.rateLimitFilter = rateLimitFilter;
+        this.transcriptionAdmissionFilter = transcriptionAdmissionFilter;
+        this.requestDeadlineFilter = requestDeadlineFilter;
     }
 
     /**
@@ -76,7 +102,9 @@ public class SecurityConfig {
                 .authorizeHttpRequests((authorize) -> authorize
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
-                        .requestMatchers("/api/admin/**").hasAuthority("ADMIN")
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/prometheus").access(scrapeAccess())
+                        .requestMatchers("/actuator/**", "/api/admin/**").hasAuthority("ADMIN")
                         .requestMatchers("/api/visits/**", "/api/patients/**", "/translate")
                         .hasAnyAuthority("ASHA_KARMI", "ADMIN")
                         .anyRequest().authenticated())
@@ -86,7 +114,23 @@ public class SecurityConfig {
 
         // Add our custom JWT filter before the standard authentication filter
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        // Rate limit per user once the JWT filter has established who the user is
+        http.addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
+        // Admit transcriptions only after authentication and rate limiting, so neither
+        // anonymous nor rate limited requests take up a slot
+        http.addFilterAfter(transcriptionAdmissionFilter, RateLimitFilter.class);
+        // Start the request deadline ahead of the whole chain, so the admission wait counts against it
+        http.addFilterBefore(requestDeadlineFilter, DisableEncodeUrlFilter.class);
 
         return http.build();
     }
+
+    private WebExpressionAuthorizationManager scrapeAccess() {
+        String fromScrapeNetwork = scrapeNetworks.stream()
+                .map(String::strip)
+                .filter(network -> !network.isEmpty())
+                .map(network -> "hasIpAddress('" + network + "') or ")
+                .collect(Collectors.joining());
+        return new WebExpressionAuthorizationManager(fromScrapeNetwork + "hasAuthority('ADMIN')");
+    }
 }
\ No newline at end of file
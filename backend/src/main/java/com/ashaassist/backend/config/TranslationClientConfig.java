@@ -0,0 +1,80 @@
+package com.ashaassist.backend.config;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+import com.google.api.gax.core.NoCredentialsProvider;
+import com.google.api.gax.grpc.ChannelPoolSettings;
+import com.google.api.gax.grpc.InstantiatingGrpcChannelProvider;
+import com.google.api.gax.retrying.RetrySettings;
+import com.google.cloud.translate.v3.TranslationServiceClient;
+import com.google.cloud.translate.v3.TranslationServiceSettings;
+
+import io.grpc.ManagedChannelBuilder;
+
+/**
+ * Configures the single, shared Google Cloud Translation client.
+ * The client keeps a fixed pool of gRPC channels open for the lifetime of the
+ * application and applies a deadline to every translate RPC. It is created
+ * lazily so that the application still starts without Google credentials; its
+ * shutdown is handled by {@code TranslationService}.
+ * <p>
+ * For load tests the client can be pointed at a local stand-in with
+ * {@code app.translate.endpoint} and, without TLS or credentials, with
+ * {@code app.translate.plaintext}.
+ */
+@Configuration
+public class TranslationClientConfig {
+
+    @Value("${app.translate.channel-pool-size:4}")
+    private int channelPoolSize;
+
+    @Value("${app.translate.deadline:10s}")
+    private Duration deadline;
+
+    @Value("${app.translate.endpoint:}")
+    private String endpoint;
+
+    @Value("${app.translate.plaintext:false}")
+    private boolean plaintext;
+
+    /**
+     * Creates the translation client.
+     *
+     * @return the translation client.
+     * @throws IOException if the client cannot be created, e.g. due to missing
+     *                     credentials.
+     */
+    @Bean(destroyMethod = "")
+    @Lazy
+    public TranslationServiceClient translationServiceClient() throws IOException {
+        InstantiatingGrpcChannelProvider.Builder transport = TranslationServiceSettings
+                .defaultGrpcTransportProviderBuilder()
+                .setChannelPoolSettings(ChannelPoolSettings.staticallySized(channelPoolSize));
+        TranslationServiceSettings.Builder settings = TranslationServiceSettings.newBuilder();
+        if (!endpoint.isBlank()) {
+            transport.setEndpoint(endpoint);
+            settings.setEndpoint(endpoint);
+        }
+        if (plaintext) {
+            transport.setChannelConfigurator(ManagedChannelBuilder::usePlaintext);
+            settings.setCredentialsProvider(NoCredentialsProvider.create());
+        }
+        settings.setTransportChannelProvider(transport.build());
+
+        org.threeten.bp.Duration rpcDeadline = org.threeten.bp.Duration.ofMillis(deadline.toMillis());
+        RetrySettings retrySettings = settings.translateTextSettings().getRetrySettings().toBuilder()
+                .setInitialRpcTimeout(rpcDeadline)
+                .setMaxRpcTimeout(rpcDeadline)
+                .setTotalTimeout(rpcDeadline)
+                .build();
+        settings.translateTextSettings().setRetrySettings(retrySettings);
+
+        return TranslationServiceClient.create(settings.build());
+    }
+}
@@ -1,19 +1,23 @@
 package com.ashaassist.backend.controller;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.ashaassist.backend.dto.ArchivedVisitDto;
 import com.ashaassist.backend.model.User;
 import com.ashaassist.backend.model.Visit;
 import com.ashaassist.backend.repository.PatientRepository;
 import com.ashaassist.backend.repository.UserRepository;
 import com.ashaassist.backend.repository.VisitRepository;
+import com.ashaassist.backend.service.VisitArchiveService;
 
 /**
  * Controller for handling administrative tasks and dashboard statistics.
@@ -26,13 +30,19 @@ public class AdminController {
     private final UserRepository userRepository;
     private final PatientRepository patientRepository;
     private final VisitRepository visitRepository;
+    private final VisitArchiveService visitArchiveService;
+
+    @Value("${app.visits.recent-window-days:90}")
+    private int recentWindowDays;
 
     public AdminController(UserRepository userRepository,
             PatientRepository patientRepository,
-            VisitRepository visitRepository) {
+            VisitRepository visitRepository,
+            VisitArchiveService visitArchiveService) {
         this.userRepository = userRepository;
         this.patientRepository = patientRepository;
         this.visitRepository = visitRepository;
+        this.visitArchiveService = visitArchiveService;
     }
 
     /**
@@ -52,6 +62,8 @@ public class AdminController {
 
     /**
      * Retrieves the 10 most recent visits from all users.
+     * Only visits inside the recent window are considered, so the query stays on
+     * the newest partitions.
      * 
      * @return A list of the 10 most recent visits, ordered by verification date
      *         descending.
@@ -59,8 +71,8 @@ public class AdminController {
     @GetMapping("/recent-visits")
     @Transactional(readOnly = true)
     public List<Visit> getRecentVisits() {
-        // Use the new repository method
-        return visitRepository.findTop10ByOrderByVerifiedAtDesc();
+        return visitRepository.findTop10ByCreatedAtAfterOrderByVerifiedAtDesc(
+                LocalDateTime.now().minusDays(recentWindowDays));
     }
 
     /**
@@ -139,4 +151,19 @@ public class AdminController {
     public List<Visit> getPatientVisits(@org.springframework.web.bind.annotation.PathVariable Long id) {
         return visitRepository.findByPatientId(id);
     }
-}
\ No newline at end of file
+
+    // --- Archive Endpoints ---
+
+    /**
+     * Retrieves a visit that has been moved to the cold archive.
+     * 
+     * @param id The ID of the archived visit.
+     * @return The archived visit with its medical record.
+     * @throws RuntimeException if the visit is not in the archive.
+     */
+    @GetMapping("/archive/visits/{id}")
+    public ArchivedVisitDto getArchivedVisit(@org.springframework.web.bind.annotation.PathVariable Long id) {
+        return visitArchiveService.findArchivedVisit(id)
+                .orElseThrow(() -> new RuntimeException("Archived visit not found"));
+    }
+}
@@ -0,0 +1,129 @@
+package com.ashaassist.backend.controller;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ashaassist.backend.dto.BackfillRunDto;
+import com.ashaassist.backend.service.BackfillService;
+
+/**
+ * Controller for backfill jobs, which process every medical record again,
+ * e.g. to re-index or re-transcribe them. Accessible only to users with the
+ * 'ADMIN' role.
+ */
+@RestController
+@RequestMapping("/api/admin/backfill") // Base path protected by SecurityConfig
+public class BackfillController {
+
+    private final BackfillService backfillService;
+
+    /**
+     * Constructs a new {@code BackfillController}.
+     *
+     * @param backfillService the service managing backfill runs.
+     */
+    public BackfillController(BackfillService backfillService) {
+        this.backfillService = backfillService;
+    }
+
+    /**
+     * Lists the available jobs.
+     *
+     * @return the job names.
+     */
+    @GetMapping("/jobs")
+    public List<String> getJobs() {
+        return backfillService.jobNames();
+    }
+
+    /**
+     * Starts a run of a job.
+     *
+     * @param job the name of the job.
+     * @return the new run with HTTP status 202 (Accepted), HTTP status 404 (Not Found)
+     *         if the job does not exist, or HTTP status 409 (Conflict) if a run of
+     *         the job is already running or paused.
+     */
+    @PostMapping("/jobs/{job}/runs")
+    public ResponseEntity<?> startRun(@PathVariable String job) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(backfillService.start(job));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Lists the most recent runs with their progress, throughput and ETA.
+     *
+     * @return the runs, newest first.
+     */
+    @GetMapping("/runs")
+    public List<BackfillRunDto> getRuns() {
+        return backfillService.findRuns();
+    }
+
+    /**
+     * Retrieves a run with its progress, throughput and ETA.
+     *
+     * @param id the ID of the run.
+     * @return the run, or HTTP status 404 (Not Found) if it does not exist.
+     */
+    @GetMapping("/runs/{id}")
+    public ResponseEntity<?> getRun(@PathVariable Long id) {
+        return apply(id, backfillService::findRun);
+    }
+
+    /**
+     * Pauses a running run at its next checkpoint.
+     *
+     * @param id the ID of the run.
+     * @return the run, or HTTP status 409 (Conflict) if it is not running.
+     */
+    @PostMapping("/runs/{id}/pause")
+    public ResponseEntity<?> pauseRun(@PathVariable Long id) {
+        return apply(id, backfillService::pause);
+    }
+
+    /**
+     * Resumes a paused run from its checkpoint.
+     *
+     * @param id the ID of the run.
+     * @return the run, or HTTP status 409 (Conflict) if it is not paused.
+     */
+    @PostMapping("/runs/{id}/resume")
+    public ResponseEntity<?> resumeRun(@PathVariable Long id) {
+        return apply(id, backfillService::resume);
+    }
+
+    /**
+     * Cancels a running or paused run.
+     *
+     * @param id the ID of the run.
+     * @return the run, or HTTP status 409 (Conflict) if it has ended already.
+     */
+    @PostMapping("/runs/{id}/cancel")
+    public ResponseEntity<?> cancelRun(@PathVariable Long id) {
+        return apply(id, backfillService::cancel);
+    }
+
+    private ResponseEntity<?> apply(Long id, Function<Long, BackfillRunDto> action) {
+        try {
+            return ResponseEntity.ok(action.apply(id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+}
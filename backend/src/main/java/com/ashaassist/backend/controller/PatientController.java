@@ -6,7 +6,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.ashaassist.backend.repository.PatientRepository;
+import com.ashaassist.backend.cache.PatientPhoneIndex;
 
 /**
  * Controller for handling patient-related requests.
@@ -15,26 +15,27 @@ import com.ashaassist.backend.repository.PatientRepository;
 @RequestMapping("/api/patients")
 public class PatientController {
 
-    private final PatientRepository patientRepository;
+    private final PatientPhoneIndex patientPhoneIndex;
 
     /**
-     * Constructs a new {@code PatientController} with the specified patient repository.
+     * Constructs a new {@code PatientController} with the specified phone index.
      *
-     * @param patientRepository the repository to use for patient data access.
+     * @param patientPhoneIndex the index answering existence checks by phone number.
      */
-    public PatientController(PatientRepository patientRepository) {
-        this.patientRepository = patientRepository;
+    public PatientController(PatientPhoneIndex patientPhoneIndex) {
+        this.patientPhoneIndex = patientPhoneIndex;
     }
 
     /**
-     * Checks if a patient exists with the given phone number.
+     * Checks if a patient exists with the given phone number. Unknown numbers
+     * are usually rejected from memory without a database query.
      *
      * @param phoneNumber the phone number to check.
      * @return a {@link ResponseEntity} with a boolean indicating whether the patient exists and HTTP status 200 (OK).
      */
     @GetMapping("/exists/{phoneNumber}")
     public ResponseEntity<Boolean> doesPatientExist(@PathVariable String phoneNumber) {
-        boolean exists = patientRepository.findByPhoneNumber(phoneNumber).isPresent();
+        boolean exists = patientPhoneIndex.exists(phoneNumber);
         return ResponseEntity.ok(exists);
     }
 }
\ No newline at end of file
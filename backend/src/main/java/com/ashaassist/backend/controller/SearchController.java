@@ -0,0 +1,111 @@
+package com.ashaassist.backend.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ashaassist.backend.dto.PatientSuggestionDto;
+import com.ashaassist.backend.dto.TranscriptSearchPageDto;
+import com.ashaassist.backend.dto.UserSuggestionDto;
+import com.ashaassist.backend.search.DirectorySearchIndex;
+import com.ashaassist.backend.search.TranscriptSearchFilter;
+import com.ashaassist.backend.search.TranscriptSearchIndex;
+
+/**
+ * Controller for supervisor searches over visit transcripts and typeahead
+ * lookups of patients and Asha Karmis. Lives under the admin path, so it is
+ * accessible only to users with the 'ADMIN' role.
+ */
+@RestController
+@RequestMapping("/api/admin/search")
+public class SearchController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final TranscriptSearchIndex transcriptSearchIndex;
+    private final DirectorySearchIndex directorySearchIndex;
+
+    /**
+     * Constructs a new {@code SearchController} with the specified search indexes.
+     *
+     * @param transcriptSearchIndex the transcript search index.
+     * @param directorySearchIndex  the patient and user typeahead index.
+     */
+    public SearchController(TranscriptSearchIndex transcriptSearchIndex,
+            DirectorySearchIndex directorySearchIndex) {
+        this.transcriptSearchIndex = transcriptSearchIndex;
+        this.directorySearchIndex = directorySearchIndex;
+    }
+
+    /**
+     * Searches transcripts, ranked by relevance.
+     *
+     * @param q         the free-text query, in Hindi or English.
+     * @param workerId  optional Asha Karmi ID filter.
+     * @param patientId optional patient ID filter.
+     * @param from      optional first day to include.
+     * @param to        optional last day to include.
+     * @param cursor    the cursor returned with the previous page.
+     * @param limit     the page size, at most 100.
+     * @return a {@link ResponseEntity} with one page of results.
+     */
+    @GetMapping("/transcripts")
+    public ResponseEntity<?> searchTranscripts(
+            @RequestParam String q,
+            @RequestParam(required = false) Long workerId,
+            @RequestParam(required = false) Long patientId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        TranscriptSearchFilter filter = new TranscriptSearchFilter(
+                workerId,
+                patientId,
+                from != null ? from.atStartOfDay() : null,
+                to != null ? to.plusDays(1).atStartOfDay() : null);
+        try {
+            TranscriptSearchPageDto page = transcriptSearchIndex.search(
+                    q, filter, cursor, Math.max(1, Math.min(limit, MAX_LIMIT)));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Suggests patients as the query is typed. Every word of the query must
+     * match the start or inside of a word in the patient's name, phone number
+     * or address.
+     *
+     * @param q     the query.
+     * @param limit the maximum number of suggestions, at most 100.
+     * @return the suggestions, best first.
+     */
+    @GetMapping("/patients")
+    public List<PatientSuggestionDto> suggestPatients(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return directorySearchIndex.suggestPatients(q, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+
+    /**
+     * Suggests users as the query is typed. Every word of the query must match
+     * the start or inside of a word in the user's full name or username.
+     *
+     * @param q     the query.
+     * @param limit the maximum number of suggestions, at most 100.
+     * @return the suggestions, best first.
+     */
+    @GetMapping("/users")
+    public List<UserSuggestionDto> suggestUsers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return directorySearchIndex.suggestUsers(q, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+}
@@ -3,20 +3,32 @@
 package com.ashaassist.backend.controller;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import com.google.cloud.translate.v3.DetectLanguageRequest;
-import com.google.cloud.translate.v3.DetectLanguageResponse;
-import com.google.cloud.translate.v3.LocationName;
-import com.google.cloud.translate.v3.TranslateTextRequest;
-import com.google.cloud.translate.v3.TranslateTextResponse;
-import com.google.cloud.translate.v3.TranslationServiceClient;
+import com.ashaassist.backend.dto.TranslateBatchRequestDto;
+import com.ashaassist.backend.dto.TranslateBatchResponseDto;
+import com.ashaassist.backend.resilience.DependencyUnavailableException;
+import com.ashaassist.backend.service.TranslationService;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import jakarta.annotation.PreDestroy;
 
 /**
  * DTO to receive the text payload for translation.
@@ -41,12 +53,41 @@ class TranslatePayload {
 @RequestMapping("/api")
 public class TranslationController {
 
-    @Value("${google.project.id}")
-    private String projectId;
+    private static final long STREAM_TIMEOUT_MILLIS = 120_000L;
+
+    private final TranslationService translationService;
+    private final ExecutorService streamExecutor;
+
+    @Value("${app.translate.batch.max-texts:1000}")
+    private int maxBatchTexts;
+
+    @Value("${app.translate.batch.max-request-codepoints:100000}")
+    private int maxBatchCodePoints;
+
+    /**
+     * Constructs a new {@code TranslationController} with the specified
+     * translation service.
+     *
+     * @param translationService the service to use for translations.
+     * @param streamWorkers      the number of streaming translations run at once.
+     * @param streamQueue        the number of streaming translations that may
+     *                           wait for a worker before new ones are rejected.
+     */
+    public TranslationController(TranslationService translationService,
+            @Value("${app.translate.stream.workers:4}") int streamWorkers,
+            @Value("${app.translate.stream.queue:16}") int streamQueue) {
+        this.translationService = translationService;
+        // Carries the request deadline and trace context over to the worker
+        this.streamExecutor = ContextExecutorService.wrap(
+                new ThreadPoolExecutor(streamWorkers, streamWorkers, 0L, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(streamQueue),
+                        Thread.ofPlatform().name("translate-stream-", 0).daemon().factory()),
+                ContextSnapshotFactory.builder().build());
+    }
 
     /**
      * Translates the provided text to English.
-     * Automatically detects the source language.
+     * The source language is detected by the translate call itself.
      * 
      * @param payload The payload containing the text to translate.
      * @return The translated text in English, or the original text if it's already
@@ -54,46 +95,102 @@ public class TranslationController {
      */
     @PostMapping("/translate")
     public ResponseEntity<String> translateText(@RequestBody TranslatePayload payload) {
+        try {
+            return ResponseEntity.ok(translationService.translate(payload.getText(), "en-US"));
+        } catch (DependencyUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, e.retryAfterSeconds())
+                    .body("Translation is temporarily unavailable");
+        } catch (RuntimeException e) {
+            System.err.println("Translation error: " + e.getMessage());
+            return ResponseEntity.status(500).body("Error translating text");
+        }
+    }
 
-        String textToTranslate = payload.getText();
-
-        try (TranslationServiceClient client = TranslationServiceClient.create()) {
-            LocationName parent = LocationName.of(projectId, "global");
-
-            // --- NEW: 1. Detect the language first ---
-            DetectLanguageRequest detectRequest = DetectLanguageRequest.newBuilder()
-                    .setParent(parent.toString())
-                    .setMimeType("text/plain")
-                    .setContent(textToTranslate)
-                    .build();
+    /**
+     * Translates many texts in one call, e.g. all strings of a screen.
+     *
+     * @param request The texts and the target language.
+     * @return The translations, in the same order as the request texts.
+     */
+    @PostMapping("/translate/batch")
+    public ResponseEntity<?> translateBatch(@RequestBody TranslateBatchRequestDto request) {
+        if (request.getTexts() == null || request.getTexts().isEmpty()) {
+            return ResponseEntity.ok(new TranslateBatchResponseDto(List.of()));
+        }
+        if (request.getTexts().contains(null)) {
+            return ResponseEntity.badRequest().body("Texts must not contain null entries.");
+        }
+        if (request.getTexts().size() > maxBatchTexts) {
+            return ResponseEntity.badRequest().body("A batch may hold at most " + maxBatchTexts + " texts.");
+        }
+        long codePoints = 0;
+        for (String text : request.getTexts()) {
+            codePoints += text.codePointCount(0, text.length());
+        }
+        if (codePoints > maxBatchCodePoints) {
+            return ResponseEntity.badRequest().body(
+                    "A batch may hold at most " + maxBatchCodePoints + " characters in total.");
+        }
+        try {
+            String target = request.getTargetLanguage() != null ? request.getTargetLanguage() : "en-US";
+            List<String> translations = translationService.translateBatch(request.getTexts(), target);
+            return ResponseEntity.ok(new TranslateBatchResponseDto(translations));
+        } catch (DependencyUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, e.retryAfterSeconds())
+                    .body("Translation is temporarily unavailable");
+        } catch (RuntimeException e) {
+            System.err.println("Batch translation error: " + e.getMessage());
+            return ResponseEntity.status(500).body("Error translating text");
+        }
+    }
 
-            DetectLanguageResponse detectResponse = client.detectLanguage(detectRequest);
-            // Get the language with the highest confidence
-            String detectedLanguageCode = detectResponse.getLanguages(0).getLanguageCode();
-
-            // --- NEW: 2. Check if it's already English ---
-            if (detectedLanguageCode.equalsIgnoreCase("en")) {
-                // It's already English, just return the original text
-                return ResponseEntity.ok(textToTranslate);
-            }
-
-            // --- 3. If not English, then translate it ---
-            TranslateTextRequest translateRequest = TranslateTextRequest.newBuilder()
-                    .setParent(parent.toString())
-                    .setMimeType("text/plain")
-                    .setSourceLanguageCode(detectedLanguageCode) // Use the language we detected
-                    .setTargetLanguageCode("en-US") // Translate to English
-                    .addContents(textToTranslate)
+    /**
+     * Translates a long text, such as a transcript, to English and streams the
+     * translation as server-sent events: one {@code chunk} event per translated
+     * chunk, in order, followed by a {@code done} event.
+     *
+     * @param payload The payload containing the text to translate.
+     * @return The event stream, or 503 if too many streams are running.
+     */
+    @PostMapping(value = "/translate/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> translateStream(@RequestBody TranslatePayload payload) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MILLIS);
+        String text = payload.getText() != null ? payload.getText() : "";
+        try {
+            streamExecutor.execute(() -> stream(text, emitter));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
                     .build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
 
-            TranslateTextResponse translateResponse = client.translateText(translateRequest);
-            String translatedText = translateResponse.getTranslations(0).getTranslatedText();
-
-            return ResponseEntity.ok(translatedText);
-
-        } catch (IOException e) {
-            System.err.println("Translation error: " + e.getMessage());
-            return ResponseEntity.status(500).body("Error translating text");
+    private void stream(String text, SseEmitter emitter) {
+        try {
+            translationService.translateLong(text, "en-US", chunk -> {
+                try {
+                    emitter.send(SseEmitter.event().name("chunk").data(chunk, MediaType.APPLICATION_JSON));
+                } catch (IOException e) {
+                    throw new IllegalStateException("Client disconnected", e);
+                }
+            });
+            emitter.send(SseEmitter.event().name("done").data(""));
+            emitter.complete();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Streaming translation error: " + e.getMessage());
+            emitter.completeWithError(e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Stops accepting new streams. Streams already running are abandoned with
+     * the JVM.
+     */
+    @PreDestroy
+    public void shutdown() {
+        streamExecutor.shutdown();
+    }
+}
@@ -0,0 +1,58 @@
+package com.ashaassist.backend.controller;
+
+import java.util.Optional;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ashaassist.backend.service.VisitAudioService;
+import com.ashaassist.backend.service.VisitAudioService.VisitRecording;
+
+/**
+ * Controller serving the stored recordings of visits.
+ */
+@RestController
+@RequestMapping("/api/visits")
+public class VisitAudioController {
+
+    private final VisitAudioService visitAudioService;
+
+    /**
+     * Constructs a new {@code VisitAudioController}.
+     *
+     * @param visitAudioService the service holding the recordings.
+     */
+    public VisitAudioController(VisitAudioService visitAudioService) {
+        this.visitAudioService = visitAudioService;
+    }
+
+    /**
+     * Streams the most recent recording of a visit. {@code Range} requests are
+     * answered with {@code 206 Partial Content}, so players can seek.
+     *
+     * @param visitId the ID of the visit.
+     * @return a {@link ResponseEntity} with the recording and HTTP status 200 (OK),
+     *         or HTTP status 404 (Not Found) if the visit has no stored recording.
+     */
+    @GetMapping("/{id}/audio")
+    public ResponseEntity<Resource> getAudio(@PathVariable("id") Long visitId) {
+        Optional<VisitRecording> recording = visitAudioService.findLatestRecording(visitId);
+        if (recording.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String contentType = recording.get().reference().getContentType();
+        return ResponseEntity.ok()
+                .contentType(contentType != null
+                        ? MediaType.parseMediaType(contentType)
+                        : MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .eTag("\"" + recording.get().reference().getDigest() + "\"")
+                .body(recording.get().toResource());
+    }
+}
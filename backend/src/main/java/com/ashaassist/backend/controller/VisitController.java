@@ -2,25 +2,40 @@ package com.ashaassist.backend.controller;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
 
+import com.ashaassist.backend.admission.TranscriptionAdmission;
+import com.ashaassist.backend.admission.TranscriptionAdmissionFilter;
+import com.ashaassist.backend.dto.ChangesResponseDto;
 import com.ashaassist.backend.dto.StartVisitRequestDto;
 import com.ashaassist.backend.dto.StartVisitResponseDto;
 import com.ashaassist.backend.dto.TranscriptionResponseDto;
 import com.ashaassist.backend.dto.VerifyOtpRequestDto;
 import com.ashaassist.backend.dto.VisitDto;
+import com.ashaassist.backend.dto.VisitSyncRequestDto;
+import com.ashaassist.backend.metrics.UploadMetrics;
 import com.ashaassist.backend.model.Visit;
+import com.ashaassist.backend.resilience.DependencyUnavailableException;
+import com.ashaassist.backend.service.ChangeFeedService;
 import com.ashaassist.backend.service.VisitService;
+import com.ashaassist.backend.service.VisitSyncService;
 
 /**
  * Controller for handling visit-related requests, such as starting, verifying, and transcribing visits.
@@ -30,27 +45,48 @@ import com.ashaassist.backend.service.VisitService;
 public class VisitController {
 
     private final VisitService visitService;
+    private final VisitSyncService visitSyncService;
+    private final ChangeFeedService changeFeedService;
+    private final UploadMetrics uploadMetrics;
+
+    @Value("${app.sync.max-items:20}")
+    private int maxSyncItems;
 
     /**
      * Constructs a new {@code VisitController} with the specified visit service.
      *
-     * @param visitService the service to use for visit operations.
+     * @param visitService      the service to use for visit operations.
+     * @param visitSyncService  the service syncing visits captured offline.
+     * @param changeFeedService the service serving the change feed of a worker.
+     * @param uploadMetrics     the metrics tracking audio uploads.
      */
-    public VisitController(VisitService visitService) {
+    public VisitController(VisitService visitService, VisitSyncService visitSyncService,
+            ChangeFeedService changeFeedService, UploadMetrics uploadMetrics) {
         this.visitService = visitService;
+        this.visitSyncService = visitSyncService;
+        this.changeFeedService = changeFeedService;
+        this.uploadMetrics = uploadMetrics;
     }
 
     /**
      * Starts a new visit for a patient.
      *
      * @param startVisitRequestDto the data transfer object containing information to start a visit.
-     * @return a {@link ResponseEntity} with a response DTO containing the new visit's ID and HTTP status 200 (OK).
+     * @return a {@link ResponseEntity} with a response DTO containing the new visit's ID and HTTP status 200 (OK),
+     *         or HTTP status 503 (Service Unavailable) if the OTP SMS cannot be sent right now.
      */
     @PostMapping("/start")
-    public ResponseEntity<StartVisitResponseDto> startVisit(
+    public ResponseEntity<?> startVisit(
         @RequestBody StartVisitRequestDto startVisitRequestDto
     ) {
-        Visit newVisit = visitService.startVisit(startVisitRequestDto);
+        Visit newVisit;
+        try {
+            newVisit = visitService.startVisit(startVisitRequestDto);
+        } catch (DependencyUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, e.retryAfterSeconds())
+                .body("SMS delivery is temporarily unavailable. Please retry later.");
+        }
         StartVisitResponseDto responseDto = new StartVisitResponseDto();
         responseDto.setId(newVisit.getId());
         return ResponseEntity.ok(responseDto);
@@ -93,12 +129,15 @@ public class VisitController {
      *
      * @param visitId   the ID of the visit.
      * @param audioFile the audio file to transcribe.
+     * @param permit    the admission permit of the request, if admission is enabled.
      * @return a {@link ResponseEntity} with the transcription response or an error message.
      */
     @PostMapping("/{id}/transcribe")
     public ResponseEntity<?> uploadAndTranscribeAudio(
         @PathVariable("id") Long visitId,
-        @RequestParam("audioFile") MultipartFile audioFile
+        @RequestParam("audioFile") MultipartFile audioFile,
+        @RequestAttribute(name = TranscriptionAdmissionFilter.PERMIT_ATTRIBUTE, required = false)
+        TranscriptionAdmission.Permit permit
     ) {
         if (audioFile.isEmpty()) {
             return ResponseEntity.badRequest().body(
@@ -106,12 +145,19 @@ public class VisitController {
             );
         }
 
+        long size = audioFile.getSize();
+        uploadMetrics.begin(size);
         try {
             TranscriptionResponseDto response = visitService.transcribeAudio(
                 visitId,
-                audioFile
+                audioFile,
+                permit
             );
             return ResponseEntity.ok(response);
+        } catch (DependencyUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, e.retryAfterSeconds())
+                .body("Transcription is temporarily unavailable. Please retry later.");
         } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
                 "Failed to process file: " + e.getMessage()
@@ -120,6 +166,67 @@ public class VisitController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(
                 e.getMessage()
             );
+        } finally {
+            uploadMetrics.end(size);
+        }
+    }
+
+    /**
+     * Syncs a bundle of visits that were captured while the device was offline.
+     * The {@code manifest} part lists the visits; the audio of each visit is
+     * sent in the part the manifest names for it. Each visit is stored on its
+     * own, so the response reports the outcome per visit, and visits already
+     * synced with the same idempotency key are not stored again.
+     *
+     * @param manifest the visits in the bundle.
+     * @param request  the multipart request carrying the audio parts.
+     * @return a {@link ResponseEntity} with the result manifest and HTTP status 200 (OK),
+     *         or HTTP status 400 (Bad Request) if the bundle is empty or too large.
+     */
+    @PostMapping(value = "/sync", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> syncVisits(
+        @RequestPart("manifest") VisitSyncRequestDto manifest,
+        MultipartHttpServletRequest request
+    ) {
+        if (manifest.getItems() == null || manifest.getItems().isEmpty()) {
+            return ResponseEntity.badRequest().body("The manifest lists no visits.");
+        }
+        if (manifest.getItems().size() > maxSyncItems) {
+            return ResponseEntity.badRequest().body(
+                "A bundle may hold at most " + maxSyncItems + " visits."
+            );
+        }
+
+        Map<String, MultipartFile> audioParts = request.getFileMap();
+        long size = audioParts.values().stream().mapToLong(MultipartFile::getSize).sum();
+        uploadMetrics.begin(size);
+        try {
+            return ResponseEntity.ok(visitSyncService.sync(manifest.getItems(), audioParts));
+        } finally {
+            uploadMetrics.end(size);
+        }
+    }
+
+    /**
+     * Retrieves the visits, patients and medical records of the currently
+     * logged-in user that were created or modified since the given cursor, so
+     * a device can keep its local copy up to date without fetching it again.
+     *
+     * @param cursor the cursor returned by the previous call; omit it for a full sync.
+     * @param limit  the maximum number of rows of each kind.
+     * @return a {@link ResponseEntity} with the changes and the next cursor and HTTP status 200 (OK),
+     *         or HTTP status 400 (Bad Request) if the cursor is malformed.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<?> getChanges(
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "limit", defaultValue = "200") int limit
+    ) {
+        try {
+            ChangesResponseDto changes = changeFeedService.findChanges(cursor, limit);
+            return ResponseEntity.ok(changes);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
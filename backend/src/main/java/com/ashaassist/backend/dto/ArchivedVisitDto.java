@@ -0,0 +1,54 @@
+package com.ashaassist.backend.dto;
+
+import java.time.LocalDateTime;
+
+import com.ashaassist.backend.model.MedicalRecord;
+import com.ashaassist.backend.model.Visit;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a visit that has been moved out of Postgres into an
+ * archive segment, together with its medical record.
+ */
+@Data
+@NoArgsConstructor
+public class ArchivedVisitDto {
+
+    private Long visitId;
+    private Long ashaKarmiId;
+    private Long patientId;
+    private boolean verified;
+    private LocalDateTime verifiedAt;
+    private LocalDateTime createdAt;
+    private Long medicalRecordId;
+    private String rawTranscript;
+    private String englishTranscript;
+    private String structuredData;
+    private LocalDateTime medicalRecordCreatedAt;
+
+    /**
+     * Constructs a new {@code ArchivedVisitDto} from a {@link Visit} entity and
+     * its medical record, if any.
+     *
+     * @param visit the visit entity to archive.
+     */
+    public ArchivedVisitDto(Visit visit) {
+        this.visitId = visit.getId();
+        this.ashaKarmiId = visit.getAshaKarmi().getId();
+        this.patientId = visit.getPatient().getId();
+        this.verified = visit.isVerified();
+        this.verifiedAt = visit.getVerifiedAt();
+        this.createdAt = visit.getCreatedAt();
+
+        MedicalRecord medicalRecord = visit.getMedicalRecord();
+        if (medicalRecord != null) {
+            this.medicalRecordId = medicalRecord.getId();
+            this.rawTranscript = medicalRecord.getRawTranscript();
+            this.englishTranscript = medicalRecord.getEnglishTranscript();
+            this.structuredData = medicalRecord.getStructuredData();
+            this.medicalRecordCreatedAt = medicalRecord.getCreatedAt();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.ashaassist.backend.dto;
+
+import java.time.LocalDateTime;
+
+import com.ashaassist.backend.model.BackfillRun;
+import com.ashaassist.backend.model.BackfillStatus;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object for the progress of a backfill run. Progress is as of
+ * the run's last checkpoint.
+ */
+@Data
+public class BackfillRunDto {
+
+    private Long id;
+    private String job;
+    private BackfillStatus status;
+    private long lastId;
+    private long processed;
+    private long skipped;
+    private long failed;
+    private long estimatedTotal;
+    private double rate;
+    private double throughput;
+    // Seconds until the run is done at the current throughput; null when unknown or not running
+    private Long etaSeconds;
+    private String lastError;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+
+    /**
+     * Constructs a new {@code BackfillRunDto} from a {@link BackfillRun} entity.
+     *
+     * @param run the backfill run to convert.
+     */
+    public BackfillRunDto(BackfillRun run) {
+        this.id = run.getId();
+        this.job = run.getJobName();
+        this.status = run.getStatus();
+        this.lastId = run.getLastId();
+        this.processed = run.getProcessed();
+        this.skipped = run.getSkipped();
+        this.failed = run.getFailed();
+        this.estimatedTotal = run.getEstimatedTotal();
+        this.rate = run.getRate();
+        this.throughput = run.getThroughput();
+        this.lastError = run.getLastError();
+        this.startedAt = run.getStartedAt();
+        this.updatedAt = run.getUpdatedAt();
+        this.finishedAt = run.getFinishedAt();
+
+        long remaining = Math.max(0, estimatedTotal - processed - skipped - failed);
+        if (status != BackfillStatus.RUNNING) {
+            this.etaSeconds = null;
+        } else if (remaining == 0) {
+            this.etaSeconds = 0L;
+        } else if (throughput > 0) {
+            this.etaSeconds = (long) Math.ceil(remaining / throughput);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.ashaassist.backend.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compact Data Transfer Object for a medical record in the change feed. The
+ * raw transcript is left out, since it is large and devices show the English
+ * transcript; it stays available through the visit endpoint.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangedMedicalRecordDto {
+
+    private Long id;
+    private Long visitId;
+    private String englishTranscript;
+    private String structuredData;
+    private LocalDateTime createdAt;
+
+    @JsonIgnore
+    private Long changeSeq;
+}
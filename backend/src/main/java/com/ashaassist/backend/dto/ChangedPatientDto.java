@@ -0,0 +1,30 @@
+package com.ashaassist.backend.dto;
+
+import java.time.LocalDate;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compact Data Transfer Object for a patient in the change feed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangedPatientDto {
+
+    private Long id;
+    private String fullName;
+    private String phoneNumber;
+    private LocalDate dateOfBirth;
+    private String gender;
+    private String address;
+
+    @JsonIgnore
+    private Long changeSeq;
+}
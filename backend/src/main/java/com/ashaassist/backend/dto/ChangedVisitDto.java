@@ -0,0 +1,30 @@
+package com.ashaassist.backend.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compact Data Transfer Object for a visit in the change feed. Related rows
+ * are referenced by ID and sent separately.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangedVisitDto {
+
+    private Long id;
+    private Long patientId;
+    private boolean verified;
+    private LocalDateTime verifiedAt;
+    private LocalDateTime createdAt;
+
+    @JsonIgnore
+    private Long changeSeq;
+}
@@ -0,0 +1,44 @@
+package com.ashaassist.backend.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for one page of the change feed of a worker.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangesResponseDto {
+
+    /**
+     * The cursor to send with the next request. Opaque to the device.
+     */
+    private String cursor;
+
+    /**
+     * Whether more changes are waiting; if so the device should ask again
+     * right away.
+     */
+    private boolean hasMore;
+
+    /**
+     * The visits created or modified since the request cursor.
+     */
+    private List<ChangedVisitDto> visits;
+
+    /**
+     * The patients created or modified since the request cursor, and the
+     * patients of the listed visits. A patient may be listed again that the
+     * device already has.
+     */
+    private List<ChangedPatientDto> patients;
+
+    /**
+     * The medical records created or modified since the request cursor.
+     */
+    private List<ChangedMedicalRecordDto> medicalRecords;
+}
@@ -0,0 +1,18 @@
+package com.ashaassist.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for one transcript sent to the AI service's
+ * {@code /extract} endpoint.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExtractionItemDto {
+    private Long id;
+    private Long visitId;
+    private String transcript;
+}
@@ -0,0 +1,18 @@
+package com.ashaassist.backend.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a batch of transcripts sent to the AI service's
+ * {@code /extract} endpoint.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExtractionRequestDto {
+    private List<ExtractionItemDto> items;
+}
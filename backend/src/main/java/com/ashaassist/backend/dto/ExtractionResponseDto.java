@@ -0,0 +1,18 @@
+package com.ashaassist.backend.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the response of the AI service's {@code /extract}
+ * endpoint, one result per requested transcript.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExtractionResponseDto {
+    private List<ExtractionResultDto> results;
+}
@@ -0,0 +1,20 @@
+package com.ashaassist.backend.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the structured data the AI service extracted from
+ * one transcript. Either {@code structuredData} or {@code error} is set.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExtractionResultDto {
+    private Long id;
+    private JsonNode structuredData;
+    private String error;
+}
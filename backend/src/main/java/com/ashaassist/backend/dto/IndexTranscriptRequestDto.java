@@ -0,0 +1,17 @@
+package com.ashaassist.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the request asking the AI service to index a visit
+ * transcript.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IndexTranscriptRequestDto {
+    private Long visitId;
+    private String transcript;
+}
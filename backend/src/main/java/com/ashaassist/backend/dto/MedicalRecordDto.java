@@ -11,6 +11,7 @@ import lombok.Data;
 public class MedicalRecordDto {
     private Long id;
     private String rawTranscript;
+    private String englishTranscript;
     private String structuredData;
     private LocalDateTime createdAt;
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.ashaassist.backend.dto;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a patient suggested by the admin typeahead search.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientSuggestionDto {
+
+    private Long id;
+    private String fullName;
+    private LocalDate dateOfBirth;
+    private String gender;
+    private String phoneNumber;
+    private String address;
+    private double score;
+}
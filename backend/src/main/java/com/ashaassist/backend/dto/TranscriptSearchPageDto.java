@@ -0,0 +1,23 @@
+package com.ashaassist.backend.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for one page of transcript search results.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TranscriptSearchPageDto {
+
+    private List<TranscriptSearchResultDto> results;
+
+    /**
+     * Opaque cursor for the next page, or {@code null} if this is the last page.
+     */
+    private String nextCursor;
+}
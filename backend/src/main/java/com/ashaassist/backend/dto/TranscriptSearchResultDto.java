@@ -0,0 +1,23 @@
+package com.ashaassist.backend.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a single transcript search hit.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TranscriptSearchResultDto {
+
+    private Long medicalRecordId;
+    private Long visitId;
+    private Long workerId;
+    private Long patientId;
+    private LocalDateTime createdAt;
+    private double score;
+}
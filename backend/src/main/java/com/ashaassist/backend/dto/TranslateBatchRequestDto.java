@@ -0,0 +1,22 @@
+package com.ashaassist.backend.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object for batch translation requests.
+ */
+@Data
+public class TranslateBatchRequestDto {
+
+    /**
+     * The texts to translate. Duplicates are translated only once.
+     */
+    private List<String> texts;
+
+    /**
+     * The BCP-47 code of the target language. Defaults to English.
+     */
+    private String targetLanguage = "en-US";
+}
@@ -0,0 +1,21 @@
+package com.ashaassist.backend.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for batch translation responses.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TranslateBatchResponseDto {
+
+    /**
+     * The translations, in the same order as the request texts.
+     */
+    private List<String> translations;
+}
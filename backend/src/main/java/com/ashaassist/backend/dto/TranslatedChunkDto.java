@@ -0,0 +1,18 @@
+package com.ashaassist.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for one translated chunk of a long text, streamed to the
+ * client as soon as it and all chunks before it are translated.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TranslatedChunkDto {
+    private int index;
+    private int total;
+    private String text;
+}
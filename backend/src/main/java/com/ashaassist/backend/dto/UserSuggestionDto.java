@@ -0,0 +1,20 @@
+package com.ashaassist.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a user suggested by the admin typeahead search.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSuggestionDto {
+
+    private Long id;
+    private String fullName;
+    private String username;
+    private String role;
+    private double score;
+}
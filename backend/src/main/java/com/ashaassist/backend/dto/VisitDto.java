@@ -41,6 +41,7 @@ public class VisitDto {
             MedicalRecordDto medicalRecordDto = new MedicalRecordDto();
             medicalRecordDto.setId(visit.getMedicalRecord().getId());
             medicalRecordDto.setRawTranscript(visit.getMedicalRecord().getRawTranscript());
+            medicalRecordDto.setEnglishTranscript(visit.getMedicalRecord().getEnglishTranscript());
             medicalRecordDto.setStructuredData(visit.getMedicalRecord().getStructuredData());
             medicalRecordDto.setCreatedAt(visit.getMedicalRecord().getCreatedAt());
             this.medicalRecord = medicalRecordDto;
@@ -0,0 +1,70 @@
+package com.ashaassist.backend.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object for one visit in an offline sync bundle.
+ */
+@Data
+public class VisitSyncItemDto {
+
+    /**
+     * The key the device generated for the visit. Required, and unique per
+     * user; sending a visit again with the same key does not create it twice.
+     */
+    private String idempotencyKey;
+
+    /**
+     * The ID of the visit, if it was started online and only its verification
+     * and recording were captured offline. Without it a new visit is created.
+     */
+    private Long visitId;
+
+    /**
+     * The phone number of the patient. Required for a new visit.
+     */
+    private String patientPhoneNumber;
+
+    /**
+     * The full name of the patient. Only used for new patients.
+     */
+    private String fullName;
+
+    /**
+     * The date of birth of the patient. Only used for new patients.
+     */
+    private LocalDate dateOfBirth;
+
+    /**
+     * The gender of the patient. Only used for new patients.
+     */
+    private String gender;
+
+    /**
+     * The address of the patient. Only used for new patients.
+     */
+    private String address;
+
+    /**
+     * When the visit took place, in device time. Defaults to the time of sync.
+     */
+    private LocalDateTime startedAt;
+
+    /**
+     * The OTP the patient read out, if the visit was started online.
+     */
+    private String otp;
+
+    /**
+     * When the OTP was entered on the device.
+     */
+    private LocalDateTime otpEnteredAt;
+
+    /**
+     * The name of the multipart part holding the visit's audio, if any.
+     */
+    private String audioPart;
+}
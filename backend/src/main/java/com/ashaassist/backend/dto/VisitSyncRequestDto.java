@@ -0,0 +1,18 @@
+package com.ashaassist.backend.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object for the manifest of an offline sync bundle. The audio
+ * of the visits is sent in separate parts of the same multipart request.
+ */
+@Data
+public class VisitSyncRequestDto {
+
+    /**
+     * The visits, in the order the device captured them.
+     */
+    private List<VisitSyncItemDto> items;
+}
@@ -0,0 +1,21 @@
+package com.ashaassist.backend.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the result manifest of an offline sync bundle.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VisitSyncResponseDto {
+
+    /**
+     * One result per item, in the same order as the request items.
+     */
+    private List<VisitSyncResultDto> results;
+}
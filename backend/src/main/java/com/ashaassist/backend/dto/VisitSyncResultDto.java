@@ -0,0 +1,50 @@
+package com.ashaassist.backend.dto;
+
+import com.ashaassist.backend.model.SyncStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the outcome of one visit in an offline sync bundle.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VisitSyncResultDto {
+
+    private String idempotencyKey;
+
+    private SyncStatus status;
+
+    /**
+     * Whether the visit had already been synced with this key.
+     */
+    private boolean replayed;
+
+    private Long visitId;
+
+    private boolean verified;
+
+    private Long medicalRecordId;
+
+    /**
+     * The number of seconds to wait before retrying a failed transcription,
+     * if known.
+     */
+    private String retryAfterSeconds;
+
+    private String error;
+
+    /**
+     * Creates the result of an item that was rejected without storing anything.
+     *
+     * @param idempotencyKey the key of the item.
+     * @param error          the reason.
+     * @return the result.
+     */
+    public static VisitSyncResultDto rejected(String idempotencyKey, String error) {
+        return new VisitSyncResultDto(idempotencyKey, SyncStatus.REJECTED, false, null, false, null, null, error);
+    }
+}
@@ -0,0 +1,71 @@
+package com.ashaassist.backend.extraction;
+
+/**
+ * A batch size that adapts to the latency of whole batches. While batches
+ * finish within the target latency and are full, the size grows by one per
+ * batch; a batch slower than the target shrinks it in proportion, by at most
+ * half, and a failed batch halves it. Large batches amortise the per-call
+ * overhead of the analyzer, and the target keeps one batch from holding many
+ * records past their expected latency or running into the call timeout.
+ */
+public class AdaptiveBatchSize {
+
+    private static final double MIN_FACTOR = 0.5;
+
+    private final int minSize;
+    private final int maxSize;
+    private final long targetLatencyNanos;
+
+    private double size;
+
+    /**
+     * Creates an adaptive batch size.
+     *
+     * @param initialSize        the size before any batch finished.
+     * @param minSize            the smallest size.
+     * @param maxSize            the largest size.
+     * @param targetLatencyNanos the latency a batch should stay within.
+     */
+    public AdaptiveBatchSize(int initialSize, int minSize, int maxSize, long targetLatencyNanos) {
+        if (minSize < 1 || maxSize < minSize) {
+            throw new IllegalArgumentException("Sizes must satisfy 1 <= min <= max");
+        }
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.size = Math.max(minSize, Math.min(maxSize, initialSize));
+    }
+
+    /**
+     * Returns the current size.
+     *
+     * @return the number of records to put in the next batch.
+     */
+    public synchronized int size() {
+        return (int) size;
+    }
+
+    /**
+     * Records a batch that completed.
+     *
+     * @param latencyNanos the latency of the batch.
+     * @param full         whether the batch had the full size, i.e. the size
+     *                     was the bottleneck.
+     */
+    public synchronized void onSuccess(long latencyNanos, boolean full) {
+        if (latencyNanos > targetLatencyNanos) {
+            double factor = Math.max(MIN_FACTOR, (double) targetLatencyNanos / latencyNanos);
+            size = Math.max(minSize, size * factor);
+        } else if (full) {
+            size = Math.min(maxSize, size + 1);
+        }
+    }
+
+    /**
+     * Records a batch that failed because the analyzer is overloaded or
+     * unavailable.
+     */
+    public synchronized void onFailure() {
+        size = Math.max(minSize, size * MIN_FACTOR);
+    }
+}
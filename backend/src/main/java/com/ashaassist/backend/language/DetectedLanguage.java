@@ -0,0 +1,28 @@
+package com.ashaassist.backend.language;
+
+/**
+ * The result of a local language detection.
+ *
+ * @param languageCode the BCP-47 code of the detected language, e.g. {@code en},
+ *                     {@code hi} or {@code hi-Latn} for romanised Hindi, or
+ *                     {@code und} if nothing could be detected.
+ * @param confidence   the confidence of the detection, between 0 and 1.
+ */
+public record DetectedLanguage(String languageCode, double confidence) {
+
+    /**
+     * The result for text without any letters.
+     */
+    public static final DetectedLanguage UNDETERMINED = new DetectedLanguage("und", 0.0);
+
+    /**
+     * Checks whether the detection is at least as confident as the given
+     * threshold.
+     *
+     * @param threshold the minimum confidence.
+     * @return {@code true} if the detection can be trusted.
+     */
+    public boolean isConfident(double threshold) {
+        return confidence >= threshold;
+    }
+}
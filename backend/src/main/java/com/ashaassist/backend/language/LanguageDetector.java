@@ -0,0 +1,183 @@
+package com.ashaassist.backend.language;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Detects the language of short texts in-process, without a remote call.
+ * <p>
+ * Detection first builds a histogram of the Unicode scripts of the letters in
+ * the text. Indic scripts map directly to a language, with the share of letters
+ * in the dominant script as the confidence; scripts shared by several languages
+ * map to the most common one, but never confidently. Latin-script text is further
+ * classified as English or romanised Hindi with character trigram models
+ * trained on the bundled samples under {@code language/}.
+ */
+public final class LanguageDetector {
+
+    private static final Map<Character.UnicodeScript, String> SCRIPT_LANGUAGES =
+            new EnumMap<>(Character.UnicodeScript.class);
+
+    static {
+        SCRIPT_LANGUAGES.put(Character.UnicodeScript.DEVANAGARI, "hi");
+        SCRIPT_LANGUAGES.put(Character.UnicodeScript.BENGALI, "bn");
+        SCRIPT_LANGUAGES.put(Character.UnicodeScript.TELUGU, "te");
+        SCRIPT_LANGUAGES.put(Character.UnicodeScript.TAMIL, "ta");
+        SCRIPT_LANGUAGES.put(Character.UnicodeScript.GUJARATI, "gu");
+        SCRIPT_LANGUAGES.put(Character.UnicodeScript.GURMUKHI, "pa");
+        SCRIPT_LANGUAGES.put(Character.UnicodeScript.KANNADA, "kn");
+        SCRIPT_LANGUAGES.put(Character.UnicodeScript.MALAYALAM, "ml");
+        SCRIPT_LANGUAGES.put(Character.UnicodeScript.ORIYA, "or");
+    }
+
+    /**
+     * Scripts written for more than one language: Devanagari for Hindi,
+     * Marathi and Nepali, Bengali for Bengali and Assamese. The script alone
+     * does not tell these apart, so their detections are scaled by
+     * {@link #SHARED_SCRIPT_WEIGHT} and stay below any useful confidence
+     * threshold; the translate API then detects the language itself.
+     */
+    private static final Set<Character.UnicodeScript> SHARED_SCRIPTS =
+            EnumSet.of(Character.UnicodeScript.DEVANAGARI, Character.UnicodeScript.BENGALI);
+
+    private static final double SHARED_SCRIPT_WEIGHT = 0.5;
+
+    /**
+     * Scales the trigram log-likelihood ratio so that a handful of words is
+     * needed before a Latin-script detection becomes confident.
+     */
+    private static final double LATIN_LIKELIHOOD_SCALE = 0.5;
+
+    private static final TrigramModel ENGLISH = TrigramModel.load("language/en.txt");
+    private static final TrigramModel ROMANISED_HINDI = TrigramModel.load("language/hi-Latn.txt");
+
+    private LanguageDetector() {
+    }
+
+    /**
+     * Detects the language of the given text.
+     *
+     * @param text the text, may be {@code null}.
+     * @return the detected language and the confidence of the detection.
+     */
+    public static DetectedLanguage detect(String text) {
+        if (text == null || text.isEmpty()) {
+            return DetectedLanguage.UNDETERMINED;
+        }
+
+        Map<Character.UnicodeScript, Integer> histogram = new EnumMap<>(Character.UnicodeScript.class);
+        int letters = 0;
+        for (int i = 0; i < text.length();) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.isLetter(codePoint)) {
+                histogram.merge(Character.UnicodeScript.of(codePoint), 1, Integer::sum);
+                letters++;
+            }
+        }
+        if (letters == 0) {
+            return DetectedLanguage.UNDETERMINED;
+        }
+
+        Character.UnicodeScript dominant = null;
+        int dominantCount = 0;
+        for (Map.Entry<Character.UnicodeScript, Integer> entry : histogram.entrySet()) {
+            if (entry.getValue() > dominantCount) {
+                dominant = entry.getKey();
+                dominantCount = entry.getValue();
+            }
+        }
+        double share = (double) dominantCount / letters;
+
+        if (dominant == Character.UnicodeScript.LATIN) {
+            return detectLatin(text, share);
+        }
+        String language = SCRIPT_LANGUAGES.get(dominant);
+        if (language == null) {
+            return new DetectedLanguage("und", 0.0);
+        }
+        double weight = SHARED_SCRIPTS.contains(dominant) ? SHARED_SCRIPT_WEIGHT : 1.0;
+        return new DetectedLanguage(language, share * weight);
+    }
+
+    private static DetectedLanguage detectLatin(String text, double share) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        double english = ENGLISH.logLikelihood(lower);
+        double hindi = ROMANISED_HINDI.logLikelihood(lower);
+        double probabilityEnglish = 1.0 / (1.0 + Math.exp(-LATIN_LIKELIHOOD_SCALE * (english - hindi)));
+        if (probabilityEnglish >= 0.5) {
+            return new DetectedLanguage("en", share * probabilityEnglish);
+        }
+        return new DetectedLanguage("hi-Latn", share * (1.0 - probabilityEnglish));
+    }
+
+    /**
+     * A character trigram model with add-one smoothing. Words are padded with
+     * spaces so that prefixes and suffixes get their own trigrams.
+     */
+    private static final class TrigramModel {
+
+        private static final int VOCABULARY_SIZE = 20_000;
+
+        private final Map<String, Integer> counts = new HashMap<>();
+        private long total;
+
+        static TrigramModel load(String resource) {
+            TrigramModel model = new TrigramModel();
+            try (InputStream in = LanguageDetector.class.getClassLoader().getResourceAsStream(resource)) {
+                if (in == null) {
+                    throw new IllegalStateException("Missing language model " + resource);
+                }
+                BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    model.train(line.toLowerCase(Locale.ROOT));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to load language model " + resource, e);
+            }
+            return model;
+        }
+
+        private void train(String text) {
+            forEachTrigram(text, trigram -> {
+                counts.merge(trigram, 1, Integer::sum);
+                total++;
+            });
+        }
+
+        double logLikelihood(String text) {
+            double[] sum = new double[1];
+            double denominator = Math.log(total + VOCABULARY_SIZE);
+            forEachTrigram(text, trigram -> sum[0] += Math.log(counts.getOrDefault(trigram, 0) + 1) - denominator);
+            return sum[0];
+        }
+
+        private static void forEachTrigram(String text, Consumer<String> consumer) {
+            StringBuilder word = new StringBuilder(" ");
+            for (int i = 0; i <= text.length(); i++) {
+                char c = i < text.length() ? text.charAt(i) : ' ';
+                if (Character.isLetter(c)) {
+                    word.append(c);
+                } else if (word.length() > 1) {
+                    word.append(' ');
+                    for (int j = 0; j + 3 <= word.length(); j++) {
+                        consumer.accept(word.substring(j, j + 3));
+                    }
+                    word.setLength(1);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.ashaassist.backend.language;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits long text into chunks that end on sentence boundaries and stay within
+ * a size budget, so each chunk can be translated on its own.
+ * <p>
+ * Sentences end at {@code . ! ?}, the Devanagari danda {@code ।} and double
+ * danda {@code ॥}, and line breaks. Consecutive sentences are packed into one
+ * chunk while they fit the budget. A sentence longer than the budget is split at
+ * the last whitespace that fits, or hard-split if it has none. Every chunk keeps
+ * its trailing whitespace, so concatenating the chunks yields the input again.
+ */
+public final class SentenceSplitter {
+
+    private SentenceSplitter() {
+    }
+
+    /**
+     * Splits the given text into chunks of at most {@code maxCodePoints} code
+     * points.
+     *
+     * @param text          the text to split.
+     * @param maxCodePoints the size budget of a chunk.
+     * @return the chunks, in order.
+     */
+    public static List<String> split(String text, int maxCodePoints) {
+        if (maxCodePoints <= 0) {
+            throw new IllegalArgumentException("maxCodePoints must be positive");
+        }
+        List<String> chunks = new ArrayList<>();
+        StringBuilder chunk = new StringBuilder();
+        int chunkCodePoints = 0;
+
+        for (String sentence : sentences(text)) {
+            int sentenceCodePoints = sentence.codePointCount(0, sentence.length());
+            if (chunkCodePoints + sentenceCodePoints <= maxCodePoints) {
+                chunk.append(sentence);
+                chunkCodePoints += sentenceCodePoints;
+                continue;
+            }
+            if (chunk.length() > 0) {
+                chunks.add(chunk.toString());
+                chunk.setLength(0);
+                chunkCodePoints = 0;
+            }
+            if (sentenceCodePoints <= maxCodePoints) {
+                chunk.append(sentence);
+                chunkCodePoints = sentenceCodePoints;
+            } else {
+                splitOversized(sentence, maxCodePoints, chunks);
+            }
+        }
+        if (chunk.length() > 0) {
+            chunks.add(chunk.toString());
+        }
+        return chunks;
+    }
+
+    /**
+     * Splits text into sentences, each including its terminator and the
+     * whitespace that follows it.
+     */
+    private static List<String> sentences(String text) {
+        List<String> sentences = new ArrayList<>();
+        int start = 0;
+        int i = 0;
+        while (i < text.length()) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (isTerminator(codePoint)) {
+                while (i < text.length() && isTerminator(text.codePointAt(i))) {
+                    i += Character.charCount(text.codePointAt(i));
+                }
+                while (i < text.length() && Character.isWhitespace(text.codePointAt(i))) {
+                    i += Character.charCount(text.codePointAt(i));
+                }
+                sentences.add(text.substring(start, i));
+                start = i;
+            }
+        }
+        if (start < text.length()) {
+            sentences.add(text.substring(start));
+        }
+        return sentences;
+    }
+
+    private static void splitOversized(String sentence, int maxCodePoints, List<String> chunks) {
+        int start = 0;
+        while (start < sentence.length()) {
+            int end = sentence.offsetByCodePoints(start,
+                    Math.min(maxCodePoints, sentence.codePointCount(start, sentence.length())));
+            if (end < sentence.length()) {
+                int lastSpace = lastWhitespace(sentence, start, end);
+                if (lastSpace > start) {
+                    end = lastSpace;
+                }
+            }
+            chunks.add(sentence.substring(start, end));
+            start = end;
+        }
+    }
+
+    /**
+     * Returns the index just after the last whitespace in {@code [start, end)},
+     * or {@code -1} if there is none.
+     */
+    private static int lastWhitespace(String text, int start, int end) {
+        for (int i = end - 1; i > start; i--) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isTerminator(int codePoint) {
+        return codePoint == '.' || codePoint == '!' || codePoint == '?' || codePoint == '\n'
+                || codePoint == '\u0964' || codePoint == '\u0965';
+    }
+}
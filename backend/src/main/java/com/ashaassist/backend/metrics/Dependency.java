@@ -0,0 +1,29 @@
+package com.ashaassist.backend.metrics;
+
+/**
+ * The external services the backend calls, as used in the
+ * {@code dependency} tag of the dependency metrics.
+ */
+public enum Dependency {
+
+    TWILIO("twilio"),
+    WHISPER("whisper"),
+    AI_INDEX("ai-index"),
+    AI_EXTRACT("ai-extract"),
+    TRANSLATE("translate");
+
+    private final String tag;
+
+    Dependency(String tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * Returns the value of the {@code dependency} tag.
+     *
+     * @return the tag value.
+     */
+    public String tag() {
+        return tag;
+    }
+}
@@ -0,0 +1,79 @@
+package com.ashaassist.backend.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times calls to external dependencies as {@code dependency.calls}, tagged
+ * with the dependency and the outcome.
+ * <p>
+ * All timers are registered up front, so recording a call is a clock read and
+ * a histogram update, without any meter lookup or tag allocation:
+ * <pre>
+ * long start = dependencyMetrics.start();
+ * ... call the dependency ...
+ * dependencyMetrics.success(Dependency.WHISPER, start);
+ * </pre>
+ */
+@Component
+public class DependencyMetrics {
+
+    private final Map<Dependency, Timer> successTimers = new EnumMap<>(Dependency.class);
+    private final Map<Dependency, Timer> errorTimers = new EnumMap<>(Dependency.class);
+
+    /**
+     * Constructs a new {@code DependencyMetrics} and registers its timers.
+     *
+     * @param meterRegistry the registry receiving the timers.
+     */
+    public DependencyMetrics(MeterRegistry meterRegistry) {
+        for (Dependency dependency : Dependency.values()) {
+            successTimers.put(dependency, timer(meterRegistry, dependency, "success"));
+            errorTimers.put(dependency, timer(meterRegistry, dependency, "error"));
+        }
+    }
+
+    /**
+     * Returns the start time of a call.
+     *
+     * @return the current value of the monotonic clock, in nanoseconds.
+     */
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records a successful call.
+     *
+     * @param dependency the dependency that was called.
+     * @param startNanos the value returned by {@link #start()}.
+     */
+    public void success(Dependency dependency, long startNanos) {
+        successTimers.get(dependency).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records a failed call.
+     *
+     * @param dependency the dependency that was called.
+     * @param startNanos the value returned by {@link #start()}.
+     */
+    public void error(Dependency dependency, long startNanos) {
+        errorTimers.get(dependency).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, Dependency dependency, String outcome) {
+        return Timer.builder("dependency.calls")
+                .description("Latency of calls to external dependencies")
+                .tag("dependency", dependency.tag())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,65 @@
+package com.ashaassist.backend.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Tracks audio uploads being processed: how many and how many bytes are in
+ * flight, and the size distribution of uploads.
+ */
+@Component
+public class UploadMetrics {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong inFlightBytes = new AtomicLong();
+    private final DistributionSummary uploadSize;
+
+    /**
+     * Constructs a new {@code UploadMetrics} and registers its meters.
+     *
+     * @param meterRegistry the registry receiving the meters.
+     */
+    public UploadMetrics(MeterRegistry meterRegistry) {
+        Gauge.builder("uploads.in.flight", inFlight, AtomicInteger::get)
+                .description("Audio uploads currently being processed")
+                .register(meterRegistry);
+        Gauge.builder("uploads.in.flight.bytes", inFlightBytes, AtomicLong::get)
+                .description("Bytes of the audio uploads currently being processed")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.uploadSize = DistributionSummary.builder("uploads.size")
+                .description("Size of received audio uploads")
+                .baseUnit("bytes")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1024.0)
+                .maximumExpectedValue(256.0 * 1024 * 1024)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records the start of processing an upload.
+     *
+     * @param bytes the size of the upload.
+     */
+    public void begin(long bytes) {
+        inFlight.incrementAndGet();
+        inFlightBytes.addAndGet(bytes);
+        uploadSize.record(bytes);
+    }
+
+    /**
+     * Records the end of processing an upload started with {@link #begin(long)}.
+     *
+     * @param bytes the size of the upload.
+     */
+    public void end(long bytes) {
+        inFlight.decrementAndGet();
+        inFlightBytes.addAndGet(-bytes);
+    }
+}
@@ -0,0 +1,83 @@
+package com.ashaassist.backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * A run of a backfill job over the medical records and its checkpoint. Every
+ * record with an ID up to {@code lastId} is processed; a resumed run
+ * continues after it. The run is executed by the instance named in
+ * {@code owner}, which renews {@code heartbeatAt} with every checkpoint; a
+ * running run whose heartbeat is stale is taken over by another instance.
+ * <p>
+ * {@code activeJob} holds the job name while the run is running or paused
+ * and is cleared when it ends, so its unique constraint allows one active
+ * run per job.
+ */
+@Data
+@Entity
+@Table(name = "backfill_runs")
+public class BackfillRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String jobName;
+
+    @Column(unique = true, length = 64)
+    private String activeJob;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private BackfillStatus status;
+
+    @Column(nullable = false)
+    private long lastId;
+
+    @Column(nullable = false)
+    private long processed;
+
+    @Column(nullable = false)
+    private long skipped;
+
+    @Column(nullable = false)
+    private long failed;
+
+    // Records to go when the run was started or last resumed, plus the records done by then
+    @Column(nullable = false)
+    private long estimatedTotal;
+
+    // Target rate in records per second, kept so a resumed run does not start over at the initial rate
+    @Column(nullable = false)
+    private double rate;
+
+    // Records per second completed, smoothed over recent checkpoints
+    @Column(nullable = false)
+    private double throughput;
+
+    @Column(length = 64)
+    private String owner;
+
+    private LocalDateTime heartbeatAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime startedAt = LocalDateTime.now();
+
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,22 @@
+package com.ashaassist.backend.model;
+
+/**
+ * The state of a backfill run.
+ */
+public enum BackfillStatus {
+
+    /**
+     * The run is walking the medical records, or is waiting to be resumed by
+     * an instance after its previous owner stopped.
+     */
+    RUNNING,
+
+    /** The run was paused by an administrator and keeps its checkpoint. */
+    PAUSED,
+
+    /** Every medical record up to the end of the table was processed. */
+    COMPLETED,
+
+    /** The run was cancelled by an administrator. */
+    CANCELLED
+}
@@ -0,0 +1,43 @@
+package com.ashaassist.backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * A medical record whose structured data has to be extracted from its
+ * transcript, because the transcript is new or changed. There is one task per
+ * record: writing the transcript again while the task is pending moves
+ * {@code enqueuedAt}, so a result extracted from the old transcript does not
+ * complete the task. A claimed task is leased by moving {@code nextAttemptAt}
+ * past the extraction, so it is retried if the extracting instance dies, and
+ * queuing it again while leased keeps the lease, so no second instance claims
+ * it before the first has finished.
+ */
+@Data
+@Entity
+@Table(name = "extraction_queue",
+        indexes = @Index(name = "extraction_queue_next_attempt_idx", columnList = "next_attempt_at"))
+public class ExtractionTask {
+
+    @Id
+    @Column(name = "medical_record_id")
+    private Long medicalRecordId;
+
+    @Column(name = "enqueued_at", nullable = false)
+    private LocalDateTime enqueuedAt;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(columnDefinition = "boolean default false")
+    private boolean leased;
+}
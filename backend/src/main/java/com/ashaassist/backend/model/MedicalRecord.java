@@ -1,6 +1,10 @@
 package com.ashaassist.backend.model;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
 
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
@@ -8,8 +12,10 @@ import org.hibernate.type.SqlTypes;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.ConstraintMode;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -34,14 +40,26 @@ public class MedicalRecord {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // No database foreign key or unique constraint: a partitioned table cannot have a
+    // unique key that leaves out created_at. One record per visit is kept by the services.
     @OneToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "encounter_id", nullable = false, unique = true)
+    @JoinColumn(name = "encounter_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     @JsonIgnore
     private Visit visit;
 
     @Lob
     private String rawTranscript;
 
+    // SHA-256 of rawTranscript, set along with it. A translation computed in the
+    // background is only stored while the transcript it came from is current.
+    @Column(length = 64)
+    @JsonIgnore
+    private String transcriptDigest;
+
+    // Filled in asynchronously after transcription; null until then.
+    @Lob
+    private String englishTranscript;
+
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(columnDefinition = "jsonb")
     private String structuredData;
@@ -49,6 +67,12 @@ public class MedicalRecord {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // Assigned from the change_seq sequence by a database trigger on every insert
+    // and update (see ChangeSequence); not refreshed on the entity after writes.
+    @Column(name = "change_seq", insertable = false, updatable = false)
+    @JsonIgnore
+    private Long changeSeq;
+
     // Explicit getters and setters to resolve Lombok issues
     public Long getId() {
         return id;
@@ -72,6 +96,37 @@ public class MedicalRecord {
 
     public void setRawTranscript(String rawTranscript) {
         this.rawTranscript = rawTranscript;
+        this.transcriptDigest = digestOf(rawTranscript);
+    }
+
+    public String getTranscriptDigest() {
+        return transcriptDigest;
+    }
+
+    /**
+     * Returns the digest stored with the given raw transcript.
+     *
+     * @param rawTranscript the raw transcript, may be {@code null}.
+     * @return the hex encoded SHA-256 of the transcript, or {@code null}.
+     */
+    public static String digestOf(String rawTranscript) {
+        if (rawTranscript == null) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawTranscript.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public String getEnglishTranscript() {
+        return englishTranscript;
+    }
+
+    public void setEnglishTranscript(String englishTranscript) {
+        this.englishTranscript = englishTranscript;
     }
 
     public String getStructuredData() {
@@ -4,12 +4,20 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+import com.ashaassist.backend.cache.CacheRegions;
+import com.ashaassist.backend.cache.EntityChangeListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -26,6 +34,9 @@ import lombok.Data;
 @Entity
 @Table(name = "patients")
 @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PATIENTS)
+@NaturalIdCache(region = CacheRegions.PATIENTS_NATURAL_ID)
+@EntityListeners(EntityChangeListener.class)
 public class Patient {
 
     @Id
@@ -39,6 +50,7 @@ public class Patient {
 
     private String gender;
 
+    @NaturalId
     @Column(nullable = false, unique = true)
     private String phoneNumber;
 
@@ -49,6 +61,12 @@ public class Patient {
 
     private LocalDateTime updatedAt;
 
+    // Assigned from the change_seq sequence by a database trigger on every insert
+    // and update (see ChangeSequence); not refreshed on the entity after writes.
+    @Column(name = "change_seq", insertable = false, updatable = false)
+    @JsonIgnore
+    private Long changeSeq;
+
     @OneToMany(mappedBy = "patient", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonIgnore
     private List<Visit> visits;
@@ -0,0 +1,53 @@
+package com.ashaassist.backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+
+/**
+ * Records a visit that was synced from a device after being captured offline,
+ * keyed by the idempotency key the device generated for it. A bundle that is
+ * sent again, e.g. because the connection dropped before the response
+ * arrived, finds the receipt and does not create the visit a second time.
+ * Visit and medical record are referenced by ID only, since the partitioned
+ * visits table has no unique key on ID alone.
+ */
+@Data
+@Entity
+@Table(name = "sync_receipts",
+        uniqueConstraints = @UniqueConstraint(name = "uk_sync_receipts_user_key", columnNames = {"user_id", "idempotency_key"}))
+public class SyncReceipt {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "idempotency_key", nullable = false, length = 64)
+    private String idempotencyKey;
+
+    @Column(nullable = false)
+    private Long visitId;
+
+    private Long medicalRecordId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private SyncStatus status;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    private LocalDateTime updatedAt;
+}
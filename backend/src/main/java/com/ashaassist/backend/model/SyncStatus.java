@@ -0,0 +1,22 @@
+package com.ashaassist.backend.model;
+
+/**
+ * The outcome of one visit in an offline sync bundle.
+ */
+public enum SyncStatus {
+
+    /** The visit is stored; it had no audio to transcribe. */
+    SAVED,
+
+    /** The visit is stored and its audio is transcribed. */
+    TRANSCRIBED,
+
+    /**
+     * The visit is stored but its audio could not be transcribed yet. Sending
+     * the item again with the same idempotency key retries the transcription.
+     */
+    TRANSCRIPTION_FAILED,
+
+    /** The item was invalid and nothing was stored. Never persisted. */
+    REJECTED
+}
@@ -0,0 +1,35 @@
+package com.ashaassist.backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Represents a cached translation in the persistent tier of the translation
+ * cache. Entries are keyed by the SHA-256 hash of the normalised source text
+ * and the target language, combined as {@code <hash>:<language>}.
+ */
+@Data
+@Entity
+@Table(name = "translation_cache")
+public class TranslationCacheEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 96)
+    private String cacheKey;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String translatedText;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -2,6 +2,8 @@ package com.ashaassist.backend.model;
 
 import java.time.LocalDateTime;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -47,9 +49,19 @@ public class Visit {
 
     private LocalDateTime verifiedAt;
 
+    // What a device captured offline when the visit could not be verified on sync; null otherwise.
+    @Column(columnDefinition = "text")
+    private String verificationEvidence;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // Assigned from the change_seq sequence by a database trigger on every insert
+    // and update (see ChangeSequence); not refreshed on the entity after writes.
+    @Column(name = "change_seq", insertable = false, updatable = false)
+    @JsonIgnore
+    private Long changeSeq;
+
     @OneToOne(mappedBy = "visit", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private MedicalRecord medicalRecord;
 }
@@ -0,0 +1,45 @@
+package com.ashaassist.backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+
+/**
+ * References a recording of a visit in the audio blob store by the SHA-256
+ * digest of its content. A blob referenced by no visit is removed by the
+ * store's garbage collection. The visit is referenced by ID only, since the
+ * partitioned visits table has no unique key on ID alone.
+ */
+@Data
+@Entity
+@Table(name = "visit_audio",
+        uniqueConstraints = @UniqueConstraint(name = "uk_visit_audio_visit_digest", columnNames = {"visit_id", "digest"}),
+        indexes = @Index(name = "visit_audio_digest_idx", columnList = "digest"))
+public class VisitAudio {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "visit_id", nullable = false)
+    private Long visitId;
+
+    @Column(nullable = false, length = 64)
+    private String digest;
+
+    @Column(nullable = false)
+    private long sizeBytes;
+
+    private String contentType;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
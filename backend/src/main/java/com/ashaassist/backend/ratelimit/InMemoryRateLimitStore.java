@@ -0,0 +1,60 @@
+package com.ashaassist.backend.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Lock-free {@link RateLimitStore} for a single instance.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding the theoretical arrival
+ * time of the next request, updated with a compare-and-set loop. Once a bucket
+ * exists, taking a token does not allocate. Buckets that have refilled
+ * completely carry no state and are swept periodically.
+ */
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final Map<String, ConcurrentHashMap<String, AtomicLong>> buckets = new ConcurrentHashMap<>();
+
+    @Override
+    public long tryAcquire(RateLimitPolicy policy, String key) {
+        AtomicLong arrival = bucket(policy, key);
+        long interval = policy.emissionIntervalNanos();
+        long tolerance = policy.toleranceNanos();
+        while (true) {
+            long now = System.nanoTime();
+            long current = arrival.get();
+            long next = Math.max(current, now) + interval;
+            long ahead = next - now;
+            if (ahead > tolerance) {
+                return ahead - tolerance;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0L;
+            }
+        }
+    }
+
+    /**
+     * Removes the buckets that have refilled completely.
+     */
+    @Scheduled(fixedDelayString = "${app.ratelimit.sweep-interval:5m}")
+    public void sweep() {
+        long now = System.nanoTime();
+        buckets.values().forEach(policyBuckets -> policyBuckets.values().removeIf(arrival -> arrival.get() <= now));
+    }
+
+    private AtomicLong bucket(RateLimitPolicy policy, String key) {
+        ConcurrentHashMap<String, AtomicLong> policyBuckets = buckets.get(policy.name());
+        if (policyBuckets == null) {
+            policyBuckets = buckets.computeIfAbsent(policy.name(), name -> new ConcurrentHashMap<>());
+        }
+        AtomicLong arrival = policyBuckets.get(key);
+        if (arrival == null) {
+            arrival = policyBuckets.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+        }
+        return arrival;
+    }
+}
@@ -0,0 +1,137 @@
+package com.ashaassist.backend.ratelimit;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Rate limits the expensive endpoints per authenticated user.
+ * <p>
+ * Runs after the {@code JwtAuthenticationFilter}, so the username is taken from
+ * the security context. Each {@link RateLimitedEndpoint} has its own
+ * token-bucket policy; a request that finds its bucket empty is answered with
+ * {@code 429 Too Many Requests} and a {@code Retry-After} header. Requests
+ * without an authenticated user are left to the authorization rules.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitStore rateLimitStore;
+    private final Map<RateLimitedEndpoint, RateLimitPolicy> policies = new EnumMap<>(RateLimitedEndpoint.class);
+    private final Map<RateLimitedEndpoint, Counter> rejections = new EnumMap<>(RateLimitedEndpoint.class);
+
+    @Value("${app.ratelimit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.ratelimit.visit-start.limit:5}")
+    private int visitStartLimit;
+
+    @Value("${app.ratelimit.visit-start.period:10m}")
+    private Duration visitStartPeriod;
+
+    @Value("${app.ratelimit.visit-start.burst:3}")
+    private int visitStartBurst;
+
+    @Value("${app.ratelimit.transcribe.limit:20}")
+    private int transcribeLimit;
+
+    @Value("${app.ratelimit.transcribe.period:10m}")
+    private Duration transcribePeriod;
+
+    @Value("${app.ratelimit.transcribe.burst:5}")
+    private int transcribeBurst;
+
+    @Value("${app.ratelimit.visit-sync.limit:10}")
+    private int visitSyncLimit;
+
+    @Value("${app.ratelimit.visit-sync.period:10m}")
+    private Duration visitSyncPeriod;
+
+    @Value("${app.ratelimit.visit-sync.burst:3}")
+    private int visitSyncBurst;
+
+    @Value("${app.ratelimit.translate.limit:120}")
+    private int translateLimit;
+
+    @Value("${app.ratelimit.translate.period:1m}")
+    private Duration translatePeriod;
+
+    @Value("${app.ratelimit.translate.burst:30}")
+    private int translateBurst;
+
+    /**
+     * Constructs a new {@code RateLimitFilter}.
+     *
+     * @param rateLimitStore the store holding the buckets.
+     * @param meterRegistry  the registry receiving the rejection counters.
+     */
+    public RateLimitFilter(RateLimitStore rateLimitStore, MeterRegistry meterRegistry) {
+        this.rateLimitStore = rateLimitStore;
+        for (RateLimitedEndpoint endpoint : RateLimitedEndpoint.values()) {
+            rejections.put(endpoint, Counter.builder("ratelimit.rejected")
+                    .description("Requests rejected by the per-user rate limit")
+                    .tag("endpoint", endpoint.policyName())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Builds the policies from the configuration.
+     */
+    @PostConstruct
+    public void initPolicies() {
+        policies.put(RateLimitedEndpoint.VISIT_START, RateLimitPolicy.of(
+                RateLimitedEndpoint.VISIT_START.policyName(), visitStartLimit, visitStartPeriod, visitStartBurst));
+        policies.put(RateLimitedEndpoint.TRANSCRIBE, RateLimitPolicy.of(
+                RateLimitedEndpoint.TRANSCRIBE.policyName(), transcribeLimit, transcribePeriod, transcribeBurst));
+        policies.put(RateLimitedEndpoint.VISIT_SYNC, RateLimitPolicy.of(
+                RateLimitedEndpoint.VISIT_SYNC.policyName(), visitSyncLimit, visitSyncPeriod, visitSyncBurst));
+        policies.put(RateLimitedEndpoint.TRANSLATE, RateLimitPolicy.of(
+                RateLimitedEndpoint.TRANSLATE.policyName(), translateLimit, translatePeriod, translateBurst));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RateLimitedEndpoint endpoint = enabled
+                ? RateLimitedEndpoint.match(request)
+                : null;
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (endpoint == null || authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = rateLimitStore.tryAcquire(policies.get(endpoint), authentication.getName());
+        if (waitNanos > 0) {
+            rejections.get(endpoint).increment();
+            long retryAfterSeconds = TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1;
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+            response.setContentType("text/plain");
+            response.getWriter().write("Too many requests. Please retry after " + retryAfterSeconds + " seconds.");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
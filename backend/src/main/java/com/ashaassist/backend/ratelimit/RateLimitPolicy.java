@@ -0,0 +1,42 @@
+package com.ashaassist.backend.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * A token-bucket policy expressed in the form used by the generic cell rate
+ * algorithm (GCRA): one token is refilled every {@code emissionIntervalNanos},
+ * and the bucket holds {@code burst} tokens.
+ *
+ * @param name                  the name of the policy, used as part of the store key.
+ * @param emissionIntervalNanos the time to refill one token.
+ * @param burst                 the capacity of the bucket.
+ */
+public record RateLimitPolicy(String name, long emissionIntervalNanos, int burst) {
+
+    /**
+     * Creates a policy allowing {@code limit} requests per {@code period} with
+     * bursts of up to {@code burst} requests.
+     *
+     * @param name   the name of the policy.
+     * @param limit  the sustained number of requests per period.
+     * @param period the period.
+     * @param burst  the capacity of the bucket.
+     * @return the policy.
+     */
+    public static RateLimitPolicy of(String name, int limit, Duration period, int burst) {
+        if (limit <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Rate limit and burst of " + name + " must be positive");
+        }
+        return new RateLimitPolicy(name, period.toNanos() / limit, burst);
+    }
+
+    /**
+     * Returns how far the theoretical arrival time may run ahead of the clock,
+     * i.e. the time a full bucket lasts.
+     *
+     * @return the tolerance in nanoseconds.
+     */
+    public long toleranceNanos() {
+        return emissionIntervalNanos * burst;
+    }
+}
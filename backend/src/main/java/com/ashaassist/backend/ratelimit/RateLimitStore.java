@@ -0,0 +1,22 @@
+package com.ashaassist.backend.ratelimit;
+
+/**
+ * Holds the rate limit state of every key. The in-memory implementation is
+ * enough for a single instance; in a multi-instance deployment a shared
+ * implementation (for example a Redis script or a Postgres row per key
+ * applying the same GCRA update) must be used instead, so all instances draw
+ * from the same buckets. Its bean is conditional on its own value of
+ * {@code app.ratelimit.store}, which then replaces the in-memory default.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Takes one token from the bucket of the given key.
+     *
+     * @param policy the policy of the bucket.
+     * @param key    the key of the bucket, e.g. the username.
+     * @return {@code 0} if the token was taken, otherwise the nanoseconds
+     *         until a token becomes available.
+     */
+    long tryAcquire(RateLimitPolicy policy, String key);
+}
@@ -0,0 +1,89 @@
+package com.ashaassist.backend.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * The expensive endpoints that are rate limited per user.
+ */
+public enum RateLimitedEndpoint {
+
+    /** {@code POST /api/visits/start}, which sends an OTP SMS. */
+    VISIT_START("visit-start"),
+
+    /** {@code POST /api/visits/{id}/transcribe}, which calls Whisper. */
+    TRANSCRIBE("transcribe"),
+
+    /** {@code POST /api/visits/sync}, which calls Whisper for every visit in the bundle. */
+    VISIT_SYNC("visit-sync"),
+
+    /** {@code POST /api/translate} and its batch and stream variants. */
+    TRANSLATE("translate");
+
+    private final String policyName;
+
+    RateLimitedEndpoint(String policyName) {
+        this.policyName = policyName;
+    }
+
+    /**
+     * Returns the name of the endpoint's policy, as used in the configuration
+     * properties and the metrics.
+     *
+     * @return the policy name.
+     */
+    public String policyName() {
+        return policyName;
+    }
+
+    /**
+     * Returns the rate limited endpoint a request targets.
+     *
+     * @param request the request.
+     * @return the endpoint, or {@code null} if the request is not rate limited.
+     * @see #path(HttpServletRequest)
+     */
+    public static RateLimitedEndpoint match(HttpServletRequest request) {
+        return match(request.getMethod(), path(request));
+    }
+
+    /**
+     * Returns the decoded and normalised path of a request within the
+     * application, which is what Spring MVC routes on. The raw request URI
+     * must not be matched instead: {@code /api/visits/%73tart} reaches the
+     * same handler as {@code /api/visits/start}.
+     *
+     * @param request the request.
+     * @return the path.
+     */
+    public static String path(HttpServletRequest request) {
+        String pathInfo = request.getPathInfo();
+        return pathInfo == null ? request.getServletPath() : request.getServletPath() + pathInfo;
+    }
+
+    /**
+     * Returns the rate limited endpoint a request targets. Matching uses plain
+     * string comparisons so it does not allocate.
+     *
+     * @param method the HTTP method.
+     * @param uri    the decoded path of the request, see {@link #path(HttpServletRequest)}.
+     * @return the endpoint, or {@code null} if the request is not rate limited.
+     */
+    public static RateLimitedEndpoint match(String method, String uri) {
+        if (!"POST".equals(method)) {
+            return null;
+        }
+        if (uri.equals("/api/visits/start")) {
+            return VISIT_START;
+        }
+        if (uri.equals("/api/visits/sync")) {
+            return VISIT_SYNC;
+        }
+        if (uri.startsWith("/api/visits/") && uri.endsWith("/transcribe")) {
+            return TRANSCRIBE;
+        }
+        if (uri.startsWith("/api/translate")) {
+            return TRANSLATE;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,124 @@
+package com.ashaassist.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ashaassist.backend.model.BackfillRun;
+import com.ashaassist.backend.model.BackfillStatus;
+
+/**
+ * Repository interface for {@link BackfillRun} entities. Progress and state
+ * changes are written with targeted updates, so a checkpoint of the executing
+ * instance and an administrator's pause never overwrite each other.
+ */
+public interface BackfillRunRepository extends JpaRepository<BackfillRun, Long> {
+
+    List<BackfillRun> findTop50ByOrderByIdDesc();
+
+    @Query("select r.status from BackfillRun r where r.id = :id")
+    Optional<BackfillStatus> findStatusById(@Param("id") Long id);
+
+    /**
+     * Finds the running runs that no instance is executing: released ones and
+     * those whose owner stopped renewing its heartbeat.
+     *
+     * @param staleBefore the heartbeat time before which an owner is presumed gone.
+     * @return the IDs of the orphaned runs.
+     */
+    @Query("select r.id from BackfillRun r where r.status = com.ashaassist.backend.model.BackfillStatus.RUNNING "
+            + "and (r.heartbeatAt is null or r.heartbeatAt < :staleBefore)")
+    List<Long> findOrphanedRunIds(@Param("staleBefore") LocalDateTime staleBefore);
+
+    /**
+     * Makes an instance the owner of a running run, unless another instance
+     * holds a fresh heartbeat on it.
+     *
+     * @param id          the ID of the run.
+     * @param owner       the claiming instance.
+     * @param staleBefore the heartbeat time before which an owner is presumed gone.
+     * @param now         the current time.
+     * @return 1 if the run was claimed, otherwise 0.
+     */
+    @Transactional
+    @Modifying
+    @Query("update BackfillRun r set r.owner = :owner, r.heartbeatAt = :now, r.updatedAt = :now "
+            + "where r.id = :id and r.status = com.ashaassist.backend.model.BackfillStatus.RUNNING "
+            + "and (r.heartbeatAt is null or r.heartbeatAt < :staleBefore)")
+    int claim(@Param("id") Long id,
+            @Param("owner") String owner,
+            @Param("staleBefore") LocalDateTime staleBefore,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Records the progress of a run and renews its heartbeat, if the instance
+     * still owns it.
+     *
+     * @return 1 if the checkpoint was written, 0 if the run has another owner.
+     */
+    @Transactional
+    @Modifying
+    @Query("update BackfillRun r set r.lastId = :lastId, r.processed = :processed, r.skipped = :skipped, "
+            + "r.failed = :failed, r.rate = :rate, r.throughput = :throughput, r.lastError = :lastError, "
+            + "r.heartbeatAt = :now, r.updatedAt = :now "
+            + "where r.id = :id and r.owner = :owner")
+    int checkpoint(@Param("id") Long id,
+            @Param("owner") String owner,
+            @Param("lastId") long lastId,
+            @Param("processed") long processed,
+            @Param("skipped") long skipped,
+            @Param("failed") long failed,
+            @Param("rate") double rate,
+            @Param("throughput") double throughput,
+            @Param("lastError") String lastError,
+            @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("update BackfillRun r set r.estimatedTotal = :estimatedTotal where r.id = :id")
+    int updateEstimatedTotal(@Param("id") Long id, @Param("estimatedTotal") long estimatedTotal);
+
+    /**
+     * Gives up the ownership of a run, so any instance can resume it at once.
+     *
+     * @return 1 if the run was released, 0 if the run has another owner.
+     */
+    @Transactional
+    @Modifying
+    @Query("update BackfillRun r set r.owner = null, r.heartbeatAt = null where r.id = :id and r.owner = :owner")
+    int release(@Param("id") Long id, @Param("owner") String owner);
+
+    /**
+     * Moves a run from one state to another that keeps it active.
+     *
+     * @return 1 if the run was in the expected state, otherwise 0.
+     */
+    @Transactional
+    @Modifying
+    @Query("update BackfillRun r set r.status = :to, r.updatedAt = :now where r.id = :id and r.status = :from")
+    int transition(@Param("id") Long id,
+            @Param("from") BackfillStatus from,
+            @Param("to") BackfillStatus to,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Ends a run that is in one of the given states.
+     *
+     * @return 1 if the run was ended, otherwise 0.
+     */
+    @Transactional
+    @Modifying
+    @Query("update BackfillRun r set r.status = :to, r.activeJob = null, r.finishedAt = :now, r.updatedAt = :now "
+            + "where r.id = :id and r.status in :from")
+    int finish(@Param("id") Long id,
+            @Param("from") Collection<BackfillStatus> from,
+            @Param("to") BackfillStatus to,
+            @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,109 @@
+package com.ashaassist.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ashaassist.backend.model.ExtractionTask;
+
+/**
+ * Repository interface for {@link ExtractionTask} entities, the queue of the
+ * structured extraction stage.
+ */
+public interface ExtractionTaskRepository extends JpaRepository<ExtractionTask, Long> {
+
+    /**
+     * Queues a medical record for extraction, or restarts its pending task
+     * because its transcript changed. A leased task stays leased, so it is not
+     * claimed again while the claimed extraction still runs; see
+     * {@link #releaseRequeued}.
+     *
+     * @param medicalRecordId the ID of the medical record.
+     * @param now             the current time.
+     * @return the number of inserted or updated tasks.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "insert into extraction_queue (medical_record_id, enqueued_at, next_attempt_at, attempts) "
+            + "values (:medicalRecordId, :now, :now, 0) "
+            + "on conflict (medical_record_id) do update "
+            + "set enqueued_at = excluded.enqueued_at, attempts = 0, next_attempt_at = case "
+            + "when extraction_queue.leased then extraction_queue.next_attempt_at else excluded.next_attempt_at end",
+            nativeQuery = true)
+    int enqueue(@Param("medicalRecordId") Long medicalRecordId, @Param("now") LocalDateTime now);
+
+    /**
+     * Claims the tasks that are due, oldest first, by leasing them until the
+     * given time. Tasks claimed concurrently by another instance are skipped.
+     *
+     * @param now        the current time.
+     * @param leaseUntil the time at which the claimed tasks become due again.
+     * @param limit      the maximum number of tasks to claim.
+     * @return the claimed tasks.
+     */
+    @Transactional
+    @Query(value = "with due as ("
+            + "select medical_record_id from extraction_queue where next_attempt_at <= :now "
+            + "order by next_attempt_at limit :limit for update skip locked) "
+            + "update extraction_queue q set next_attempt_at = :leaseUntil, leased = true "
+            + "from due where q.medical_record_id = due.medical_record_id "
+            + "returning q.*",
+            nativeQuery = true)
+    List<ExtractionTask> claimDue(@Param("now") LocalDateTime now,
+            @Param("leaseUntil") LocalDateTime leaseUntil,
+            @Param("limit") int limit);
+
+    /**
+     * Removes a task, unless the transcript changed again since it was claimed.
+     *
+     * @param medicalRecordId the ID of the medical record.
+     * @param enqueuedAt      the queue time of the claimed task.
+     * @return the number of removed tasks.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from ExtractionTask t where t.medicalRecordId = :medicalRecordId and t.enqueuedAt = :enqueuedAt")
+    int complete(@Param("medicalRecordId") Long medicalRecordId, @Param("enqueuedAt") LocalDateTime enqueuedAt);
+
+    /**
+     * Schedules another attempt at a failed task, unless the transcript
+     * changed again since it was claimed.
+     *
+     * @param medicalRecordId the ID of the medical record.
+     * @param enqueuedAt      the queue time of the claimed task.
+     * @param nextAttemptAt   the time of the next attempt.
+     * @return the number of updated tasks.
+     */
+    @Transactional
+    @Modifying
+    @Query("update ExtractionTask t set t.attempts = t.attempts + 1, t.nextAttemptAt = :nextAttemptAt, "
+            + "t.leased = false where t.medicalRecordId = :medicalRecordId and t.enqueuedAt = :enqueuedAt")
+    int retryLater(@Param("medicalRecordId") Long medicalRecordId,
+            @Param("enqueuedAt") LocalDateTime enqueuedAt,
+            @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    /**
+     * Ends the lease of a task that was queued again since it was claimed, so
+     * the new transcript is extracted without waiting for the lease to run out.
+     *
+     * @param medicalRecordId the ID of the medical record.
+     * @param enqueuedAt      the queue time of the claimed task.
+     * @param now             the current time.
+     * @return the number of released tasks.
+     */
+    @Transactional
+    @Modifying
+    @Query("update ExtractionTask t set t.nextAttemptAt = :now, t.leased = false "
+            + "where t.medicalRecordId = :medicalRecordId and t.enqueuedAt <> :enqueuedAt and t.leased = true")
+    int releaseRequeued(@Param("medicalRecordId") Long medicalRecordId,
+            @Param("enqueuedAt") LocalDateTime enqueuedAt,
+            @Param("now") LocalDateTime now);
+
+    @Query("select min(t.enqueuedAt) from ExtractionTask t")
+    LocalDateTime findOldestEnqueuedAt();
+}
@@ -1,12 +1,147 @@
 package com.ashaassist.backend.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.ashaassist.backend.dto.ChangedMedicalRecordDto;
 import com.ashaassist.backend.model.MedicalRecord;
+import com.ashaassist.backend.search.TranscriptDocument;
 
 /**
  * Repository interface for {@link MedicalRecord} entities.
  * Provides standard CRUD operations and more complex queries for medical records.
  */
 public interface MedicalRecordRepository extends JpaRepository<MedicalRecord, Long> {
-}
\ No newline at end of file
+
+    /**
+     * Finds a page of transcripts with their visit attributes, in ID order after
+     * the given ID. Used to build the transcript search index. The transcript
+     * is the stored Whisper response, not its text.
+     *
+     * @param afterId  the last medical record ID of the previous page.
+     * @param pageable the page size.
+     * @return the next page of transcript documents.
+     */
+    @Query("select new com.ashaassist.backend.search.TranscriptDocument("
+            + "m.id, v.id, v.ashaKarmi.id, v.patient.id, m.createdAt, m.rawTranscript) "
+            + "from MedicalRecord m join m.visit v where m.id > :afterId order by m.id")
+    List<TranscriptDocument> findTranscriptDocuments(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Finds the transcript of one medical record with its visit attributes.
+     *
+     * @param id the ID of the medical record.
+     * @return the transcript document, if the record exists.
+     */
+    @Query("select new com.ashaassist.backend.search.TranscriptDocument("
+            + "m.id, v.id, v.ashaKarmi.id, v.patient.id, m.createdAt, m.rawTranscript) "
+            + "from MedicalRecord m join m.visit v where m.id = :id")
+    Optional<TranscriptDocument> findTranscriptDocument(@Param("id") Long id);
+
+    /**
+     * Finds the transcripts of the given medical records with their visit attributes.
+     *
+     * @param ids the IDs of the medical records.
+     * @return the transcript documents of the records that exist.
+     */
+    @Query("select new com.ashaassist.backend.search.TranscriptDocument("
+            + "m.id, v.id, v.ashaKarmi.id, v.patient.id, m.createdAt, m.rawTranscript) "
+            + "from MedicalRecord m join m.visit v where m.id in :ids")
+    List<TranscriptDocument> findTranscriptDocumentsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds a page of medical record IDs in ID order after the given ID. Used
+     * by backfill jobs to walk the table.
+     *
+     * @param afterId  the last medical record ID of the previous page.
+     * @param pageable the page size.
+     * @return the next page of IDs.
+     */
+    @Query("select m.id from MedicalRecord m where m.id > :afterId order by m.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    long countByIdGreaterThan(Long id);
+
+    /**
+     * Replaces the transcript of a medical record without loading the record.
+     * The English translation is cleared, since it belongs to the old
+     * transcript.
+     *
+     * @param id               the ID of the medical record.
+     * @param rawTranscript    the new transcript.
+     * @param transcriptDigest the digest of the new transcript, see
+     *                         {@link MedicalRecord#digestOf}.
+     * @return the number of updated records.
+     */
+    @Transactional
+    @Modifying
+    @Query("update MedicalRecord m set m.rawTranscript = :rawTranscript, m.transcriptDigest = :transcriptDigest, "
+            + "m.englishTranscript = null where m.id = :id")
+    int updateRawTranscript(@Param("id") Long id,
+            @Param("rawTranscript") String rawTranscript,
+            @Param("transcriptDigest") String transcriptDigest);
+
+    /**
+     * Stores the English translation of a medical record's transcript without
+     * loading the record, unless the transcript was replaced since it was
+     * translated.
+     *
+     * @param id                the ID of the medical record.
+     * @param transcriptDigest  the digest of the transcript that was translated.
+     * @param englishTranscript the translated transcript.
+     * @return the number of updated records.
+     */
+    @Transactional
+    @Modifying
+    @Query("update MedicalRecord m set m.englishTranscript = :englishTranscript "
+            + "where m.id = :id and m.transcriptDigest = :transcriptDigest")
+    int updateEnglishTranscript(@Param("id") Long id,
+            @Param("transcriptDigest") String transcriptDigest,
+            @Param("englishTranscript") String englishTranscript);
+
+    /**
+     * Stores the structured data extracted from a medical record's transcript
+     * without loading the record, unless the transcript was replaced since it
+     * was read.
+     *
+     * @param id               the ID of the medical record.
+     * @param transcriptDigest the digest of the transcript the data was extracted from.
+     * @param structuredData   the extracted data as JSON.
+     * @return the number of updated records.
+     */
+    @Transactional
+    @Modifying
+    @Query("update MedicalRecord m set m.structuredData = :structuredData "
+            + "where m.id = :id and m.transcriptDigest = :transcriptDigest")
+    int updateStructuredData(@Param("id") Long id,
+            @Param("transcriptDigest") String transcriptDigest,
+            @Param("structuredData") String structuredData);
+
+    /**
+     * Finds the medical records of a user's visits whose change sequence value
+     * lies in the given range, in change order.
+     *
+     * @param userId   the ID of the Asha Karmi.
+     * @param after    the exclusive lower bound.
+     * @param horizon  the inclusive upper bound.
+     * @param pageable the page size.
+     * @return the changed medical records.
+     */
+    @Query("select new com.ashaassist.backend.dto.ChangedMedicalRecordDto("
+            + "m.id, v.id, m.englishTranscript, m.structuredData, m.createdAt, m.changeSeq) "
+            + "from MedicalRecord m join m.visit v "
+            + "where v.ashaKarmi.id = :userId and m.changeSeq > :after and m.changeSeq <= :horizon "
+            + "order by m.changeSeq")
+    List<ChangedMedicalRecordDto> findChangedMedicalRecords(@Param("userId") Long userId,
+            @Param("after") long after,
+            @Param("horizon") long horizon,
+            Pageable pageable);
+}
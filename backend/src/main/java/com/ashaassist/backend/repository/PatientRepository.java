@@ -1,21 +1,137 @@
 package com.ashaassist.backend.repository;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.ashaassist.backend.cache.PatientPhone;
+import com.ashaassist.backend.dto.ChangedPatientDto;
 import com.ashaassist.backend.model.Patient;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository interface for {@link Patient} entities.
  * Provides standard CRUD operations and a custom method to find a patient by phone number.
  */
-public interface PatientRepository extends JpaRepository<Patient, Long> {
+public interface PatientRepository extends JpaRepository<Patient, Long>, PatientRepositoryCustom {
+
+    /**
+     * Finds all patients. The result is kept in the query cache until a patient
+     * is written.
+     *
+     * @return all patients.
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Patient> findAll();
+
+    /**
+     * Finds the patients a user has visited whose change sequence value lies
+     * in the given range, in change order.
+     *
+     * @param userId   the ID of the Asha Karmi.
+     * @param after    the exclusive lower bound.
+     * @param horizon  the inclusive upper bound.
+     * @param pageable the page size.
+     * @return the changed patients.
+     */
+    @Query("select new com.ashaassist.backend.dto.ChangedPatientDto("
+            + "p.id, p.fullName, p.phoneNumber, p.dateOfBirth, p.gender, p.address, p.changeSeq) "
+            + "from Patient p where p.changeSeq > :after and p.changeSeq <= :horizon "
+            + "and exists (select 1 from Visit v where v.patient = p and v.ashaKarmi.id = :userId) "
+            + "order by p.changeSeq")
+    List<ChangedPatientDto> findChangedPatients(@Param("userId") Long userId,
+            @Param("after") long after,
+            @Param("horizon") long horizon,
+            Pageable pageable);
+
+    /**
+     * Finds patients by ID in the compact change feed form.
+     *
+     * @param ids the patient IDs.
+     * @return the patients.
+     */
+    @Query("select new com.ashaassist.backend.dto.ChangedPatientDto("
+            + "p.id, p.fullName, p.phoneNumber, p.dateOfBirth, p.gender, p.address, p.changeSeq) "
+            + "from Patient p where p.id in :ids")
+    List<ChangedPatientDto> findChangedPatientsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Checks whether a patient with the given phone number exists, without
+     * loading the patient.
+     *
+     * @param phoneNumber the phone number.
+     * @return {@code true} if the patient exists.
+     */
+    boolean existsByPhoneNumber(String phoneNumber);
+
+    /**
+     * Finds the phone numbers of the patients after the given ID, in ID order.
+     *
+     * @param afterId  the exclusive lower bound of the patient ID.
+     * @param pageable the page size.
+     * @return the phone numbers.
+     */
+    @Query("select new com.ashaassist.backend.cache.PatientPhone(p.id, p.phoneNumber, p.changeSeq) "
+            + "from Patient p where p.id > :afterId order by p.id")
+    List<PatientPhone> findPhonesAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Finds the phone numbers of the patients whose change sequence value lies
+     * in the given range, in change order.
+     *
+     * @param after    the exclusive lower bound.
+     * @param horizon  the inclusive upper bound.
+     * @param pageable the page size.
+     * @return the phone numbers.
+     */
+    @Query("select new com.ashaassist.backend.cache.PatientPhone(p.id, p.phoneNumber, p.changeSeq) "
+            + "from Patient p where p.changeSeq > :after and p.changeSeq <= :horizon order by p.changeSeq")
+    List<PatientPhone> findChangedPhones(@Param("after") long after,
+            @Param("horizon") long horizon,
+            Pageable pageable);
+
+    /**
+     * Finds the highest change sequence value of the committed patients.
+     *
+     * @return the value, or {@code null} if there are no patients.
+     */
+    @Query("select max(p.changeSeq) from Patient p")
+    Long findMaxChangeSeq();
+
+    /**
+     * Finds the patients after the given ID in the compact change feed form,
+     * in ID order.
+     *
+     * @param afterId  the exclusive lower bound of the patient ID.
+     * @param pageable the page size.
+     * @return the patients.
+     */
+    @Query("select new com.ashaassist.backend.dto.ChangedPatientDto("
+            + "p.id, p.fullName, p.phoneNumber, p.dateOfBirth, p.gender, p.address, p.changeSeq) "
+            + "from Patient p where p.id > :afterId order by p.id")
+    List<ChangedPatientDto> findPatientsAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
     /**
-     * Finds a patient by their phone number.
+     * Finds all patients whose change sequence value lies in the given range,
+     * in change order.
      *
-     * @param phoneNumber the phone number to search for.
-     * @return an {@link Optional} containing the patient if found, or empty otherwise.
+     * @param after    the exclusive lower bound.
+     * @param horizon  the inclusive upper bound.
+     * @param pageable the page size.
+     * @return the changed patients.
      */
-    Optional<Patient> findByPhoneNumber(String phoneNumber);
-}
\ No newline at end of file
+    @Query("select new com.ashaassist.backend.dto.ChangedPatientDto("
+            + "p.id, p.fullName, p.phoneNumber, p.dateOfBirth, p.gender, p.address, p.changeSeq) "
+            + "from Patient p where p.changeSeq > :after and p.changeSeq <= :horizon order by p.changeSeq")
+    List<ChangedPatientDto> findAllChangedPatients(@Param("after") long after,
+            @Param("horizon") long horizon,
+            Pageable pageable);
+}
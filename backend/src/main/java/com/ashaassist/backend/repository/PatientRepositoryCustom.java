@@ -0,0 +1,20 @@
+package com.ashaassist.backend.repository;
+
+import java.util.Optional;
+
+import com.ashaassist.backend.model.Patient;
+
+/**
+ * Custom repository fragment for {@link Patient} lookups that go through
+ * Hibernate's natural-id cache instead of issuing a query.
+ */
+public interface PatientRepositoryCustom {
+
+    /**
+     * Finds a patient by their phone number.
+     *
+     * @param phoneNumber the phone number to search for.
+     * @return an {@link Optional} containing the patient if found, or empty otherwise.
+     */
+    Optional<Patient> findByPhoneNumber(String phoneNumber);
+}
@@ -0,0 +1,27 @@
+package com.ashaassist.backend.repository;
+
+import java.util.Optional;
+
+import org.hibernate.Session;
+
+import com.ashaassist.backend.model.Patient;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Implementation of {@link PatientRepositoryCustom} that resolves phone numbers
+ * via the natural-id cache.
+ */
+public class PatientRepositoryCustomImpl implements PatientRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Patient> findByPhoneNumber(String phoneNumber) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Patient.class)
+                .loadOptional(phoneNumber);
+    }
+}
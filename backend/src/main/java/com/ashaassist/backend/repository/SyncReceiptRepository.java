@@ -0,0 +1,48 @@
+package com.ashaassist.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ashaassist.backend.model.SyncReceipt;
+import com.ashaassist.backend.model.SyncStatus;
+
+/**
+ * Repository interface for {@link SyncReceipt} entities.
+ */
+public interface SyncReceiptRepository extends JpaRepository<SyncReceipt, Long> {
+
+    /**
+     * Finds the receipt of a synced visit.
+     *
+     * @param userId         the ID of the user who synced the visit.
+     * @param idempotencyKey the key the device generated for the visit.
+     * @return the receipt, if the visit was synced before.
+     */
+    Optional<SyncReceipt> findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
+
+    /**
+     * Records the transcription outcome of a synced visit.
+     *
+     * @param id              the ID of the receipt.
+     * @param status          the new status.
+     * @param medicalRecordId the ID of the medical record, or {@code null} if
+     *                        the transcription failed.
+     * @param updatedAt       the time of the update.
+     * @return the number of updated rows.
+     */
+    @Transactional
+    @Modifying
+    @Query("update SyncReceipt r set r.status = :status, "
+            + "r.medicalRecordId = :medicalRecordId, r.updatedAt = :updatedAt "
+            + "where r.id = :id")
+    int updateStatus(@Param("id") Long id,
+            @Param("status") SyncStatus status,
+            @Param("medicalRecordId") Long medicalRecordId,
+            @Param("updatedAt") LocalDateTime updatedAt);
+}
@@ -0,0 +1,21 @@
+package com.ashaassist.backend.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.ashaassist.backend.model.TranslationCacheEntry;
+
+/**
+ * Repository interface for {@link TranslationCacheEntry} entities.
+ */
+public interface TranslationCacheRepository extends JpaRepository<TranslationCacheEntry, Long> {
+
+    /**
+     * Finds a cached translation.
+     *
+     * @param cacheKey the hash of the normalised source text and the target language.
+     * @return the cached translation, if present.
+     */
+    Optional<TranslationCacheEntry> findByCacheKey(String cacheKey);
+}
@@ -1,21 +1,28 @@
 package com.ashaassist.backend.repository;
 
-import java.util.Optional;
+import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.ashaassist.backend.model.User;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository interface for {@link User} entities.
  * Provides standard CRUD operations and a custom method to find a user by username.
  */
-public interface UserRepository extends JpaRepository<User, Long>{
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+
     /**
-     * Finds a user by their username.
+     * Finds all users. The result is kept in the query cache until a user is
+     * written.
      *
-     * @param username the username to search for.
-     * @return an {@link Optional} containing the user if found, or empty otherwise.
+     * @return all users.
      */
-    Optional<User> findByUsername(String username);
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<User> findAll();
 }
@@ -0,0 +1,20 @@
+package com.ashaassist.backend.repository;
+
+import java.util.Optional;
+
+import com.ashaassist.backend.model.User;
+
+/**
+ * Custom repository fragment for {@link User} lookups that go through
+ * Hibernate's natural-id cache instead of issuing a query.
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Finds a user by their username.
+     *
+     * @param username the username to search for.
+     * @return an {@link Optional} containing the user if found, or empty otherwise.
+     */
+    Optional<User> findByUsername(String username);
+}
@@ -0,0 +1,27 @@
+package com.ashaassist.backend.repository;
+
+import java.util.Optional;
+
+import org.hibernate.Session;
+
+import com.ashaassist.backend.model.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Implementation of {@link UserRepositoryCustom} that resolves usernames via
+ * the natural-id cache.
+ */
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(username);
+    }
+}
@@ -0,0 +1,48 @@
+package com.ashaassist.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ashaassist.backend.model.VisitAudio;
+
+/**
+ * Repository interface for {@link VisitAudio} entities.
+ */
+public interface VisitAudioRepository extends JpaRepository<VisitAudio, Long> {
+
+    /**
+     * Finds the most recent recording of a visit.
+     *
+     * @param visitId the ID of the visit.
+     * @return the reference to the recording, if the visit has one.
+     */
+    Optional<VisitAudio> findFirstByVisitIdOrderByCreatedAtDesc(Long visitId);
+
+    boolean existsByVisitIdAndDigest(Long visitId, String digest);
+
+    /**
+     * Lists the digests of all referenced recordings.
+     *
+     * @return the distinct digests.
+     */
+    @Query("select distinct a.digest from VisitAudio a")
+    List<String> findAllDigests();
+
+    /**
+     * Deletes the references to recordings stored before the given time.
+     *
+     * @param cutoff the exclusive upper bound of the storage time.
+     * @return the number of deleted references.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from VisitAudio a where a.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
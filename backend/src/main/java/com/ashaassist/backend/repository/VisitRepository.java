@@ -1,9 +1,14 @@
 package com.ashaassist.backend.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.ashaassist.backend.dto.ChangedVisitDto;
 import com.ashaassist.backend.model.User;
 import com.ashaassist.backend.model.Visit;
 
@@ -14,17 +19,63 @@ import com.ashaassist.backend.model.Visit;
  */
 public interface VisitRepository extends JpaRepository<Visit, Long> {
     /**
-     * Finds the top 5 most recent visits for a given Asha Karmi, ordered by
-     * creation date descending.
+     * Finds the top 5 most recent visits for a given Asha Karmi created after the
+     * given time, ordered by creation date descending. The lower bound lets
+     * Postgres prune all but the most recent partitions.
      *
-     * @param user the Asha Karmi user.
+     * @param user  the Asha Karmi user.
+     * @param since the earliest creation time to consider.
      * @return a list of the 5 most recent visits.
      */
-    List<Visit> findTop5ByAshaKarmiOrderByCreatedAtDesc(User user);
+    List<Visit> findTop5ByAshaKarmiAndCreatedAtAfterOrderByCreatedAtDesc(User user, LocalDateTime since);
 
-    List<Visit> findTop10ByOrderByVerifiedAtDesc();
+    /**
+     * Finds the 10 most recently verified visits among those created after the
+     * given time.
+     *
+     * @param since the earliest creation time to consider.
+     * @return a list of up to 10 visits.
+     */
+    List<Visit> findTop10ByCreatedAtAfterOrderByVerifiedAtDesc(LocalDateTime since);
 
     List<Visit> findByAshaKarmiId(Long ashaKarmiId);
 
     List<Visit> findByPatientId(Long patientId);
+
+    /**
+     * Finds a page of visits created within the given range, with their medical
+     * records, in ID order after the given ID. Used to archive one monthly
+     * partition at a time.
+     *
+     * @param from     the inclusive start of the range.
+     * @param to       the exclusive end of the range.
+     * @param afterId  the last visit ID of the previous page.
+     * @param pageable the page size.
+     * @return the next page of visits.
+     */
+    @Query("select v from Visit v left join fetch v.medicalRecord "
+            + "where v.createdAt >= :from and v.createdAt < :to and v.id > :afterId order by v.id")
+    List<Visit> findArchivableVisits(@Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    /**
+     * Finds the visits of a user whose change sequence value lies in the given
+     * range, in change order.
+     *
+     * @param userId   the ID of the Asha Karmi.
+     * @param after    the exclusive lower bound.
+     * @param horizon  the inclusive upper bound.
+     * @param pageable the page size.
+     * @return the changed visits.
+     */
+    @Query("select new com.ashaassist.backend.dto.ChangedVisitDto("
+            + "v.id, v.patient.id, v.isVerified, v.verifiedAt, v.createdAt, v.changeSeq) "
+            + "from Visit v where v.ashaKarmi.id = :userId and v.changeSeq > :after and v.changeSeq <= :horizon "
+            + "order by v.changeSeq")
+    List<ChangedVisitDto> findChangedVisits(@Param("userId") Long userId,
+            @Param("after") long after,
+            @Param("horizon") long horizon,
+            Pageable pageable);
 }
@@ -0,0 +1,167 @@
+package com.ashaassist.backend.resilience;
+
+import java.time.Duration;
+
+/**
+ * A count-based circuit breaker.
+ * <p>
+ * While closed, the outcomes of the last {@code windowSize} calls are kept in
+ * a ring buffer; once at least {@code minimumCalls} are recorded and the share
+ * of failures reaches {@code failureRateThreshold}, the breaker opens and
+ * rejects calls for {@code openDuration}. After that a single probe call is let
+ * through (half-open): its success closes the breaker, its failure opens it
+ * again.
+ */
+public class CircuitBreaker {
+
+    /**
+     * The states of the breaker, with the values reported by the state gauge.
+     */
+    public enum State {
+        CLOSED(0), HALF_OPEN(1), OPEN(2);
+
+        private final int gaugeValue;
+
+        State(int gaugeValue) {
+            this.gaugeValue = gaugeValue;
+        }
+
+        public int gaugeValue() {
+            return gaugeValue;
+        }
+    }
+
+    private final boolean[] failures;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationNanos;
+
+    private State state = State.CLOSED;
+    private int next;
+    private int recorded;
+    private int failureCount;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    /**
+     * Constructs a new {@code CircuitBreaker}.
+     *
+     * @param windowSize           the number of recent calls considered.
+     * @param minimumCalls         the calls needed before the breaker may open.
+     * @param failureRateThreshold the failure share, between 0 and 1, that opens the breaker.
+     * @param openDuration         how long the breaker stays open before probing.
+     */
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, Duration openDuration) {
+        this.failures = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+    }
+
+    /**
+     * Asks for permission to make a call. Every permitted call must be followed
+     * by {@link #onSuccess()} or {@link #onFailure()}.
+     *
+     * @return {@code true} if the call may proceed.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openedAt < openDurationNanos) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                return true;
+            default:
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+        }
+    }
+
+    /**
+     * Records a successful call.
+     */
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            state = State.CLOSED;
+            probeInFlight = false;
+            reset();
+            return;
+        }
+        record(false);
+    }
+
+    /**
+     * Records a failed call.
+     */
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+            open();
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && recorded >= minimumCalls
+                && (double) failureCount / recorded >= failureRateThreshold) {
+            open();
+        }
+    }
+
+    /**
+     * Releases a permission that was acquired but not used for a call.
+     */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Returns how long until the breaker lets a probe through.
+     *
+     * @return the remaining open time, zero if the breaker is not open.
+     */
+    public synchronized Duration remainingOpenTime() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(Math.max(0, openDurationNanos - (System.nanoTime() - openedAt)));
+    }
+
+    private void record(boolean failure) {
+        if (recorded == failures.length) {
+            if (failures[next]) {
+                failureCount--;
+            }
+        } else {
+            recorded++;
+        }
+        failures[next] = failure;
+        if (failure) {
+            failureCount++;
+        }
+        next = (next + 1) % failures.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+        reset();
+    }
+
+    private void reset() {
+        next = 0;
+        recorded = 0;
+        failureCount = 0;
+    }
+}
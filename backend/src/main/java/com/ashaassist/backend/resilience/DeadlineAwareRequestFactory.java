@@ -0,0 +1,60 @@
+package com.ashaassist.backend.resilience;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+/**
+ * A request factory for the shared JDK {@link HttpClient} that sets the
+ * timeout of each request from the current {@link RequestDeadline}, capped at
+ * the configured read timeout. The remaining budget is also sent in the
+ * {@code X-Request-Timeout-Ms} header, so downstream services can give up on
+ * work the backend will no longer wait for.
+ */
+public class DeadlineAwareRequestFactory implements ClientHttpRequestFactory {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+
+    private final HttpClient httpClient;
+    private final Duration readTimeout;
+    private final JdkClientHttpRequestFactory defaultFactory;
+
+    /**
+     * Constructs a new {@code DeadlineAwareRequestFactory}.
+     *
+     * @param httpClient  the shared HTTP client.
+     * @param readTimeout the timeout of requests without a deadline.
+     */
+    public DeadlineAwareRequestFactory(HttpClient httpClient, Duration readTimeout) {
+        this.httpClient = httpClient;
+        this.readTimeout = readTimeout;
+        this.defaultFactory = factory(readTimeout);
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        Duration remaining = RequestDeadline.remaining();
+        if (remaining == null) {
+            return defaultFactory.createRequest(uri, httpMethod);
+        }
+        Duration timeout = remaining.compareTo(readTimeout) < 0 ? remaining : readTimeout;
+        if (timeout.toMillis() < 1) {
+            timeout = Duration.ofMillis(1);
+        }
+        ClientHttpRequest request = factory(timeout).createRequest(uri, httpMethod);
+        request.getHeaders().set(TIMEOUT_HEADER, Long.toString(timeout.toMillis()));
+        return request;
+    }
+
+    private JdkClientHttpRequestFactory factory(Duration timeout) {
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(timeout);
+        return factory;
+    }
+}
@@ -0,0 +1,155 @@
+package com.ashaassist.backend.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.web.client.HttpClientErrorException;
+
+import com.ashaassist.backend.metrics.Dependency;
+import com.ashaassist.backend.metrics.DependencyMetrics;
+import com.twilio.exception.ApiException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Protects the callers of one external dependency with a bulkhead, a
+ * {@link CircuitBreaker} and a per-call timeout.
+ * <p>
+ * The bulkhead is a semaphore bounding the concurrent calls, so a slow
+ * dependency can tie up only its own share of the request threads. Calls are
+ * rejected with a {@link DependencyUnavailableException} when the breaker is
+ * open, when no bulkhead permit frees up within a short wait, or when the
+ * request's time budget is already spent. Client errors (4xx) do not count as
+ * failures of the dependency.
+ */
+public class DependencyGuard {
+
+    private final Dependency dependency;
+    private final DependencyMetrics dependencyMetrics;
+    private final Semaphore bulkhead;
+    private final int maxConcurrent;
+    private final Duration maxWait;
+    private final Duration timeout;
+    private final CircuitBreaker circuitBreaker;
+    private final Counter rejectedOpen;
+    private final Counter rejectedFull;
+    private final Counter rejectedBudget;
+
+    /**
+     * Constructs a new {@code DependencyGuard} and registers its metrics.
+     *
+     * @param dependency        the guarded dependency.
+     * @param maxConcurrent     the size of the bulkhead.
+     * @param maxWait           how long a call may wait for a bulkhead permit.
+     * @param timeout           the timeout of a single call.
+     * @param circuitBreaker    the breaker of the dependency.
+     * @param dependencyMetrics the timers recording the calls.
+     * @param meterRegistry     the registry receiving the guard metrics.
+     */
+    public DependencyGuard(Dependency dependency, int maxConcurrent, Duration maxWait, Duration timeout,
+            CircuitBreaker circuitBreaker, DependencyMetrics dependencyMetrics, MeterRegistry meterRegistry) {
+        this.dependency = dependency;
+        this.dependencyMetrics = dependencyMetrics;
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.maxConcurrent = maxConcurrent;
+        this.maxWait = maxWait;
+        this.timeout = timeout;
+        this.circuitBreaker = circuitBreaker;
+        this.rejectedOpen = rejectedCounter(meterRegistry, "circuit-open");
+        this.rejectedFull = rejectedCounter(meterRegistry, "bulkhead-full");
+        this.rejectedBudget = rejectedCounter(meterRegistry, "budget-exhausted");
+
+        Gauge.builder("dependency.circuit.state", circuitBreaker, breaker -> breaker.getState().gaugeValue())
+                .description("Circuit breaker state: 0 closed, 1 half-open, 2 open")
+                .tag("dependency", dependency.tag())
+                .register(meterRegistry);
+        Gauge.builder("dependency.bulkhead.active", bulkhead, permits -> maxConcurrent - permits.availablePermits())
+                .description("Calls currently holding a bulkhead permit")
+                .tag("dependency", dependency.tag())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Calls the dependency. While the call runs, the current
+     * {@link RequestDeadline} is narrowed to the dependency's timeout.
+     *
+     * @param call the call.
+     * @param <T>  the result type.
+     * @return the result of the call.
+     * @throws DependencyUnavailableException if the call was not attempted.
+     */
+    public <T> T call(Supplier<T> call) {
+        Duration remaining = RequestDeadline.remaining();
+        if (remaining != null && remaining.isNegative()) {
+            rejectedBudget.increment();
+            throw new DependencyUnavailableException(dependency, "request time budget exhausted", Duration.ZERO);
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            rejectedOpen.increment();
+            throw new DependencyUnavailableException(dependency, "circuit open",
+                    circuitBreaker.remainingOpenTime());
+        }
+        if (!acquireBulkhead(remaining)) {
+            circuitBreaker.release();
+            rejectedFull.increment();
+            throw new DependencyUnavailableException(dependency, "too many concurrent calls", Duration.ofSeconds(1));
+        }
+
+        long start = dependencyMetrics.start();
+        try (RequestDeadline.Scope ignored = RequestDeadline.narrow(timeout)) {
+            T result = call.get();
+            circuitBreaker.onSuccess();
+            dependencyMetrics.success(dependency, start);
+            return result;
+        } catch (RuntimeException e) {
+            if (isDependencyFailure(e)) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            dependencyMetrics.error(dependency, start);
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    private boolean acquireBulkhead(Duration remaining) {
+        if (bulkhead.tryAcquire()) {
+            return true;
+        }
+        Duration wait = remaining != null && remaining.compareTo(maxWait) < 0 ? remaining : maxWait;
+        try {
+            return bulkhead.tryAcquire(wait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean isDependencyFailure(RuntimeException e) {
+        if (e instanceof HttpClientErrorException) {
+            return false;
+        }
+        if (e instanceof ApiException apiException && apiException.getStatusCode() != null) {
+            return apiException.getStatusCode() >= 500;
+        }
+        return true;
+    }
+
+    private Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("dependency.rejected")
+                .description("Calls to external dependencies rejected without being attempted")
+                .tag("dependency", dependency.tag())
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,74 @@
+package com.ashaassist.backend.resilience;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.ashaassist.backend.metrics.Dependency;
+import com.ashaassist.backend.metrics.DependencyMetrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Holds the {@link DependencyGuard} of every external dependency, configured
+ * from the {@code app.resilience.<dependency>.*} properties.
+ */
+@Component
+public class DependencyGuards {
+
+    private final Map<Dependency, DependencyGuard> guards = new EnumMap<>(Dependency.class);
+
+    /**
+     * Constructs a new {@code DependencyGuards}.
+     *
+     * @param environment       the environment holding the guard settings.
+     * @param dependencyMetrics the timers recording the calls.
+     * @param meterRegistry     the registry receiving the guard metrics.
+     */
+    public DependencyGuards(Environment environment, DependencyMetrics dependencyMetrics,
+            MeterRegistry meterRegistry) {
+        Duration maxWait = environment.getProperty("app.resilience.bulkhead.max-wait", Duration.class,
+                Duration.ofMillis(100));
+        int windowSize = environment.getProperty("app.resilience.circuit.window-size", Integer.class, 20);
+        int minimumCalls = environment.getProperty("app.resilience.circuit.minimum-calls", Integer.class, 10);
+        double failureRate = environment.getProperty("app.resilience.circuit.failure-rate", Double.class, 0.5);
+        Duration openDuration = environment.getProperty("app.resilience.circuit.open-duration", Duration.class,
+                Duration.ofSeconds(30));
+
+        for (Dependency dependency : Dependency.values()) {
+            String prefix = "app.resilience." + dependency.tag() + ".";
+            int maxConcurrent = environment.getProperty(prefix + "max-concurrent", Integer.class, 10);
+            Duration timeout = environment.getProperty(prefix + "timeout", Duration.class, Duration.ofSeconds(10));
+            guards.put(dependency, new DependencyGuard(dependency, maxConcurrent, maxWait, timeout,
+                    new CircuitBreaker(windowSize, minimumCalls, failureRate, openDuration),
+                    dependencyMetrics, meterRegistry));
+        }
+    }
+
+    /**
+     * Calls a dependency through its guard.
+     *
+     * @param dependency the dependency.
+     * @param call       the call.
+     * @param <T>        the result type.
+     * @return the result of the call.
+     * @throws DependencyUnavailableException if the call was not attempted.
+     */
+    public <T> T call(Dependency dependency, Supplier<T> call) {
+        return guards.get(dependency).call(call);
+    }
+
+    /**
+     * Returns the guard of a dependency.
+     *
+     * @param dependency the dependency.
+     * @return the guard.
+     */
+    public DependencyGuard get(Dependency dependency) {
+        return guards.get(dependency);
+    }
+}
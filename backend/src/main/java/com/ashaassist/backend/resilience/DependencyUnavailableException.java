@@ -0,0 +1,46 @@
+package com.ashaassist.backend.resilience;
+
+import java.time.Duration;
+
+import com.ashaassist.backend.metrics.Dependency;
+
+/**
+ * Thrown when a call to an external dependency is not attempted, because its
+ * circuit breaker is open, its bulkhead is full or the request's time budget
+ * is spent.
+ */
+public class DependencyUnavailableException extends RuntimeException {
+
+    private final Dependency dependency;
+    private final Duration retryAfter;
+
+    /**
+     * Constructs a new {@code DependencyUnavailableException}.
+     *
+     * @param dependency the dependency that was not called.
+     * @param reason     why it was not called.
+     * @param retryAfter how long the caller should wait before retrying.
+     */
+    public DependencyUnavailableException(Dependency dependency, String reason, Duration retryAfter) {
+        super(dependency.tag() + " is unavailable: " + reason);
+        this.dependency = dependency;
+        this.retryAfter = retryAfter;
+    }
+
+    public Dependency getDependency() {
+        return dependency;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Returns the {@code Retry-After} header value, in whole seconds.
+     *
+     * @return the number of seconds, at least one.
+     */
+    public String retryAfterSeconds() {
+        return Long.toString(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
+}
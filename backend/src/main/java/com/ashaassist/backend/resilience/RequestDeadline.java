@@ -0,0 +1,94 @@
+package com.ashaassist.backend.resilience;
+
+import java.time.Duration;
+
+/**
+ * The time budget of the work running on the current thread.
+ * <p>
+ * A deadline is started for every inbound request and narrowed around each
+ * outbound call, so a call never waits longer than both its own timeout and
+ * what is left of the request's budget. Work without a deadline, such as
+ * background jobs, is only bounded by the per-call timeouts.
+ */
+public final class RequestDeadline {
+
+    /**
+     * The key under which the deadline is registered for context propagation.
+     */
+    public static final String CONTEXT_KEY = "ashaassist.request-deadline";
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    /**
+     * Restores the previous deadline when closed.
+     */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * Starts a new deadline on the current thread, replacing any earlier one.
+     *
+     * @param budget the time budget.
+     * @return the scope to close when the work is done.
+     */
+    public static Scope start(Duration budget) {
+        return set(System.nanoTime() + budget.toNanos());
+    }
+
+    /**
+     * Narrows the current deadline to at most {@code timeout} from now.
+     *
+     * @param timeout the maximum time the enclosed work may take.
+     * @return the scope to close when the enclosed work is done.
+     */
+    public static Scope narrow(Duration timeout) {
+        long candidate = System.nanoTime() + timeout.toNanos();
+        Long current = DEADLINE.get();
+        return set(current == null || candidate - current < 0 ? candidate : current);
+    }
+
+    /**
+     * Returns the time left until the deadline.
+     *
+     * @return the remaining time, negative once the deadline has passed, or
+     *         {@code null} if there is no deadline.
+     */
+    public static Duration remaining() {
+        Long current = DEADLINE.get();
+        return current == null ? null : Duration.ofNanos(current - System.nanoTime());
+    }
+
+    /**
+     * Returns the time left until the deadline, capped at {@code max}.
+     *
+     * @param max the value to use when there is no deadline or more time left.
+     * @return the effective timeout.
+     */
+    public static Duration remainingOr(Duration max) {
+        Duration remaining = remaining();
+        return remaining == null || remaining.compareTo(max) > 0 ? max : remaining;
+    }
+
+    static Long get() {
+        return DEADLINE.get();
+    }
+
+    static void restore(Long deadline) {
+        if (deadline == null) {
+            DEADLINE.remove();
+        } else {
+            DEADLINE.set(deadline);
+        }
+    }
+
+    private static Scope set(long deadline) {
+        Long previous = DEADLINE.get();
+        DEADLINE.set(deadline);
+        return () -> restore(previous);
+    }
+}
@@ -0,0 +1,63 @@
+package com.ashaassist.backend.resilience;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.ashaassist.backend.ratelimit.RateLimitedEndpoint;
+
+import io.micrometer.context.ContextRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Starts the {@link RequestDeadline} of every inbound request. Transcription
+ * uploads and offline sync bundles get larger budgets than other requests,
+ * since they wait for Whisper, and so do streamed translations of long texts.
+ * The filter runs first in the security filter chain, so the wait for
+ * transcription admission counts against the budget.
+ */
+@Component
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    @Value("${app.resilience.budget.default:30s}")
+    private Duration defaultBudget;
+
+    @Value("${app.resilience.budget.transcribe:90s}")
+    private Duration transcribeBudget;
+
+    @Value("${app.resilience.budget.sync:3m}")
+    private Duration syncBudget;
+
+    @Value("${app.resilience.budget.translate-stream:2m}")
+    private Duration translateStreamBudget;
+
+    /**
+     * Constructs a new {@code RequestDeadlineFilter} and registers the deadline
+     * for context propagation, so executors wrapped for context propagation
+     * carry it to their tasks.
+     */
+    public RequestDeadlineFilter() {
+        ContextRegistry.getInstance().registerThreadLocalAccessor(RequestDeadline.CONTEXT_KEY,
+                RequestDeadline::get, RequestDeadline::restore, () -> RequestDeadline.restore(null));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String uri = RateLimitedEndpoint.path(request);
+        Duration budget = uri.endsWith("/transcribe") ? transcribeBudget
+                : uri.equals("/api/visits/sync") ? syncBudget
+                : uri.equals("/api/translate/stream") ? translateStreamBudget
+                : defaultBudget;
+        try (RequestDeadline.Scope ignored = RequestDeadline.start(budget)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.ashaassist.backend.search;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ashaassist.backend.cache.EntityChangedEvent;
+import com.ashaassist.backend.changefeed.ChangeSequence;
+import com.ashaassist.backend.dto.ChangedPatientDto;
+import com.ashaassist.backend.dto.PatientSuggestionDto;
+import com.ashaassist.backend.dto.UserSuggestionDto;
+import com.ashaassist.backend.model.Patient;
+import com.ashaassist.backend.model.User;
+import com.ashaassist.backend.repository.PatientRepository;
+import com.ashaassist.backend.repository.UserRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Typeahead search over the patient and Asha Karmi directories for the admin
+ * screens, backed by one {@link TypeaheadIndex} each.
+ * <p>
+ * Patients are searched by full name, phone number and address. Their index
+ * is built from the database in the background once the application is
+ * ready, updated after each committed write on this instance, and catches up
+ * with the writes of other instances over the change sequence; a catch-up also
+ * repairs an entry that a concurrent build overwrote with an older version.
+ * Users are searched by full name and username; there are few of them, so
+ * their index is reloaded as a whole periodically instead. Until the build
+ * has finished, searches find nothing.
+ */
+@Component
+public class DirectorySearchIndex {
+
+    private static final int PAGE_SIZE = 5000;
+
+    private final PatientRepository patientRepository;
+    private final UserRepository userRepository;
+    private final ChangeSequence changeSequence;
+    private final int maxCandidates;
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("directory-index-build").daemon().factory());
+
+    private final TypeaheadIndex patients = newPatientIndex();
+    private volatile TypeaheadIndex users = newUserIndex();
+    private volatile boolean built;
+    private volatile long caughtUpTo;
+
+    private final Timer patientSearches;
+    private final Timer userSearches;
+
+    /**
+     * Constructs a new {@code DirectorySearchIndex}.
+     *
+     * @param patientRepository the repository used to build and update the
+     *                          patient index.
+     * @param userRepository    the repository used to load the user index.
+     * @param changeSequence    the change sequence used to catch up with
+     *                          patients written on other instances.
+     * @param meterRegistry     the registry receiving the search metrics.
+     * @param maxCandidates     the maximum number of candidates ranked per
+     *                          search tier.
+     */
+    public DirectorySearchIndex(PatientRepository patientRepository,
+            UserRepository userRepository,
+            ChangeSequence changeSequence,
+            MeterRegistry meterRegistry,
+            @Value("${app.typeahead.max-candidates:200}") int maxCandidates) {
+        this.patientRepository = patientRepository;
+        this.userRepository = userRepository;
+        this.changeSequence = changeSequence;
+        this.maxCandidates = maxCandidates;
+
+        this.patientSearches = searchTimer(meterRegistry, "patients");
+        this.userSearches = searchTimer(meterRegistry, "users");
+        registerGauges(meterRegistry, "patients", directory -> directory.patients);
+        registerGauges(meterRegistry, "users", directory -> directory.users);
+    }
+
+    private static TypeaheadIndex newPatientIndex() {
+        // Full name, phone number, address; date of birth and gender are only stored
+        return new TypeaheadIndex(1.0, 1.0, 0.4);
+    }
+
+    private static TypeaheadIndex newUserIndex() {
+        // Full name, username; the role is only stored
+        return new TypeaheadIndex(1.0, 1.0);
+    }
+
+    private Timer searchTimer(MeterRegistry meterRegistry, String index) {
+        return Timer.builder("typeahead.search")
+                .description("Latency of admin typeahead searches")
+                .tag("index", index)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private void registerGauges(MeterRegistry meterRegistry, String index,
+            Function<DirectorySearchIndex, TypeaheadIndex> source) {
+        Gauge.builder("typeahead.index.documents", this, directory -> source.apply(directory).size())
+                .description("Documents in the admin typeahead index")
+                .tag("index", index)
+                .register(meterRegistry);
+        Gauge.builder("typeahead.index.bytes", this, directory -> source.apply(directory).sizeInBytes())
+                .description("Estimated memory taken by the admin typeahead index")
+                .tag("index", index)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Suggests patients whose name, phone number or address matches every
+     * word of the query.
+     *
+     * @param query the query.
+     * @param limit the maximum number of suggestions.
+     * @return the suggestions, best first, or none while the index is built.
+     */
+    public List<PatientSuggestionDto> suggestPatients(String query, int limit) {
+        if (!built) {
+            return List.of();
+        }
+        List<TypeaheadIndex.Hit> hits = patientSearches.record(() -> patients.search(query, limit, maxCandidates));
+        return hits.stream()
+                .map(hit -> new PatientSuggestionDto(hit.id(),
+                        hit.fields().get(0),
+                        hit.fields().get(3).isEmpty() ? null : LocalDate.parse(hit.fields().get(3)),
+                        emptyToNull(hit.fields().get(4)),
+                        hit.fields().get(1),
+                        emptyToNull(hit.fields().get(2)),
+                        hit.score()))
+                .toList();
+    }
+
+    /**
+     * Suggests users whose full name or username matches every word of the
+     * query.
+     *
+     * @param query the query.
+     * @param limit the maximum number of suggestions.
+     * @return the suggestions, best first, or none while the index is built.
+     */
+    public List<UserSuggestionDto> suggestUsers(String query, int limit) {
+        if (!built) {
+            return List.of();
+        }
+        List<TypeaheadIndex.Hit> hits = userSearches.record(() -> users.search(query, limit, maxCandidates));
+        return hits.stream()
+                .map(hit -> new UserSuggestionDto(hit.id(),
+                        hit.fields().get(0),
+                        hit.fields().get(1),
+                        emptyToNull(hit.fields().get(2)),
+                        hit.score()))
+                .toList();
+    }
+
+    /**
+     * Starts building both indexes from the database once the application is
+     * ready, without holding up readiness.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        builder.execute(() -> {
+            try {
+                buildIndexes();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                System.err.println("Failed to build the directory search index: " + e.getMessage());
+            }
+        });
+    }
+
+    private void buildIndexes() throws InterruptedException {
+        long startNanos = System.nanoTime();
+        // Patients up to the horizon are committed and seen by the scan; later ones by the catch-up
+        long horizon = changeSequence.awaitHorizon();
+        long afterId = 0L;
+        while (true) {
+            List<ChangedPatientDto> page = patientRepository.findPatientsAfterId(afterId, PageRequest.of(0, PAGE_SIZE));
+            if (page.isEmpty()) {
+                break;
+            }
+            page.forEach(this::indexPatient);
+            afterId = page.get(page.size() - 1).getId();
+        }
+        patients.trimToSize();
+        caughtUpTo = horizon;
+        reloadUsers();
+        built = true;
+        System.out.println("---- Directory search index built with " + patients.size() + " patients and "
+                + users.size() + " users in " + (System.nanoTime() - startNanos) / 1_000_000 + " ms ----");
+    }
+
+    /**
+     * Indexes the patients written on any instance since the last catch-up.
+     */
+    @Scheduled(fixedDelayString = "${app.typeahead.catch-up-interval:5s}")
+    public void catchUp() {
+        if (!built) {
+            return;
+        }
+        long horizon = changeSequence.horizon();
+        long after = caughtUpTo;
+        while (after < horizon) {
+            List<ChangedPatientDto> page = patientRepository.findAllChangedPatients(after, horizon,
+                    PageRequest.of(0, PAGE_SIZE));
+            if (page.isEmpty()) {
+                break;
+            }
+            page.forEach(this::indexPatient);
+            after = page.get(page.size() - 1).getChangeSeq();
+        }
+        caughtUpTo = Math.max(after, horizon);
+    }
+
+    /**
+     * Replaces the user index with a fresh one loaded from the database.
+     */
+    @Scheduled(fixedDelayString = "${app.typeahead.users.reload-interval:1m}",
+            initialDelayString = "${app.typeahead.users.reload-interval:1m}")
+    public void reloadUsers() {
+        TypeaheadIndex reloaded = newUserIndex();
+        for (User user : userRepository.findAll()) {
+            reloaded.index(user.getId(), user.getFullName(), user.getUsername(), user.getRole());
+        }
+        users = reloaded;
+    }
+
+    /**
+     * Applies writes committed on this instance.
+     *
+     * @param event the change event.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.entity() instanceof Patient patient && patient.getId() != null) {
+            if (event.change() == EntityChangedEvent.Change.REMOVED) {
+                patients.remove(patient.getId());
+            } else {
+                patients.index(patient.getId(), patient.getFullName(), patient.getPhoneNumber(),
+                        patient.getAddress(), toText(patient.getDateOfBirth()), patient.getGender());
+            }
+        } else if (event.entity() instanceof User user && user.getId() != null) {
+            if (event.change() == EntityChangedEvent.Change.REMOVED) {
+                users.remove(user.getId());
+            } else {
+                users.index(user.getId(), user.getFullName(), user.getUsername(), user.getRole());
+            }
+        }
+    }
+
+    private void indexPatient(ChangedPatientDto patient) {
+        patients.index(patient.getId(), patient.getFullName(), patient.getPhoneNumber(), patient.getAddress(),
+                toText(patient.getDateOfBirth()), patient.getGender());
+    }
+
+    private static String toText(LocalDate date) {
+        return date != null ? date.toString() : null;
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        builder.shutdownNow();
+    }
+}
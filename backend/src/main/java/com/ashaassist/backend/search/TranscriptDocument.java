@@ -0,0 +1,23 @@
+package com.ashaassist.backend.search;
+
+import java.time.LocalDateTime;
+
+/**
+ * A medical record transcript together with the attributes the search index
+ * filters on.
+ *
+ * @param recordId   the medical record ID.
+ * @param visitId    the visit ID.
+ * @param workerId   the ID of the Asha Karmi who conducted the visit.
+ * @param patientId  the patient ID.
+ * @param createdAt  the creation time of the medical record.
+ * @param transcript the transcript text.
+ */
+public record TranscriptDocument(
+        Long recordId,
+        Long visitId,
+        Long workerId,
+        Long patientId,
+        LocalDateTime createdAt,
+        String transcript) {
+}
@@ -0,0 +1,15 @@
+package com.ashaassist.backend.search;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters applied to a transcript search. {@code null} components do
+ * not filter.
+ *
+ * @param workerId  only match visits conducted by this Asha Karmi.
+ * @param patientId only match visits of this patient.
+ * @param from      only match records created at or after this time.
+ * @param to        only match records created before this time.
+ */
+public record TranscriptSearchFilter(Long workerId, Long patientId, LocalDateTime from, LocalDateTime to) {
+}
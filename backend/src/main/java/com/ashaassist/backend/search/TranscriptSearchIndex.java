@@ -0,0 +1,347 @@
+package com.ashaassist.backend.search;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.ashaassist.backend.dto.TranscriptSearchPageDto;
+import com.ashaassist.backend.dto.TranscriptSearchResultDto;
+import com.ashaassist.backend.repository.MedicalRecordRepository;
+import com.ashaassist.backend.whisper.WhisperResponseParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * An embedded inverted index over medical record transcripts with BM25
+ * ranking.
+ * <p>
+ * Postings are stored as parallel primitive arrays of document numbers and
+ * term frequencies. Re-indexing a record marks its previous document as deleted;
+ * deleted documents are dropped from the postings once they make up half of the
+ * index. The index is rebuilt from the database on startup and updated
+ * incrementally after each transcription. Only the transcription text of the
+ * stored Whisper responses is indexed.
+ */
+@Component
+public class TranscriptSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int REBUILD_PAGE_SIZE = 1000;
+    private static final int MIN_DELETED_FOR_COMPACTION = 1000;
+
+    private final MedicalRecordRepository medicalRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> docByRecord = new HashMap<>();
+    private long[] recordIds = new long[1024];
+    private long[] visitIds = new long[1024];
+    private long[] workerIds = new long[1024];
+    private long[] patientIds = new long[1024];
+    private long[] createdAt = new long[1024];
+    private int[] lengths = new int[1024];
+    private BitSet deleted = new BitSet();
+    private int docCount;
+    private int liveDocs;
+    private long totalLength;
+
+    /**
+     * Postings of a single term.
+     */
+    private static final class Postings {
+        int[] docs = new int[4];
+        int[] freqs = new int[4];
+        int size;
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+    }
+
+    private record Hit(int doc, double score) {
+    }
+
+    private record Cursor(double score, long recordId) {
+    }
+
+    /**
+     * Constructs a new {@code TranscriptSearchIndex}.
+     *
+     * @param medicalRecordRepository the repository used to rebuild the index.
+     * @param objectMapper            the mapper used to read the stored
+     *                                Whisper responses.
+     */
+    public TranscriptSearchIndex(MedicalRecordRepository medicalRecordRepository, ObjectMapper objectMapper) {
+        this.medicalRecordRepository = medicalRecordRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Rebuilds the index from all stored transcripts once the application is
+     * ready. A record indexed by a transcription while the rebuild runs is
+     * newer than what the rebuild read, and is kept.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long afterId = 0L;
+        int indexed = 0;
+        while (true) {
+            List<TranscriptDocument> page = medicalRecordRepository.findTranscriptDocuments(
+                    afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            if (page.isEmpty()) {
+                break;
+            }
+            for (TranscriptDocument stored : page) {
+                String text = WhisperResponseParser.transcriptionText(objectMapper.getFactory(), stored.transcript());
+                if (text != null) {
+                    index(new TranscriptDocument(stored.recordId(), stored.visitId(), stored.workerId(),
+                            stored.patientId(), stored.createdAt(), text), false);
+                    indexed++;
+                }
+            }
+            afterId = page.get(page.size() - 1).recordId();
+        }
+        System.out.println("---- Transcript search index built with " + indexed + " records ----");
+    }
+
+    /**
+     * Adds a transcript to the index, replacing any earlier version of the same
+     * medical record.
+     *
+     * @param document the transcript text and its attributes.
+     */
+    public void index(TranscriptDocument document) {
+        index(document, true);
+    }
+
+    private void index(TranscriptDocument document, boolean replace) {
+        List<String> terms = TranscriptTokenizer.tokenize(document.transcript());
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        for (String term : terms) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+
+        lock.writeLock().lock();
+        try {
+            Integer previous = docByRecord.get(document.recordId());
+            if (previous != null) {
+                if (!replace) {
+                    return;
+                }
+                markDeleted(previous);
+            }
+
+            int doc = docCount++;
+            ensureCapacity(docCount);
+            recordIds[doc] = document.recordId();
+            visitIds[doc] = document.visitId();
+            workerIds[doc] = document.workerId();
+            patientIds[doc] = document.patientId();
+            createdAt[doc] = toEpochSecond(document.createdAt());
+            lengths[doc] = terms.size();
+            totalLength += terms.size();
+            liveDocs++;
+            docByRecord.put(document.recordId(), doc);
+
+            frequencies.forEach((term, freq) -> postings.computeIfAbsent(term, t -> new Postings()).add(doc, freq));
+
+            if (deleted.cardinality() >= MIN_DELETED_FOR_COMPACTION && deleted.cardinality() * 2 >= docCount) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Searches the index and returns one page of hits ranked by BM25 score.
+     *
+     * @param query  the free-text query.
+     * @param filter the filters to apply.
+     * @param cursor the cursor returned with the previous page, or {@code null}.
+     * @param limit  the maximum number of hits to return.
+     * @return the page of hits and the cursor for the next page.
+     */
+    public TranscriptSearchPageDto search(String query, TranscriptSearchFilter filter, String cursor, int limit) {
+        List<String> terms = TranscriptTokenizer.tokenize(query).stream().distinct().toList();
+        Cursor after = decodeCursor(cursor);
+
+        lock.readLock().lock();
+        try {
+            if (terms.isEmpty() || liveDocs == 0) {
+                return new TranscriptSearchPageDto(List.of(), null);
+            }
+            double averageLength = (double) totalLength / liveDocs;
+            long from = filter.from() != null ? toEpochSecond(filter.from()) : Long.MIN_VALUE;
+            long to = filter.to() != null ? toEpochSecond(filter.to()) : Long.MAX_VALUE;
+
+            Map<Integer, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Postings termPostings = postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+                int documentFrequency = 0;
+                for (int i = 0; i < termPostings.size; i++) {
+                    if (!deleted.get(termPostings.docs[i])) {
+                        documentFrequency++;
+                    }
+                }
+                double idf = Math.log(1 + (liveDocs - documentFrequency + 0.5) / (documentFrequency + 0.5));
+
+                for (int i = 0; i < termPostings.size; i++) {
+                    int doc = termPostings.docs[i];
+                    if (deleted.get(doc)
+                            || (filter.workerId() != null && workerIds[doc] != filter.workerId())
+                            || (filter.patientId() != null && patientIds[doc] != filter.patientId())
+                            || createdAt[doc] < from || createdAt[doc] >= to) {
+                        continue;
+                    }
+                    double tf = termPostings.freqs[i];
+                    double norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+                    scores.merge(doc, idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>();
+            scores.forEach((doc, score) -> {
+                if (after == null || isAfter(score, recordIds[doc], after)) {
+                    hits.add(new Hit(doc, score));
+                }
+            });
+            hits.sort(Comparator.comparingDouble(Hit::score).reversed()
+                    .thenComparing(Comparator.comparingLong((Hit hit) -> recordIds[hit.doc()]).reversed()));
+
+            List<TranscriptSearchResultDto> results = new ArrayList<>();
+            for (Hit hit : hits.subList(0, Math.min(limit, hits.size()))) {
+                int doc = hit.doc();
+                results.add(new TranscriptSearchResultDto(recordIds[doc], visitIds[doc], workerIds[doc],
+                        patientIds[doc], LocalDateTime.ofEpochSecond(createdAt[doc], 0, ZoneOffset.UTC), hit.score()));
+            }
+            String nextCursor = null;
+            if (hits.size() > limit) {
+                Hit last = hits.get(limit - 1);
+                nextCursor = encodeCursor(last.score(), recordIds[last.doc()]);
+            }
+            return new TranscriptSearchPageDto(results, nextCursor);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void markDeleted(int doc) {
+        if (!deleted.get(doc)) {
+            deleted.set(doc);
+            liveDocs--;
+            totalLength -= lengths[doc];
+        }
+    }
+
+    /**
+     * Rewrites the postings without deleted documents and renumbers the
+     * remaining documents. Must be called with the write lock held.
+     */
+    private void compact() {
+        int[] remap = new int[docCount];
+        int live = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deleted.get(doc)) {
+                remap[doc] = -1;
+                continue;
+            }
+            remap[doc] = live;
+            recordIds[live] = recordIds[doc];
+            visitIds[live] = visitIds[doc];
+            workerIds[live] = workerIds[doc];
+            patientIds[live] = patientIds[doc];
+            createdAt[live] = createdAt[doc];
+            lengths[live] = lengths[doc];
+            live++;
+        }
+
+        Map<String, Postings> compacted = new HashMap<>();
+        postings.forEach((term, termPostings) -> {
+            Postings rewritten = new Postings();
+            for (int i = 0; i < termPostings.size; i++) {
+                int doc = remap[termPostings.docs[i]];
+                if (doc >= 0) {
+                    rewritten.add(doc, termPostings.freqs[i]);
+                }
+            }
+            if (rewritten.size > 0) {
+                compacted.put(term, rewritten);
+            }
+        });
+
+        postings = compacted;
+        docByRecord.clear();
+        for (int doc = 0; doc < live; doc++) {
+            docByRecord.put(recordIds[doc], doc);
+        }
+        docCount = live;
+        deleted = new BitSet();
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= recordIds.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, recordIds.length * 2);
+        recordIds = Arrays.copyOf(recordIds, newLength);
+        visitIds = Arrays.copyOf(visitIds, newLength);
+        workerIds = Arrays.copyOf(workerIds, newLength);
+        patientIds = Arrays.copyOf(patientIds, newLength);
+        createdAt = Arrays.copyOf(createdAt, newLength);
+        lengths = Arrays.copyOf(lengths, newLength);
+    }
+
+    private static long toEpochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static boolean isAfter(double score, long recordId, Cursor cursor) {
+        return score < cursor.score() || (score == cursor.score() && recordId < cursor.recordId());
+    }
+
+    private static String encodeCursor(double score, long recordId) {
+        String raw = Long.toHexString(Double.doubleToLongBits(score)) + ":" + recordId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            double score = Double.longBitsToDouble(Long.parseUnsignedLong(raw.substring(0, separator), 16));
+            long recordId = Long.parseLong(raw.substring(separator + 1));
+            return new Cursor(score, recordId);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid search cursor.");
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.ashaassist.backend.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits Hindi and English (including romanised Hindi) transcripts into index
+ * terms.
+ * <p>
+ * A term is a maximal run of letters, digits and combining marks, so Devanagari
+ * vowel signs and viramas stay attached to their consonants. Text is NFC
+ * normalised and lower-cased, stop words are dropped and English plural
+ * suffixes are stripped from Latin-script terms.
+ */
+public final class TranscriptTokenizer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            // English
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "from", "has", "have", "he", "her",
+            "his", "i", "in", "is", "it", "its", "me", "my", "of", "on", "or", "she", "so", "that", "the",
+            "their", "they", "this", "to", "was", "we", "were", "with", "you", "your",
+            // Romanised Hindi
+            "hai", "hain", "tha", "thi", "ka", "ki", "ke", "ko", "se", "mein", "aur", "ye", "yeh",
+            "vo", "woh", "bhi", "ek", "kya", "na", "nahi",
+            // Devanagari
+            "है", "हैं", "था", "थी", "थे", "का", "की", "के", "को", "से", "में", "और", "यह", "वह", "तो", "भी",
+            "एक", "क्या", "ना", "पर", "हो", "कि");
+
+    private TranscriptTokenizer() {
+    }
+
+    /**
+     * Tokenises the given text.
+     *
+     * @param text the text to tokenise, may be {@code null}.
+     * @return the index terms in order of appearance.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC);
+
+        int start = -1;
+        int i = 0;
+        while (i <= normalized.length()) {
+            int codePoint = i < normalized.length() ? normalized.codePointAt(i) : ' ';
+            if (isTermChar(codePoint)) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                addTerm(terms, normalized.substring(start, i));
+                start = -1;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return terms;
+    }
+
+    private static boolean isTermChar(int codePoint) {
+        if (Character.isLetterOrDigit(codePoint)) {
+            return true;
+        }
+        int type = Character.getType(codePoint);
+        return type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK;
+    }
+
+    private static void addTerm(List<String> terms, String raw) {
+        String term = raw.toLowerCase(Locale.ROOT);
+        if (STOP_WORDS.contains(term)) {
+            return;
+        }
+        terms.add(stem(term));
+    }
+
+    private static String stem(String term) {
+        if (term.length() <= 4 || term.charAt(0) > 0x7F) {
+            return term;
+        }
+        if (term.endsWith("ies")) {
+            return term.substring(0, term.length() - 3) + "y";
+        }
+        if (term.endsWith("es") && (term.endsWith("shes") || term.endsWith("ches") || term.endsWith("xes"))) {
+            return term.substring(0, term.length() - 2);
+        }
+        if (term.endsWith("s") && !term.endsWith("ss") && !term.endsWith("us")) {
+            return term.substring(0, term.length() - 1);
+        }
+        return term;
+    }
+}
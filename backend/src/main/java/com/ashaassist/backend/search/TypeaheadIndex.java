@@ -0,0 +1,695 @@
+package com.ashaassist.backend.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An embedded typeahead index over short text fields such as names, phone
+ * numbers and addresses, matching query words as prefixes or substrings of
+ * the words in the fields.
+ * <p>
+ * Every word is indexed by its trigrams after padding its start and end, so
+ * that the one- and two-character prefixes and the end of the word are grams
+ * as well. Query words shorter than three characters look up their padded
+ * prefix grams, longer ones their plain trigrams, which also finds them inside
+ * words, e.g. the middle digits of a phone number. The postings of a gram are
+ * document numbers in ascending order, delta-encoded as variable-length
+ * integers in a byte array, in small blocks that can be decoded on their own.
+ * <p>
+ * The postings of the query's grams are intersected by a leapfrog join from
+ * the newest document down, which skips whole blocks. The intersection is a
+ * superset of the matches, so candidates are verified against the stored text
+ * and ranked: an exact word match scores highest, then a match at the start of
+ * the field, at the start of another word and inside a word, each scaled by
+ * the weight of the field. Candidates are gathered in tiers, first those
+ * containing the query words as whole words, then as word prefixes, then
+ * anywhere, and each tier verifies at most a given number of them, so a broad
+ * query still finds an older exact match behind many newer partial ones.
+ * Re-indexing a document marks its previous version as deleted; deleted
+ * documents are dropped once they make up half of the index.
+ */
+public class TypeaheadIndex {
+
+    private static final char FIELD_SEPARATOR = '\u001F';
+    private static final char PAD = '\u0001';
+    private static final int MIN_DELETED_FOR_COMPACTION = 1000;
+    private static final int BLOCK_SIZE = 16;
+
+    private final double[] weights;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, Postings> postings = new HashMap<>();
+    private IdTable docById = new IdTable(1024);
+    private long[] ids = new long[1024];
+    // The fields of each document, NFC normalised and joined by the field separator
+    private String[] texts = new String[1024];
+    private BitSet deleted = new BitSet();
+    private int docCount;
+    private int liveDocs;
+
+    /**
+     * A search hit.
+     *
+     * @param id     the ID of the document.
+     * @param fields the fields of the document, as indexed.
+     * @param score  the relevance score.
+     */
+    public record Hit(long id, List<String> fields, double score) {
+    }
+
+    private record Scored(int doc, long id, double score) {
+    }
+
+    /**
+     * Postings of a single gram, in blocks of {@link #BLOCK_SIZE} documents.
+     * The first document of each block is kept in an array, the others as
+     * deltas to their predecessor, so a block can be decoded on its own and
+     * found by binary search.
+     */
+    private static final class Postings {
+        byte[] data = new byte[4];
+        int length;
+        int count;
+        int lastDoc = -1;
+        int[] blockDocs = new int[1];
+        int[] blockOffsets = new int[1];
+        int blocks;
+
+        void add(int doc) {
+            if (count % BLOCK_SIZE == 0) {
+                if (blocks == blockDocs.length) {
+                    blockDocs = Arrays.copyOf(blockDocs, blocks * 2);
+                    blockOffsets = Arrays.copyOf(blockOffsets, blocks * 2);
+                }
+                blockDocs[blocks] = doc;
+                blockOffsets[blocks] = length;
+                blocks++;
+            } else {
+                if (length + 5 > data.length) {
+                    data = Arrays.copyOf(data, Math.max(length + 5, data.length + (data.length >> 1)));
+                }
+                int delta = doc - lastDoc;
+                while ((delta & ~0x7F) != 0) {
+                    data[length++] = (byte) ((delta & 0x7F) | 0x80);
+                    delta >>>= 7;
+                }
+                data[length++] = (byte) delta;
+            }
+            lastDoc = doc;
+            count++;
+        }
+
+        /**
+         * Decodes a block into the buffer.
+         *
+         * @return the number of documents in the block.
+         */
+        int decodeBlock(int block, int[] buffer) {
+            int size = block == blocks - 1 ? count - block * BLOCK_SIZE : BLOCK_SIZE;
+            int position = blockOffsets[block];
+            int doc = blockDocs[block];
+            buffer[0] = doc;
+            for (int i = 1; i < size; i++) {
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[position++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                doc += delta;
+                buffer[i] = doc;
+            }
+            return size;
+        }
+
+        /**
+         * Returns the last block at or below {@code maxBlock} whose first
+         * document is at or below {@code doc}, or -1 if there is none.
+         */
+        int blockOf(int doc, int maxBlock) {
+            int low = 0;
+            int high = maxBlock;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (blockDocs[middle] <= doc) {
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return high;
+        }
+
+        void trim() {
+            data = Arrays.copyOf(data, length);
+            blockDocs = Arrays.copyOf(blockDocs, Math.max(1, blocks));
+            blockOffsets = Arrays.copyOf(blockOffsets, Math.max(1, blocks));
+        }
+    }
+
+    /**
+     * Finds the greatest document at or below a given one in one gram's
+     * postings. The documents asked for must not increase, so the cursor only
+     * moves towards the start of the postings and decodes each block at most
+     * once.
+     */
+    private static final class PostingsCursor {
+        final Postings postings;
+        final int[] buffer = new int[BLOCK_SIZE];
+        int block = -1;
+        int position;
+
+        PostingsCursor(Postings postings) {
+            this.postings = postings;
+        }
+
+        /**
+         * @return the greatest document at or below {@code doc}, or -1 if there is none.
+         */
+        int floor(int doc) {
+            if (block < 0 || doc < postings.blockDocs[block]) {
+                int target = postings.blockOf(doc, block < 0 ? postings.blocks - 1 : block - 1);
+                if (target < 0) {
+                    return -1;
+                }
+                position = postings.decodeBlock(target, buffer) - 1;
+                block = target;
+            }
+            // The first document of the block is at or below doc, so this stops
+            while (buffer[position] > doc) {
+                position--;
+            }
+            return buffer[position];
+        }
+    }
+
+    /**
+     * Maps positive document IDs to document numbers with open addressing,
+     * without boxing. A zero key marks a free slot, a negative value a
+     * removed document.
+     */
+    private static final class IdTable {
+        long[] keys;
+        int[] values;
+        int used;
+
+        IdTable(int capacity) {
+            int size = Integer.highestOneBit(Math.max(16, capacity) * 3 - 1);
+            keys = new long[size];
+            values = new int[size];
+        }
+
+        int get(long id) {
+            int mask = keys.length - 1;
+            for (int slot = slot(id, mask);; slot = (slot + 1) & mask) {
+                if (keys[slot] == id) {
+                    return values[slot];
+                }
+                if (keys[slot] == 0) {
+                    return -1;
+                }
+            }
+        }
+
+        void put(long id, int doc) {
+            if ((used + 1) * 3 > keys.length * 2) {
+                grow();
+            }
+            int mask = keys.length - 1;
+            int slot = slot(id, mask);
+            while (keys[slot] != 0 && keys[slot] != id) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == 0) {
+                keys[slot] = id;
+                used++;
+            }
+            values[slot] = doc;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            used = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0 && oldValues[i] >= 0) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int slot(long id, int mask) {
+            long hash = id * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+
+    /**
+     * Constructs a new {@code TypeaheadIndex}.
+     *
+     * @param weights the weight of each searchable field, in field order.
+     *                Documents may carry further fields, which are stored
+     *                but not searched.
+     */
+    public TypeaheadIndex(double... weights) {
+        this.weights = weights.clone();
+    }
+
+    /**
+     * Adds a document to the index, replacing any earlier version with the
+     * same ID.
+     *
+     * @param id     the ID of the document, positive.
+     * @param fields the searchable fields followed by any stored-only fields;
+     *               {@code null} fields are stored as empty.
+     */
+    public void index(long id, String... fields) {
+        if (id <= 0) {
+            throw new IllegalArgumentException("Typeahead document IDs must be positive.");
+        }
+        String text = join(fields);
+        long[] grams = documentGrams(text);
+
+        lock.writeLock().lock();
+        try {
+            int previous = docById.get(id);
+            if (previous >= 0) {
+                if (texts[previous].equals(text)) {
+                    return;
+                }
+                markDeleted(previous);
+            }
+            add(id, text, grams);
+            if (deleted.cardinality() >= MIN_DELETED_FOR_COMPACTION && deleted.cardinality() * 2 >= docCount) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a document from the index.
+     *
+     * @param id the ID of the document.
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int doc = docById.get(id);
+            if (doc >= 0) {
+                markDeleted(doc);
+                docById.put(id, -1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Searches the index.
+     *
+     * @param query         the query; every word in it must match.
+     * @param limit         the maximum number of hits to return.
+     * @param maxCandidates the maximum number of candidates to verify per
+     *                      tier; broad queries rank only the newest candidates
+     *                      of each tier.
+     * @return the hits, best first.
+     */
+    public List<Hit> search(String query, int limit, int maxCandidates) {
+        String normalized = normalize(query);
+        List<String> words = words(normalized, 0, normalized.length()).stream().distinct().toList();
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Set<Long> exactGrams = new LinkedHashSet<>();
+        Set<Long> prefixGrams = new LinkedHashSet<>();
+        Set<Long> grams = new LinkedHashSet<>();
+        for (String word : words) {
+            addGrams(PAD + "" + PAD + word + PAD, exactGrams);
+            addGrams(PAD + "" + PAD + word, prefixGrams);
+            addQueryGrams(word, grams);
+        }
+        List<Set<Long>> tiers = new ArrayList<>(List.of(exactGrams, prefixGrams));
+        if (!grams.equals(prefixGrams)) {
+            tiers.add(grams);
+        }
+
+        lock.readLock().lock();
+        try {
+            Comparator<Scored> ranking = Comparator.comparingDouble(Scored::score).thenComparingLong(Scored::id);
+            PriorityQueue<Scored> top = new PriorityQueue<>(limit + 1, ranking);
+            BitSet verified = new BitSet();
+            for (Set<Long> tier : tiers) {
+                collect(tier, words, limit, maxCandidates, top, verified);
+            }
+
+            List<Hit> hits = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                Scored scored = top.poll();
+                hits.add(new Hit(scored.id(), split(texts[scored.doc()]), scored.score()));
+            }
+            Collections.reverse(hits);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Verifies and ranks the newest documents holding all of the given grams,
+     * skipping those an earlier tier already verified. Must be called with the
+     * read lock held.
+     */
+    private void collect(Set<Long> grams, List<String> words, int limit, int maxCandidates,
+            PriorityQueue<Scored> top, BitSet verified) {
+        List<Postings> lists = new ArrayList<>(grams.size());
+        for (Long gram : grams) {
+            Postings gramPostings = postings.get(gram);
+            if (gramPostings == null) {
+                return;
+            }
+            lists.add(gramPostings);
+        }
+        // Leapfrog join from the newest document down, led by the rarest gram
+        lists.sort(Comparator.comparingInt(gramPostings -> gramPostings.count));
+        PostingsCursor[] cursors = new PostingsCursor[lists.size()];
+        for (int i = 0; i < cursors.length; i++) {
+            cursors[i] = new PostingsCursor(lists.get(i));
+        }
+
+        int candidates = 0;
+        int doc = cursors[0].floor(Integer.MAX_VALUE);
+        while (doc >= 0 && candidates < maxCandidates) {
+            int matched = 1;
+            while (matched < cursors.length) {
+                int floor = cursors[matched].floor(doc);
+                if (floor == doc) {
+                    matched++;
+                } else {
+                    doc = floor < 0 ? -1 : cursors[0].floor(floor);
+                    if (doc < 0) {
+                        break;
+                    }
+                    matched = 1;
+                }
+            }
+            if (doc < 0) {
+                break;
+            }
+            if (!deleted.get(doc) && !verified.get(doc)) {
+                verified.set(doc);
+                candidates++;
+                double score = score(texts[doc], words);
+                if (score > 0) {
+                    top.offer(new Scored(doc, ids[doc], score));
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            }
+            doc = doc == 0 ? -1 : cursors[0].floor(doc - 1);
+        }
+    }
+
+    /**
+     * Returns the number of documents in the index.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estimates the memory taken by the postings and stored texts, in bytes.
+     */
+    public long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = (long) ids.length * (Long.BYTES + 4) + docById.keys.length * (long) (Long.BYTES + Integer.BYTES);
+            for (Postings gramPostings : postings.values()) {
+                bytes += gramPostings.data.length + gramPostings.blockDocs.length * 8L + 96;
+            }
+            for (int doc = 0; doc < docCount; doc++) {
+                bytes += texts[doc].length() + 40;
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Releases the spare capacity of the postings, e.g. after a bulk load.
+     */
+    public void trimToSize() {
+        lock.writeLock().lock();
+        try {
+            postings.values().forEach(Postings::trim);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(long id, String text, long[] grams) {
+        int doc = docCount++;
+        ensureCapacity(docCount);
+        ids[doc] = id;
+        texts[doc] = text;
+        liveDocs++;
+        docById.put(id, doc);
+        for (long gram : grams) {
+            postings.computeIfAbsent(gram, g -> new Postings()).add(doc);
+        }
+    }
+
+    private void markDeleted(int doc) {
+        if (!deleted.get(doc)) {
+            deleted.set(doc);
+            liveDocs--;
+        }
+    }
+
+    /**
+     * Re-indexes the live documents into fresh postings. Must be called with
+     * the write lock held.
+     */
+    private void compact() {
+        long[] oldIds = ids;
+        String[] oldTexts = texts;
+        BitSet oldDeleted = deleted;
+        int oldCount = docCount;
+
+        postings = new HashMap<>();
+        docById = new IdTable(liveDocs);
+        ids = new long[Math.max(1024, liveDocs)];
+        texts = new String[ids.length];
+        deleted = new BitSet();
+        docCount = 0;
+        liveDocs = 0;
+        for (int doc = 0; doc < oldCount; doc++) {
+            if (!oldDeleted.get(doc)) {
+                add(oldIds[doc], oldTexts[doc], documentGrams(oldTexts[doc]));
+            }
+        }
+        postings.values().forEach(Postings::trim);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, newLength);
+        texts = Arrays.copyOf(texts, newLength);
+    }
+
+    private double score(String text, List<String> words) {
+        double total = 0;
+        for (String word : words) {
+            double best = 0;
+            int start = 0;
+            for (int field = 0; field < weights.length && start <= text.length(); field++) {
+                int end = text.indexOf(FIELD_SEPARATOR, start);
+                if (end < 0) {
+                    end = text.length();
+                }
+                best = Math.max(best, weights[field] * match(text, start, end, word));
+                start = end + 1;
+            }
+            if (best == 0) {
+                // The grams matched across words, but the word itself does not
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    /**
+     * Rates how a query word matches a field: 4 for a whole word, 3 for the
+     * start of the field, 2 for the start of another word, 1 for inside a word
+     * and 0 for no match.
+     */
+    private static int match(String text, int from, int to, String word) {
+        int best = 0;
+        boolean first = true;
+        int i = from;
+        while (i < to) {
+            if (!isWordChar(text.charAt(i))) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < to && isWordChar(text.charAt(i))) {
+                i++;
+            }
+            boolean firstWord = first;
+            first = false;
+            int length = i - start;
+            if (length < word.length()) {
+                continue;
+            }
+            if (matchesAt(text, start, word)) {
+                if (length == word.length()) {
+                    return 4;
+                }
+                best = Math.max(best, firstWord ? 3 : 2);
+            } else if (best < 1) {
+                for (int position = start + 1; position + word.length() <= i; position++) {
+                    if (matchesAt(text, position, word)) {
+                        best = 1;
+                        break;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private static boolean matchesAt(String text, int position, String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (Character.toLowerCase(text.charAt(position + i)) != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long[] documentGrams(String text) {
+        Set<Long> grams = new LinkedHashSet<>();
+        int start = 0;
+        for (int field = 0; field < weights.length && start <= text.length(); field++) {
+            int end = text.indexOf(FIELD_SEPARATOR, start);
+            if (end < 0) {
+                end = text.length();
+            }
+            for (String word : words(text, start, end)) {
+                addGrams(PAD + "" + PAD + word + PAD, grams);
+            }
+            start = end + 1;
+        }
+        long[] result = new long[grams.size()];
+        int i = 0;
+        for (Long gram : grams) {
+            result[i++] = gram;
+        }
+        return result;
+    }
+
+    private static void addQueryGrams(String word, Set<Long> grams) {
+        if (word.length() < 3) {
+            addGrams(PAD + "" + PAD + word, grams);
+        } else {
+            addGrams(word, grams);
+        }
+    }
+
+    private static void addGrams(String padded, Set<Long> grams) {
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2));
+        }
+    }
+
+    /**
+     * Splits a range of the text into lower-cased words: maximal runs of
+     * letters, digits and combining marks, so Devanagari vowel signs stay
+     * attached to their consonants.
+     */
+    private static List<String> words(String text, int from, int to) {
+        List<String> words = new ArrayList<>();
+        int i = from;
+        while (i < to) {
+            if (!isWordChar(text.charAt(i))) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < to && isWordChar(text.charAt(i))) {
+                i++;
+            }
+            words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+        }
+        return words;
+    }
+
+    private static boolean isWordChar(char c) {
+        if (Character.isLetterOrDigit(c)) {
+            return true;
+        }
+        int type = Character.getType(c);
+        return type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK;
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return Normalizer.normalize(value, Normalizer.Form.NFC).replace(FIELD_SEPARATOR, ' ');
+    }
+
+    private static String join(String[] fields) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                text.append(FIELD_SEPARATOR);
+            }
+            text.append(normalize(fields[i]));
+        }
+        return text.toString();
+    }
+
+    private static List<String> split(String text) {
+        List<String> fields = new ArrayList<>();
+        int start = 0;
+        while (true) {
+            int end = text.indexOf(FIELD_SEPARATOR, start);
+            if (end < 0) {
+                fields.add(text.substring(start));
+                return fields;
+            }
+            fields.add(text.substring(start, end));
+            start = end + 1;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.ashaassist.backend.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.ashaassist.backend.backfill.BackfillJob;
+import com.ashaassist.backend.backfill.BackfillRunner;
+import com.ashaassist.backend.backfill.BackfillSettings;
+import com.ashaassist.backend.dto.BackfillRunDto;
+import com.ashaassist.backend.model.BackfillRun;
+import com.ashaassist.backend.model.BackfillStatus;
+import com.ashaassist.backend.repository.BackfillRunRepository;
+import com.ashaassist.backend.repository.MedicalRecordRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Starts, pauses, resumes and cancels runs of the {@link BackfillJob}s, and
+ * executes the runs this instance owns with a {@link BackfillRunner} each.
+ * Running runs no instance is executing, because their owner crashed or shut
+ * down, are claimed and resumed from their checkpoint by the periodic orphan
+ * check of any instance.
+ * <p>
+ * Meters: {@code backfill.records{job,outcome}} and, per job, gauges of the
+ * target rate and the throughput of its run on this instance.
+ */
+@Service
+public class BackfillService {
+
+    private static final Duration SHUTDOWN_WAIT = Duration.ofSeconds(20);
+
+    private final Map<String, BackfillJob> jobs = new TreeMap<>();
+    private final BackfillRunRepository runRepository;
+    private final MedicalRecordRepository medicalRecordRepository;
+    private final MeterRegistry meterRegistry;
+    private final BackfillSettings settings;
+    private final Duration lease;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<Long, BackfillRunner> runners = new ConcurrentHashMap<>();
+    private final Map<Long, Thread> threads = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new {@code BackfillService} and registers its meters. The
+     * tuning parameters are described in {@link BackfillSettings}.
+     *
+     * @param jobs                    the available jobs.
+     * @param runRepository           the repository of the runs.
+     * @param medicalRecordRepository the repository of the walked records.
+     * @param meterRegistry           the registry receiving the meters.
+     * @param lease                   how long a run's heartbeat may be stale before
+     *                                another instance takes the run over.
+     */
+    public BackfillService(List<BackfillJob> jobs,
+            BackfillRunRepository runRepository,
+            MedicalRecordRepository medicalRecordRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.backfill.concurrency:4}") int concurrency,
+            @Value("${app.backfill.page-size:200}") int pageSize,
+            @Value("${app.backfill.initial-rate:2}") double initialRate,
+            @Value("${app.backfill.min-rate:0.2}") double minRate,
+            @Value("${app.backfill.max-rate:50}") double maxRate,
+            @Value("${app.backfill.rate-increase:1}") double rateIncrease,
+            @Value("${app.backfill.backoff-ratio:0.5}") double backoffRatio,
+            @Value("${app.backfill.adjust-interval:5s}") Duration adjustInterval,
+            @Value("${app.backfill.checkpoint-interval:10s}") Duration checkpointInterval,
+            @Value("${app.backfill.max-attempts:3}") int maxAttempts,
+            @Value("${app.backfill.throttle.latency-threshold:500ms}") Duration latencyThreshold,
+            @Value("${app.backfill.throttle.min-requests:5}") int minRequests,
+            @Value("${app.backfill.throttle.excluded-uris:/actuator/**}") List<String> excludedUris,
+            @Value("${app.backfill.lease:2m}") Duration lease) {
+        for (BackfillJob job : jobs) {
+            this.jobs.put(job.name(), job);
+        }
+        this.runRepository = runRepository;
+        this.medicalRecordRepository = medicalRecordRepository;
+        this.meterRegistry = meterRegistry;
+        this.settings = new BackfillSettings(concurrency, pageSize, initialRate, minRate, maxRate, rateIncrease,
+                backoffRatio, adjustInterval, checkpointInterval, maxAttempts, latencyThreshold, minRequests,
+                excludedUris);
+        this.lease = lease;
+
+        for (String job : this.jobs.keySet()) {
+            Gauge.builder("backfill.rate", this, service -> service.runnerValue(job, BackfillRunner::rate))
+                    .description("Target rate of the backfill run on this instance, in records per second")
+                    .tag("job", job)
+                    .register(meterRegistry);
+            Gauge.builder("backfill.throughput", this, service -> service.runnerValue(job, BackfillRunner::throughput))
+                    .description("Records per second completed by the backfill run on this instance")
+                    .tag("job", job)
+                    .register(meterRegistry);
+        }
+    }
+
+    private double runnerValue(String job, ToDoubleFunction<BackfillRunner> value) {
+        return runners.values().stream()
+                .filter(runner -> runner.jobName().equals(job))
+                .mapToDouble(value)
+                .findFirst()
+                .orElse(0);
+    }
+
+    /**
+     * Lists the names of the available jobs.
+     *
+     * @return the job names.
+     */
+    public List<String> jobNames() {
+        return new ArrayList<>(jobs.keySet());
+    }
+
+    /**
+     * Lists the most recent runs.
+     *
+     * @return the runs, newest first.
+     */
+    public List<BackfillRunDto> findRuns() {
+        return runRepository.findTop50ByOrderByIdDesc().stream().map(BackfillRunDto::new).toList();
+    }
+
+    /**
+     * Finds a run.
+     *
+     * @param runId the ID of the run.
+     * @return the run.
+     * @throws IllegalArgumentException if the run does not exist.
+     */
+    public BackfillRunDto findRun(Long runId) {
+        return new BackfillRunDto(loadRun(runId));
+    }
+
+    /**
+     * Starts a run of a job over all medical records on this instance.
+     *
+     * @param jobName the name of the job.
+     * @return the new run.
+     * @throws IllegalArgumentException if the job does not exist.
+     * @throws IllegalStateException    if a run of the job is already running or paused.
+     */
+    public BackfillRunDto start(String jobName) {
+        BackfillJob job = jobs.get(jobName);
+        if (job == null) {
+            throw new IllegalArgumentException("Unknown backfill job: " + jobName);
+        }
+        BackfillRun run = new BackfillRun();
+        run.setJobName(jobName);
+        run.setActiveJob(jobName);
+        run.setStatus(BackfillStatus.RUNNING);
+        run.setEstimatedTotal(medicalRecordRepository.countByIdGreaterThan(0L));
+        run.setRate(settings.initialRate());
+        run.setOwner(instanceId);
+        run.setHeartbeatAt(LocalDateTime.now());
+        run.setUpdatedAt(LocalDateTime.now());
+        try {
+            run = runRepository.saveAndFlush(run);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("A run of job " + jobName + " is already running or paused.");
+        }
+        launch(job, run);
+        return new BackfillRunDto(run);
+    }
+
+    /**
+     * Pauses a running run. It stops at its next checkpoint and keeps it.
+     *
+     * @param runId the ID of the run.
+     * @return the run.
+     * @throws IllegalStateException if the run is not running.
+     */
+    public BackfillRunDto pause(Long runId) {
+        if (runRepository.transition(runId, BackfillStatus.RUNNING, BackfillStatus.PAUSED, LocalDateTime.now()) == 0) {
+            throw new IllegalStateException("Only a running backfill run can be paused.");
+        }
+        return findRun(runId);
+    }
+
+    /**
+     * Resumes a paused run from its checkpoint, on this instance if the run
+     * has stopped already and otherwise with the next orphan check.
+     *
+     * @param runId the ID of the run.
+     * @return the run.
+     * @throws IllegalStateException if the run is not paused.
+     */
+    public BackfillRunDto resume(Long runId) {
+        if (runRepository.transition(runId, BackfillStatus.PAUSED, BackfillStatus.RUNNING, LocalDateTime.now()) == 0) {
+            throw new IllegalStateException("Only a paused backfill run can be resumed.");
+        }
+        tryResume(runId);
+        return findRun(runId);
+    }
+
+    /**
+     * Cancels a running or paused run. A running run stops at its next checkpoint.
+     *
+     * @param runId the ID of the run.
+     * @return the run.
+     * @throws IllegalStateException if the run has ended already.
+     */
+    public BackfillRunDto cancel(Long runId) {
+        if (runRepository.finish(runId, List.of(BackfillStatus.RUNNING, BackfillStatus.PAUSED),
+                BackfillStatus.CANCELLED, LocalDateTime.now()) == 0) {
+            throw new IllegalStateException("The backfill run has ended already.");
+        }
+        return findRun(runId);
+    }
+
+    /**
+     * Claims and resumes the running runs no instance is executing.
+     */
+    @Scheduled(fixedDelayString = "${app.backfill.orphan-check-interval:1m}")
+    public void resumeOrphanedRuns() {
+        for (Long runId : runRepository.findOrphanedRunIds(LocalDateTime.now().minus(lease))) {
+            tryResume(runId);
+        }
+    }
+
+    private void tryResume(Long runId) {
+        if (runners.containsKey(runId)) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (runRepository.claim(runId, instanceId, now.minus(lease), now) == 0) {
+            return;
+        }
+        BackfillRun run = loadRun(runId);
+        BackfillJob job = jobs.get(run.getJobName());
+        if (job == null) {
+            // The job was removed from the application; leave the run to an instance that has it
+            runRepository.release(runId, instanceId);
+            System.err.println("Backfill run " + runId + " is of unknown job " + run.getJobName());
+            return;
+        }
+        long estimatedTotal = run.getProcessed() + run.getSkipped() + run.getFailed()
+                + medicalRecordRepository.countByIdGreaterThan(run.getLastId());
+        runRepository.updateEstimatedTotal(runId, estimatedTotal);
+        run.setEstimatedTotal(estimatedTotal);
+        launch(job, run);
+    }
+
+    private void launch(BackfillJob job, BackfillRun run) {
+        Long runId = run.getId();
+        BackfillRunner runner = new BackfillRunner(job, run, instanceId, runRepository, medicalRecordRepository,
+                settings, meterRegistry, () -> {
+                    runners.remove(runId);
+                    threads.remove(runId);
+                });
+        runners.put(runId, runner);
+        Thread thread = Thread.ofPlatform().name("backfill-" + job.name()).daemon().unstarted(runner);
+        threads.put(runId, thread);
+        thread.start();
+    }
+
+    private BackfillRun loadRun(Long runId) {
+        return runRepository.findById(runId)
+                .orElseThrow(() -> new IllegalArgumentException("Backfill run not found: " + runId));
+    }
+
+    /**
+     * Stops the runs on this instance and releases them, so another instance
+     * resumes them without waiting for the lease to expire.
+     */
+    @PreDestroy
+    public void shutdown() {
+        runners.values().forEach(BackfillRunner::stop);
+        long deadline = System.nanoTime() + SHUTDOWN_WAIT.toNanos();
+        for (Thread thread : threads.values()) {
+            try {
+                thread.join(Math.max(1, (deadline - System.nanoTime()) / 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
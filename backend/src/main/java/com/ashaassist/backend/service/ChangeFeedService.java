@@ -0,0 +1,135 @@
+package com.ashaassist.backend.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ashaassist.backend.changefeed.ChangeCursor;
+import com.ashaassist.backend.changefeed.ChangeSequence;
+import com.ashaassist.backend.dto.ChangedMedicalRecordDto;
+import com.ashaassist.backend.dto.ChangedPatientDto;
+import com.ashaassist.backend.dto.ChangedVisitDto;
+import com.ashaassist.backend.dto.ChangesResponseDto;
+import com.ashaassist.backend.model.User;
+import com.ashaassist.backend.repository.MedicalRecordRepository;
+import com.ashaassist.backend.repository.PatientRepository;
+import com.ashaassist.backend.repository.UserRepository;
+import com.ashaassist.backend.repository.VisitRepository;
+
+/**
+ * Serves the change feed of a worker: the visits, patients and medical records
+ * created or modified since the device's cursor. All three share one change
+ * sequence, so a single cursor covers them; rows come straight from the
+ * {@code change_seq} indexes as compact DTOs, without loading entities.
+ */
+@Service
+public class ChangeFeedService {
+
+    private final UserRepository userRepository;
+    private final VisitRepository visitRepository;
+    private final PatientRepository patientRepository;
+    private final MedicalRecordRepository medicalRecordRepository;
+    private final ChangeSequence changeSequence;
+
+    @Value("${app.sync.changes.max-limit:500}")
+    private int maxLimit;
+
+    /**
+     * Constructs a new {@code ChangeFeedService}.
+     *
+     * @param userRepository          the repository for user data access.
+     * @param visitRepository         the repository for visit data access.
+     * @param patientRepository       the repository for patient data access.
+     * @param medicalRecordRepository the repository for medical record data access.
+     * @param changeSequence          the change sequence and its horizon.
+     */
+    public ChangeFeedService(UserRepository userRepository,
+            VisitRepository visitRepository,
+            PatientRepository patientRepository,
+            MedicalRecordRepository medicalRecordRepository,
+            ChangeSequence changeSequence) {
+        this.userRepository = userRepository;
+        this.visitRepository = visitRepository;
+        this.patientRepository = patientRepository;
+        this.medicalRecordRepository = medicalRecordRepository;
+        this.changeSequence = changeSequence;
+    }
+
+    /**
+     * Returns the changes for the current user since the given cursor. At most
+     * {@code limit} rows of each kind are returned; if one kind fills its page
+     * the next cursor stops at its last row, and rows of the other kinds
+     * beyond that are left for the next request.
+     *
+     * @param cursor the cursor of the device's last sync, or {@code null} for a
+     *               full sync.
+     * @param limit  the maximum number of rows of each kind.
+     * @return the changes and the next cursor.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    @Transactional(readOnly = true)
+    public ChangesResponseDto findChanges(String cursor, int limit) {
+        long after = ChangeCursor.decode(cursor);
+        long horizon = changeSequence.horizon();
+        if (horizon <= after) {
+            return new ChangesResponseDto(ChangeCursor.encode(after), false, List.of(), List.of(), List.of());
+        }
+
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        User currentUser = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        int pageSize = Math.max(1, Math.min(limit, maxLimit));
+        Pageable page = PageRequest.of(0, pageSize);
+        List<ChangedVisitDto> visits = new ArrayList<>(visitRepository.findChangedVisits(
+                currentUser.getId(), after, horizon, page));
+        List<ChangedPatientDto> patients = new ArrayList<>(patientRepository.findChangedPatients(
+                currentUser.getId(), after, horizon, page));
+        List<ChangedMedicalRecordDto> medicalRecords = new ArrayList<>(medicalRecordRepository
+                .findChangedMedicalRecords(currentUser.getId(), after, horizon, page));
+
+        long upTo = horizon;
+        upTo = Math.min(upTo, pageEnd(visits, pageSize, ChangedVisitDto::getChangeSeq));
+        upTo = Math.min(upTo, pageEnd(patients, pageSize, ChangedPatientDto::getChangeSeq));
+        upTo = Math.min(upTo, pageEnd(medicalRecords, pageSize, ChangedMedicalRecordDto::getChangeSeq));
+        boolean hasMore = upTo < horizon;
+        if (hasMore) {
+            long end = upTo;
+            visits.removeIf(v -> v.getChangeSeq() > end);
+            patients.removeIf(p -> p.getChangeSeq() > end);
+            medicalRecords.removeIf(m -> m.getChangeSeq() > end);
+        }
+
+        // A new visit of a known patient does not change the patient, but a
+        // device that never saw the patient needs it to show the visit.
+        Set<Long> missingPatientIds = new HashSet<>();
+        for (ChangedVisitDto visit : visits) {
+            missingPatientIds.add(visit.getPatientId());
+        }
+        for (ChangedPatientDto patient : patients) {
+            missingPatientIds.remove(patient.getId());
+        }
+        if (!missingPatientIds.isEmpty()) {
+            patients.addAll(patientRepository.findChangedPatientsByIds(missingPatientIds));
+        }
+
+        return new ChangesResponseDto(ChangeCursor.encode(upTo), hasMore, visits, patients, medicalRecords);
+    }
+
+    /**
+     * Returns the change sequence value of the last row of a full page, or
+     * {@link Long#MAX_VALUE} if the page is not full.
+     */
+    private static <T> long pageEnd(List<T> rows, int pageSize, ToLongFunction<T> changeSeq) {
+        return rows.size() < pageSize ? Long.MAX_VALUE : changeSeq.applyAsLong(rows.get(rows.size() - 1));
+    }
+}
@@ -0,0 +1,159 @@
+package com.ashaassist.backend.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Maintains the monthly range partitions of the {@code visits} and
+ * {@code medical_records} tables.
+ * Partitions are keyed on {@code created_at} and named
+ * {@code <table>_pYYYY_MM}. Tables that have not been converted with
+ * {@code db/partition-visits.sql} are left untouched.
+ */
+@Service
+public class PartitionMaintenanceService {
+
+    /**
+     * The tables that are range partitioned by month on {@code created_at}.
+     */
+    public static final List<String> PARTITIONED_TABLES = List.of("visits", "medical_records");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    /**
+     * Constructs a new {@code PartitionMaintenanceService}.
+     *
+     * @param jdbcTemplate the template used to run partition DDL.
+     */
+    public PartitionMaintenanceService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Makes sure the upcoming partitions exist as soon as the application is
+     * ready, so inserts never hit a month without a partition.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        createUpcomingPartitions();
+    }
+
+    /**
+     * Creates the partitions for the current month and the configured number
+     * of months ahead for every partitioned table.
+     */
+    @Scheduled(cron = "${app.partitions.cron:0 0 1 * * *}")
+    public void createUpcomingPartitions() {
+        YearMonth current = YearMonth.now();
+        for (String table : PARTITIONED_TABLES) {
+            if (!isPartitioned(table)) {
+                System.out.println("---- Table '" + table
+                        + "' is not partitioned; run db/partition-visits.sql to enable partitioning ----");
+                continue;
+            }
+            for (int i = 0; i <= monthsAhead; i++) {
+                createPartition(table, current.plusMonths(i));
+            }
+        }
+    }
+
+    /**
+     * Checks whether the given table is a partitioned table.
+     *
+     * @param table the table name.
+     * @return {@code true} if the table is range partitioned.
+     */
+    public boolean isPartitioned(String table) {
+        Boolean partitioned = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt "
+                        + "JOIN pg_class c ON c.oid = pt.partrelid WHERE c.relname = ?)",
+                Boolean.class, table);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    /**
+     * Lists the months that currently have a partition attached to the table.
+     *
+     * @param table the partitioned table.
+     * @return the partition months in ascending order.
+     */
+    public List<YearMonth> listPartitionMonths(String table) {
+        List<String> names = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i "
+                        + "JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "JOIN pg_class p ON p.oid = i.inhparent "
+                        + "WHERE p.relname = ?",
+                String.class, table);
+        return names.stream()
+                .map(name -> parsePartitionMonth(table, name))
+                .flatMap(Optional::stream)
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Creates the partition for the given month if it does not exist yet.
+     *
+     * @param table the partitioned table.
+     * @param month the month the partition covers.
+     */
+    public void createPartition(String table, YearMonth month) {
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(table, month)
+                + " PARTITION OF " + table
+                + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+    }
+
+    /**
+     * Detaches the partition for the given month and drops it, in one
+     * transaction so a failure never leaves a detached partition behind.
+     *
+     * @param table the partitioned table.
+     * @param month the month the partition covers.
+     */
+    @Transactional
+    public void dropPartition(String table, YearMonth month) {
+        String partition = partitionName(table, month);
+        jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition);
+        jdbcTemplate.execute("DROP TABLE " + partition);
+    }
+
+    /**
+     * Returns the name of the partition that holds the given month.
+     *
+     * @param table the partitioned table.
+     * @param month the month.
+     * @return the partition table name, e.g. {@code visits_p2025_01}.
+     */
+    public static String partitionName(String table, YearMonth month) {
+        return String.format("%s_p%04d_%02d", table, month.getYear(), month.getMonthValue());
+    }
+
+    private static Optional<YearMonth> parsePartitionMonth(String table, String partition) {
+        String prefix = table + "_p";
+        if (!partition.startsWith(prefix) || partition.length() != prefix.length() + 7) {
+            return Optional.empty();
+        }
+        try {
+            int year = Integer.parseInt(partition.substring(prefix.length(), prefix.length() + 4));
+            int month = Integer.parseInt(partition.substring(prefix.length() + 5));
+            return Optional.of(YearMonth.of(year, month));
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+}
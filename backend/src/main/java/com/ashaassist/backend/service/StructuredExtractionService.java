@@ -0,0 +1,386 @@
+package com.ashaassist.backend.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.ashaassist.backend.admission.AdaptiveLimit;
+import com.ashaassist.backend.dto.ExtractionItemDto;
+import com.ashaassist.backend.dto.ExtractionRequestDto;
+import com.ashaassist.backend.dto.ExtractionResponseDto;
+import com.ashaassist.backend.dto.ExtractionResultDto;
+import com.ashaassist.backend.extraction.AdaptiveBatchSize;
+import com.ashaassist.backend.metrics.Dependency;
+import com.ashaassist.backend.model.ExtractionTask;
+import com.ashaassist.backend.model.MedicalRecord;
+import com.ashaassist.backend.repository.ExtractionTaskRepository;
+import com.ashaassist.backend.repository.MedicalRecordRepository;
+import com.ashaassist.backend.resilience.DependencyGuards;
+import com.ashaassist.backend.resilience.DependencyUnavailableException;
+import com.ashaassist.backend.search.TranscriptDocument;
+import com.ashaassist.backend.whisper.WhisperResponseParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * The pipeline stage after transcription that fills
+ * {@code MedicalRecord.structuredData}. Every transcript written is queued in
+ * the {@code extraction_queue} table; the stage claims due tasks in batches,
+ * sends each batch to the AI service's {@code /extract} endpoint and stores
+ * the results, unless the transcript was replaced in the meantime. A failed
+ * record is retried with exponential backoff.
+ * <p>
+ * Both the batch size and the number of batches in flight adapt to the
+ * analyzer: the {@link AdaptiveBatchSize} keeps batches within a target
+ * latency, and an {@link AdaptiveLimit} on the per-record latency lowers the
+ * concurrency when the analyzer starts queueing.
+ * <p>
+ * Meters: {@code extraction.records{outcome}} for throughput,
+ * {@code extraction.delay} from queueing to stored result,
+ * {@code extraction.batch.latency}, and gauges of the lag (age of the oldest
+ * queued task), the batch size, the concurrency limit and the batches in flight.
+ */
+@Service
+public class StructuredExtractionService {
+
+    private final ExtractionTaskRepository taskRepository;
+    private final MedicalRecordRepository medicalRecordRepository;
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final DependencyGuards dependencyGuards;
+    private final AdaptiveBatchSize batchSize;
+    private final AdaptiveLimit concurrency;
+    private final ExecutorService executor;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    private final Counter extracted;
+    private final Counter failed;
+    private final Counter skipped;
+    private final Timer delay;
+    private final Timer batchLatency;
+
+    @Value("${ai.service.url}")
+    private String aiServiceUrl;
+
+    @Value("${app.extraction.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.extraction.lease:5m}")
+    private Duration lease;
+
+    @Value("${app.extraction.retry-backoff:30s}")
+    private Duration retryBackoff;
+
+    @Value("${app.extraction.max-retry-backoff:1h}")
+    private Duration maxRetryBackoff;
+
+    /**
+     * Constructs a new {@code StructuredExtractionService} and registers its meters.
+     *
+     * @param taskRepository          the repository of the extraction queue.
+     * @param medicalRecordRepository the repository receiving the results.
+     * @param restTemplate            the template used for the calls.
+     * @param objectMapper            the mapper reading transcripts and writing results.
+     * @param dependencyGuards        the guards bounding the calls.
+     * @param meterRegistry           the registry receiving the meters.
+     * @param initialBatchSize        the batch size before any batch finished.
+     * @param minBatchSize            the smallest batch size.
+     * @param maxBatchSize            the largest batch size.
+     * @param targetBatchLatency      the latency a batch should stay within.
+     * @param initialConcurrency      the batches in flight before any batch finished.
+     * @param maxConcurrency          the most batches in flight.
+     * @param latencyTolerance        how far recent per-record latency may rise above
+     *                                the long-term average before concurrency shrinks.
+     * @param backoffRatio            the factor applied to concurrency when the
+     *                                analyzer is overloaded.
+     */
+    public StructuredExtractionService(ExtractionTaskRepository taskRepository,
+            MedicalRecordRepository medicalRecordRepository,
+            RestTemplate restTemplate,
+            ObjectMapper objectMapper,
+            DependencyGuards dependencyGuards,
+            MeterRegistry meterRegistry,
+            @Value("${app.extraction.batch.initial-size:4}") int initialBatchSize,
+            @Value("${app.extraction.batch.min-size:1}") int minBatchSize,
+            @Value("${app.extraction.batch.max-size:32}") int maxBatchSize,
+            @Value("${app.extraction.batch.target-latency:15s}") Duration targetBatchLatency,
+            @Value("${app.extraction.concurrency.initial:2}") int initialConcurrency,
+            @Value("${app.extraction.concurrency.max:4}") int maxConcurrency,
+            @Value("${app.extraction.concurrency.latency-tolerance:1.5}") double latencyTolerance,
+            @Value("${app.extraction.concurrency.backoff-ratio:0.7}") double backoffRatio) {
+        this.taskRepository = taskRepository;
+        this.medicalRecordRepository = medicalRecordRepository;
+        this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+        this.dependencyGuards = dependencyGuards;
+        this.batchSize = new AdaptiveBatchSize(initialBatchSize, minBatchSize, maxBatchSize,
+                targetBatchLatency.toNanos());
+        this.concurrency = new AdaptiveLimit(initialConcurrency, 1, maxConcurrency, latencyTolerance, backoffRatio);
+        this.executor = Executors.newFixedThreadPool(maxConcurrency,
+                Thread.ofPlatform().name("structured-extract-", 0).daemon().factory());
+
+        this.extracted = recordCounter(meterRegistry, "extracted");
+        this.failed = recordCounter(meterRegistry, "failed");
+        this.skipped = recordCounter(meterRegistry, "skipped");
+        this.delay = Timer.builder("extraction.delay")
+                .description("Time from queueing a transcript to storing its structured data")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchLatency = Timer.builder("extraction.batch.latency")
+                .description("Latency of extraction batches sent to the AI service")
+                .register(meterRegistry);
+        Gauge.builder("extraction.lag", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest transcript waiting for extraction")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("extraction.batch.size", batchSize, AdaptiveBatchSize::size)
+                .description("Current adaptive size of extraction batches")
+                .register(meterRegistry);
+        Gauge.builder("extraction.concurrency.limit", concurrency, AdaptiveLimit::limit)
+                .description("Current adaptive limit of extraction batches in flight")
+                .register(meterRegistry);
+        Gauge.builder("extraction.in.flight", inFlight, AtomicInteger::get)
+                .description("Extraction batches in flight")
+                .register(meterRegistry);
+    }
+
+    private static Counter recordCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("extraction.records")
+                .description("Medical records handled by the structured extraction stage")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a medical record for extraction because its transcript was
+     * written. Failures are logged and do not fail the caller.
+     *
+     * @param medicalRecordId the ID of the medical record.
+     */
+    public void enqueue(Long medicalRecordId) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            taskRepository.enqueue(medicalRecordId, LocalDateTime.now());
+        } catch (RuntimeException e) {
+            System.err.println("Failed to queue medical record " + medicalRecordId + " for extraction: "
+                    + e.getMessage());
+        }
+    }
+
+    /**
+     * Updates the lag and starts batches for the due tasks. Batches that
+     * finish start the next ones themselves, so the poll only picks up work
+     * when the stage was idle.
+     */
+    @Scheduled(fixedDelayString = "${app.extraction.poll-interval:2s}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime oldest = taskRepository.findOldestEnqueuedAt();
+        lagSeconds.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toSeconds()));
+        dispatch();
+    }
+
+    private void dispatch() {
+        if (!dispatching.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            while (inFlight.get() < concurrency.limit()) {
+                int size = batchSize.size();
+                LocalDateTime now = LocalDateTime.now();
+                List<ExtractionTask> batch = taskRepository.claimDue(now, now.plus(lease), size);
+                if (batch.isEmpty()) {
+                    return;
+                }
+                inFlight.incrementAndGet();
+                executor.execute(() -> {
+                    try {
+                        extract(batch, batch.size() >= size);
+                    } finally {
+                        inFlight.decrementAndGet();
+                        dispatch();
+                    }
+                });
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Failed to claim extraction tasks: " + e.getMessage());
+        } finally {
+            dispatching.set(false);
+        }
+    }
+
+    private void extract(List<ExtractionTask> batch, boolean full) {
+        Map<Long, ExtractionTask> tasks = new HashMap<>();
+        for (ExtractionTask task : batch) {
+            tasks.put(task.getMedicalRecordId(), task);
+        }
+        List<ExtractionItemDto> items = new ArrayList<>();
+        // The results are only stored if the transcripts they were extracted from are still current
+        Map<Long, String> digests = new HashMap<>();
+        try {
+            for (TranscriptDocument document : medicalRecordRepository.findTranscriptDocumentsByIds(tasks.keySet())) {
+                String transcriptText = transcriptText(document.transcript());
+                if (transcriptText != null && !transcriptText.isBlank()) {
+                    items.add(new ExtractionItemDto(document.recordId(), document.visitId(), transcriptText));
+                    digests.put(document.recordId(), MedicalRecord.digestOf(document.transcript()));
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Failed to load transcripts for extraction: " + e.getMessage());
+            batch.forEach(this::retryLater);
+            return;
+        }
+        // Records that were deleted or have no transcript have nothing to extract
+        Set<Long> withTranscript = new HashSet<>();
+        items.forEach(item -> withTranscript.add(item.getId()));
+        for (ExtractionTask task : batch) {
+            if (!withTranscript.contains(task.getMedicalRecordId())) {
+                taskRepository.complete(task.getMedicalRecordId(), task.getEnqueuedAt());
+                skipped.increment();
+            }
+        }
+        if (items.isEmpty()) {
+            return;
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<ExtractionRequestDto> request = new HttpEntity<>(new ExtractionRequestDto(items), headers);
+        long start = System.nanoTime();
+        ExtractionResponseDto response;
+        try {
+            response = dependencyGuards.call(Dependency.AI_EXTRACT,
+                    () -> restTemplate.postForObject(aiServiceUrl + "/extract", request, ExtractionResponseDto.class));
+        } catch (DependencyUnavailableException | ResourceAccessException | HttpServerErrorException e) {
+            concurrency.onOverload();
+            batchSize.onFailure();
+            System.err.println("Extraction batch of " + items.size() + " failed: " + e.getMessage());
+            items.forEach(item -> retryLater(tasks.get(item.getId())));
+            return;
+        } catch (RuntimeException e) {
+            System.err.println("Extraction batch of " + items.size() + " failed: " + e.getMessage());
+            items.forEach(item -> retryLater(tasks.get(item.getId())));
+            return;
+        }
+        long latency = System.nanoTime() - start;
+        batchLatency.record(latency, TimeUnit.NANOSECONDS);
+        concurrency.onSuccess(latency / items.size(), inFlight.get());
+        batchSize.onSuccess(latency, full);
+
+        Map<Long, ExtractionResultDto> results = new HashMap<>();
+        if (response != null && response.getResults() != null) {
+            for (ExtractionResultDto result : response.getResults()) {
+                results.put(result.getId(), result);
+            }
+        }
+        for (ExtractionItemDto item : items) {
+            ExtractionTask task = tasks.get(item.getId());
+            ExtractionResultDto result = results.get(item.getId());
+            if (result == null || result.getStructuredData() == null || result.getStructuredData().isNull()) {
+                System.err.println("No structured data extracted for medical record " + item.getId()
+                        + (result != null && result.getError() != null ? ": " + result.getError() : ""));
+                retryLater(task);
+                continue;
+            }
+            try {
+                if (medicalRecordRepository.updateStructuredData(item.getId(), digests.get(item.getId()),
+                        objectMapper.writeValueAsString(result.getStructuredData())) == 0) {
+                    System.out.println("---- Dropped structured data of medical record " + item.getId()
+                            + ": the transcript was replaced ----");
+                    releaseRequeued(task);
+                    continue;
+                }
+                if (taskRepository.complete(task.getMedicalRecordId(), task.getEnqueuedAt()) == 0) {
+                    releaseRequeued(task);
+                }
+                extracted.increment();
+                delay.record(Duration.between(task.getEnqueuedAt(), LocalDateTime.now()));
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Failed to store structured data of medical record " + item.getId() + ": "
+                        + e.getMessage());
+                retryLater(task);
+            }
+        }
+    }
+
+    private void retryLater(ExtractionTask task) {
+        failed.increment();
+        // Doubles with every attempt, starting at the retry backoff
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(task.getAttempts(), 16));
+        if (backoff.compareTo(maxRetryBackoff) > 0) {
+            backoff = maxRetryBackoff;
+        }
+        try {
+            if (taskRepository.retryLater(task.getMedicalRecordId(), task.getEnqueuedAt(),
+                    LocalDateTime.now().plus(backoff)) == 0) {
+                releaseRequeued(task);
+            }
+        } catch (RuntimeException e) {
+            // The lease runs out and the task is retried then
+            System.err.println("Failed to reschedule extraction of medical record " + task.getMedicalRecordId()
+                    + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Makes a task that was queued again while this batch held its lease due
+     * now, so the new transcript does not wait for the lease to run out.
+     */
+    private void releaseRequeued(ExtractionTask task) {
+        try {
+            taskRepository.releaseRequeued(task.getMedicalRecordId(), task.getEnqueuedAt(), LocalDateTime.now());
+        } catch (RuntimeException e) {
+            // The lease runs out and the task is retried then
+            System.err.println("Failed to release extraction of medical record " + task.getMedicalRecordId()
+                    + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the text of a stored transcript, which is the serialised
+     * Whisper response.
+     */
+    private String transcriptText(String rawTranscript) {
+        return WhisperResponseParser.transcriptionText(objectMapper.getFactory(), rawTranscript);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
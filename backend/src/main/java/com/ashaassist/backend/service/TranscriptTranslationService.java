@@ -0,0 +1,99 @@
+package com.ashaassist.backend.service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.ashaassist.backend.repository.MedicalRecordRepository;
+import com.ashaassist.backend.resilience.RequestDeadline;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Translates transcripts to English in the background after transcription and
+ * stores the result next to the original on the medical record, so the
+ * transcription request does not wait for the translation. The trace context
+ * of the transcription request is carried over to the background work, but
+ * not its deadline.
+ */
+@Service
+public class TranscriptTranslationService {
+
+    private static final String TARGET_LANGUAGE = "en-US";
+
+    private final TranslationService translationService;
+    private final MedicalRecordRepository medicalRecordRepository;
+    private final ExecutorService executor;
+
+    @Value("${app.translate.transcripts.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Constructs a new {@code TranscriptTranslationService}.
+     *
+     * @param translationService      the service used to translate the transcripts.
+     * @param medicalRecordRepository the repository storing the translations.
+     * @param workers                 the number of transcripts translated at once.
+     */
+    public TranscriptTranslationService(TranslationService translationService,
+            MedicalRecordRepository medicalRecordRepository,
+            @Value("${app.translate.transcripts.workers:2}") int workers) {
+        this.translationService = translationService;
+        this.medicalRecordRepository = medicalRecordRepository;
+        this.executor = ContextExecutorService.wrap(
+                Executors.newFixedThreadPool(workers,
+                        Thread.ofPlatform().name("transcript-translate-", 0).daemon().factory()),
+                ContextSnapshotFactory.builder()
+                        .captureKeyPredicate(key -> !RequestDeadline.CONTEXT_KEY.equals(key))
+                        .build());
+    }
+
+    /**
+     * Schedules the translation of a transcript. Failures are logged and leave
+     * the English transcript empty. The translation is dropped if the
+     * transcript is replaced while it runs.
+     *
+     * @param medicalRecordId  the ID of the medical record holding the transcript.
+     * @param transcript       the transcript text.
+     * @param transcriptDigest the digest of the stored raw transcript the text
+     *                         belongs to.
+     */
+    public void translateInBackground(Long medicalRecordId, String transcript, String transcriptDigest) {
+        if (!enabled || transcript == null || transcript.isBlank()) {
+            return;
+        }
+        try {
+            executor.execute(() -> translate(medicalRecordId, transcript, transcriptDigest));
+        } catch (RejectedExecutionException e) {
+            System.err.println("Transcript translation rejected for record " + medicalRecordId + ": " + e.getMessage());
+        }
+    }
+
+    private void translate(Long medicalRecordId, String transcript, String transcriptDigest) {
+        try {
+            String english = translationService.translateLong(transcript, TARGET_LANGUAGE, null);
+            if (medicalRecordRepository.updateEnglishTranscript(medicalRecordId, transcriptDigest, english) == 0) {
+                System.out.println("---- Dropped English transcript for record " + medicalRecordId
+                        + ": the transcript was replaced ----");
+                return;
+            }
+            System.out.println("---- Stored English transcript for record " + medicalRecordId + " ----");
+        } catch (RuntimeException e) {
+            System.err.println("Failed to translate transcript of record " + medicalRecordId + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stops accepting new transcripts. Translations already running are
+     * abandoned with the JVM.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
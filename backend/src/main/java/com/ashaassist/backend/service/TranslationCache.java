@@ -0,0 +1,343 @@
+package com.ashaassist.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import com.ashaassist.backend.model.TranslationCacheEntry;
+import com.ashaassist.backend.repository.TranslationCacheRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Two-tier cache for translations with single-flight loading.
+ * <p>
+ * Lookups are keyed by the SHA-256 hash of the normalised text and the target
+ * language. The first tier is a bounded in-memory LRU map; the optional second
+ * tier is the {@code translation_cache} table. Concurrent misses for the same key
+ * share a single in-flight translation instead of each issuing an RPC.
+ */
+@Component
+public class TranslationCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final TranslationCacheRepository translationCacheRepository;
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private final ReentrantLock memoryLock = new ReentrantLock();
+    private final LinkedHashMap<String, String> memory;
+
+    private final Counter memoryHits;
+    private final Counter persistentHits;
+    private final Counter misses;
+    private final Counter coalesced;
+    private final Counter savedRpcs;
+
+    @Value("${app.translate.cache.persistent:false}")
+    private boolean persistentTierEnabled;
+
+    /**
+     * Constructs a new {@code TranslationCache}.
+     *
+     * @param translationCacheRepository the repository for the persistent tier.
+     * @param meterRegistry              the registry receiving the cache metrics.
+     * @param maxEntries                 the capacity of the in-memory tier.
+     */
+    public TranslationCache(TranslationCacheRepository translationCacheRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.translate.cache.max-entries:10000}") int maxEntries) {
+        this.translationCacheRepository = translationCacheRepository;
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maxEntries;
+            }
+        };
+
+        this.memoryHits = lookupCounter(meterRegistry, "memory");
+        this.persistentHits = lookupCounter(meterRegistry, "persistent");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        this.coalesced = Counter.builder("translate.cache.coalesced")
+                .description("Requests that joined an in-flight translation of the same text")
+                .register(meterRegistry);
+        this.savedRpcs = Counter.builder("translate.cache.saved.rpcs")
+                .description("Translate RPCs avoided by the cache and request coalescing")
+                .register(meterRegistry);
+        Gauge.builder("translate.cache.hit.ratio", this, TranslationCache::hitRatio)
+                .description("Share of lookups answered without a translate RPC")
+                .register(meterRegistry);
+        Gauge.builder("translate.cache.size", this, TranslationCache::memorySize)
+                .description("Entries in the in-memory translation cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached translation of the given text, translating it with
+     * the given function on a miss. The text is only normalised for the cache
+     * key; the translator receives it as given, and a translation that is the
+     * text itself, e.g. because it already is in the target language, is
+     * returned as given too.
+     *
+     * @param text               the text to translate.
+     * @param targetLanguageCode the target language.
+     * @param translator         translates the text on a cache miss.
+     * @return the translated text.
+     */
+    public String getOrTranslate(String text, String targetLanguageCode, Function<String, String> translator) {
+        String normalized = normalize(text);
+        String key = hash(normalized) + ":" + targetLanguageCode;
+
+        String cached = getFromMemory(key);
+        if (cached != null) {
+            memoryHits.increment();
+            savedRpcs.increment();
+            return asGiven(text, normalized, cached);
+        }
+
+        CompletableFuture<String> mine = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.increment();
+            savedRpcs.increment();
+            return asGiven(text, normalized, await(existing));
+        }
+
+        try {
+            String translated = loadPersistent(key);
+            if (translated != null) {
+                persistentHits.increment();
+                savedRpcs.increment();
+            } else {
+                misses.increment();
+                translated = translator.apply(text);
+                storePersistent(key, translated);
+            }
+            putInMemory(key, translated);
+            mine.complete(translated);
+            return asGiven(text, normalized, translated);
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Looks up an already normalised text in both tiers without loading it.
+     *
+     * @param normalized         the normalised text.
+     * @param targetLanguageCode the target language.
+     * @return the cached translation, or {@code null} on a miss.
+     */
+    public String lookup(String normalized, String targetLanguageCode) {
+        String key = hash(normalized) + ":" + targetLanguageCode;
+        String cached = getFromMemory(key);
+        if (cached != null) {
+            memoryHits.increment();
+            savedRpcs.increment();
+            return cached;
+        }
+        cached = loadPersistent(key);
+        if (cached != null) {
+            persistentHits.increment();
+            savedRpcs.increment();
+            putInMemory(key, cached);
+            return cached;
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Claims the translation of an already normalised text after a missed
+     * {@link #lookup}, so that concurrent requests for it share one RPC. If
+     * another request is translating the text already, the claim waits for
+     * that translation; otherwise the caller owns the claim and must
+     * {@link #complete} or {@link #fail} it.
+     *
+     * @param normalized         the normalised text.
+     * @param targetLanguageCode the target language.
+     * @return the claim.
+     */
+    public Claim claim(String normalized, String targetLanguageCode) {
+        String key = hash(normalized) + ":" + targetLanguageCode;
+        CompletableFuture<String> mine = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.increment();
+            savedRpcs.increment();
+            // The lookup counted a miss that another request's RPC now answers
+            return new Claim(key, existing, false);
+        }
+        return new Claim(key, mine, true);
+    }
+
+    /**
+     * Stores the translation of an owned claim in both tiers and hands it to
+     * the requests waiting for it.
+     *
+     * @param claim      the owned claim.
+     * @param translated the translation.
+     */
+    public void complete(Claim claim, String translated) {
+        try {
+            storePersistent(claim.key(), translated);
+            putInMemory(claim.key(), translated);
+        } finally {
+            claim.future().complete(translated);
+            inFlight.remove(claim.key(), claim.future());
+        }
+    }
+
+    /**
+     * Fails an owned claim, so the requests waiting for it fail too instead of
+     * waiting forever. Does nothing if the claim was completed already.
+     *
+     * @param claim the owned claim.
+     * @param error the error of the translation.
+     */
+    public void fail(Claim claim, RuntimeException error) {
+        claim.future().completeExceptionally(error);
+        inFlight.remove(claim.key(), claim.future());
+    }
+
+    /**
+     * A claim on the translation of one text.
+     *
+     * @param key    the cache key.
+     * @param future completes with the translation.
+     * @param owner  whether the holder has to translate the text.
+     */
+    public record Claim(String key, CompletableFuture<String> future, boolean owner) {
+
+        /**
+         * Waits for the translation of a claim owned by another request.
+         *
+         * @return the translation.
+         */
+        public String await() {
+            return TranslationCache.await(future);
+        }
+    }
+
+    /**
+     * Normalises text for cache lookups: Unicode NFC, trimmed, with runs of
+     * whitespace collapsed to a single space.
+     *
+     * @param text the text to normalise.
+     * @return the normalised text.
+     */
+    public static String normalize(String text) {
+        String nfc = Normalizer.normalize(text, Normalizer.Form.NFC);
+        return WHITESPACE.matcher(nfc.strip()).replaceAll(" ");
+    }
+
+    /**
+     * Returns the given text instead of a translation that differs from it in
+     * whitespace or Unicode composition only, as happens when a cached text
+     * was first translated in another spelling.
+     */
+    private static String asGiven(String text, String normalized, String translated) {
+        return translated.equals(text) || normalize(translated).equals(normalized) ? text : translated;
+    }
+
+    private String getFromMemory(String key) {
+        memoryLock.lock();
+        try {
+            return memory.get(key);
+        } finally {
+            memoryLock.unlock();
+        }
+    }
+
+    private void putInMemory(String key, String value) {
+        memoryLock.lock();
+        try {
+            memory.put(key, value);
+        } finally {
+            memoryLock.unlock();
+        }
+    }
+
+    private String loadPersistent(String key) {
+        if (!persistentTierEnabled) {
+            return null;
+        }
+        return translationCacheRepository.findByCacheKey(key)
+                .map(TranslationCacheEntry::getTranslatedText)
+                .orElse(null);
+    }
+
+    private void storePersistent(String key, String translated) {
+        if (!persistentTierEnabled) {
+            return;
+        }
+        TranslationCacheEntry entry = new TranslationCacheEntry();
+        entry.setCacheKey(key);
+        entry.setTranslatedText(translated);
+        try {
+            translationCacheRepository.save(entry);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance stored the same translation first.
+        }
+    }
+
+    private static String await(CompletableFuture<String> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static String hash(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private double hitRatio() {
+        double hits = memoryHits.count() + persistentHits.count() + coalesced.count();
+        double total = hits + misses.count();
+        return total == 0 ? 0 : hits / total;
+    }
+
+    private double memorySize() {
+        memoryLock.lock();
+        try {
+            return memory.size();
+        } finally {
+            memoryLock.unlock();
+        }
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("translate.cache.lookups")
+                .description("Translation cache lookups by the tier that answered them")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
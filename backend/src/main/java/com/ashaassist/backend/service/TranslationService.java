@@ -0,0 +1,458 @@
+package com.ashaassist.backend.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.ashaassist.backend.dto.TranslatedChunkDto;
+import com.ashaassist.backend.language.DetectedLanguage;
+import com.ashaassist.backend.language.LanguageDetector;
+import com.ashaassist.backend.language.SentenceSplitter;
+import com.ashaassist.backend.metrics.Dependency;
+import com.ashaassist.backend.resilience.DependencyGuards;
+import com.ashaassist.backend.resilience.RequestDeadline;
+import com.google.api.gax.grpc.GrpcCallContext;
+import com.google.cloud.translate.v3.LocationName;
+import com.google.cloud.translate.v3.TranslateTextRequest;
+import com.google.cloud.translate.v3.TranslateTextResponse;
+import com.google.cloud.translate.v3.Translation;
+import com.google.cloud.translate.v3.TranslationServiceClient;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Service for translating text with the Google Cloud Translation API.
+ * Uses the shared {@link TranslationServiceClient} and lets the API detect the
+ * source language as part of the translate call, so every translation costs a
+ * single RPC.
+ * <p>
+ * The {@link LanguageDetector} runs first: text that is confidently in the
+ * target language already is returned without any RPC, and a confident
+ * detection of another language is passed as the source language instead of
+ * asking the API to detect it.
+ */
+@Service
+public class TranslationService {
+
+    private final ObjectProvider<TranslationServiceClient> clientProvider;
+    private final TranslationCache translationCache;
+    private final ExecutorService rpcExecutor;
+    private final DependencyGuards dependencyGuards;
+    private final Tracer tracer;
+    private final Counter detectSkipped;
+    private final Counter detectHinted;
+    private final Counter detectRemote;
+
+    private volatile TranslationServiceClient client;
+
+    @Value("${google.project.id}")
+    private String projectId;
+
+    @Value("${app.translate.location:global}")
+    private String location;
+
+    @Value("${app.translate.warmup:true}")
+    private boolean warmup;
+
+    @Value("${app.translate.shutdown-timeout:5s}")
+    private Duration shutdownTimeout;
+
+    @Value("${app.translate.detect.min-confidence:0.9}")
+    private double minDetectionConfidence;
+
+    @Value("${app.translate.batch.max-contents:1024}")
+    private int maxContentsPerRequest;
+
+    @Value("${app.translate.batch.max-codepoints:30000}")
+    private int maxCodePointsPerRequest;
+
+    @Value("${app.translate.chunk.max-codepoints:2000}")
+    private int maxCodePointsPerChunk;
+
+    private record Batch(String sourceLanguageCode, List<String> texts) {
+    }
+
+    /**
+     * Constructs a new {@code TranslationService}.
+     *
+     * @param clientProvider   provider for the lazily created translation client.
+     * @param translationCache the cache consulted before issuing an RPC.
+     * @param dependencyGuards the guard bounding and timing the translate RPCs.
+     * @param meterRegistry    the registry receiving the detection counters.
+     * @param tracerProvider   provider for the tracer recording the RPC spans.
+     * @param parallelism      the maximum number of concurrent batch and chunk RPCs.
+     */
+    public TranslationService(ObjectProvider<TranslationServiceClient> clientProvider,
+            TranslationCache translationCache,
+            DependencyGuards dependencyGuards,
+            MeterRegistry meterRegistry,
+            ObjectProvider<Tracer> tracerProvider,
+            @Value("${app.translate.batch.parallelism:4}") int parallelism) {
+        this.clientProvider = clientProvider;
+        this.translationCache = translationCache;
+        this.rpcExecutor = ContextExecutorService.wrap(
+                Executors.newFixedThreadPool(parallelism,
+                        Thread.ofPlatform().name("translate-rpc-", 0).daemon().factory()),
+                ContextSnapshotFactory.builder().build());
+        this.dependencyGuards = dependencyGuards;
+        this.tracer = tracerProvider.getIfAvailable(() -> Tracer.NOOP);
+        this.detectSkipped = detectCounter(meterRegistry, "skipped");
+        this.detectHinted = detectCounter(meterRegistry, "hinted");
+        this.detectRemote = detectCounter(meterRegistry, "remote");
+    }
+
+    /**
+     * Translates the given text, answering from the translation cache when
+     * possible. If the detected source language already is the target language,
+     * the text is returned unchanged.
+     *
+     * @param text               the text to translate.
+     * @param targetLanguageCode the BCP-47 code of the target language, e.g. {@code en-US}.
+     * @return the translated text.
+     */
+    public String translate(String text, String targetLanguageCode) {
+        DetectedLanguage detected = LanguageDetector.detect(text);
+        if (isAlreadyTarget(detected, targetLanguageCode)) {
+            detectSkipped.increment();
+            return text;
+        }
+        String sourceLanguageCode = sourceHint(detected);
+        return translationCache.getOrTranslate(text, targetLanguageCode,
+                original -> translateUncached(original, sourceLanguageCode, targetLanguageCode));
+    }
+
+    /**
+     * Translates many texts at once. Duplicates are translated once, cached
+     * texts are answered from the cache, texts another request is translating
+     * already wait for that translation, and the rest are packed into as few
+     * requests as the provider limits allow, which are sent in parallel.
+     *
+     * @param texts              the texts to translate.
+     * @param targetLanguageCode the BCP-47 code of the target language.
+     * @return the translations, in the same order as {@code texts}.
+     */
+    public List<String> translateBatch(List<String> texts, String targetLanguageCode) {
+        // Keyed by normalised text; the first spelling of each is what gets translated
+        Map<String, String> translations = new LinkedHashMap<>();
+        Map<String, String> originals = new LinkedHashMap<>();
+        List<String> normalizedTexts = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            String normalized = TranslationCache.normalize(text);
+            normalizedTexts.add(normalized);
+            translations.putIfAbsent(normalized, null);
+            originals.putIfAbsent(normalized, text);
+        }
+
+        // Misses are grouped by source language hint; "" means auto-detect.
+        Map<String, List<String>> missesBySource = new LinkedHashMap<>();
+        Map<String, TranslationCache.Claim> owned = new LinkedHashMap<>();
+        Map<String, TranslationCache.Claim> joined = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : translations.entrySet()) {
+            if (entry.getKey().isEmpty()) {
+                entry.setValue("");
+                continue;
+            }
+            DetectedLanguage detected = LanguageDetector.detect(entry.getKey());
+            if (isAlreadyTarget(detected, targetLanguageCode)) {
+                detectSkipped.increment();
+                entry.setValue(entry.getKey());
+                continue;
+            }
+            String cached = translationCache.lookup(entry.getKey(), targetLanguageCode);
+            if (cached != null) {
+                entry.setValue(cached);
+                continue;
+            }
+            TranslationCache.Claim claim = translationCache.claim(entry.getKey(), targetLanguageCode);
+            if (!claim.owner()) {
+                joined.put(entry.getKey(), claim);
+                continue;
+            }
+            owned.put(entry.getKey(), claim);
+            String source = sourceHint(detected);
+            missesBySource.computeIfAbsent(source != null ? source : "", k -> new ArrayList<>())
+                    .add(entry.getKey());
+        }
+
+        // Owned claims are settled before waiting on those of other requests, so two
+        // batches never wait on each other
+        try {
+            List<Batch> batches = new ArrayList<>();
+            missesBySource.forEach((source, misses) -> pack(misses)
+                    .forEach(batch -> batches.add(new Batch(source.isEmpty() ? null : source, batch))));
+            List<CompletableFuture<List<String>>> futures = new ArrayList<>();
+            for (Batch batch : batches) {
+                List<String> batchOriginals = batch.texts().stream().map(originals::get).toList();
+                futures.add(CompletableFuture.supplyAsync(
+                        () -> translateUncached(batchOriginals, batch.sourceLanguageCode(), targetLanguageCode),
+                        rpcExecutor));
+            }
+            for (int i = 0; i < batches.size(); i++) {
+                List<String> batch = batches.get(i).texts();
+                List<String> translated = join(futures.get(i));
+                for (int j = 0; j < batch.size(); j++) {
+                    translations.put(batch.get(j), translated.get(j));
+                    translationCache.complete(owned.get(batch.get(j)), translated.get(j));
+                }
+            }
+        } catch (RuntimeException e) {
+            owned.values().forEach(claim -> translationCache.fail(claim, e));
+            throw e;
+        }
+        joined.forEach((normalized, claim) -> translations.put(normalized, claim.await()));
+
+        // A text left untranslated comes back exactly as it was sent, not normalised
+        List<String> results = new ArrayList<>(normalizedTexts.size());
+        for (int i = 0; i < texts.size(); i++) {
+            String normalized = normalizedTexts.get(i);
+            String translated = translations.get(normalized);
+            results.add(TranslationCache.normalize(translated).equals(normalized) ? texts.get(i) : translated);
+        }
+        return results;
+    }
+
+    /**
+     * Translates a long text, such as a transcript, by splitting it into
+     * sentence-aligned chunks that are translated concurrently. Chunks are
+     * reassembled in order; each chunk is passed to {@code onChunk} as soon as
+     * it and all chunks before it are translated.
+     *
+     * @param text               the text to translate.
+     * @param targetLanguageCode the BCP-47 code of the target language.
+     * @param onChunk            receives the translated chunks in order, may be {@code null}.
+     * @return the complete translation.
+     */
+    public String translateLong(String text, String targetLanguageCode, Consumer<TranslatedChunkDto> onChunk) {
+        List<String> chunks = SentenceSplitter.split(text, maxCodePointsPerChunk);
+        List<CompletableFuture<String>> futures = new ArrayList<>(chunks.size());
+        for (String chunk : chunks) {
+            futures.add(CompletableFuture.supplyAsync(() -> translateChunk(chunk, targetLanguageCode), rpcExecutor));
+        }
+
+        StringBuilder translation = new StringBuilder(text.length());
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                String translated = join(futures.get(i));
+                translation.append(translated);
+                if (onChunk != null) {
+                    onChunk.accept(new TranslatedChunkDto(i, futures.size(), translated));
+                }
+            }
+        } catch (RuntimeException e) {
+            futures.forEach(future -> future.cancel(false));
+            throw e;
+        }
+        return translation.toString();
+    }
+
+    /**
+     * Translates a chunk, keeping its leading and trailing whitespace so that
+     * paragraph breaks survive reassembly.
+     */
+    private String translateChunk(String chunk, String targetLanguageCode) {
+        String body = chunk.strip();
+        if (body.isEmpty()) {
+            return chunk;
+        }
+        String leading = chunk.substring(0, chunk.length() - chunk.stripLeading().length());
+        String trailing = chunk.substring(chunk.stripTrailing().length());
+        return leading + translate(body, targetLanguageCode) + trailing;
+    }
+
+    /**
+     * Splits texts into request-sized batches, respecting both the maximum
+     * number of contents and the maximum total code points per request. A text
+     * that exceeds the code point limit on its own is sent alone.
+     */
+    private List<List<String>> pack(List<String> texts) {
+        List<List<String>> batches = new ArrayList<>();
+        List<String> current = new ArrayList<>();
+        int codePoints = 0;
+        for (String text : texts) {
+            int length = text.codePointCount(0, text.length());
+            if (!current.isEmpty() && (current.size() == maxContentsPerRequest
+                    || codePoints + length > maxCodePointsPerRequest)) {
+                batches.add(current);
+                current = new ArrayList<>();
+                codePoints = 0;
+            }
+            current.add(text);
+            codePoints += length;
+        }
+        if (!current.isEmpty()) {
+            batches.add(current);
+        }
+        return batches;
+    }
+
+    private List<String> translateUncached(List<String> texts, String sourceLanguageCode,
+            String targetLanguageCode) {
+        TranslateTextRequest.Builder request = TranslateTextRequest.newBuilder()
+                .setParent(LocationName.of(projectId, location).toString())
+                .setMimeType("text/plain")
+                .setTargetLanguageCode(targetLanguageCode)
+                .addAllContents(texts);
+        if (sourceLanguageCode != null) {
+            request.setSourceLanguageCode(sourceLanguageCode);
+        }
+
+        List<Translation> translations = translateText(request.build()).getTranslationsList();
+        List<String> results = new ArrayList<>(texts.size());
+        for (int i = 0; i < texts.size(); i++) {
+            Translation translation = translations.get(i);
+            results.add(isSameLanguage(translation.getDetectedLanguageCode(), targetLanguageCode)
+                    ? texts.get(i)
+                    : translation.getTranslatedText());
+        }
+        return results;
+    }
+
+    private String translateUncached(String text, String sourceLanguageCode, String targetLanguageCode) {
+        TranslateTextRequest.Builder request = TranslateTextRequest.newBuilder()
+                .setParent(LocationName.of(projectId, location).toString())
+                .setMimeType("text/plain")
+                .setTargetLanguageCode(targetLanguageCode)
+                .addContents(text);
+        if (sourceLanguageCode != null) {
+            request.setSourceLanguageCode(sourceLanguageCode);
+        }
+
+        Translation translation = translateText(request.build()).getTranslations(0);
+        if (isSameLanguage(translation.getDetectedLanguageCode(), targetLanguageCode)) {
+            return text;
+        }
+        return translation.getTranslatedText();
+    }
+
+    /**
+     * Opens the gRPC channels and completes the TLS and credential handshake
+     * after startup, so the first user request does not pay for it. Runs on its
+     * own thread so that readiness does not wait for the remote call.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!warmup) {
+            return;
+        }
+        Thread.ofVirtual().name("translate-warmup").start(() -> {
+            try {
+                translateUncached("ok", null, "en");
+                System.out.println("---- Translation client warmed up ----");
+            } catch (Exception e) {
+                System.err.println("Translation client warm-up failed: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Shuts the client down, waiting for in-flight RPCs to complete.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        rpcExecutor.shutdown();
+        TranslationServiceClient current = client;
+        if (current == null) {
+            return;
+        }
+        current.shutdown();
+        if (!current.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            current.shutdownNow();
+        }
+    }
+
+    private TranslateTextResponse translateText(TranslateTextRequest request) {
+        Span span = tracer.nextSpan().name("translate translateText")
+                .tag("translate.contents", request.getContentsCount())
+                .start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return dependencyGuards.call(Dependency.TRANSLATE, () -> {
+                // The guard has narrowed the deadline to the RPC timeout, so there always is one
+                long timeoutMillis = Math.max(1, RequestDeadline.remaining().toMillis());
+                GrpcCallContext context = GrpcCallContext.createDefault()
+                        .withTimeout(org.threeten.bp.Duration.ofMillis(timeoutMillis));
+                return client().translateTextCallable().call(request, context);
+            });
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private TranslationServiceClient client() {
+        TranslationServiceClient current = client;
+        if (current == null) {
+            current = clientProvider.getObject();
+            client = current;
+        }
+        return current;
+    }
+
+    private boolean isAlreadyTarget(DetectedLanguage detected, String targetLanguageCode) {
+        return detected.isConfident(minDetectionConfidence)
+                && isSameLanguage(detected.languageCode(), targetLanguageCode);
+    }
+
+    /**
+     * Returns the source language to send with the request, or {@code null} to
+     * let the API detect it. Romanised Hindi is left to the API, which handles
+     * it better when auto-detecting.
+     */
+    private String sourceHint(DetectedLanguage detected) {
+        if (detected.isConfident(minDetectionConfidence) && !detected.languageCode().contains("-")) {
+            detectHinted.increment();
+            return detected.languageCode();
+        }
+        detectRemote.increment();
+        return null;
+    }
+
+    private static boolean isSameLanguage(String detected, String target) {
+        if (detected == null || detected.isEmpty()) {
+            return false;
+        }
+        String targetBase = target.split("-")[0];
+        return detected.split("-")[0].equalsIgnoreCase(targetBase);
+    }
+
+    private static Counter detectCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("translate.detect")
+                .description("Local language detections by how they were used")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
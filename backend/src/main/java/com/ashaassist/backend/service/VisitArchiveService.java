@@ -0,0 +1,182 @@
+package com.ashaassist.backend.service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ashaassist.backend.archive.ArchiveSegmentStore;
+import com.ashaassist.backend.dto.ArchivedVisitDto;
+import com.ashaassist.backend.repository.VisitRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Moves visit partitions that are older than the retention window out of
+ * Postgres and into compressed archive segments, and serves read-only lookups
+ * of archived visits by ID.
+ */
+@Service
+public class VisitArchiveService {
+
+    private static final int PAGE_SIZE = 500;
+
+    private final PartitionMaintenanceService partitionMaintenanceService;
+    private final ArchiveSegmentStore archiveSegmentStore;
+    private final VisitRepository visitRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.archive.retention-months:24}")
+    private int retentionMonths;
+
+    /**
+     * Constructs a new {@code VisitArchiveService} with the specified
+     * dependencies.
+     *
+     * @param partitionMaintenanceService the service managing table partitions.
+     * @param archiveSegmentStore         the on-disk archive.
+     * @param visitRepository             the repository for visit data access.
+     * @param jdbcTemplate                the template used for bulk deletes.
+     * @param transactionManager          the transaction manager.
+     * @param objectMapper                the mapper used to serialise archived rows.
+     */
+    public VisitArchiveService(PartitionMaintenanceService partitionMaintenanceService,
+            ArchiveSegmentStore archiveSegmentStore,
+            VisitRepository visitRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper) {
+        this.partitionMaintenanceService = partitionMaintenanceService;
+        this.archiveSegmentStore = archiveSegmentStore;
+        this.visitRepository = visitRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Archives and drops every monthly partition that lies completely outside
+     * the retention window.
+     */
+    @Scheduled(cron = "${app.archive.cron:0 30 2 * * *}")
+    public void archiveExpiredPartitions() {
+        if (!partitionMaintenanceService.isPartitioned("visits")) {
+            return;
+        }
+        YearMonth cutoff = YearMonth.now().minusMonths(retentionMonths);
+
+        for (YearMonth month : partitionMaintenanceService.listPartitionMonths("visits")) {
+            if (!month.isBefore(cutoff)) {
+                break;
+            }
+            try {
+                archiveVisitPartition(month);
+            } catch (Exception e) {
+                System.err.println("Failed to archive visits for " + month + ": " + e.getMessage());
+                return;
+            }
+        }
+
+        if (partitionMaintenanceService.isPartitioned("medical_records")) {
+            for (YearMonth month : partitionMaintenanceService.listPartitionMonths("medical_records")) {
+                if (!month.isBefore(cutoff)) {
+                    break;
+                }
+                dropEmptyMedicalRecordPartition(month);
+            }
+        }
+    }
+
+    /**
+     * Looks up an archived visit by its ID.
+     *
+     * @param visitId the ID of the visit.
+     * @return the archived visit, or empty if the visit has not been archived.
+     */
+    public Optional<ArchivedVisitDto> findArchivedVisit(Long visitId) {
+        return archiveSegmentStore.read(visitId).map(bytes -> {
+            try {
+                return objectMapper.readValue(bytes, ArchivedVisitDto.class);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to decode archived visit " + visitId, e);
+            }
+        });
+    }
+
+    private void archiveVisitPartition(YearMonth month) throws IOException {
+        String segmentName = "visits-" + month;
+
+        // A segment left over from an interrupted run is complete; only the drop is missing.
+        if (!archiveSegmentStore.hasSegment(segmentName)) {
+            int archived = writeSegment(segmentName, month);
+            System.out.println("---- Archived " + archived + " visits for " + month + " ----");
+        }
+
+        // Everything keyed by the archived visits goes with the partition, or nothing does
+        String partition = PartitionMaintenanceService.partitionName("visits", month);
+        transaction.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM extraction_queue WHERE medical_record_id IN "
+                    + "(SELECT id FROM medical_records WHERE encounter_id IN (SELECT id FROM " + partition + "))");
+            jdbcTemplate.update("DELETE FROM medical_records WHERE encounter_id IN (SELECT id FROM " + partition + ")");
+            jdbcTemplate.update("DELETE FROM sync_receipts WHERE visit_id IN (SELECT id FROM " + partition + ")");
+            // The recordings themselves are removed by the blob store's garbage collection
+            jdbcTemplate.update("DELETE FROM visit_audio WHERE visit_id IN (SELECT id FROM " + partition + ")");
+            partitionMaintenanceService.dropPartition("visits", month);
+        });
+    }
+
+    private int writeSegment(String segmentName, YearMonth month) throws IOException {
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        int archived = 0;
+
+        try (ArchiveSegmentStore.SegmentWriter writer = archiveSegmentStore.openSegment(segmentName)) {
+            long afterId = 0L;
+            while (true) {
+                final long lastId = afterId;
+                List<ArchivedVisitDto> page = readOnlyTransaction.execute(status -> visitRepository
+                        .findArchivableVisits(from, to, lastId, PageRequest.of(0, PAGE_SIZE))
+                        .stream()
+                        .map(ArchivedVisitDto::new)
+                        .toList());
+                if (page == null || page.isEmpty()) {
+                    break;
+                }
+                for (ArchivedVisitDto visit : page) {
+                    writer.append(visit.getVisitId(), objectMapper.writeValueAsBytes(visit));
+                }
+                archived += page.size();
+                afterId = page.get(page.size() - 1).getVisitId();
+            }
+            writer.commit();
+        }
+        return archived;
+    }
+
+    private void dropEmptyMedicalRecordPartition(YearMonth month) {
+        String partition = PartitionMaintenanceService.partitionName("medical_records", month);
+        transaction.executeWithoutResult(status -> {
+            // Block inserts until the drop, so a record written after the count is not dropped with it
+            jdbcTemplate.execute("LOCK TABLE " + partition + " IN ACCESS EXCLUSIVE MODE");
+            Long remaining = jdbcTemplate.queryForObject("SELECT count(*) FROM " + partition, Long.class);
+            if (remaining != null && remaining > 0) {
+                System.err.println("Keeping " + partition + ": " + remaining + " records still reference live visits");
+                return;
+            }
+            partitionMaintenanceService.dropPartition("medical_records", month);
+        });
+    }
+}
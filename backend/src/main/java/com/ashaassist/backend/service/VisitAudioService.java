@@ -0,0 +1,190 @@
+package com.ashaassist.backend.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.ashaassist.backend.audio.AudioBlobStore;
+import com.ashaassist.backend.audio.MappedBlobResource;
+import com.ashaassist.backend.audio.StoredBlob;
+import com.ashaassist.backend.model.Visit;
+import com.ashaassist.backend.model.VisitAudio;
+import com.ashaassist.backend.repository.VisitAudioRepository;
+import com.ashaassist.backend.repository.VisitRepository;
+
+/**
+ * Keeps the recordings of visits in the {@link AudioBlobStore}, so a visit can
+ * be audited or transcribed again without a new upload, and removes
+ * recordings once they fall out of the retention window.
+ */
+@Service
+public class VisitAudioService {
+
+    private final AudioBlobStore audioBlobStore;
+    private final VisitAudioRepository visitAudioRepository;
+    private final VisitRepository visitRepository;
+
+    @Value("${app.audio.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.audio.retention:365d}")
+    private Duration retention;
+
+    @Value("${app.audio.gc.grace:1h}")
+    private Duration gcGrace;
+
+    @Value("${app.audio.gc.compact-below-live:0.5}")
+    private double compactBelowLive;
+
+    /**
+     * Constructs a new {@code VisitAudioService}.
+     *
+     * @param audioBlobStore       the store holding the recordings.
+     * @param visitAudioRepository the repository of visit-to-recording references.
+     * @param visitRepository      the repository for visit data access.
+     */
+    public VisitAudioService(AudioBlobStore audioBlobStore,
+            VisitAudioRepository visitAudioRepository,
+            VisitRepository visitRepository) {
+        this.audioBlobStore = audioBlobStore;
+        this.visitAudioRepository = visitAudioRepository;
+        this.visitRepository = visitRepository;
+    }
+
+    /**
+     * Stores a recording of a visit. Failures are logged and do not fail the
+     * caller, since the recording is kept for later use only.
+     *
+     * @param visitId   the ID of the visit.
+     * @param audioFile the uploaded recording.
+     */
+    public void store(Long visitId, MultipartFile audioFile) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            StoredBlob blob = audioBlobStore.put(audioFile);
+            if (visitAudioRepository.existsByVisitIdAndDigest(visitId, blob.digest())) {
+                return;
+            }
+            VisitAudio reference = new VisitAudio();
+            reference.setVisitId(visitId);
+            reference.setDigest(blob.digest());
+            reference.setSizeBytes(blob.length());
+            reference.setContentType(audioFile.getContentType());
+            visitAudioRepository.save(reference);
+        } catch (DataIntegrityViolationException e) {
+            // The same recording was stored for the visit concurrently
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Failed to store audio of visit " + visitId + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the most recent recording of a visit, if the current user may
+     * see the visit.
+     *
+     * @param visitId the ID of the visit.
+     * @return the recording, or empty if the visit has none.
+     * @throws AccessDeniedException if the visit belongs to another user.
+     */
+    @Transactional(readOnly = true)
+    public Optional<VisitRecording> findLatestRecording(Long visitId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ADMIN"));
+        Visit visit = visitRepository.findById(visitId)
+                .orElseThrow(() -> new RuntimeException("Visit not found"));
+        if (!visit.getAshaKarmi().getUsername().equals(authentication.getName()) && !isAdmin) {
+            throw new AccessDeniedException("You are not authorized to access this visit.");
+        }
+
+        return findStoredRecording(visitId);
+    }
+
+    /**
+     * Returns the most recent recording of a visit without checking access,
+     * for background jobs.
+     *
+     * @param visitId the ID of the visit.
+     * @return the recording, or empty if the visit has none.
+     */
+    public Optional<VisitRecording> findStoredRecording(Long visitId) {
+        return visitAudioRepository.findFirstByVisitIdOrderByCreatedAtDesc(visitId)
+                .flatMap(reference -> audioBlobStore.get(reference.getDigest())
+                        .map(blob -> new VisitRecording(reference, blob)));
+    }
+
+    /**
+     * Opens a stored recording by digest, e.g. to transcribe it again.
+     *
+     * @param digest the digest of the recording.
+     * @return the recording, or empty if it is not stored.
+     */
+    public Optional<ByteBuffer> open(String digest) {
+        return audioBlobStore.get(digest);
+    }
+
+    /**
+     * Drops the references that are older than the retention window and then
+     * removes every recording that is no longer referenced.
+     */
+    @Scheduled(cron = "${app.audio.gc.cron:0 15 3 * * *}")
+    public void collectGarbage() {
+        if (!enabled) {
+            return;
+        }
+        int expired = visitAudioRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+        Set<String> live = new HashSet<>(visitAudioRepository.findAllDigests());
+        try {
+            long reclaimed = audioBlobStore.collect(live, gcGrace, compactBelowLive);
+            System.out.println("---- Audio GC expired " + expired + " references, reclaimed "
+                    + reclaimed + " bytes, " + audioBlobStore.size() + " blobs left ----");
+        } catch (IOException e) {
+            System.err.println("Audio garbage collection failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * A recording of a visit and its content.
+     *
+     * @param reference the reference to the recording.
+     * @param content   the mapped content of the recording.
+     */
+    public record VisitRecording(VisitAudio reference, ByteBuffer content) {
+
+        /**
+         * Returns the content as a resource that Spring MVC can serve with range support.
+         *
+         * @return the resource.
+         */
+        public MappedBlobResource toResource() {
+            return new MappedBlobResource(content, reference.getDigest(),
+                    "visit-" + reference.getVisitId() + extension());
+        }
+
+        private String extension() {
+            String contentType = reference.getContentType();
+            if (contentType == null || !contentType.startsWith("audio/")) {
+                return "";
+            }
+            String subtype = contentType.substring("audio/".length());
+            int parameters = subtype.indexOf(';');
+            return "." + (parameters < 0 ? subtype : subtype.substring(0, parameters)).trim();
+        }
+    }
+}
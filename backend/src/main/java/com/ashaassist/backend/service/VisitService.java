@@ -1,32 +1,42 @@
 package com.ashaassist.backend.service;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
-import org.json.JSONObject;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.ashaassist.backend.admission.AdmissionRejectedException;
+import com.ashaassist.backend.admission.TranscriptionAdmission;
+import com.ashaassist.backend.config.RedirectingTwilioHttpClient;
+import com.ashaassist.backend.dto.IndexTranscriptRequestDto;
 import com.ashaassist.backend.dto.StartVisitRequestDto;
 import com.ashaassist.backend.dto.TranscriptionResponseDto;
 import com.ashaassist.backend.dto.VerifyOtpRequestDto;
 import com.ashaassist.backend.dto.VisitDto;
+import com.ashaassist.backend.metrics.Dependency;
 import com.ashaassist.backend.model.MedicalRecord;
 import com.ashaassist.backend.model.Patient;
 import com.ashaassist.backend.model.User;
@@ -35,10 +45,21 @@ import com.ashaassist.backend.repository.MedicalRecordRepository;
 import com.ashaassist.backend.repository.PatientRepository;
 import com.ashaassist.backend.repository.UserRepository;
 import com.ashaassist.backend.repository.VisitRepository;
+import com.ashaassist.backend.resilience.DependencyGuards;
+import com.ashaassist.backend.resilience.DependencyUnavailableException;
+import com.ashaassist.backend.search.TranscriptDocument;
+import com.ashaassist.backend.search.TranscriptSearchIndex;
+import com.ashaassist.backend.whisper.WhisperClient;
+import com.ashaassist.backend.whisper.WhisperResponseParser;
+import com.ashaassist.backend.whisper.WhisperTranscription;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.twilio.Twilio;
+import com.twilio.http.NetworkHttpClient;
+import com.twilio.http.TwilioRestClient;
 import com.twilio.rest.api.v2010.account.Message;
 
-import jakarta.annotation.PostConstruct;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 
 @Service
 public class VisitService {
@@ -47,9 +68,19 @@ public class VisitService {
     private final PatientRepository patientRepository;
     private final VisitRepository visitRepository;
     private final MedicalRecordRepository medicalRecordRepository;
-
-    @Value("${whisper.api.url}")
-    private String whisperApiUrl;
+    private final RestTemplate restTemplate;
+    private final WhisperClient whisperClient;
+    private final ObjectMapper objectMapper;
+    private final TranscriptSearchIndex transcriptSearchIndex;
+    private final TranscriptTranslationService transcriptTranslationService;
+    private final VisitAudioService visitAudioService;
+    private final StructuredExtractionService structuredExtractionService;
+    private final TranscriptionAdmission transcriptionAdmission;
+    private final DependencyGuards dependencyGuards;
+    private final Tracer tracer;
+
+    private final ReentrantLock twilioInitLock = new ReentrantLock();
+    private volatile boolean twilioInitialized;
 
     @Value("${ai.service.url}")
     private String aiServiceUrl;
@@ -63,20 +94,94 @@ public class VisitService {
     @Value("${twilio.phone-number}")
     private String twilioPhoneNumber;
 
+    @Value("${twilio.api-base-url:}")
+    private String twilioApiBaseUrl;
+
+    @Value("${app.http.connect-timeout:5s}")
+    private Duration connectTimeout;
+
+    @Value("${app.resilience.twilio.timeout:10s}")
+    private Duration twilioTimeout;
+
+    @Value("${app.visits.recent-window-days:90}")
+    private int recentWindowDays;
+
     public VisitService(
             UserRepository userRepository,
             PatientRepository patientRepository,
             VisitRepository visitRepository,
-            MedicalRecordRepository medicalRecordRepository) {
+            MedicalRecordRepository medicalRecordRepository,
+            RestTemplate restTemplate,
+            WhisperClient whisperClient,
+            ObjectMapper objectMapper,
+            TranscriptSearchIndex transcriptSearchIndex,
+            TranscriptTranslationService transcriptTranslationService,
+            VisitAudioService visitAudioService,
+            StructuredExtractionService structuredExtractionService,
+            TranscriptionAdmission transcriptionAdmission,
+            DependencyGuards dependencyGuards,
+            ObjectProvider<Tracer> tracerProvider) {
         this.userRepository = userRepository;
         this.patientRepository = patientRepository;
         this.visitRepository = visitRepository;
         this.medicalRecordRepository = medicalRecordRepository;
+        this.restTemplate = restTemplate;
+        this.whisperClient = whisperClient;
+        this.objectMapper = objectMapper;
+        this.transcriptSearchIndex = transcriptSearchIndex;
+        this.transcriptTranslationService = transcriptTranslationService;
+        this.visitAudioService = visitAudioService;
+        this.structuredExtractionService = structuredExtractionService;
+        this.transcriptionAdmission = transcriptionAdmission;
+        this.dependencyGuards = dependencyGuards;
+        this.tracer = tracerProvider.getIfAvailable(() -> Tracer.NOOP);
+    }
+
+    /**
+     * Initialises the Twilio SDK on first use instead of at startup, so its
+     * classes and HTTP client are not loaded before the first visit starts.
+     */
+    private void ensureTwilio() {
+        if (twilioInitialized) {
+            return;
+        }
+        // A lock rather than synchronized, so waiting virtual threads do not pin their carriers
+        twilioInitLock.lock();
+        try {
+            if (!twilioInitialized) {
+                initTwilio();
+                twilioInitialized = true;
+            }
+        } finally {
+            twilioInitLock.unlock();
+        }
     }
 
-    @PostConstruct
-    public void initTwilio() {
+    private void initTwilio() {
         Twilio.init(twilioAccountSid, twilioAuthToken);
+        // Bound every Twilio request, so a slow Twilio cannot hold request threads indefinitely
+        HttpClientBuilder clientBuilder = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setDefaultConnectionConfig(ConnectionConfig.custom()
+                                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout.toMillis()))
+                                .build())
+                        // The pool size of Twilio's own default client
+                        .setMaxConnPerRoute(10)
+                        .setMaxConnTotal(20)
+                        .build())
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectTimeout.toMillis()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(twilioTimeout.toMillis()))
+                        .build());
+        NetworkHttpClient httpClient = twilioApiBaseUrl.isBlank()
+                ? new NetworkHttpClient(clientBuilder)
+                : new RedirectingTwilioHttpClient(twilioApiBaseUrl, clientBuilder);
+        Twilio.setRestClient(new TwilioRestClient.Builder(twilioAccountSid, twilioAuthToken)
+                .httpClient(httpClient)
+                .build());
+        if (!twilioApiBaseUrl.isBlank()) {
+            System.out.println("---- Twilio requests redirected to " + twilioApiBaseUrl + " ----");
+        }
     }
 
     public Visit startVisit(StartVisitRequestDto startVisitRequestDto) {
@@ -87,30 +192,31 @@ public class VisitService {
                 .findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        Patient patient = patientRepository
-                .findByPhoneNumber(startVisitRequestDto.getPatientPhoneNumber())
-                .orElseGet(() -> {
-                    if (startVisitRequestDto.getFullName() == null || startVisitRequestDto.getFullName().isEmpty()) {
-                        throw new IllegalArgumentException("Full name is required for a new patient.");
-                    }
-                    Patient newPatient = new Patient();
-                    newPatient.setPhoneNumber(startVisitRequestDto.getPatientPhoneNumber());
-                    newPatient.setFullName(startVisitRequestDto.getFullName());
-                    newPatient.setDateOfBirth(startVisitRequestDto.getDateOfBirth());
-                    newPatient.setGender(startVisitRequestDto.getGender());
-                    newPatient.setAddress(startVisitRequestDto.getAddress());
-                    return patientRepository.save(newPatient);
-                });
+        Patient patient = findOrCreatePatient(
+                startVisitRequestDto.getPatientPhoneNumber(),
+                startVisitRequestDto.getFullName(),
+                startVisitRequestDto.getDateOfBirth(),
+                startVisitRequestDto.getGender(),
+                startVisitRequestDto.getAddress());
 
         String otp = String.format("%06d", new Random().nextInt(999999));
 
-        try {
-            Message.creator(
+        ensureTwilio();
+        // The Twilio SDK uses its own HTTP client, so its span is recorded by hand.
+        Span twilioSpan = tracer.nextSpan().name("twilio message.create").start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(twilioSpan)) {
+            dependencyGuards.call(Dependency.TWILIO, () -> Message.creator(
                     new com.twilio.type.PhoneNumber(startVisitRequestDto.getPatientPhoneNumber()),
                     new com.twilio.type.PhoneNumber(twilioPhoneNumber),
-                    "Your Asha Assist verification code is: " + otp).create();
+                    "Your Asha Assist verification code is: " + otp).create());
+        } catch (DependencyUnavailableException e) {
+            twilioSpan.error(e);
+            throw e;
         } catch (Exception e) {
+            twilioSpan.error(e);
             throw new RuntimeException("Failed to send OTP SMS. Please check phone number and Twilio configuration.");
+        } finally {
+            twilioSpan.end();
         }
 
         Visit visit = new Visit();
@@ -122,12 +228,35 @@ public class VisitService {
         return visitRepository.save(visit);
     }
 
+    /**
+     * Finds a patient by phone number, or registers a new one. The other
+     * details are only used for a new patient.
+     */
+    Patient findOrCreatePatient(String phoneNumber, String fullName, LocalDate dateOfBirth,
+            String gender, String address) {
+        return patientRepository
+                .findByPhoneNumber(phoneNumber)
+                .orElseGet(() -> {
+                    if (fullName == null || fullName.isEmpty()) {
+                        throw new IllegalArgumentException("Full name is required for a new patient.");
+                    }
+                    Patient newPatient = new Patient();
+                    newPatient.setPhoneNumber(phoneNumber);
+                    newPatient.setFullName(fullName);
+                    newPatient.setDateOfBirth(dateOfBirth);
+                    newPatient.setGender(gender);
+                    newPatient.setAddress(address);
+                    return patientRepository.save(newPatient);
+                });
+    }
+
     public boolean verifyOtp(VerifyOtpRequestDto verifyOtpRequestDto) {
         Visit visit = visitRepository
                 .findById(verifyOtpRequestDto.getVisitId())
                 .orElseThrow(() -> new RuntimeException("Visit not found"));
 
-        if (visit.getOtpCode().equals(verifyOtpRequestDto.getOtp()) &&
+        if (visit.getOtpCode() != null &&
+                visit.getOtpCode().equals(verifyOtpRequestDto.getOtp()) &&
                 visit.getOtpExpiresAt().isAfter(LocalDateTime.now())) {
             visit.setVerified(true);
             visit.setVerifiedAt(LocalDateTime.now());
@@ -143,46 +272,42 @@ public class VisitService {
         User currentUser = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        List<Visit> visits = visitRepository.findTop5ByAshaKarmiOrderByCreatedAtDesc(currentUser);
+        List<Visit> visits = visitRepository.findTop5ByAshaKarmiAndCreatedAtAfterOrderByCreatedAtDesc(
+                currentUser, LocalDateTime.now().minusDays(recentWindowDays));
 
         return visits.stream().map(VisitDto::new).collect(Collectors.toList());
     }
 
-    public TranscriptionResponseDto transcribeAudio(Long visitId, MultipartFile audioFile) throws IOException {
+    /**
+     * Transcribes the audio of a visit and stores the transcript in the
+     * visit's medical record.
+     *
+     * @param visitId   the ID of the visit.
+     * @param audioFile the audio to transcribe.
+     * @param permit    the admission permit of the call, released as soon as
+     *                  Whisper has answered; {@code null} if not admitted.
+     * @return the stored transcript.
+     * @throws IOException if the audio cannot be read or stored.
+     */
+    public TranscriptionResponseDto transcribeAudio(Long visitId, MultipartFile audioFile,
+            TranscriptionAdmission.Permit permit) throws IOException {
         Visit visit = visitRepository.findById(visitId)
                 .orElseThrow(() -> new RuntimeException("Visit not found with ID: " + visitId));
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
-
-        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-        ByteArrayResource fileResource = new ByteArrayResource(audioFile.getBytes()) {
-            @Override
-            public String getFilename() {
-                return audioFile.getOriginalFilename();
-            }
-        };
-        body.add("file", fileResource);
-
-        HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
-
-        RestTemplate restTemplate = new RestTemplate();
-        ResponseEntity<String> response = restTemplate.postForEntity(whisperApiUrl, requestEntity, String.class);
-
-        if (!response.getStatusCode().is2xxSuccessful()) {
-            throw new RuntimeException("Whisper API returned an error: " + response.getStatusCode());
-        }
-
-        String transcript = response.getBody();
-        String transcriptText;
+        // Kept before transcribing, so a recording Whisper fails on can be retried without a new upload
+        visitAudioService.store(visitId, audioFile);
 
+        WhisperTranscription transcription;
         try {
-            JSONObject transcriptJson = new JSONObject(transcript);
-            transcriptText = transcriptJson.getString("transcription");
-        } catch (Exception e) {
-            System.err.println("Whisper response was not valid JSON: " + transcript);
-            throw new RuntimeException("Failed to parse Whisper API response.", e);
+            transcription = whisperClient.transcribe(audioFile);
+        } finally {
+            // Saving and indexing the transcript leave Whisper's capacity to the next request
+            if (permit != null) {
+                permit.close();
+            }
         }
+        String transcript = objectMapper.writeValueAsString(transcription);
+        String transcriptText = transcription.transcription();
 
         MedicalRecord medicalRecord = visit.getMedicalRecord();
         if (medicalRecord == null) {
@@ -190,20 +315,18 @@ public class VisitService {
             medicalRecord.setVisit(visit);
         }
         medicalRecord.setRawTranscript(transcript);
+        medicalRecord.setEnglishTranscript(null);
         medicalRecordRepository.save(medicalRecord);
 
+        publishTranscript(new TranscriptDocument(
+                medicalRecord.getId(),
+                visitId,
+                visit.getAshaKarmi().getId(),
+                visit.getPatient().getId(),
+                medicalRecord.getCreatedAt(),
+                transcriptText), medicalRecord.getTranscriptDigest());
         try {
-            HttpHeaders indexHeaders = new HttpHeaders();
-            indexHeaders.setContentType(MediaType.APPLICATION_JSON);
-
-            JSONObject requestBodyJson = new JSONObject();
-            requestBodyJson.put("visitId", visitId);
-            requestBodyJson.put("transcript", transcriptText);
-
-            HttpEntity<String> indexRequest = new HttpEntity<>(requestBodyJson.toString(), indexHeaders);
-
-            restTemplate.postForEntity(aiServiceUrl + "/index", indexRequest, String.class);
-            System.out.println("---- Successfully triggered indexing for Visit ID: " + visitId + " ----");
+            indexTranscript(visitId, transcriptText);
         } catch (Exception e) {
             System.err.println("Error triggering indexing: " + e.getMessage());
         }
@@ -211,6 +334,85 @@ public class VisitService {
         return new TranscriptionResponseDto(medicalRecord.getId(), transcript);
     }
 
+    /**
+     * Transcribes the stored recording of a medical record's visit again and
+     * replaces the record's transcript with the result. The Whisper call goes
+     * through transcription admission, so it shares Whisper's capacity with
+     * uploads instead of competing with them.
+     *
+     * @param medicalRecordId the ID of the medical record.
+     * @return {@code false} if the record or its recording does not exist.
+     * @throws AdmissionRejectedException if admission sheds the call.
+     */
+    public boolean retranscribeStoredAudio(Long medicalRecordId) throws IOException {
+        TranscriptDocument current = medicalRecordRepository.findTranscriptDocument(medicalRecordId).orElse(null);
+        if (current == null) {
+            return false;
+        }
+        VisitAudioService.VisitRecording recording = visitAudioService.findStoredRecording(current.visitId())
+                .orElse(null);
+        if (recording == null) {
+            return false;
+        }
+
+        long bytes = recording.content().remaining();
+        WhisperTranscription transcription;
+        try (TranscriptionAdmission.Permit permit = transcriptionAdmission.acquire(bytes)) {
+            transcription = whisperClient.transcribe(recording.toResource(), bytes);
+        }
+        String transcriptText = transcription.transcription();
+        String transcript = objectMapper.writeValueAsString(transcription);
+        String transcriptDigest = MedicalRecord.digestOf(transcript);
+        medicalRecordRepository.updateRawTranscript(medicalRecordId, transcript, transcriptDigest);
+
+        publishTranscript(new TranscriptDocument(current.recordId(), current.visitId(), current.workerId(),
+                current.patientId(), current.createdAt(), transcriptText), transcriptDigest);
+        indexTranscript(current.visitId(), transcriptText);
+        return true;
+    }
+
+    /**
+     * Sends the transcript of a medical record to the AI service's index
+     * again, e.g. after its embedding model changed.
+     *
+     * @param medicalRecordId the ID of the medical record.
+     * @return {@code false} if the record does not exist or has no transcript.
+     */
+    public boolean reindexTranscript(Long medicalRecordId) throws IOException {
+        TranscriptDocument current = medicalRecordRepository.findTranscriptDocument(medicalRecordId).orElse(null);
+        if (current == null || current.transcript() == null) {
+            return false;
+        }
+        // The raw transcript is the stored Whisper response; the index takes its text only
+        String transcriptText = WhisperResponseParser.transcriptionText(objectMapper.getFactory(),
+                current.transcript());
+        if (transcriptText == null) {
+            return false;
+        }
+        indexTranscript(current.visitId(), transcriptText);
+        return true;
+    }
+
+    private void publishTranscript(TranscriptDocument document, String transcriptDigest) {
+        transcriptSearchIndex.index(document);
+        transcriptTranslationService.translateInBackground(document.recordId(), document.transcript(),
+                transcriptDigest);
+        structuredExtractionService.enqueue(document.recordId());
+    }
+
+    private void indexTranscript(Long visitId, String transcriptText) {
+        HttpHeaders indexHeaders = new HttpHeaders();
+        indexHeaders.setContentType(MediaType.APPLICATION_JSON);
+
+        // Written by the Jackson message converter straight into the request body
+        HttpEntity<IndexTranscriptRequestDto> indexRequest = new HttpEntity<>(
+                new IndexTranscriptRequestDto(visitId, transcriptText), indexHeaders);
+
+        dependencyGuards.call(Dependency.AI_INDEX,
+                () -> restTemplate.postForEntity(aiServiceUrl + "/index", indexRequest, String.class));
+        System.out.println("---- Successfully triggered indexing for Visit ID: " + visitId + " ----");
+    }
+
     @Transactional(readOnly = true)
     public VisitDto findVisitById(Long visitId) {
         // 1. Get the current authentication
@@ -0,0 +1,329 @@
+package com.ashaassist.backend.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.ashaassist.backend.admission.AdmissionRejectedException;
+import com.ashaassist.backend.admission.TranscriptionAdmission;
+import com.ashaassist.backend.dto.TranscriptionResponseDto;
+import com.ashaassist.backend.dto.VisitSyncItemDto;
+import com.ashaassist.backend.dto.VisitSyncResponseDto;
+import com.ashaassist.backend.dto.VisitSyncResultDto;
+import com.ashaassist.backend.model.SyncReceipt;
+import com.ashaassist.backend.model.SyncStatus;
+import com.ashaassist.backend.model.User;
+import com.ashaassist.backend.model.Visit;
+import com.ashaassist.backend.repository.SyncReceiptRepository;
+import com.ashaassist.backend.repository.UserRepository;
+import com.ashaassist.backend.repository.VisitRepository;
+import com.ashaassist.backend.resilience.DependencyUnavailableException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Syncs visits that a device captured while offline. Every visit is stored in
+ * its own transaction together with a {@link SyncReceipt}, so one bad item
+ * does not fail the bundle and a bundle sent again does not create visits
+ * twice. The audio of the stored visits is then transcribed in parallel, on a
+ * pool small enough to stay within the Whisper bulkhead; the pool carries the
+ * request's deadline and trace context. Each recording goes through
+ * transcription admission on its own, so a bundle takes one permit per Whisper
+ * call rather than one for the whole request.
+ */
+@Service
+public class VisitSyncService {
+
+    private static final int MAX_KEY_LENGTH = 64;
+    private static final Duration CLOCK_SKEW = Duration.ofMinutes(2);
+
+    private final UserRepository userRepository;
+    private final VisitRepository visitRepository;
+    private final SyncReceiptRepository syncReceiptRepository;
+    private final VisitService visitService;
+    private final TranscriptionAdmission transcriptionAdmission;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaction;
+    private final ExecutorService transcriptionExecutor;
+
+    @Value("${app.sync.max-offline-age:30d}")
+    private Duration maxOfflineAge;
+
+    /**
+     * Constructs a new {@code VisitSyncService}.
+     *
+     * @param userRepository        the repository for user data access.
+     * @param visitRepository       the repository for visit data access.
+     * @param syncReceiptRepository the repository of synced visits.
+     * @param visitService          the service transcribing the audio.
+     * @param transcriptionAdmission the admission control of the transcription
+     *                              pipeline.
+     * @param objectMapper          the mapper used to store verification evidence.
+     * @param transactionManager    the transaction manager.
+     * @param parallelism           the number of recordings transcribed at once.
+     */
+    public VisitSyncService(UserRepository userRepository,
+            VisitRepository visitRepository,
+            SyncReceiptRepository syncReceiptRepository,
+            VisitService visitService,
+            TranscriptionAdmission transcriptionAdmission,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.sync.transcription-parallelism:3}") int parallelism) {
+        this.userRepository = userRepository;
+        this.visitRepository = visitRepository;
+        this.syncReceiptRepository = syncReceiptRepository;
+        this.visitService = visitService;
+        this.transcriptionAdmission = transcriptionAdmission;
+        this.objectMapper = objectMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transcriptionExecutor = ContextExecutorService.wrap(
+                Executors.newFixedThreadPool(parallelism,
+                        Thread.ofPlatform().name("visit-sync-", 0).daemon().factory()),
+                ContextSnapshotFactory.builder().build());
+    }
+
+    /**
+     * Stores and transcribes the visits of a bundle for the current user.
+     *
+     * @param items      the visits, as listed in the bundle manifest.
+     * @param audioParts the audio parts of the bundle, by part name.
+     * @return one result per item, in item order.
+     */
+    public VisitSyncResponseDto sync(List<VisitSyncItemDto> items, Map<String, MultipartFile> audioParts) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        User currentUser = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        VisitSyncResultDto[] results = new VisitSyncResultDto[items.size()];
+        List<CompletableFuture<Void>> transcriptions = new ArrayList<>();
+        Set<String> seenKeys = new HashSet<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            VisitSyncItemDto item = items.get(i);
+            String error = validate(item, audioParts, seenKeys);
+            if (error != null) {
+                results[i] = VisitSyncResultDto.rejected(item.getIdempotencyKey(), error);
+                continue;
+            }
+
+            Stored stored;
+            try {
+                stored = storeOrReplay(currentUser, item);
+            } catch (IllegalArgumentException e) {
+                results[i] = VisitSyncResultDto.rejected(item.getIdempotencyKey(), e.getMessage());
+                continue;
+            } catch (DataIntegrityViolationException e) {
+                System.err.println("Failed to store synced visit " + item.getIdempotencyKey() + ": " + e.getMessage());
+                results[i] = VisitSyncResultDto.rejected(item.getIdempotencyKey(),
+                        "The visit could not be stored; send it again.");
+                continue;
+            }
+
+            SyncReceipt receipt = stored.receipt();
+            VisitSyncResultDto result = new VisitSyncResultDto(item.getIdempotencyKey(), receipt.getStatus(),
+                    stored.replayed(), receipt.getVisitId(), stored.verified(), receipt.getMedicalRecordId(),
+                    null, null);
+            results[i] = result;
+
+            if (item.getAudioPart() != null && receipt.getStatus() != SyncStatus.TRANSCRIBED) {
+                MultipartFile audio = audioParts.get(item.getAudioPart());
+                transcriptions.add(CompletableFuture.runAsync(
+                        () -> transcribe(receipt, audio, result), transcriptionExecutor));
+            }
+        }
+
+        CompletableFuture.allOf(transcriptions.toArray(CompletableFuture[]::new)).join();
+        return new VisitSyncResponseDto(Arrays.asList(results));
+    }
+
+    private String validate(VisitSyncItemDto item, Map<String, MultipartFile> audioParts, Set<String> seenKeys) {
+        String key = item.getIdempotencyKey();
+        if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            return "An idempotency key of at most " + MAX_KEY_LENGTH + " characters is required.";
+        }
+        if (!seenKeys.add(key)) {
+            return "Duplicate idempotency key in bundle.";
+        }
+        if (item.getVisitId() == null
+                && (item.getPatientPhoneNumber() == null || item.getPatientPhoneNumber().isBlank())) {
+            return "Patient phone number is required for a new visit.";
+        }
+        if (item.getAudioPart() != null) {
+            MultipartFile audio = audioParts.get(item.getAudioPart());
+            if (audio == null || audio.isEmpty()) {
+                return "Missing audio part: " + item.getAudioPart();
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (item.getStartedAt() != null) {
+            if (item.getStartedAt().isAfter(now.plus(CLOCK_SKEW))) {
+                return "Visit start lies in the future.";
+            }
+            if (item.getStartedAt().isBefore(now.minus(maxOfflineAge))) {
+                return "Visit is older than the offline sync window.";
+            }
+        }
+        return null;
+    }
+
+    private Stored storeOrReplay(User currentUser, VisitSyncItemDto item) {
+        try {
+            return store(currentUser, item);
+        } catch (DataIntegrityViolationException e) {
+            // The same key was synced concurrently, e.g. by a retry racing the original request
+            return store(currentUser, item);
+        }
+    }
+
+    private Stored store(User currentUser, VisitSyncItemDto item) {
+        return transaction.execute(status -> {
+            SyncReceipt existing = syncReceiptRepository
+                    .findByUserIdAndIdempotencyKey(currentUser.getId(), item.getIdempotencyKey())
+                    .orElse(null);
+            if (existing != null) {
+                boolean verified = visitRepository.findById(existing.getVisitId())
+                        .map(Visit::isVerified)
+                        .orElse(false);
+                return new Stored(existing, true, verified);
+            }
+
+            Visit visit;
+            if (item.getVisitId() != null) {
+                visit = visitRepository.findById(item.getVisitId())
+                        .orElseThrow(() -> new IllegalArgumentException("Visit not found with ID: " + item.getVisitId()));
+                if (!visit.getAshaKarmi().getId().equals(currentUser.getId())) {
+                    throw new IllegalArgumentException("Visit belongs to another user.");
+                }
+            } else {
+                visit = new Visit();
+                visit.setAshaKarmi(currentUser);
+                visit.setPatient(visitService.findOrCreatePatient(
+                        item.getPatientPhoneNumber(),
+                        item.getFullName(),
+                        item.getDateOfBirth(),
+                        item.getGender(),
+                        item.getAddress()));
+                if (item.getStartedAt() != null) {
+                    visit.setCreatedAt(item.getStartedAt());
+                }
+            }
+            if (!visit.isVerified()) {
+                applyVerification(visit, item);
+            }
+            visit = visitRepository.save(visit);
+
+            SyncReceipt receipt = new SyncReceipt();
+            receipt.setUserId(currentUser.getId());
+            receipt.setIdempotencyKey(item.getIdempotencyKey());
+            receipt.setVisitId(visit.getId());
+            receipt.setMedicalRecordId(visit.getMedicalRecord() != null ? visit.getMedicalRecord().getId() : null);
+            receipt.setStatus(SyncStatus.SAVED);
+            syncReceiptRepository.saveAndFlush(receipt);
+            return new Stored(receipt, false, visit.isVerified());
+        });
+    }
+
+    /**
+     * Verifies the visit if the device captured the OTP that was sent when the
+     * visit started, before it expired. Otherwise the evidence is kept on the
+     * visit for a later review, and the visit stays unverified.
+     */
+    private void applyVerification(Visit visit, VisitSyncItemDto item) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime enteredAt = item.getOtpEnteredAt() != null ? item.getOtpEnteredAt() : now;
+        boolean otpMatches = item.getOtp() != null
+                && visit.getOtpCode() != null
+                && visit.getOtpCode().equals(item.getOtp())
+                && !enteredAt.isAfter(now.plus(CLOCK_SKEW))
+                && visit.getOtpExpiresAt().isAfter(enteredAt);
+        if (otpMatches) {
+            visit.setVerified(true);
+            visit.setVerifiedAt(enteredAt);
+            visit.setVerificationEvidence(null);
+            return;
+        }
+
+        Map<String, String> evidence = new LinkedHashMap<>();
+        evidence.put("source", "offline-sync");
+        if (item.getOtp() != null) {
+            evidence.put("otp", item.getOtp());
+        }
+        if (item.getOtpEnteredAt() != null) {
+            evidence.put("otpEnteredAt", item.getOtpEnteredAt().toString());
+        }
+        evidence.put("syncedAt", now.toString());
+        try {
+            visit.setVerificationEvidence(objectMapper.writeValueAsString(evidence));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void transcribe(SyncReceipt receipt, MultipartFile audio, VisitSyncResultDto result) {
+        try {
+            TranscriptionResponseDto response;
+            try (TranscriptionAdmission.Permit permit = transcriptionAdmission.acquire(audio.getSize())) {
+                response = visitService.transcribeAudio(receipt.getVisitId(), audio, permit);
+            }
+            syncReceiptRepository.updateStatus(receipt.getId(), SyncStatus.TRANSCRIBED,
+                    response.getMedicalRecordId(), LocalDateTime.now());
+            result.setStatus(SyncStatus.TRANSCRIBED);
+            result.setMedicalRecordId(response.getMedicalRecordId());
+        } catch (DependencyUnavailableException e) {
+            markTranscriptionFailed(receipt, result, "Transcription is temporarily unavailable.");
+            result.setRetryAfterSeconds(e.retryAfterSeconds());
+        } catch (AdmissionRejectedException e) {
+            markTranscriptionFailed(receipt, result, "Transcription is busy.");
+            result.setRetryAfterSeconds(e.retryAfterSeconds());
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Failed to transcribe synced visit " + receipt.getVisitId() + ": " + e.getMessage());
+            markTranscriptionFailed(receipt, result, "Failed to transcribe audio: " + e.getMessage());
+        }
+    }
+
+    private void markTranscriptionFailed(SyncReceipt receipt, VisitSyncResultDto result, String error) {
+        try {
+            syncReceiptRepository.updateStatus(receipt.getId(), SyncStatus.TRANSCRIPTION_FAILED,
+                    receipt.getMedicalRecordId(), LocalDateTime.now());
+        } catch (RuntimeException e) {
+            System.err.println("Failed to update sync receipt " + receipt.getId() + ": " + e.getMessage());
+        }
+        result.setStatus(SyncStatus.TRANSCRIPTION_FAILED);
+        result.setError(error);
+    }
+
+    /**
+     * Stops accepting new transcriptions.
+     */
+    @PreDestroy
+    public void shutdown() {
+        transcriptionExecutor.shutdown();
+    }
+
+    private record Stored(SyncReceipt receipt, boolean replayed, boolean verified) {
+    }
+}
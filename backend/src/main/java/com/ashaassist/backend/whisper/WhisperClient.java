@@ -0,0 +1,103 @@
+package com.ashaassist.backend.whisper;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.ashaassist.backend.admission.TranscriptionAdmission;
+import com.ashaassist.backend.metrics.Dependency;
+import com.ashaassist.backend.resilience.DependencyGuards;
+import com.ashaassist.backend.resilience.DependencyUnavailableException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Client of the Whisper transcription service. The audio is streamed from the
+ * upload into the multipart request and the response is parsed as it arrives
+ * with {@link WhisperResponseParser}. Call latencies and overload failures
+ * are reported to {@link TranscriptionAdmission}, which adapts its
+ * concurrency limit to them.
+ */
+@Component
+public class WhisperClient {
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final DependencyGuards dependencyGuards;
+    private final TranscriptionAdmission admission;
+
+    @Value("${whisper.api.url}")
+    private String whisperApiUrl;
+
+    /**
+     * Constructs a new {@code WhisperClient}.
+     *
+     * @param restTemplate     the template used for the call.
+     * @param objectMapper     the mapper whose factory creates the parsers.
+     * @param dependencyGuards the guards bounding the calls.
+     * @param admission        the admission control of the transcription pipeline.
+     */
+    public WhisperClient(RestTemplate restTemplate, ObjectMapper objectMapper, DependencyGuards dependencyGuards,
+            TranscriptionAdmission admission) {
+        this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+        this.dependencyGuards = dependencyGuards;
+        this.admission = admission;
+    }
+
+    /**
+     * Transcribes an uploaded audio file.
+     *
+     * @param audioFile the audio file.
+     * @return the transcription.
+     */
+    public WhisperTranscription transcribe(MultipartFile audioFile) {
+        return transcribe(audioFile.getResource(), audioFile.getSize());
+    }
+
+    /**
+     * Transcribes audio from a resource, e.g. a stored recording. The
+     * resource needs a file name, which Whisper requires of the upload.
+     *
+     * @param audio the audio.
+     * @param bytes the size of the audio.
+     * @return the transcription.
+     */
+    public WhisperTranscription transcribe(Resource audio, long bytes) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        body.add("file", audio);
+
+        HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
+
+        long start = System.nanoTime();
+        try {
+            WhisperTranscription transcription = dependencyGuards.call(Dependency.WHISPER,
+                    () -> restTemplate.execute(whisperApiUrl, HttpMethod.POST,
+                            restTemplate.httpEntityCallback(requestEntity), response -> {
+                                if (!response.getStatusCode().is2xxSuccessful()) {
+                                    throw new IOException("Whisper API returned an error: " + response.getStatusCode());
+                                }
+                                return WhisperResponseParser.parse(objectMapper.getFactory(), response.getBody());
+                            }));
+            admission.recordSuccess(System.nanoTime() - start, bytes);
+            return transcription;
+        } catch (DependencyUnavailableException | ResourceAccessException | HttpServerErrorException e) {
+            admission.recordOverload();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.ashaassist.backend.whisper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Parses Whisper responses with the Jackson streaming API, straight from the
+ * response body into a {@link WhisperTranscription}, without buffering the body
+ * or building a tree. Unknown fields, including Whisper's per-segment token
+ * lists, are skipped.
+ */
+public final class WhisperResponseParser {
+
+    private WhisperResponseParser() {
+    }
+
+    /**
+     * Parses a Whisper response.
+     *
+     * @param jsonFactory the factory creating the parser.
+     * @param body        the response body; not closed.
+     * @return the transcription.
+     * @throws IOException if the body cannot be read or is not a valid response.
+     */
+    public static WhisperTranscription parse(JsonFactory jsonFactory, InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Whisper response is not a JSON object");
+            }
+            String transcription = null;
+            String language = null;
+            Double duration = null;
+            List<WhisperSegment> segments = List.of();
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value.isStructStart() && !(field.equals("segments") && value == JsonToken.START_ARRAY)) {
+                    // An object or array where no structure is expected; skip it whole to stay in place
+                    parser.skipChildren();
+                    continue;
+                }
+                switch (field) {
+                    case "transcription" -> transcription = parser.getValueAsString();
+                    case "language" -> language = parser.getValueAsString();
+                    case "duration" -> duration = value.isNumeric() ? parser.getDoubleValue() : null;
+                    case "segments" -> segments = value == JsonToken.START_ARRAY ? parseSegments(parser) : List.of();
+                    default -> parser.skipChildren();
+                }
+            }
+            if (transcription == null) {
+                throw new IOException("Whisper response has no transcription");
+            }
+            return new WhisperTranscription(transcription, language, duration, segments);
+        }
+    }
+
+    /**
+     * Returns the transcription text of a Whisper response stored as a
+     * medical record's raw transcript.
+     *
+     * @param jsonFactory   the factory creating the parser.
+     * @param rawTranscript the stored response, may be {@code null}.
+     * @return the text, or {@code null} if there is none or it cannot be parsed.
+     */
+    public static String transcriptionText(JsonFactory jsonFactory, String rawTranscript) {
+        if (rawTranscript == null) {
+            return null;
+        }
+        try {
+            return parse(jsonFactory, new ByteArrayInputStream(rawTranscript.getBytes(StandardCharsets.UTF_8)))
+                    .transcription();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static List<WhisperSegment> parseSegments(JsonParser parser) throws IOException {
+        List<WhisperSegment> segments = new ArrayList<>();
+        JsonToken element;
+        while ((element = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (element == null) {
+                throw new IOException("Whisper response ends inside the segments");
+            }
+            if (element != JsonToken.START_OBJECT) {
+                // Not a segment; skip it whole so the rest of the array is still read
+                parser.skipChildren();
+                continue;
+            }
+            double start = 0;
+            double end = 0;
+            String text = "";
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value.isStructStart()) {
+                    parser.skipChildren();
+                    continue;
+                }
+                switch (field) {
+                    case "start" -> start = value.isNumeric() ? parser.getDoubleValue() : 0;
+                    case "end" -> end = value.isNumeric() ? parser.getDoubleValue() : 0;
+                    case "text" -> text = parser.getValueAsString("");
+                    default -> parser.skipChildren();
+                }
+            }
+            segments.add(new WhisperSegment(start, end, text));
+        }
+        return segments;
+    }
+}
@@ -0,0 +1,11 @@
+package com.ashaassist.backend.whisper;
+
+/**
+ * A timed segment of a Whisper transcription.
+ *
+ * @param start the start of the segment in seconds from the beginning of the audio.
+ * @param end   the end of the segment in seconds.
+ * @param text  the transcribed text of the segment.
+ */
+public record WhisperSegment(double start, double end, String text) {
+}
@@ -0,0 +1,15 @@
+package com.ashaassist.backend.whisper;
+
+import java.util.List;
+
+/**
+ * The response of the Whisper transcription service.
+ *
+ * @param transcription the full transcript.
+ * @param language      the detected language, or {@code null} if not reported.
+ * @param duration      the audio duration in seconds, or {@code null} if not reported.
+ * @param segments      the timed segments, empty if not reported.
+ */
+public record WhisperTranscription(String transcription, String language, Double duration,
+        List<WhisperSegment> segments) {
+}
@@ -0,0 +1,74 @@
+-- Converts the visits and medical_records tables into tables that are range
+-- partitioned by month on created_at.
+--
+-- Run once against an existing database with the backend stopped:
+--     psql -d <database> -f partition-visits.sql
+-- After that, PartitionMaintenanceService keeps upcoming partitions in place and
+-- VisitArchiveService archives partitions that fall outside the retention window.
+
+BEGIN;
+
+-- Foreign keys into visits cannot survive the conversion: a partitioned table has
+-- no unique key on id alone.
+DO $$
+DECLARE
+    fk record;
+BEGIN
+    FOR fk IN SELECT conname, conrelid::regclass AS tbl
+              FROM pg_constraint
+              WHERE contype = 'f' AND confrelid = 'visits'::regclass LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.tbl, fk.conname);
+    END LOOP;
+END $$;
+
+ALTER TABLE visits RENAME TO visits_legacy;
+ALTER TABLE medical_records RENAME TO medical_records_legacy;
+
+-- Identity columns are not supported on partitioned tables before Postgres 17,
+-- so ids come from plain sequences continuing after the existing rows.
+CREATE SEQUENCE visits_part_id_seq;
+SELECT setval('visits_part_id_seq', COALESCE((SELECT max(id) FROM visits_legacy), 0) + 1, false);
+CREATE SEQUENCE medical_records_part_id_seq;
+SELECT setval('medical_records_part_id_seq', COALESCE((SELECT max(id) FROM medical_records_legacy), 0) + 1, false);
+
+CREATE TABLE visits (LIKE visits_legacy INCLUDING DEFAULTS) PARTITION BY RANGE (created_at);
+ALTER TABLE visits ALTER COLUMN id SET DEFAULT nextval('visits_part_id_seq');
+ALTER TABLE visits ADD CONSTRAINT visits_part_pkey PRIMARY KEY (id, created_at);
+ALTER SEQUENCE visits_part_id_seq OWNED BY visits.id;
+
+CREATE TABLE medical_records (LIKE medical_records_legacy INCLUDING DEFAULTS) PARTITION BY RANGE (created_at);
+ALTER TABLE medical_records ALTER COLUMN id SET DEFAULT nextval('medical_records_part_id_seq');
+ALTER TABLE medical_records ADD CONSTRAINT medical_records_part_pkey PRIMARY KEY (id, created_at);
+ALTER SEQUENCE medical_records_part_id_seq OWNED BY medical_records.id;
+
+-- One partition per month from the oldest row up to three months ahead.
+DO $$
+DECLARE
+    t text;
+    m date;
+    last_month date := (date_trunc('month', now()) + interval '3 months')::date;
+BEGIN
+    FOREACH t IN ARRAY ARRAY['visits', 'medical_records'] LOOP
+        EXECUTE format('SELECT date_trunc(''month'', coalesce(min(created_at), now()))::date FROM %I',
+                t || '_legacy') INTO m;
+        WHILE m <= last_month LOOP
+            EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                    t || '_p' || to_char(m, 'YYYY_MM'), t, m, (m + interval '1 month')::date);
+            m := (m + interval '1 month')::date;
+        END LOOP;
+    END LOOP;
+END $$;
+
+INSERT INTO visits SELECT * FROM visits_legacy;
+INSERT INTO medical_records SELECT * FROM medical_records_legacy;
+
+CREATE INDEX visits_part_id_idx ON visits (id);
+CREATE INDEX visits_part_asha_karmi_created_idx ON visits (asha_karmi_id, created_at);
+CREATE INDEX visits_part_patient_idx ON visits (patient_id);
+CREATE INDEX medical_records_part_encounter_idx ON medical_records (encounter_id);
+
+COMMIT;
+
+-- Once the application has been verified against the partitioned tables:
+-- DROP TABLE medical_records_legacy;
+-- DROP TABLE visits_legacy;
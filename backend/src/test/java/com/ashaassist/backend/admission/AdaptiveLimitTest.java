@@ -0,0 +1,77 @@
+package com.ashaassist.backend.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveLimitTest {
+
+	private static final long LATENCY = 1_000_000_000L;
+
+	@Test
+	void initialLimitIsClampedToBounds() {
+		assertEquals(4, new AdaptiveLimit(10, 1, 4, 1.5, 0.7).limit());
+		assertEquals(2, new AdaptiveLimit(0, 2, 8, 1.5, 0.7).limit());
+	}
+
+	@Test
+	void rejectsInvalidBounds() {
+		assertThrows(IllegalArgumentException.class, () -> new AdaptiveLimit(1, 0, 4, 1.5, 0.7));
+		assertThrows(IllegalArgumentException.class, () -> new AdaptiveLimit(1, 4, 2, 1.5, 0.7));
+	}
+
+	@Test
+	void growsAdditivelyUpToMaxWhileSaturated() {
+		AdaptiveLimit limit = new AdaptiveLimit(2, 1, 5, 1.5, 0.7);
+		// The first sample only seeds the averages; each later one adds 1 / limit.
+		limit.onSuccess(LATENCY, 2);
+		limit.onSuccess(LATENCY, 2);
+		limit.onSuccess(LATENCY, 2);
+		assertEquals(2, limit.limit());
+		limit.onSuccess(LATENCY, 2);
+		assertEquals(3, limit.limit());
+
+		for (int i = 0; i < 100; i++) {
+			limit.onSuccess(LATENCY, limit.limit());
+		}
+		assertEquals(5, limit.limit());
+	}
+
+	@Test
+	void doesNotGrowWhileUnderused() {
+		AdaptiveLimit limit = new AdaptiveLimit(3, 1, 10, 1.5, 0.7);
+		for (int i = 0; i < 100; i++) {
+			limit.onSuccess(LATENCY, 1);
+		}
+		assertEquals(3, limit.limit());
+	}
+
+	@Test
+	void backsOffMultiplicativelyDownToMin() {
+		AdaptiveLimit limit = new AdaptiveLimit(8, 2, 8, 1.5, 0.5);
+		limit.onOverload();
+		assertEquals(4, limit.limit());
+		limit.onOverload();
+		assertEquals(2, limit.limit());
+		limit.onOverload();
+		assertEquals(2, limit.limit());
+	}
+
+	@Test
+	void risingLatencyShrinksTheLimitDownToMin() {
+		AdaptiveLimit limit = new AdaptiveLimit(8, 2, 8, 1.5, 0.7);
+		limit.onSuccess(LATENCY, 8);
+		limit.onSuccess(LATENCY * 10, 8);
+		int afterOneSlowCall = limit.limit();
+		// Smoothed, so one slow call does not halve the limit.
+		assertTrue(afterOneSlowCall < 8 && afterOneSlowCall > 4, "Limit " + afterOneSlowCall);
+
+		for (int i = 0; i < 20; i++) {
+			limit.onSuccess(LATENCY * 10, 8);
+			assertTrue(limit.limit() >= 2, "Limit " + limit.limit());
+		}
+		assertEquals(2, limit.limit());
+	}
+}
@@ -0,0 +1,99 @@
+package com.ashaassist.backend.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+
+class TranscriptionAdmissionFilterTest {
+
+	private TranscriptionAdmissionFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		// One slot and no queue, so a request held in flight sheds the next one
+		TranscriptionAdmission admission = new TranscriptionAdmission(new SimpleMeterRegistry(),
+				1, 1, 1, 1.5, 0.7, DataSize.ofMegabytes(200), 0, Duration.ofSeconds(10));
+		filter = new TranscriptionAdmissionFilter(admission);
+		ReflectionTestUtils.setField(filter, "enabled", true);
+	}
+
+	@Test
+	void admitsPercentEncodedTranscribePath() throws Exception {
+		MockHttpServletRequest request = post("/api/visits/7/%74ranscribe", "/api/visits/7/transcribe");
+		filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+		assertNotNull(request.getAttribute(TranscriptionAdmissionFilter.PERMIT_ATTRIBUTE));
+	}
+
+	@Test
+	void shedsWhileAnEarlierPermitIsHeld() throws Exception {
+		MockHttpServletResponse shed = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain() {
+			@Override
+			public void doFilter(ServletRequest request, ServletResponse response) {
+				try {
+					filter.doFilter(post("/api/visits/8/%74ranscribe", "/api/visits/8/transcribe"), shed,
+							new MockFilterChain());
+				} catch (Exception e) {
+					throw new IllegalStateException(e);
+				}
+			}
+		};
+		filter.doFilter(post("/api/visits/7/transcribe", "/api/visits/7/transcribe"),
+				new MockHttpServletResponse(), chain);
+
+		assertEquals(503, shed.getStatus());
+		assertNotNull(shed.getHeader("Retry-After"));
+	}
+
+	@Test
+	void releasedPermitFreesTheSlot() throws Exception {
+		MockHttpServletResponse second = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain() {
+			@Override
+			public void doFilter(ServletRequest request, ServletResponse response) {
+				// What the service does once Whisper has answered
+				((TranscriptionAdmission.Permit) request.getAttribute(TranscriptionAdmissionFilter.PERMIT_ATTRIBUTE))
+						.close();
+				try {
+					filter.doFilter(post("/api/visits/8/transcribe", "/api/visits/8/transcribe"), second,
+							new MockFilterChain());
+				} catch (Exception e) {
+					throw new IllegalStateException(e);
+				}
+			}
+		};
+		filter.doFilter(post("/api/visits/7/transcribe", "/api/visits/7/transcribe"),
+				new MockHttpServletResponse(), chain);
+
+		assertEquals(200, second.getStatus());
+	}
+
+	@Test
+	void leavesOtherRequestsAlone() throws Exception {
+		MockHttpServletRequest request = post("/api/visits/sync", "/api/visits/sync");
+		filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+		assertNull(request.getAttribute(TranscriptionAdmissionFilter.PERMIT_ATTRIBUTE));
+	}
+
+	private static MockHttpServletRequest post(String rawUri, String decodedPath) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", rawUri);
+		request.setServletPath(decodedPath);
+		return request;
+	}
+}
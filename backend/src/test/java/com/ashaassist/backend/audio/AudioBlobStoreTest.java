@@ -0,0 +1,177 @@
+package com.ashaassist.backend.audio;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.util.unit.DataSize;
+
+class AudioBlobStoreTest {
+
+	// Magic, digest and length in front of every blob.
+	private static final int ENTRY_HEADER_BYTES = 4 + 32 + 8;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void deduplicatesIdenticalBlobs() throws IOException {
+		AudioBlobStore store = open(DataSize.ofMegabytes(1));
+		StoredBlob first = store.put(blob(100, 1));
+		StoredBlob second = store.put(blob(100, 1));
+
+		assertFalse(first.deduplicated());
+		assertTrue(second.deduplicated());
+		assertEquals(first.digest(), second.digest());
+		assertEquals(1, store.size());
+		assertArrayEquals(bytes(100, 1), read(store, first.digest()));
+		store.close();
+	}
+
+	@Test
+	void reopenedStoreFindsBlobsAcrossSegments() throws IOException {
+		// Room for one 100 byte blob per segment.
+		AudioBlobStore store = open(DataSize.ofBytes(200));
+		String first = store.put(blob(100, 1)).digest();
+		String second = store.put(blob(100, 2)).digest();
+		store.close();
+
+		assertEquals(2, segmentFiles());
+		AudioBlobStore reopened = open(DataSize.ofBytes(200));
+		assertArrayEquals(bytes(100, 1), read(reopened, first));
+		assertArrayEquals(bytes(100, 2), read(reopened, second));
+		reopened.close();
+	}
+
+	@Test
+	void cutsOffEntryTruncatedByCrash() throws IOException {
+		AudioBlobStore store = open(DataSize.ofMegabytes(1));
+		String kept = store.put(blob(100, 1)).digest();
+		String torn = store.put(blob(100, 2)).digest();
+		store.close();
+
+		Path segment = directory.resolve("1.seg");
+		long intact = 4 + ENTRY_HEADER_BYTES + 100;
+		try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+			// The crash hit halfway through the second blob's bytes.
+			channel.truncate(intact + ENTRY_HEADER_BYTES + 50);
+		}
+
+		AudioBlobStore reopened = open(DataSize.ofMegabytes(1));
+		assertTrue(reopened.contains(kept));
+		assertFalse(reopened.contains(torn));
+		assertEquals(intact, Files.size(segment));
+
+		// The cut-off blob can be stored again, and survives another restart.
+		assertFalse(reopened.put(blob(100, 2)).deduplicated());
+		reopened.close();
+		AudioBlobStore restarted = open(DataSize.ofMegabytes(1));
+		assertArrayEquals(bytes(100, 1), read(restarted, kept));
+		assertArrayEquals(bytes(100, 2), read(restarted, torn));
+		restarted.close();
+	}
+
+	@Test
+	void cutsOffTornEntryHeader() throws IOException {
+		AudioBlobStore store = open(DataSize.ofMegabytes(1));
+		String kept = store.put(blob(100, 1)).digest();
+		store.close();
+
+		Path segment = directory.resolve("1.seg");
+		long intact = Files.size(segment);
+		Files.write(segment, new byte[] { 0x42, 0x4c, 0x4f }, StandardOpenOption.APPEND);
+
+		AudioBlobStore reopened = open(DataSize.ofMegabytes(1));
+		assertEquals(1, reopened.size());
+		assertArrayEquals(bytes(100, 1), read(reopened, kept));
+		assertEquals(intact, Files.size(segment));
+		reopened.close();
+	}
+
+	@Test
+	void compactsMostlyGarbageSegments() throws Exception {
+		// Room for two 100 byte blobs per segment.
+		AudioBlobStore store = open(DataSize.ofBytes(300));
+		String a = store.put(blob(100, 1)).digest();
+		String b = store.put(blob(100, 2)).digest();
+		String c = store.put(blob(100, 3)).digest();
+		String d = store.put(blob(100, 4)).digest();
+		String e = store.put(blob(100, 5)).digest();
+		assertEquals(3, segmentFiles());
+		Thread.sleep(10);
+
+		// Segment 1 is half garbage and gets rewritten; segment 2 is all live and is kept.
+		long reclaimed = store.collect(Set.of(a, c, d, e), Duration.ZERO, 0.6);
+
+		// The segment header and the garbage blob; the live blob was moved, not freed.
+		assertEquals(4 + ENTRY_HEADER_BYTES + 100, reclaimed);
+		assertFalse(Files.exists(directory.resolve("1.seg")));
+		assertTrue(Files.exists(directory.resolve("2.seg")));
+		assertFalse(store.contains(b));
+		assertArrayEquals(bytes(100, 1), read(store, a));
+		store.close();
+
+		AudioBlobStore reopened = open(DataSize.ofBytes(300));
+		assertEquals(4, reopened.size());
+		for (String digest : new String[] { a, c, d, e }) {
+			assertTrue(reopened.contains(digest), digest);
+		}
+		assertArrayEquals(bytes(100, 1), read(reopened, a));
+		reopened.close();
+	}
+
+	@Test
+	void keepsUnreferencedBlobsWithinGrace() throws IOException {
+		AudioBlobStore store = open(DataSize.ofBytes(200));
+		String first = store.put(blob(100, 1)).digest();
+		store.put(blob(100, 2));
+
+		assertEquals(0, store.collect(Set.of(), Duration.ofMinutes(1), 0.5));
+		assertTrue(store.contains(first));
+		assertEquals(2, store.size());
+		store.close();
+	}
+
+	private AudioBlobStore open(DataSize segmentSize) throws IOException {
+		AudioBlobStore store = new AudioBlobStore(directory.toString(), segmentSize, false);
+		store.open();
+		return store;
+	}
+
+	private long segmentFiles() throws IOException {
+		try (var files = Files.list(directory)) {
+			return files.filter(file -> file.toString().endsWith(".seg")).count();
+		}
+	}
+
+	private static ByteArrayResource blob(int length, int seed) {
+		return new ByteArrayResource(bytes(length, seed));
+	}
+
+	private static byte[] bytes(int length, int seed) {
+		byte[] bytes = new byte[length];
+		Arrays.fill(bytes, (byte) seed);
+		return bytes;
+	}
+
+	private static byte[] read(AudioBlobStore store, String digest) {
+		ByteBuffer buffer = store.get(digest).orElseThrow();
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.get(bytes);
+		return bytes;
+	}
+}
@@ -0,0 +1,72 @@
+package com.ashaassist.backend.backfill;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class BackfillRateTest {
+
+	@Test
+	void initialRateIsClampedToBounds() {
+		assertEquals(20.0, new BackfillRate(100, 1, 20, 1, 0.5).rate());
+		assertEquals(5.0, new BackfillRate(1, 5, 20, 1, 0.5).rate());
+	}
+
+	@Test
+	void increasesByStepUpToMax() {
+		BackfillRate rate = new BackfillRate(8, 1, 10, 1.5, 0.5);
+		rate.increase();
+		assertEquals(9.5, rate.rate());
+		rate.increase();
+		assertEquals(10.0, rate.rate());
+	}
+
+	@Test
+	void decreasesAtMostOncePerCooldown() throws InterruptedException {
+		BackfillRate rate = new BackfillRate(16, 1, 20, 1, 0.5);
+		rate.decrease();
+		// A burst of failures from records started together counts once.
+		rate.decrease();
+		rate.decrease();
+		assertEquals(8.0, rate.rate());
+
+		TimeUnit.MILLISECONDS.sleep(1100);
+		rate.decrease();
+		assertEquals(4.0, rate.rate());
+	}
+
+	@Test
+	void decreaseStopsAtMin() {
+		BackfillRate rate = new BackfillRate(3, 2, 20, 1, 0.5);
+		rate.decrease();
+		assertEquals(2.0, rate.rate());
+	}
+
+	@Test
+	void paceSpacesStartsAtTheRate() throws InterruptedException {
+		BackfillRate rate = new BackfillRate(50, 1, 100, 1, 0.5);
+		long start = System.nanoTime();
+		// The first start is immediate, the next five are 20 ms apart.
+		for (int i = 0; i < 6; i++) {
+			rate.pace();
+		}
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		assertTrue(elapsedMillis >= 95, "Paced six starts in " + elapsedMillis + " ms");
+	}
+
+	@Test
+	void idleTimeIsNotSavedUp() throws InterruptedException {
+		BackfillRate rate = new BackfillRate(50, 1, 100, 1, 0.5);
+		rate.pace();
+		TimeUnit.MILLISECONDS.sleep(200);
+		long start = System.nanoTime();
+		for (int i = 0; i < 4; i++) {
+			rate.pace();
+		}
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		assertTrue(elapsedMillis >= 55, "Burst of four starts in " + elapsedMillis + " ms after idling");
+	}
+}
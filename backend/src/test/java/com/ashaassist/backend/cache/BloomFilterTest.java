@@ -0,0 +1,108 @@
+package com.ashaassist.backend.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+	private static final int INSERTIONS = 100_000;
+
+	@Test
+	void hasNoFalseNegatives() {
+		BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+		for (int i = 0; i < INSERTIONS; i++) {
+			filter.add(phoneNumber(i));
+		}
+		for (int i = 0; i < INSERTIONS; i++) {
+			assertTrue(filter.mightContain(phoneNumber(i)), phoneNumber(i));
+		}
+	}
+
+	@Test
+	void hasNoFalseNegativesWhenOverfilled() {
+		BloomFilter filter = new BloomFilter(1_000, 0.01);
+		for (int i = 0; i < 50_000; i++) {
+			filter.add(phoneNumber(i));
+		}
+		for (int i = 0; i < 50_000; i++) {
+			assertTrue(filter.mightContain(phoneNumber(i)), phoneNumber(i));
+		}
+	}
+
+	@Test
+	void hasNoFalseNegativesUnderConcurrentAdds() throws Exception {
+		BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> adds = new ArrayList<>();
+			for (int thread = 0; thread < 4; thread++) {
+				int first = thread;
+				adds.add(executor.submit(() -> {
+					// Interleaved numbers, so the threads race on the same words.
+					for (int i = first; i < INSERTIONS; i += 4) {
+						filter.add(phoneNumber(i));
+					}
+				}));
+			}
+			for (Future<?> add : adds) {
+				add.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+		for (int i = 0; i < INSERTIONS; i++) {
+			assertTrue(filter.mightContain(phoneNumber(i)), phoneNumber(i));
+		}
+	}
+
+	@Test
+	void keepsFalsePositiveRateNearTarget() {
+		BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+		for (int i = 0; i < INSERTIONS; i++) {
+			filter.add(phoneNumber(i));
+		}
+		int falsePositives = 0;
+		for (int i = INSERTIONS; i < 2 * INSERTIONS; i++) {
+			if (filter.mightContain(phoneNumber(i))) {
+				falsePositives++;
+			}
+		}
+		double rate = (double) falsePositives / INSERTIONS;
+		assertTrue(rate < 0.02, "False positive rate " + rate);
+	}
+
+	@Test
+	void emptyFilterContainsNothing() {
+		BloomFilter filter = new BloomFilter(10, 0.01);
+		assertFalse(filter.mightContain("9876543210"));
+		assertFalse(filter.mightContain(""));
+	}
+
+	@Test
+	void rejectsInvalidFalsePositiveRate() {
+		assertThrows(IllegalArgumentException.class, () -> new BloomFilter(10, 0));
+		assertThrows(IllegalArgumentException.class, () -> new BloomFilter(10, 1));
+	}
+
+	@Test
+	void sizesForAtLeastOneInsertion() {
+		BloomFilter filter = new BloomFilter(0, 0.01);
+		assertEquals(1, filter.expectedInsertions());
+		filter.add("9876543210");
+		assertTrue(filter.mightContain("9876543210"));
+	}
+
+	private static String phoneNumber(int i) {
+		return String.format("98%08d", i);
+	}
+}
@@ -0,0 +1,48 @@
+package com.ashaassist.backend.changefeed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+class ChangeCursorTest {
+
+	@Test
+	void roundTripsPositions() {
+		for (long changeSeq : new long[] { 0, 1, 42, 1_000_000_007L, Long.MAX_VALUE }) {
+			assertEquals(changeSeq, ChangeCursor.decode(ChangeCursor.encode(changeSeq)));
+		}
+	}
+
+	@Test
+	void cursorIsUrlSafeAndOpaque() {
+		String cursor = ChangeCursor.encode(123_456_789L);
+		assertTrue(cursor.matches("[A-Za-z0-9_-]+"), cursor);
+		assertFalse(cursor.contains("123456789"), cursor);
+	}
+
+	@Test
+	void missingCursorIsStartOfFeed() {
+		assertEquals(0, ChangeCursor.decode(null));
+		assertEquals(0, ChangeCursor.decode(""));
+	}
+
+	@Test
+	void rejectsMalformedCursors() {
+		assertThrows(IllegalArgumentException.class, () -> ChangeCursor.decode("not base64!"));
+		assertThrows(IllegalArgumentException.class, () -> ChangeCursor.decode(encoded("v2:5")));
+		assertThrows(IllegalArgumentException.class, () -> ChangeCursor.decode(encoded("5")));
+		assertThrows(IllegalArgumentException.class, () -> ChangeCursor.decode(encoded("v1:abc")));
+		assertThrows(IllegalArgumentException.class, () -> ChangeCursor.decode(encoded("v1:-1")));
+		assertThrows(IllegalArgumentException.class, () -> ChangeCursor.decode(encoded("v1:")));
+	}
+
+	private static String encoded(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+	}
+}
@@ -0,0 +1,63 @@
+package com.ashaassist.backend.extraction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveBatchSizeTest {
+
+	private static final long TARGET = 1_000_000_000L;
+
+	@Test
+	void initialSizeIsClampedToBounds() {
+		assertEquals(32, new AdaptiveBatchSize(100, 1, 32, TARGET).size());
+		assertEquals(4, new AdaptiveBatchSize(1, 4, 32, TARGET).size());
+	}
+
+	@Test
+	void rejectsInvalidBounds() {
+		assertThrows(IllegalArgumentException.class, () -> new AdaptiveBatchSize(1, 0, 8, TARGET));
+		assertThrows(IllegalArgumentException.class, () -> new AdaptiveBatchSize(1, 8, 4, TARGET));
+	}
+
+	@Test
+	void growsByOnePerFastFullBatchUpToMax() {
+		AdaptiveBatchSize size = new AdaptiveBatchSize(8, 1, 10, TARGET);
+		size.onSuccess(TARGET / 2, true);
+		assertEquals(9, size.size());
+		size.onSuccess(TARGET, true);
+		assertEquals(10, size.size());
+		size.onSuccess(TARGET / 2, true);
+		assertEquals(10, size.size());
+	}
+
+	@Test
+	void doesNotGrowOnPartialBatches() {
+		AdaptiveBatchSize size = new AdaptiveBatchSize(8, 1, 32, TARGET);
+		for (int i = 0; i < 10; i++) {
+			size.onSuccess(TARGET / 2, false);
+		}
+		assertEquals(8, size.size());
+	}
+
+	@Test
+	void slowBatchShrinksInProportionByAtMostHalf() {
+		AdaptiveBatchSize size = new AdaptiveBatchSize(20, 1, 32, TARGET);
+		size.onSuccess(TARGET * 5 / 4, true);
+		assertEquals(16, size.size());
+		size.onSuccess(TARGET * 10, true);
+		assertEquals(8, size.size());
+	}
+
+	@Test
+	void failureHalvesDownToMin() {
+		AdaptiveBatchSize size = new AdaptiveBatchSize(16, 3, 32, TARGET);
+		size.onFailure();
+		assertEquals(8, size.size());
+		size.onFailure();
+		assertEquals(4, size.size());
+		size.onFailure();
+		assertEquals(3, size.size());
+	}
+}
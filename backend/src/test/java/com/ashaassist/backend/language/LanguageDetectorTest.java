@@ -0,0 +1,83 @@
+package com.ashaassist.backend.language;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class LanguageDetectorTest {
+
+	private static final double MIN_CONFIDENCE = 0.9;
+
+	// Written in the script of another language, so only checked for not being confidently misdetected.
+	private static final Set<String> SHARED_SCRIPT_LANGUAGES = Set.of("mr", "ne", "as");
+
+	@Test
+	void detectsLabelledSamples() throws IOException {
+		List<String[]> samples = loadSamples();
+		int scored = 0;
+		int correct = 0;
+		for (String[] sample : samples) {
+			DetectedLanguage detected = LanguageDetector.detect(sample[1]);
+			if (!SHARED_SCRIPT_LANGUAGES.contains(sample[0])) {
+				scored++;
+			}
+			if (detected.languageCode().equals(sample[0])) {
+				correct++;
+			} else {
+				// A confident wrong answer skips or misdirects the translate RPC.
+				assertTrue(detected.confidence() < MIN_CONFIDENCE,
+						"Confidently misdetected '" + sample[1] + "' as " + detected);
+			}
+		}
+		double accuracy = (double) correct / scored;
+		assertTrue(accuracy >= 0.95, "Accuracy " + accuracy + " below 0.95");
+	}
+
+	@Test
+	void textWithoutLettersIsUndetermined() {
+		assertEquals(DetectedLanguage.UNDETERMINED, LanguageDetector.detect("12:30 - 98.6"));
+		assertEquals(DetectedLanguage.UNDETERMINED, LanguageDetector.detect(""));
+		assertEquals(DetectedLanguage.UNDETERMINED, LanguageDetector.detect(null));
+	}
+
+	@Test
+	void mixedScriptIsNotConfident() {
+		DetectedLanguage detected = LanguageDetector.detect("BP check करो please, बुखार है");
+		assertTrue(detected.confidence() < MIN_CONFIDENCE, detected.toString());
+	}
+
+	@Test
+	void sharedScriptIsNotConfident() {
+		DetectedLanguage hindi = LanguageDetector.detect("बच्चा ठीक से दूध नहीं पी रहा है।");
+		assertEquals("hi", hindi.languageCode());
+		assertTrue(hindi.confidence() < MIN_CONFIDENCE, hindi.toString());
+		DetectedLanguage bengali = LanguageDetector.detect("বাচ্চা ঠিকমতো দুধ খাচ্ছে না।");
+		assertEquals("bn", bengali.languageCode());
+		assertTrue(bengali.confidence() < MIN_CONFIDENCE, bengali.toString());
+	}
+
+	private static List<String[]> loadSamples() throws IOException {
+		List<String[]> samples = new ArrayList<>();
+		try (InputStream in = LanguageDetectorTest.class.getClassLoader()
+				.getResourceAsStream("language/detection-samples.tsv")) {
+			BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (!line.isBlank() && !line.startsWith("#")) {
+					samples.add(line.split("\t", 2));
+				}
+			}
+		}
+		return samples;
+	}
+}
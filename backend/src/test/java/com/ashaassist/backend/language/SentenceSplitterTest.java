@@ -0,0 +1,62 @@
+package com.ashaassist.backend.language;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class SentenceSplitterTest {
+
+	@Test
+	void packsSentencesWithinBudget() {
+		List<String> chunks = SentenceSplitter.split("Fever since two days. Cough too! Any rash?", 25);
+		assertEquals(List.of("Fever since two days. ", "Cough too! Any rash?"), chunks);
+	}
+
+	@Test
+	void endsSentencesAtDandas() {
+		List<String> chunks = SentenceSplitter.split("बुखार है। खांसी भी है॥ ठीक", 13);
+		assertEquals(List.of("बुखार है। ", "खांसी भी है॥ ", "ठीक"), chunks);
+	}
+
+	@Test
+	void keepsRepeatedTerminatorsWithTheirSentence() {
+		List<String> chunks = SentenceSplitter.split("Wait... what?! Fine.", 9);
+		assertEquals(List.of("Wait... ", "what?! ", "Fine."), chunks);
+	}
+
+	@Test
+	void splitsOversizedSentenceAtWhitespace() {
+		String text = "the patient reported mild headache and nausea since yesterday evening";
+		List<String> chunks = SentenceSplitter.split(text, 20);
+		assertEquals(text, String.join("", chunks));
+		for (String chunk : chunks) {
+			assertTrue(chunk.codePointCount(0, chunk.length()) <= 20, chunk);
+			assertTrue(chunk.endsWith(" ") || text.endsWith(chunk), "Split inside a word: '" + chunk + "'");
+		}
+	}
+
+	@Test
+	void hardSplitsWithoutWhitespace() {
+		assertEquals(List.of("aaaa", "aaaa", "aa"), SentenceSplitter.split("aaaaaaaaaa", 4));
+	}
+
+	@Test
+	void countsCodePointsNotChars() {
+		// Each emoji is a surrogate pair; a chunk must never end between its halves.
+		assertEquals(List.of("😀😀", "😀"), SentenceSplitter.split("😀😀😀", 2));
+	}
+
+	@Test
+	void emptyTextHasNoChunks() {
+		assertEquals(List.of(), SentenceSplitter.split("", 10));
+	}
+
+	@Test
+	void rejectsNonPositiveBudget() {
+		assertThrows(IllegalArgumentException.class, () -> SentenceSplitter.split("text", 0));
+	}
+}
@@ -0,0 +1,82 @@
+package com.ashaassist.backend.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class InMemoryRateLimitStoreTest {
+
+	@Test
+	void allowsBurstThenRejects() {
+		InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+		RateLimitPolicy policy = RateLimitPolicy.of("test", 1, Duration.ofMinutes(1), 3);
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0L, store.tryAcquire(policy, "asha"));
+		}
+		assertTrue(store.tryAcquire(policy, "asha") > 0);
+	}
+
+	@Test
+	void waitIsTimeUntilNextToken() {
+		InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+		RateLimitPolicy policy = RateLimitPolicy.of("test", 1, Duration.ofMinutes(1), 2);
+		store.tryAcquire(policy, "asha");
+		store.tryAcquire(policy, "asha");
+
+		long waitNanos = store.tryAcquire(policy, "asha");
+		// About one emission interval, less the few moments the test took.
+		assertTrue(waitNanos <= TimeUnit.MINUTES.toNanos(1), Long.toString(waitNanos));
+		assertTrue(waitNanos > TimeUnit.SECONDS.toNanos(55), Long.toString(waitNanos));
+		// A rejected request takes no token, so it does not push the wait further out.
+		assertTrue(store.tryAcquire(policy, "asha") <= waitNanos);
+	}
+
+	@Test
+	void refillsOneTokenPerInterval() throws InterruptedException {
+		InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+		RateLimitPolicy policy = RateLimitPolicy.of("test", 20, Duration.ofSeconds(1), 1);
+		assertEquals(0L, store.tryAcquire(policy, "asha"));
+		long waitNanos = store.tryAcquire(policy, "asha");
+		assertTrue(waitNanos > 0);
+
+		TimeUnit.NANOSECONDS.sleep(waitNanos + TimeUnit.MILLISECONDS.toNanos(5));
+		assertEquals(0L, store.tryAcquire(policy, "asha"));
+		assertTrue(store.tryAcquire(policy, "asha") > 0);
+	}
+
+	@Test
+	void idleTimeRefillsAtMostTheBurst() throws InterruptedException {
+		InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+		RateLimitPolicy policy = RateLimitPolicy.of("test", 100, Duration.ofSeconds(1), 2);
+		TimeUnit.MILLISECONDS.sleep(100);
+		assertEquals(0L, store.tryAcquire(policy, "asha"));
+		assertEquals(0L, store.tryAcquire(policy, "asha"));
+		assertTrue(store.tryAcquire(policy, "asha") > 0);
+	}
+
+	@Test
+	void bucketsAreSeparatePerKeyAndPolicy() {
+		InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+		RateLimitPolicy start = RateLimitPolicy.of("visit-start", 1, Duration.ofMinutes(1), 1);
+		RateLimitPolicy translate = RateLimitPolicy.of("translate", 1, Duration.ofMinutes(1), 1);
+		assertEquals(0L, store.tryAcquire(start, "asha"));
+		assertTrue(store.tryAcquire(start, "asha") > 0);
+
+		assertEquals(0L, store.tryAcquire(start, "meena"));
+		assertEquals(0L, store.tryAcquire(translate, "asha"));
+	}
+
+	@Test
+	void sweptBucketsStartFull() {
+		InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+		RateLimitPolicy policy = RateLimitPolicy.of("test", 1, Duration.ofMinutes(1), 1);
+		assertEquals(0L, store.tryAcquire(policy, "asha"));
+		// Not yet refilled, so the sweep keeps the bucket and the limit holds.
+		store.sweep();
+		assertTrue(store.tryAcquire(policy, "asha") > 0);
+	}
+}
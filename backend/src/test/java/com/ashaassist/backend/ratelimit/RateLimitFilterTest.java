@@ -0,0 +1,97 @@
+package com.ashaassist.backend.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+
+class RateLimitFilterTest {
+
+	private RateLimitFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		filter = new RateLimitFilter(new InMemoryRateLimitStore(), new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(filter, "enabled", true);
+		for (String policy : List.of("visitStart", "transcribe", "visitSync", "translate")) {
+			ReflectionTestUtils.setField(filter, policy + "Limit", 1);
+			ReflectionTestUtils.setField(filter, policy + "Period", Duration.ofMinutes(1));
+			ReflectionTestUtils.setField(filter, policy + "Burst", 1);
+		}
+		filter.initPolicies();
+		SecurityContextHolder.getContext().setAuthentication(
+				UsernamePasswordAuthenticationToken.authenticated("asha", null, List.of()));
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void limitsPercentEncodedPathLikeThePlainOne() throws Exception {
+		assertEquals(200, send(post("/api/visits/start", "/api/visits/start")).getStatus());
+
+		MockHttpServletResponse response = send(post("/api/visits/%73tart", "/api/visits/start"));
+		assertEquals(429, response.getStatus());
+		assertEquals("60", response.getHeader("Retry-After"));
+	}
+
+	@Test
+	void limitsPercentEncodedTranscribePath() throws Exception {
+		assertEquals(200, send(post("/api/visits/7/%74ranscribe", "/api/visits/7/transcribe")).getStatus());
+		assertEquals(429, send(post("/api/visits/8/transcribe", "/api/visits/8/transcribe")).getStatus());
+	}
+
+	@Test
+	void matchesOnServletPathNotRawUri() {
+		assertEquals(RateLimitedEndpoint.VISIT_START,
+				RateLimitedEndpoint.match(post("/api/visits/%73tart", "/api/visits/start")));
+		assertEquals(RateLimitedEndpoint.VISIT_SYNC,
+				RateLimitedEndpoint.match(post("/api/visits/sync", "/api/visits/sync")));
+		assertNull(RateLimitedEndpoint.match(post("/api/visits/%73tart", "/api/visits/history")));
+	}
+
+	@Test
+	void leavesOtherRequestsAlone() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			assertEquals(200, send(post("/api/patients", "/api/patients")).getStatus());
+		}
+		MockHttpServletRequest get = new MockHttpServletRequest("GET", "/api/visits/start");
+		get.setServletPath("/api/visits/start");
+		assertNull(RateLimitedEndpoint.match(get));
+		assertNotNull(RateLimitedEndpoint.match(post("/api/translate/batch", "/api/translate/batch")));
+	}
+
+	/**
+	 * Builds a request the way the servlet container presents it: the raw URI
+	 * as sent, and the decoded servlet path that Spring MVC routes on.
+	 */
+	private static MockHttpServletRequest post(String rawUri, String decodedPath) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", rawUri);
+		request.setServletPath(decodedPath);
+		return request;
+	}
+
+	private MockHttpServletResponse send(MockHttpServletRequest request) throws ServletException, IOException {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response;
+	}
+}
@@ -0,0 +1,98 @@
+package com.ashaassist.backend.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+	@Test
+	void opensAtFailureRateAfterMinimumCalls() {
+		CircuitBreaker breaker = new CircuitBreaker(10, 4, 0.5, Duration.ofMinutes(1));
+		fail(breaker);
+		fail(breaker);
+		succeed(breaker);
+		// Three calls, below the minimum, so two failures out of three do not open it.
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+		fail(breaker);
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+		assertFalse(breaker.tryAcquirePermission());
+		assertTrue(breaker.remainingOpenTime().compareTo(Duration.ZERO) > 0);
+	}
+
+	@Test
+	void oldOutcomesLeaveTheWindow() {
+		CircuitBreaker breaker = new CircuitBreaker(4, 4, 0.75, Duration.ofMinutes(1));
+		fail(breaker);
+		fail(breaker);
+		succeed(breaker);
+		succeed(breaker);
+		succeed(breaker);
+		succeed(breaker);
+		// Both failures have been pushed out, so two new ones make only half of the window.
+		fail(breaker);
+		fail(breaker);
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+	}
+
+	@Test
+	void halfOpenLetsASingleProbeThrough() {
+		CircuitBreaker breaker = openBreaker();
+
+		assertTrue(breaker.tryAcquirePermission());
+		assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+		assertFalse(breaker.tryAcquirePermission());
+		assertFalse(breaker.tryAcquirePermission());
+
+		breaker.onSuccess();
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+		assertTrue(breaker.tryAcquirePermission());
+		assertTrue(breaker.tryAcquirePermission());
+	}
+
+	@Test
+	void failedProbeOpensAgain() {
+		CircuitBreaker breaker = openBreaker();
+		assertTrue(breaker.tryAcquirePermission());
+		breaker.onFailure();
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+	}
+
+	@Test
+	void releasedProbeLetsTheNextOneThrough() {
+		CircuitBreaker breaker = openBreaker();
+		assertTrue(breaker.tryAcquirePermission());
+		breaker.release();
+
+		assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+		assertTrue(breaker.tryAcquirePermission());
+		assertFalse(breaker.tryAcquirePermission());
+	}
+
+	/**
+	 * Returns a breaker that has just opened and, with no open duration, lets
+	 * a probe through on the next request.
+	 */
+	private static CircuitBreaker openBreaker() {
+		CircuitBreaker breaker = new CircuitBreaker(2, 2, 0.5, Duration.ZERO);
+		fail(breaker);
+		fail(breaker);
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+		return breaker;
+	}
+
+	private static void succeed(CircuitBreaker breaker) {
+		assertTrue(breaker.tryAcquirePermission());
+		breaker.onSuccess();
+	}
+
+	private static void fail(CircuitBreaker breaker) {
+		assertTrue(breaker.tryAcquirePermission());
+		breaker.onFailure();
+	}
+}
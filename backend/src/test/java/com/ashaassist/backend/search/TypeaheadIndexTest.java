@@ -0,0 +1,139 @@
+package com.ashaassist.backend.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TypeaheadIndexTest {
+
+	@Test
+	void matchesPrefixesAndInfixes() {
+		TypeaheadIndex index = patients();
+		index.index(1, "Sita Devi", "9876543210", "Ward 4, Pune");
+		index.index(2, "Ramesh Patil", "9123456780", "Nashik");
+
+		assertEquals(List.of(1L), ids(index.search("si", 10, 100)));
+		assertEquals(List.of(1L), ids(index.search("dev", 10, 100)));
+		assertEquals(List.of(1L), ids(index.search("6543", 10, 100)));
+		assertEquals(List.of(2L), ids(index.search("mes", 10, 100)));
+		assertEquals(List.of(), ids(index.search("xyz", 10, 100)));
+	}
+
+	@Test
+	void leapfrogJoinFindsEveryDocumentMatchingAllWords() {
+		TypeaheadIndex index = patients();
+		List<Long> expected = new ArrayList<>();
+		// Enough documents that each gram's postings span many blocks.
+		for (long id = 1; id <= 2000; id++) {
+			String name = id % 3 == 0 ? "Ram Kumar " + id : "Shyam Lal " + id;
+			String address = id % 7 == 0 ? "Pune" : "Nashik";
+			index.index(id, name, "98" + id, address);
+			if (id % 21 == 0) {
+				expected.add(id);
+			}
+		}
+
+		List<Long> found = ids(index.search("kumar pune", 1000, 10_000));
+		found.sort(null);
+		assertEquals(expected, found);
+	}
+
+	@Test
+	void ranksExactAboveFieldStartAboveWordStartAboveInfix() {
+		TypeaheadIndex index = patients();
+		index.index(1, "Aram Singh", "", "");
+		index.index(2, "Dev Ramesh", "", "");
+		index.index(3, "Ramesh Dev", "", "");
+		index.index(4, "Ram", "", "");
+
+		assertEquals(List.of(4L, 3L, 2L, 1L), ids(index.search("ram", 10, 100)));
+	}
+
+	@Test
+	void olderExactMatchIsFoundBeyondCandidateCap() {
+		TypeaheadIndex index = patients();
+		index.index(1, "Ram", "9000000000", "");
+		for (long id = 2; id <= 1000; id++) {
+			index.index(id, "Ramesh " + id, "98" + id, "");
+		}
+
+		List<TypeaheadIndex.Hit> hits = index.search("ram", 5, 50);
+		assertEquals(1L, hits.get(0).id());
+		assertEquals(5, hits.size());
+	}
+
+	@Test
+	void reindexReplacesPreviousVersion() {
+		TypeaheadIndex index = patients();
+		index.index(1, "Ram", "9876543210", "");
+		index.index(1, "Shyam", "9876543210", "");
+
+		assertEquals(1, index.size());
+		assertEquals(List.of(), ids(index.search("ram", 10, 100)));
+		assertEquals(List.of("Shyam", "9876543210", ""), index.search("shyam", 10, 100).get(0).fields());
+	}
+
+	@Test
+	void removedDocumentsAreNotFoundAndCanReturn() {
+		TypeaheadIndex index = patients();
+		index.index(1, "Ram", "", "");
+		index.index(2, "Ramu", "", "");
+		index.remove(1);
+
+		assertEquals(1, index.size());
+		assertEquals(List.of(2L), ids(index.search("ram", 10, 100)));
+
+		index.index(1, "Ram", "", "");
+		assertEquals(List.of(1L, 2L), ids(index.search("ram", 10, 100)));
+	}
+
+	@Test
+	void compactionKeepsLiveDocuments() {
+		TypeaheadIndex index = patients();
+		for (long id = 1; id <= 1000; id++) {
+			index.index(id, "Sita " + id, "98" + id, "Pune");
+		}
+		for (long id = 1; id < 1000; id++) {
+			index.index(id, "Gita " + id, "98" + id, "Pune");
+		}
+		long beforeCompaction = index.sizeInBytes();
+		// Half of the documents are now deleted versions, which triggers a compaction.
+		index.index(1000, "Gita 1000", "981000", "Pune");
+
+		assertTrue(index.sizeInBytes() < beforeCompaction, index.sizeInBytes() + " >= " + beforeCompaction);
+		assertEquals(1000, index.size());
+		assertEquals(List.of(), ids(index.search("sita", 10, 10_000)));
+		assertEquals(1000, index.search("gita", 2000, 10_000).size());
+		assertEquals(List.of(500L), ids(index.search("gita 500", 1, 10_000)));
+
+		// Documents indexed after the compaction are found alongside the moved ones.
+		index.index(1001, "Gita 1001", "981001", "Pune");
+		assertEquals(1001, index.search("gita", 2000, 10_000).size());
+	}
+
+	@Test
+	void matchesDevanagariWords() {
+		TypeaheadIndex index = patients();
+		index.index(1, "राम कुमार", "", "पुणे");
+
+		assertEquals(List.of(1L), ids(index.search("कुमा", 10, 100)));
+		assertEquals(List.of(1L), ids(index.search("राम पुणे", 10, 100)));
+	}
+
+	private static TypeaheadIndex patients() {
+		// Full name, phone number and address, as in the patient directory.
+		return new TypeaheadIndex(1.0, 1.0, 0.4);
+	}
+
+	private static List<Long> ids(List<TypeaheadIndex.Hit> hits) {
+		List<Long> ids = new ArrayList<>();
+		for (TypeaheadIndex.Hit hit : hits) {
+			ids.add(hit.id());
+		}
+		return ids;
+	}
+}
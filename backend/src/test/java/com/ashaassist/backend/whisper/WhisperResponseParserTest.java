@@ -0,0 +1,102 @@
+package com.ashaassist.backend.whisper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+class WhisperResponseParserTest {
+
+	private static final JsonFactory JSON = new JsonFactory();
+
+	@Test
+	void parsesAllFields() throws IOException {
+		WhisperTranscription transcription = parse("""
+				{"transcription": "Bukhar hai", "language": "hi", "duration": 3.5,
+				 "segments": [{"start": 0, "end": 1.5, "text": "Bukhar"}, {"start": 1.5, "end": 3.5, "text": "hai"}]}
+				""");
+		assertEquals("Bukhar hai", transcription.transcription());
+		assertEquals("hi", transcription.language());
+		assertEquals(3.5, transcription.duration());
+		assertEquals(List.of(new WhisperSegment(0, 1.5, "Bukhar"), new WhisperSegment(1.5, 3.5, "hai")),
+				transcription.segments());
+	}
+
+	@Test
+	void rejectsMissingTranscription() {
+		assertThrows(IOException.class, () -> parse("{\"language\": \"hi\", \"segments\": []}"));
+		assertThrows(IOException.class, () -> parse("[]"));
+	}
+
+	@Test
+	void skipsUnknownAndNestedFields() throws IOException {
+		WhisperTranscription transcription = parse("""
+				{"model": {"name": "large-v3", "options": {"beam": [1, 2]}},
+				 "segments": [{"id": 0, "tokens": [50364, 123], "extra": {"a": [{}]}, "start": 1, "end": 2, "text": "ok"}],
+				 "warnings": [[1], {"x": null}],
+				 "transcription": "ok", "language": "en"}
+				""");
+		assertEquals("ok", transcription.transcription());
+		assertEquals("en", transcription.language());
+		assertNull(transcription.duration());
+		assertEquals(List.of(new WhisperSegment(1, 2, "ok")), transcription.segments());
+	}
+
+	@Test
+	void skipsStructuresWhereScalarsBelong() throws IOException {
+		WhisperTranscription transcription = parse("""
+				{"language": {"code": "hi", "probability": [0.9]}, "duration": [3.5],
+				 "segments": [{"start": {"s": 1}, "end": 2, "text": ["x"]}],
+				 "transcription": "ok"}
+				""");
+		assertEquals("ok", transcription.transcription());
+		assertNull(transcription.language());
+		assertNull(transcription.duration());
+		assertEquals(List.of(new WhisperSegment(0, 2, "")), transcription.segments());
+	}
+
+	@Test
+	void skipsSegmentElementsThatAreNotObjects() throws IOException {
+		WhisperTranscription transcription = parse("""
+				{"segments": [42, {"start": 0, "end": 1, "text": "a"}, "b", [{"start": 9}], null,
+				              {"start": 1, "end": 2, "text": "c"}],
+				 "transcription": "a c", "language": "hi"}
+				""");
+		// The fields after the array are still read in place.
+		assertEquals("a c", transcription.transcription());
+		assertEquals("hi", transcription.language());
+		assertEquals(List.of(new WhisperSegment(0, 1, "a"), new WhisperSegment(1, 2, "c")),
+				transcription.segments());
+	}
+
+	@Test
+	void nonArraySegmentsAreEmpty() throws IOException {
+		assertEquals(List.of(), parse("{\"segments\": {\"start\": 0}, \"transcription\": \"x\"}").segments());
+		assertEquals(List.of(), parse("{\"segments\": null, \"transcription\": \"x\"}").segments());
+	}
+
+	@Test
+	void rejectsTruncatedSegments() {
+		assertThrows(IOException.class, () -> parse("{\"transcription\": \"x\", \"segments\": [{\"start\": 0},"));
+	}
+
+	@Test
+	void transcriptionTextIsNullWhenMissingOrUnparseable() {
+		assertEquals("Bukhar hai", WhisperResponseParser.transcriptionText(JSON, "{\"transcription\": \"Bukhar hai\"}"));
+		assertNull(WhisperResponseParser.transcriptionText(JSON, null));
+		assertNull(WhisperResponseParser.transcriptionText(JSON, "{\"language\": \"hi\"}"));
+		assertNull(WhisperResponseParser.transcriptionText(JSON, "Bukhar hai"));
+	}
+
+	private static WhisperTranscription parse(String json) throws IOException {
+		return WhisperResponseParser.parse(JSON, new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+	}
+}
@@ -0,0 +1,15 @@
+#!/usr/bin/env sh
+# Builds the backend and the benchmarks, runs them and writes the results to
+# results/<commit>.json. Extra arguments are passed to JMH, e.g. a benchmark
+# regex: ./run.sh Jwt
+set -e
+cd "$(dirname "$0")"
+
+(cd ../backend && ./mvnw -B -q install -DskipTests)
+mvn -B -q package
+
+commit=$(git rev-parse --short HEAD)
+mkdir -p results
+java -jar target/benchmarks.jar -rf json -rff "results/$commit.json" "$@"
+echo "Results written to results/$commit.json"
+echo "Compare with: java -cp target/benchmarks.jar com.ashaassist.benchmarks.CompareResults results/<base>.json results/$commit.json"
@@ -0,0 +1,72 @@
+package com.ashaassist.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ashaassist.backend.model.Patient;
+import com.ashaassist.backend.model.User;
+import com.ashaassist.backend.model.Visit;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Measures JSON serialisation of the list payloads returned by
+ * {@code AdminController}: users, patients and visits with their records.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AdminPayloadBenchmark {
+
+    @Param({ "10", "1000" })
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<User> users;
+    private List<Patient> patients;
+    private List<Visit> visits;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Fixtures.objectMapper();
+        users = new ArrayList<>(size);
+        patients = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            users.add(Fixtures.user(i));
+            patients.add(Fixtures.patient(i));
+        }
+        visits = Fixtures.visits(Math.min(size, 10), 20);
+    }
+
+    @Benchmark
+    public byte[] users() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public byte[] patients() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(patients);
+    }
+
+    /** The recent-visits payload is capped at 10 visits. */
+    @Benchmark
+    public byte[] recentVisits() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(visits);
+    }
+}
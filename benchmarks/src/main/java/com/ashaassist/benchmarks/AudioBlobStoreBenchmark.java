@@ -0,0 +1,151 @@
+package com.ashaassist.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.util.unit.DataSize;
+
+import com.ashaassist.backend.audio.AudioBlobStore;
+import com.ashaassist.backend.audio.MappedBlobResource;
+
+/**
+ * Measures storing recordings in the {@link AudioBlobStore} and reading them
+ * back, as done when a visit's audio is uploaded and served. Reads through
+ * the memory mapping are compared with streaming a file per recording, which
+ * is what a naive store would do. Multiply the operations per second by the
+ * blob size for the byte throughput.
+ * <p>
+ * Stores run without fsync, so they measure the store itself rather than the
+ * disk's flush latency; production adds one flush per recording.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AudioBlobStoreBenchmark {
+
+    private static final int BLOBS = 32;
+    private static final int RANGE_BYTES = 64 * 1024;
+
+    /** Recording size in KiB; 4096 is roughly four minutes of compressed speech. */
+    @Param({ "256", "4096" })
+    public int blobKb;
+
+    private Path directory;
+    private AudioBlobStore store;
+    private String[] digests;
+    private Path[] files;
+    private byte[] template;
+    private byte[] copyBuffer;
+    private long counter;
+    private int next;
+    private Random random;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("audio-bench");
+        store = new AudioBlobStore(directory.resolve("store").toString(), DataSize.ofMegabytes(256), false);
+        store.open();
+        random = new Random(42);
+        digests = new String[BLOBS];
+        files = new Path[BLOBS];
+        for (int i = 0; i < BLOBS; i++) {
+            byte[] blob = new byte[blobKb * 1024];
+            random.nextBytes(blob);
+            digests[i] = store.put(new ByteArrayResource(blob)).digest();
+            files[i] = Files.write(directory.resolve("blob-" + i + ".bin"), blob);
+        }
+        template = new byte[blobKb * 1024];
+        random.nextBytes(template);
+        copyBuffer = new byte[64 * 1024];
+    }
+
+    /**
+     * Drops the blobs stored by {@link #put} so the benchmark does not fill
+     * the disk.
+     */
+    @TearDown(Level.Iteration)
+    public void dropStoredBlobs() throws IOException {
+        store.collect(Set.of(digests), Duration.ofMillis(-1), 1.0);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        store.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public long put() throws IOException {
+        // Distinct content per call, so every store is a write and not a deduplication
+        ByteBuffer.wrap(template).putLong(0, counter++);
+        return store.put(new ByteArrayResource(template)).length();
+    }
+
+    @Benchmark
+    public long readMapped() {
+        ByteBuffer blob = store.get(digests[next()]).orElseThrow();
+        long total = 0;
+        while (blob.hasRemaining()) {
+            int count = Math.min(copyBuffer.length, blob.remaining());
+            blob.get(copyBuffer, 0, count);
+            total += count;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long readFileStream() throws IOException {
+        long total = 0;
+        try (InputStream in = Files.newInputStream(files[next()])) {
+            int read;
+            while ((read = in.read(copyBuffer)) != -1) {
+                total += read;
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int readRangeMapped() throws IOException {
+        MappedBlobResource resource = new MappedBlobResource(store.get(digests[next()]).orElseThrow(), "bench");
+        try (InputStream in = resource.getInputStream()) {
+            in.skip(random.nextInt(blobKb * 1024 - RANGE_BYTES));
+            return in.readNBytes(copyBuffer, 0, RANGE_BYTES);
+        }
+    }
+
+    private int next() {
+        next = (next + 1) % BLOBS;
+        return next;
+    }
+}
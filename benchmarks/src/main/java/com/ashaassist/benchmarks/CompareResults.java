@@ -0,0 +1,61 @@
+package com.ashaassist.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares two JMH JSON result files, e.g. from two commits, and prints the
+ * relative change of every benchmark present in both.
+ * <p>
+ * Usage: {@code java -cp target/benchmarks.jar com.ashaassist.benchmarks.CompareResults base.json head.json}
+ */
+public final class CompareResults {
+
+    private CompareResults() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CompareResults <base.json> <head.json>");
+            System.exit(2);
+        }
+        Map<String, JsonNode> base = load(args[0]);
+        Map<String, JsonNode> head = load(args[1]);
+
+        System.out.printf("%-90s %14s %14s %9s%n", "benchmark", "base", "head", "change");
+        head.forEach((name, headMetric) -> {
+            JsonNode baseMetric = base.get(name);
+            if (baseMetric == null) {
+                return;
+            }
+            double before = baseMetric.get("score").asDouble();
+            double after = headMetric.get("score").asDouble();
+            double change = before == 0 ? 0 : (after - before) / before * 100;
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%% %s%n", name, before, after, change,
+                    headMetric.get("scoreUnit").asText());
+        });
+    }
+
+    private static Map<String, JsonNode> load(String path) throws IOException {
+        Map<String, JsonNode> metrics = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(new File(path))) {
+            StringBuilder name = new StringBuilder(result.get("benchmark").asText());
+            JsonNode params = result.get("params");
+            if (params != null) {
+                params.fields().forEachRemaining(param -> name.append(' ')
+                        .append(param.getKey()).append('=').append(abbreviate(param.getValue().asText())));
+            }
+            metrics.put(name.toString(), result.get("primaryMetric"));
+        }
+        return metrics;
+    }
+
+    private static String abbreviate(String value) {
+        return value.length() > 24 ? value.substring(0, 21) + "..." : value;
+    }
+}
@@ -0,0 +1,58 @@
+package com.ashaassist.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ashaassist.backend.metrics.Dependency;
+import com.ashaassist.backend.metrics.DependencyMetrics;
+import com.ashaassist.backend.metrics.UploadMetrics;
+
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+
+/**
+ * Measures the cost the metrics add to every external call and upload,
+ * recorded into the Prometheus registry used in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class DependencyMetricsBenchmark {
+
+    private DependencyMetrics dependencyMetrics;
+    private UploadMetrics uploadMetrics;
+
+    @Setup
+    public void setUp() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        dependencyMetrics = new DependencyMetrics(registry);
+        uploadMetrics = new UploadMetrics(registry);
+    }
+
+    @Benchmark
+    public void recordCall() {
+        long start = dependencyMetrics.start();
+        dependencyMetrics.success(Dependency.WHISPER, start);
+    }
+
+    @Benchmark
+    public void trackUpload() {
+        uploadMetrics.begin(2_000_000L);
+        uploadMetrics.end(2_000_000L);
+    }
+}
@@ -0,0 +1,129 @@
+package com.ashaassist.benchmarks;
+
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.ashaassist.backend.model.MedicalRecord;
+import com.ashaassist.backend.model.Patient;
+import com.ashaassist.backend.model.User;
+import com.ashaassist.backend.model.Visit;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+/**
+ * Builds the entity graphs and helpers shared by the benchmarks.
+ */
+final class Fixtures {
+
+    /** A 256-bit Base64 secret, as configured in {@code app.jwt.secret}. */
+    static final String JWT_SECRET = "c2VjcmV0LWtleS1mb3ItYmVuY2htYXJrcy1vbmx5LTAxMjM0NTY3ODk=";
+
+    private static final String TRANSCRIPT_SENTENCE =
+            "Patient reports fever for three days with headache and body ache, mujhe kal se chakkar aa raha hai. ";
+
+    private Fixtures() {
+    }
+
+    static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("asha" + id);
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z5tfzYp5BR6uFq5Q6lK4F5Ke");
+        user.setFullName("Asha Karmi " + id);
+        user.setRole("ASHA_KARMI");
+        return user;
+    }
+
+    static Patient patient(long id) {
+        Patient patient = new Patient();
+        patient.setId(id);
+        patient.setFullName("Patient " + id);
+        patient.setDateOfBirth(LocalDate.of(1990, 1, 1).plusDays(id));
+        patient.setGender(id % 2 == 0 ? "F" : "M");
+        patient.setPhoneNumber(String.format("+9198%08d", id));
+        patient.setAddress("Ward " + (id % 20) + ", Village " + (id % 7));
+        patient.setCreatedAt(LocalDateTime.of(2025, 1, 1, 9, 0));
+        return patient;
+    }
+
+    /**
+     * Builds visits with their worker, patient and medical record, the graph
+     * the admin and visit endpoints serialise.
+     */
+    static List<Visit> visits(int count, int transcriptSentences) {
+        List<Visit> visits = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Visit visit = new Visit();
+            visit.setId((long) i);
+            visit.setAshaKarmi(user(i % 10 + 1));
+            visit.setPatient(patient(i));
+            visit.setOtpCode("123456");
+            visit.setOtpExpiresAt(LocalDateTime.of(2025, 1, 1, 9, 5));
+            visit.setVerified(true);
+            visit.setVerifiedAt(LocalDateTime.of(2025, 1, 1, 9, 1));
+            visit.setCreatedAt(LocalDateTime.of(2025, 1, 1, 9, 0));
+
+            MedicalRecord record = new MedicalRecord();
+            record.setId((long) i);
+            record.setVisit(visit);
+            record.setRawTranscript(whisperResponse(transcriptSentences));
+            record.setStructuredData("{\"symptoms\":[\"fever\",\"headache\"],\"durationDays\":3}");
+            record.setCreatedAt(LocalDateTime.of(2025, 1, 1, 9, 10));
+            visit.setMedicalRecord(record);
+            visits.add(visit);
+        }
+        return visits;
+    }
+
+    static String transcript(int sentences) {
+        return TRANSCRIPT_SENTENCE.repeat(sentences).strip();
+    }
+
+    /**
+     * Builds a Whisper service response body with the given number of
+     * transcript sentences, one timed segment per sentence.
+     */
+    static String whisperResponse(int sentences) {
+        StringBuilder body = new StringBuilder("{\"transcription\":\"").append(transcript(sentences))
+                .append("\",\"language\":\"hi\",\"duration\":").append(sentences * 6.5)
+                .append(",\"segments\":[");
+        for (int i = 0; i < sentences; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"id\":").append(i)
+                    .append(",\"start\":").append(i * 6.5)
+                    .append(",\"end\":").append((i + 1) * 6.5)
+                    .append(",\"text\":\"").append(TRANSCRIPT_SENTENCE.strip())
+                    .append("\",\"tokens\":[50364,1044,2793,307,257,1185,51464]}");
+        }
+        return body.append("]}").toString();
+    }
+
+    /**
+     * Returns a mapper configured like Spring Boot's auto-configured one.
+     */
+    static ObjectMapper objectMapper() {
+        return JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    /**
+     * Sets a field that Spring would inject with {@code @Value}.
+     */
+    static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + name, e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.ashaassist.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ashaassist.backend.language.DetectedLanguage;
+import com.ashaassist.backend.language.LanguageDetector;
+
+/**
+ * Measures local language detection, which runs before every translation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LanguageDetectorBenchmark {
+
+    @Param({
+            "The baby is not feeding properly and cries a lot.",
+            "Baccha theek se doodh nahi pi raha aur bahut rota hai.",
+            "बच्चा ठीक से दूध नहीं पी रहा है।"
+    })
+    public String text;
+
+    @Benchmark
+    public DetectedLanguage detect() {
+        return LanguageDetector.detect(text);
+    }
+}
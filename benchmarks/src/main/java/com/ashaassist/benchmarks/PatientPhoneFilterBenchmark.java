@@ -0,0 +1,84 @@
+package com.ashaassist.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ashaassist.backend.cache.BloomFilter;
+
+/**
+ * Measures the in-memory part of the patient existence check: the Bloom
+ * filter lookup that answers unknown phone numbers, and one for a number
+ * that is present. The setup prints the share of unknown
+ * numbers the filter lets through to the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatientPhoneFilterBenchmark {
+
+    private static final int LOOKUPS = 1024;
+
+    @Param({ "100000", "1000000" })
+    public int patients;
+
+    private BloomFilter filter;
+    private String[] present;
+    private String[] unknown;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        filter = new BloomFilter(patients * 2L, 0.01);
+        for (int i = 0; i < patients; i++) {
+            filter.add(phone(i));
+        }
+        Random random = new Random(42);
+        present = new String[LOOKUPS];
+        unknown = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            present[i] = phone(random.nextInt(patients));
+            unknown[i] = phone(patients + random.nextInt(patients));
+        }
+        int passed = 0;
+        for (int i = 0; i < patients; i++) {
+            if (filter.mightContain(phone(patients + i))) {
+                passed++;
+            }
+        }
+        System.out.println("False positive rate: " + (double) passed / patients);
+    }
+
+    @Benchmark
+    public boolean unknownNumber() {
+        return filter.mightContain(unknown[next()]);
+    }
+
+    @Benchmark
+    public boolean presentNumber() {
+        return filter.mightContain(present[next()]);
+    }
+
+    private int next() {
+        next = (next + 1) & (LOOKUPS - 1);
+        return next;
+    }
+
+    private static String phone(int i) {
+        return "+91" + (9_000_000_000L + i);
+    }
+}
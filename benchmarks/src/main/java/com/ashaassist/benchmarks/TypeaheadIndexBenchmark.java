@@ -0,0 +1,70 @@
+package com.ashaassist.benchmarks;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ashaassist.backend.search.TypeaheadIndex;
+
+/**
+ * Measures admin typeahead searches over the patient directory, with the
+ * field weights and candidate limit the application uses. Names are drawn
+ * from a small vocabulary, so name queries match far more patients than in
+ * a real directory and are a pessimistic case.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TypeaheadIndexBenchmark {
+
+    private static final int MAX_CANDIDATES = 200;
+    private static final String[] FIRST_NAMES = { "ram", "sita", "geeta", "sunil", "anil", "priya", "pooja",
+            "rahul", "amit", "neha", "suresh", "kavita", "manoj", "rekha", "vijay", "asha" };
+    private static final String[] LAST_NAMES = { "kumar", "devi", "singh", "sharma", "yadav", "verma", "gupta",
+            "patel", "mishra", "pandey" };
+
+    @Param({ "100000", "1000000" })
+    public int patients;
+
+    @Param({ "ra", "sunil", "priya sh", "98765", "kavita yadav ward 3" })
+    public String query;
+
+    private TypeaheadIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new TypeaheadIndex(1.0, 1.0, 0.4);
+        Random random = new Random(42);
+        for (int id = 1; id <= patients; id++) {
+            index.index(id,
+                    FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                    "+91" + (9_000_000_000L + random.nextInt(999_999_999)),
+                    "House " + random.nextInt(500) + ", Ward " + random.nextInt(40) + ", "
+                            + FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + "pur",
+                    "1990-01-01",
+                    "F");
+        }
+        index.trimToSize();
+        System.out.println("Index size: " + index.sizeInBytes() / (1024 * 1024) + " MiB");
+    }
+
+    @Benchmark
+    public List<TypeaheadIndex.Hit> search() {
+        return index.search(query, 10, MAX_CANDIDATES);
+    }
+}
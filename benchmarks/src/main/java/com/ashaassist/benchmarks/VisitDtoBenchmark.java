@@ -0,0 +1,48 @@
+package com.ashaassist.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ashaassist.backend.dto.VisitDto;
+import com.ashaassist.backend.model.Visit;
+
+/**
+ * Measures building {@link VisitDto}s from loaded entity graphs, as done by
+ * {@code VisitService} for the visit list and visit detail endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VisitDtoBenchmark {
+
+    @Param({ "1", "5", "100" })
+    public int visits;
+
+    private List<Visit> entities;
+
+    @Setup
+    public void setUp() {
+        entities = Fixtures.visits(visits, 20);
+    }
+
+    @Benchmark
+    public List<VisitDto> toDtos() {
+        return entities.stream().map(VisitDto::new).collect(Collectors.toList());
+    }
+}
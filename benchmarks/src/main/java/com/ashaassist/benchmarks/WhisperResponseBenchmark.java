@@ -0,0 +1,83 @@
+package com.ashaassist.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ashaassist.backend.dto.IndexTranscriptRequestDto;
+import com.ashaassist.backend.whisper.WhisperResponseParser;
+import com.ashaassist.backend.whisper.WhisperTranscription;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Measures parsing the Whisper service response and writing the
+ * {@code /index} payload, as done by {@code WhisperClient} and
+ * {@code VisitService.transcribeAudio}. The tree-model variants show the cost
+ * of buffering the body and building an intermediate document.
+ * <p>
+ * Run with {@code -prof gc} to see the allocation per operation next to the
+ * throughput, e.g. {@code ./run.sh Whisper -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WhisperResponseBenchmark {
+
+    /** Transcript length in sentences; 300 is roughly a 30 minute visit. */
+    @Param({ "10", "300", "3000" })
+    public int sentences;
+
+    private ObjectMapper objectMapper;
+    private byte[] responseBody;
+    private String transcript;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Fixtures.objectMapper();
+        responseBody = Fixtures.whisperResponse(sentences).getBytes(StandardCharsets.UTF_8);
+        transcript = parseStreaming().transcription();
+    }
+
+    @Benchmark
+    public WhisperTranscription parseStreaming() throws IOException {
+        return WhisperResponseParser.parse(objectMapper.getFactory(), new ByteArrayInputStream(responseBody));
+    }
+
+    @Benchmark
+    public String parseTree() throws IOException {
+        String body = new String(responseBody, StandardCharsets.UTF_8);
+        JsonNode root = objectMapper.readTree(body);
+        return root.get("transcription").asText();
+    }
+
+    @Benchmark
+    public int writeIndexPayloadStreaming() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(transcript.length() + 64);
+        objectMapper.writeValue(out, new IndexTranscriptRequestDto(42L, transcript));
+        return out.size();
+    }
+
+    @Benchmark
+    public int writeIndexPayloadViaString() throws IOException {
+        String payload = objectMapper.writeValueAsString(new IndexTranscriptRequestDto(42L, transcript));
+        return payload.getBytes(StandardCharsets.UTF_8).length;
+    }
+}
@@ -0,0 +1,63 @@
+#!/usr/bin/env bash
+# Measures backend startup in three modes: the plain jar, with Spring AOT, and
+# with Spring AOT plus the AppCDS archive. Reports time-to-first-request (until
+# /actuator/health answers 200) and the resident set size at that moment, as
+# the median of several runs.
+#
+# Build first with ../backend/scripts/build-fast-startup.sh. Arguments are
+# passed to the application, e.g. the database settings:
+#   RUNS=5 ./startup.sh --spring.datasource.url=jdbc:postgresql://localhost:5432/ashaassist
+set -euo pipefail
+cd "$(dirname "$0")/../backend"
+
+RUNS=${RUNS:-5}
+PORT=${PORT:-18000}
+JAR=target/application/backend-0.0.1-SNAPSHOT-exec.jar
+ARCHIVE=target/application/application.jsa
+
+if [ ! -f "$JAR" ] || [ ! -f "$ARCHIVE" ]; then
+    echo "Run ../backend/scripts/build-fast-startup.sh first" >&2
+    exit 1
+fi
+
+measure() {
+    local start pid status elapsed rss
+    start=$(date +%s%N)
+    java "$@" -jar "$JAR" --server.port="$PORT" "${APP_ARGS[@]}" > /dev/null 2>&1 &
+    pid=$!
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "http://127.0.0.1:$PORT/actuator/health")" = "200" ]; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "backend exited during startup" >&2
+            return 1
+        fi
+        sleep 0.05
+    done
+    elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+    rss=$(awk '/VmRSS/ { print int($2 / 1024) }' "/proc/$pid/status")
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo "$elapsed $rss"
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'
+}
+
+run_mode() {
+    local name=$1
+    shift
+    local times=() rsss=() result
+    for _ in $(seq "$RUNS"); do
+        result=$(measure "$@")
+        times+=("${result% *}")
+        rsss+=("${result#* }")
+    done
+    printf "%-10s time-to-first-request %6d ms   RSS %5d MiB\n" "$name" \
+        "$(printf '%s\n' "${times[@]}" | median)" "$(printf '%s\n' "${rsss[@]}" | median)"
+}
+
+APP_ARGS=("$@")
+echo "Median of $RUNS runs"
+run_mode default
+run_mode aot -Dspring.aot.enabled=true
+run_mode aot+cds -Dspring.aot.enabled=true -XX:SharedArchiveFile="$ARCHIVE" -Xshare:auto
@@ -46,6 +46,23 @@ export const analyze = async (req, res) => {
     }
 };
 
+export const extract = async (req, res) => {
+    try {
+        const { items } = req.body;
+        if (!Array.isArray(items) || items.length === 0) {
+            return res.status(400).json({ error: "items are required." });
+        }
+        if (items.some(item => item.id == null || !item.transcript)) {
+            return res.status(400).json({ error: "Every item needs an id and a transcript." });
+        }
+        const results = await chatService.extractFromTranscripts(items);
+        res.status(200).json({ results });
+    } catch (error) {
+        console.error("Error in POST /extract:", error);
+        res.status(500).json({ error: "Internal Server Error during extraction" });
+    }
+};
+
 export const saveChat = async (req, res) => {
     try {
         const { visitId, messages, analysis, structuredData } = req.body;
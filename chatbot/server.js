@@ -3,8 +3,8 @@
  *
  * Overview:
  * - Express server providing endpoints to index visit transcripts into a vector store,
- *   chat with contextual retrieval, analyze conversations, translate responses, and
- *   persist chat sessions in MongoDB.
+ *   chat with contextual retrieval, analyze conversations, extract structured data from
+ *   transcripts in batches, translate responses, and persist chat sessions in MongoDB.
  *
  * Refactored to use Controller/Service pattern.
  */
@@ -32,6 +32,7 @@ app.use(
 app.post("/index", chatController.indexTranscript);
 app.post("/chat", chatController.chat);
 app.post("/analyze", chatController.analyze);
+app.post("/extract", chatController.extract);
 app.post("/save-chat", chatController.saveChat);
 app.get("/chat/visit/:visitId", chatController.getChatByVisitId);
 app.get("/chat/:chatId", chatController.getChatById);
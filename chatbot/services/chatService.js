@@ -160,6 +160,21 @@ class ChatService {
         }
     }
 
+    /**
+     * Extract structured data from a batch of visit transcripts. Items are
+     * extracted in parallel; a failed item gets an error instead of data, so
+     * the rest of the batch still succeeds.
+     */
+    async extractFromTranscripts(items) {
+        console.log(`📦 EXTRACTING: Batch of ${items.length} transcripts`);
+        const settled = await Promise.allSettled(items.map(item =>
+            this.extractStructuredData([{ role: "user", content: item.transcript }], item.visitId)));
+
+        return settled.map((outcome, i) => outcome.status === "fulfilled"
+            ? { id: items[i].id, structuredData: outcome.value }
+            : { id: items[i].id, error: outcome.reason?.message || "Extraction failed" });
+    }
+
     /**
      * Run an LLM-based classifier to decide if the VISIT ANALYSIS indicates a serious condition.
      */
@@ -7,37 +7,41 @@ import { Search, User } from 'lucide-react';
 import { useEffect, useState } from 'react';
 import { Link } from 'react-router-dom';
 import apiClient from '../api';
-import Loading from '../components/Loading';
 
 const AdminPatients = () => {
-    const [patients, setPatients] = useState([]);
-    const [loading, setLoading] = useState(true);
     const [error, setError] = useState('');
     const [searchTerm, setSearchTerm] = useState('');
+    const [suggestions, setSuggestions] = useState(null);
 
-    // --- Fetch Patients ---
-    const fetchPatients = async () => {
-        setLoading(true);
-        try {
-            const response = await apiClient.get('/admin/patients');
-            setPatients(response.data);
-        } catch (err) {
-            console.error("Failed to fetch patients:", err);
-            setError('Failed to load patient list.');
-        } finally {
-            setLoading(false);
-        }
-    };
-
+    // --- Search Patients (server-side typeahead, debounced) ---
+    // The directory is too large to list in full, so nothing is shown until the admin types
     useEffect(() => {
-        fetchPatients();
-    }, []);
+        const query = searchTerm.trim();
+        setSuggestions(null);
+        setError('');
+        if (!query) {
+            return;
+        }
+        let cancelled = false;
+        const timer = setTimeout(async () => {
+            try {
+                const response = await apiClient.get('/admin/search/patients', { params: { q: query, limit: 50 } });
+                if (!cancelled) setSuggestions(response.data);
+            } catch (err) {
+                console.error("Failed to search patients:", err);
+                if (!cancelled) setError('Failed to search patients.');
+            }
+        }, 150);
+        return () => {
+            cancelled = true;
+            clearTimeout(timer);
+        };
+    }, [searchTerm]);
 
-    // --- Filter Patients ---
-    const filteredPatients = patients.filter(patient =>
-        patient.fullName.toLowerCase().includes(searchTerm.toLowerCase()) ||
-        (patient.phoneNumber && patient.phoneNumber.includes(searchTerm))
-    );
+    const filteredPatients = suggestions ?? [];
+    const emptyMessage = !searchTerm.trim()
+        ? 'Type a name, phone number or address to find patients.'
+        : suggestions === null ? 'Searching...' : 'No patients found.';
 
     return (
         <div className="min-h-screen bg-gray-900 text-gray-200 p-6 md:p-8">
@@ -61,7 +65,7 @@ const AdminPatients = () => {
                     <Search className="absolute left-3 top-1/2 -translate-y-1/2 text-gray-500" size={18} />
                     <input
                         type="text"
-                        placeholder="Search patients by name or phone..."
+                        placeholder="Search patients by name, phone or address..."
                         value={searchTerm}
                         onChange={(e) => setSearchTerm(e.target.value)}
                         className="w-full bg-gray-900 border border-gray-600 text-white text-sm rounded-lg pl-10 pr-4 py-2 focus:ring-blue-500 focus:border-blue-500"
@@ -71,9 +75,7 @@ const AdminPatients = () => {
 
             {/* Patients Table */}
             <div className="bg-gray-800 border border-gray-700 rounded-2xl overflow-hidden shadow-lg">
-                {loading ? (
-                    <div className="p-8"><Loading text="Loading patients..." /></div>
-                ) : error ? (
+                {error ? (
                     <div className="p-8 text-center text-red-400">{error}</div>
                 ) : (
                     <table className="w-full text-left">
@@ -110,7 +112,7 @@ const AdminPatients = () => {
                             ))}
                             {filteredPatients.length === 0 && (
                                 <tr>
-                                    <td colSpan="6" className="px-6 py-8 text-center text-gray-500">No patients found.</td>
+                                    <td colSpan="7" className="px-6 py-8 text-center text-gray-500">{emptyMessage}</td>
                                 </tr>
                             )}
                         </tbody>
@@ -7,14 +7,12 @@ import { Plus, Search, Trash2, User, X } from 'lucide-react';
 import { useEffect, useState } from 'react';
 import { Link } from 'react-router-dom';
 import apiClient from '../api';
-import Loading from '../components/Loading';
 
 const AdminUsers = () => {
-  const [users, setUsers] = useState([]);
-  const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
   const [showModal, setShowModal] = useState(false);
   const [searchTerm, setSearchTerm] = useState('');
+  const [suggestions, setSuggestions] = useState(null);
 
   // Registration Form State
   const [formData, setFormData] = useState({
@@ -25,34 +23,40 @@ const AdminUsers = () => {
   const [registerLoading, setRegisterLoading] = useState(false);
   const [registerError, setRegisterError] = useState('');
 
-  // --- Fetch Users ---
-  const fetchUsers = async () => {
-    setLoading(true);
-    try {
-      const response = await apiClient.get('/admin/users');
-      setUsers(response.data);
-    } catch (err) {
-      console.error("Failed to fetch users:", err);
-      setError('Failed to load user list.');
-    } finally {
-      setLoading(false);
-    }
-  };
-
-  useEffect(() => {
-    fetchUsers();
-  }, []);
-
   // --- Handle Input Change ---
   const handleInputChange = (e) => {
     setFormData({ ...formData, [e.target.name]: e.target.value });
   };
 
-  // --- Filter Users ---
-  const filteredUsers = users.filter(user =>
-    user.fullName.toLowerCase().includes(searchTerm.toLowerCase()) ||
-    user.username.toLowerCase().includes(searchTerm.toLowerCase())
-  );
+  // --- Search Users (server-side typeahead, debounced) ---
+  // Nothing is listed until the admin types, so opening the page does not load every account
+  useEffect(() => {
+    const query = searchTerm.trim();
+    setSuggestions(null);
+    setError('');
+    if (!query) {
+      return;
+    }
+    let cancelled = false;
+    const timer = setTimeout(async () => {
+      try {
+        const response = await apiClient.get('/admin/search/users', { params: { q: query, limit: 50 } });
+        if (!cancelled) setSuggestions(response.data);
+      } catch (err) {
+        console.error("Failed to search users:", err);
+        if (!cancelled) setError('Failed to search users.');
+      }
+    }, 150);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [searchTerm]);
+
+  const filteredUsers = suggestions ?? [];
+  const emptyMessage = !searchTerm.trim()
+    ? 'Type a name or username to find users.'
+    : suggestions === null ? 'Searching...' : 'No users found.';
 
   // --- Handle Register Submit ---
   const handleRegister = async (e) => {
@@ -64,8 +68,8 @@ const AdminUsers = () => {
       // Calls the existing auth registration endpoint
       await apiClient.post('/auth/register', formData);
 
-      // Success: Refresh list, close modal, reset form
-      await fetchUsers();
+      // Success: Show the new user, close modal, reset form
+      setSearchTerm(formData.username);
       setShowModal(false);
       setFormData({ fullName: '', username: '', password: '' });
       alert("Asha Karmi registered successfully!");
@@ -115,9 +119,7 @@ const AdminUsers = () => {
 
       {/* Users Table */}
       <div className="bg-gray-800 border border-gray-700 rounded-2xl overflow-hidden shadow-lg">
-        {loading ? (
-          <div className="p-8"><Loading text="Loading users..." /></div>
-        ) : error ? (
+        {error ? (
           <div className="p-8 text-center text-red-400">{error}</div>
         ) : (
           <table className="w-full text-left">
@@ -158,7 +160,7 @@ const AdminUsers = () => {
               ))}
               {filteredUsers.length === 0 && (
                 <tr>
-                  <td colSpan="5" className="px-6 py-8 text-center text-gray-500">No users found.</td>
+                  <td colSpan="5" className="px-6 py-8 text-center text-gray-500">{emptyMessage}</td>
                 </tr>
               )}
             </tbody>
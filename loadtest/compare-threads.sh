@@ -0,0 +1,25 @@
+#!/usr/bin/env sh
+# Compares the backend on platform threads with the virtual-threads profile.
+# Runs the load test for each mode at increasing worker counts and prints the
+# workflow throughput and latency percentiles of every run; the throughput a
+# mode sustains at a given p99 is read off the last row still under it.
+# Options are passed through, e.g.:
+#   ./compare-threads.sh --duration=2m --whisper=latency=lognormal:2000:9000
+# The worker counts can be set with WORKERS="10 20 40 80 160 320".
+set -e
+cd "$(dirname "$0")"
+
+(cd ../backend && ./mvnw -B -q package -DskipTests)
+mvn -B -q package
+mkdir -p reports
+
+printf '%-9s %7s %-11s %8s %7s %8s %9s %9s %9s %9s %9s\n' \
+    threads workers step ok errors "per sec" "p50 ms" "p90 ms" "p95 ms" "p99 ms" "max ms"
+for threads in platform virtual; do
+    for workers in ${WORKERS:-10 20 40 80 160}; do
+        java -jar target/loadtest.jar --threads="$threads" --workers="$workers" \
+                --report="reports/threads-$threads-$workers.json" "$@" \
+            | grep '^workflow ' \
+            | xargs printf "%-9s %7s %-11s %8s %7s %8s %9s %9s %9s %9s %9s\n" "$threads" "$workers"
+    done
+done
@@ -0,0 +1,10 @@
+#!/usr/bin/env sh
+# Builds the backend and the load test, then runs the load test against a local
+# Postgres. Options are passed through, e.g.:
+#   ./run.sh --workers=50 --duration=5m --whisper=latency=lognormal:2000:9000,errors=0.05
+set -e
+cd "$(dirname "$0")"
+
+(cd ../backend && ./mvnw -B -q package -DskipTests)
+mvn -B -q package
+java -jar target/loadtest.jar "$@"
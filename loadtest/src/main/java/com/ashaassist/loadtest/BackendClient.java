@@ -0,0 +1,139 @@
+package com.ashaassist.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A minimal HTTP client for the backend endpoints used by the workflow.
+ */
+final class BackendClient {
+
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    BackendClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    /**
+     * Thrown when the backend answers with an unexpected status.
+     */
+    static final class StepFailedException extends IOException {
+        StepFailedException(String message) {
+            super(message);
+        }
+    }
+
+    boolean isUp() {
+        try {
+            HttpResponse<Void> response = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                    .timeout(Duration.ofSeconds(2))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{}"))
+                    .build(), HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() > 0;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    void register(String username, String password) throws IOException, InterruptedException {
+        // An existing account is fine: the test reuses accounts across runs.
+        postJson("/api/auth/register", null, Map.of("fullName", "Load Test " + username,
+                "username", username, "password", password));
+    }
+
+    String login(String username, String password) throws IOException, InterruptedException {
+        HttpResponse<String> response = postJson("/api/auth/login", null,
+                Map.of("username", username, "password", password));
+        expect(response, 200);
+        return objectMapper.readTree(response.body()).get("accessToken").asText();
+    }
+
+    long startVisit(String token, String phoneNumber) throws IOException, InterruptedException {
+        HttpResponse<String> response = postJson("/api/visits/start", token, Map.of(
+                "patientPhoneNumber", phoneNumber,
+                "fullName", "Patient " + phoneNumber.substring(phoneNumber.length() - 4),
+                "gender", "F",
+                "address", "Load test village",
+                "dateOfBirth", "1995-06-15"));
+        expect(response, 200);
+        return objectMapper.readTree(response.body()).get("id").asLong();
+    }
+
+    void verify(String token, long visitId, String otp) throws IOException, InterruptedException {
+        expect(postJson("/api/visits/verify", token, Map.of("visitId", visitId, "otp", otp)), 200);
+    }
+
+    void transcribe(String token, long visitId, byte[] audio) throws IOException, InterruptedException {
+        String boundary = "----loadtest" + UUID.randomUUID();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(audio.length + 256);
+        body.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"audioFile\"; filename=\"visit.webm\"\r\n"
+                + "Content-Type: audio/webm\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(audio);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(
+                URI.create(baseUrl + "/api/visits/" + visitId + "/transcribe"))
+                .timeout(Duration.ofSeconds(120))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        expect(response, 200);
+    }
+
+    void translate(String token, String text) throws IOException, InterruptedException {
+        expect(postJson("/api/translate", token, Map.of("text", text)), 200);
+    }
+
+    JsonNode viewVisit(String token, long visitId) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(
+                URI.create(baseUrl + "/api/visits/" + visitId))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofString());
+        expect(response, 200);
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpResponse<String> postJson(String path, String token, Object payload)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(payload)));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static void expect(HttpResponse<?> response, int status) throws StepFailedException {
+        if (response.statusCode() != status) {
+            throw new StepFailedException(response.request().uri().getPath() + " returned " + response.statusCode());
+        }
+    }
+}
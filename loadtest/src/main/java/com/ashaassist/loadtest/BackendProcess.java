@@ -0,0 +1,108 @@
+package com.ashaassist.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.ashaassist.loadtest.stub.AiServiceStub;
+import com.ashaassist.loadtest.stub.CollectorStub;
+import com.ashaassist.loadtest.stub.TranslateStub;
+import com.ashaassist.loadtest.stub.TwilioStub;
+import com.ashaassist.loadtest.stub.WhisperStub;
+
+/**
+ * Runs the backend jar as a child process with every external service pointed
+ * at the local stubs, in the {@code loadtest} profile of the backend.
+ */
+final class BackendProcess implements AutoCloseable {
+
+    static final String TWILIO_ACCOUNT_SID = "AC00000000000000000000000000000000";
+
+    private final Process process;
+    private final int port;
+
+    private BackendProcess(Process process, int port) {
+        this.process = process;
+        this.port = port;
+    }
+
+    static BackendProcess start(Options options, TwilioStub twilio, WhisperStub whisper, AiServiceStub ai,
+            TranslateStub translate, CollectorStub collector, File log) throws IOException {
+        File jar = new File(options.get("backend-jar"));
+        if (!jar.isFile()) {
+            throw new IOException("Backend jar not found: " + jar + " (build it with ./mvnw package in backend/)");
+        }
+        String threads = options.get("threads");
+        if (!threads.equals("platform") && !threads.equals("virtual")) {
+            throw new IllegalArgumentException("--threads must be platform or virtual but was: " + threads);
+        }
+        int port = freePort();
+
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.add("-jar");
+        command.add(jar.getPath());
+        command.add("--server.port=" + port);
+        command.add("--spring.profiles.active=loadtest" + (threads.equals("virtual") ? ",virtual-threads" : ""));
+        command.add("--spring.datasource.url=" + options.get("db-url"));
+        command.add("--spring.datasource.username=" + options.get("db-user"));
+        command.add("--spring.datasource.password=" + options.get("db-password"));
+        command.add("--app.jwt.secret=bG9hZHRlc3Qtc2VjcmV0LWtleS1ub3QtZm9yLXByb2R1Y3Rpb24tdXNlLTAxMjM0NTY=");
+        command.add("--google.project.id=loadtest");
+        command.add("--app.translate.endpoint=" + translate.endpoint());
+        command.add("--twilio.account-sid=" + TWILIO_ACCOUNT_SID);
+        command.add("--twilio.auth-token=loadtest");
+        command.add("--twilio.phone-number=+15005550006");
+        command.add("--twilio.api-base-url=" + twilio.baseUrl());
+        command.add("--whisper.api.url=" + whisper.transcribeUrl());
+        command.add("--ai.service.url=" + ai.baseUrl());
+        command.add("--management.otlp.tracing.endpoint=" + collector.tracesEndpoint());
+        command.add("--management.tracing.sampling.probability=" + options.get("trace-sampling"));
+        for (String arg : options.get("backend-args").split("\\s+")) {
+            if (!arg.isBlank()) {
+                command.add(arg);
+            }
+        }
+
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+        return new BackendProcess(process, port);
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + port;
+    }
+
+    void awaitReady(BackendClient client, Duration timeout) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!client.isUp()) {
+            if (!process.isAlive()) {
+                throw new IOException("Backend exited with status " + process.exitValue() + ", see the backend log");
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IOException("Backend did not start within " + timeout);
+            }
+            Thread.sleep(500);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+}
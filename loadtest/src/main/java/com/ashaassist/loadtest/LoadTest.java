@@ -0,0 +1,225 @@
+package com.ashaassist.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.ashaassist.loadtest.stub.AiServiceStub;
+import com.ashaassist.loadtest.stub.CollectorStub;
+import com.ashaassist.loadtest.stub.StubBehavior;
+import com.ashaassist.loadtest.stub.TranslateStub;
+import com.ashaassist.loadtest.stub.TwilioStub;
+import com.ashaassist.loadtest.stub.WhisperStub;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * End-to-end load test of the visit workflow.
+ * <p>
+ * Starts local stand-ins for Twilio, Whisper, the AI service, Google
+ * Translate and an OTLP trace collector, launches the backend against a local Postgres with every external
+ * service pointed at them, and drives concurrent visit workflows: login, start
+ * visit, verify with the OTP captured by the Twilio stub, transcribe, translate
+ * and view. After a warm-up, throughput and latency percentiles per step are
+ * printed and written as JSON to {@code reports/}.
+ * <p>
+ * Run {@code java -jar target/loadtest.jar --help} for the options.
+ */
+public final class LoadTest {
+
+    private static final String PASSWORD = "loadtest-password";
+
+    private static final List<String> PHRASES = List.of(
+            "Mujhe teen din se bukhar hai.",
+            "बच्चे को खांसी और जुकाम है।",
+            "Pet mein dard ho raha hai aur ulti aa rahi hai.",
+            "मेरी दवाई खत्म हो गई है।",
+            "Usko chakkar aate hain aur kamzori lagti hai.",
+            "The patient feels better today.",
+            "पैरों में सूजन है।",
+            "Bacche ka teeka kab lagega?");
+
+    private final Options options;
+    private final TwilioStub twilio;
+    private final BackendClient client;
+    private final List<StepStats> steps = new ArrayList<>();
+    private final StepStats login = step("login");
+    private final StepStats start = step("start");
+    private final StepStats verify = step("verify");
+    private final StepStats transcribe = step("transcribe");
+    private final StepStats translate = step("translate");
+    private final StepStats view = step("view");
+    private final StepStats workflow = step("workflow");
+    private final AtomicLong phoneSequence = new AtomicLong(ThreadLocalRandom.current().nextLong(10_000_000L));
+    private final byte[] audio;
+
+    private LoadTest(Options options, TwilioStub twilio, BackendClient client) {
+        this.options = options;
+        this.twilio = twilio;
+        this.client = client;
+        this.audio = new byte[options.getInt("audio-kb") * 1024];
+        ThreadLocalRandom.current().nextBytes(audio);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args);
+        Path reports = Files.createDirectories(Path.of("reports"));
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+
+        try (TwilioStub twilio = new TwilioStub(StubBehavior.parse(options.get("twilio")));
+                WhisperStub whisper = new WhisperStub(StubBehavior.parse(options.get("whisper")),
+                        options.getInt("transcript-sentences"));
+                AiServiceStub ai = new AiServiceStub(StubBehavior.parse(options.get("ai")));
+                TranslateStub translate = new TranslateStub(StubBehavior.parse(options.get("translate")));
+                CollectorStub collector = new CollectorStub(StubBehavior.parse(options.get("collector")))) {
+
+            File log = reports.resolve("backend-" + timestamp + ".log").toFile();
+            System.out.println("Starting backend, log: " + log);
+            try (BackendProcess backend = BackendProcess.start(options, twilio, whisper, ai, translate, collector,
+                    log)) {
+                BackendClient client = new BackendClient(backend.baseUrl());
+                backend.awaitReady(client, Duration.ofMinutes(3));
+
+                Map<String, Object> report = new LoadTest(options, twilio, client).run();
+                report.put("stubs", List.of(twilio.summary(), whisper.summary(), ai.summary(), translate.summary(),
+                        collector.summary()));
+
+                String reportFile = options.get("report").isBlank()
+                        ? reports.resolve("loadtest-" + timestamp + ".json").toString()
+                        : options.get("report");
+                new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(new File(reportFile), report);
+
+                System.out.println();
+                System.out.println(twilio.summary());
+                System.out.println(whisper.summary());
+                System.out.println(ai.summary());
+                System.out.println(translate.summary());
+                System.out.println(collector.summary());
+                System.out.println("Report written to " + reportFile);
+            }
+        }
+    }
+
+    private Map<String, Object> run() throws IOException, InterruptedException {
+        int users = options.getInt("users");
+        for (int i = 0; i < users; i++) {
+            client.register(username(i), PASSWORD);
+        }
+
+        Duration warmup = options.getDuration("warmup");
+        Duration duration = options.getDuration("duration");
+        int workers = options.getInt("workers");
+        long stopAt = System.nanoTime() + warmup.plus(duration).toNanos();
+        System.out.printf("Running %d workers for %s after %s warm-up against %s threads%n", workers, duration,
+                warmup, options.get("threads"));
+
+        List<Thread> threads = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            String username = username(i % users);
+            threads.add(Thread.ofVirtual().name("worker-" + i).start(() -> {
+                while (System.nanoTime() < stopAt) {
+                    runWorkflow(username);
+                }
+            }));
+        }
+
+        Thread.sleep(warmup.toMillis());
+        steps.forEach(StepStats::reset);
+        long measureStart = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - measureStart) / 1e9;
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("threads", options.get("threads"));
+        report.put("workers", workers);
+        report.put("durationSeconds", Math.round(seconds));
+        List<Map<String, Object>> summaries = new ArrayList<>();
+        System.out.println();
+        System.out.printf("%-11s %8s %7s %8s %9s %9s %9s %9s %9s%n",
+                "step", "ok", "errors", "per sec", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "max ms");
+        for (StepStats step : steps) {
+            Map<String, Object> summary = step.summary(seconds);
+            summaries.add(summary);
+            System.out.printf("%-11s %8s %7s %8s %9s %9s %9s %9s %9s%n", summary.get("step"), summary.get("ok"),
+                    summary.get("errors"), summary.get("throughputPerSecond"), summary.get("p50Ms"),
+                    summary.get("p90Ms"), summary.get("p95Ms"), summary.get("p99Ms"), summary.get("maxMs"));
+        }
+        report.put("steps", summaries);
+        return report;
+    }
+
+    /**
+     * Runs one visit workflow. A failed step ends the workflow; it is counted
+     * as an error of that step and of the workflow.
+     */
+    private void runWorkflow(String username) {
+        long workflowStart = System.nanoTime();
+        try {
+            String token = timed(login, () -> client.login(username, PASSWORD));
+            String phoneNumber = String.format("+9190%08d", phoneSequence.incrementAndGet() % 100_000_000L);
+            long visitId = timed(start, () -> client.startVisit(token, phoneNumber));
+            timed(verify, () -> {
+                String otp = twilio.takeOtp(phoneNumber);
+                if (otp == null) {
+                    throw new IOException("No OTP captured for " + phoneNumber);
+                }
+                client.verify(token, visitId, otp);
+                return null;
+            });
+            timed(transcribe, () -> {
+                client.transcribe(token, visitId, audio);
+                return null;
+            });
+            for (int i = 0; i < options.getInt("translations-per-visit"); i++) {
+                String phrase = PHRASES.get(ThreadLocalRandom.current().nextInt(PHRASES.size()));
+                timed(translate, () -> {
+                    client.translate(token, phrase);
+                    return null;
+                });
+            }
+            timed(view, () -> client.viewVisit(token, visitId));
+            workflow.record(System.nanoTime() - workflowStart, true);
+        } catch (Exception e) {
+            workflow.record(System.nanoTime() - workflowStart, false);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Step<T> {
+        T call() throws IOException, InterruptedException;
+    }
+
+    private static <T> T timed(StepStats stats, Step<T> step) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        try {
+            T result = step.call();
+            stats.record(System.nanoTime() - start, true);
+            return result;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            stats.record(System.nanoTime() - start, false);
+            throw e;
+        }
+    }
+
+    private StepStats step(String name) {
+        StepStats stats = new StepStats(name);
+        steps.add(stats);
+        return stats;
+    }
+
+    private static String username(int index) {
+        return "loadtest" + index;
+    }
+}
@@ -0,0 +1,82 @@
+package com.ashaassist.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options of the load test, given as {@code --name=value}.
+ */
+final class Options {
+
+    private static final Map<String, String> DEFAULTS = Map.ofEntries(
+            Map.entry("backend-jar", "../backend/target/backend-0.0.1-SNAPSHOT-exec.jar"),
+            Map.entry("backend-args", ""),
+            Map.entry("threads", "platform"),
+            Map.entry("db-url", "jdbc:postgresql://localhost:5432/ashaassist_loadtest"),
+            Map.entry("db-user", "postgres"),
+            Map.entry("db-password", "postgres"),
+            Map.entry("users", "10"),
+            Map.entry("workers", "20"),
+            Map.entry("warmup", "15s"),
+            Map.entry("duration", "60s"),
+            Map.entry("audio-kb", "256"),
+            Map.entry("translations-per-visit", "3"),
+            Map.entry("transcript-sentences", "40"),
+            Map.entry("twilio", "latency=lognormal:120:600"),
+            Map.entry("whisper", "latency=lognormal:1500:6000,errors=0.01"),
+            Map.entry("ai", "latency=lognormal:80:400"),
+            Map.entry("translate", "latency=lognormal:90:450"),
+            Map.entry("collector", "latency=fixed:2"),
+            Map.entry("trace-sampling", "1.0"),
+            Map.entry("report", ""));
+
+    private final Map<String, String> values = new HashMap<>(DEFAULTS);
+
+    Options(String[] args) {
+        for (String arg : args) {
+            if (arg.equals("--help")) {
+                printUsage();
+                System.exit(0);
+            }
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            if (!DEFAULTS.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown option: " + name);
+            }
+            values.put(name, arg.substring(arg.indexOf('=') + 1));
+        }
+    }
+
+    String get(String name) {
+        return values.get(name);
+    }
+
+    int getInt(String name) {
+        return Integer.parseInt(values.get(name));
+    }
+
+    Duration getDuration(String name) {
+        String value = values.get(name);
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value.endsWith("s") ? value.substring(0, value.length() - 1) : value));
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage: java -jar target/loadtest.jar [--name=value ...]");
+        System.out.println();
+        System.out.println("The backend jar is started against --db-url with all external services pointed at");
+        System.out.println("the stubs. Stub behaviour is given as");
+        System.out.println("latency=fixed:MS|uniform:MIN:MAX|lognormal:MEDIAN:P99,errors=RATE,status=CODE");
+        System.out.println();
+        DEFAULTS.keySet().stream().sorted().forEach(name ->
+                System.out.printf("  --%-24s default: %s%n", name, DEFAULTS.get(name)));
+    }
+}
@@ -0,0 +1,95 @@
+package com.ashaassist.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Collects the latencies and errors of one workflow step.
+ */
+final class StepStats {
+
+    private final String name;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long[] latencies = new long[1024];
+    private int count;
+    private long errors;
+
+    StepStats(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    void record(long nanos, boolean success) {
+        lock.lock();
+        try {
+            if (!success) {
+                errors++;
+                return;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void reset() {
+        lock.lock();
+        try {
+            count = 0;
+            errors = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Summarises the recorded step executions.
+     *
+     * @param seconds the length of the measurement window.
+     * @return the summary, with latencies in milliseconds.
+     */
+    Map<String, Object> summary(double seconds) {
+        long[] sorted;
+        long errorCount;
+        lock.lock();
+        try {
+            sorted = Arrays.copyOf(latencies, count);
+            errorCount = errors;
+        } finally {
+            lock.unlock();
+        }
+        Arrays.sort(sorted);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("step", name);
+        summary.put("ok", sorted.length);
+        summary.put("errors", errorCount);
+        summary.put("throughputPerSecond", round(sorted.length / seconds));
+        summary.put("p50Ms", percentile(sorted, 0.50));
+        summary.put("p90Ms", percentile(sorted, 0.90));
+        summary.put("p95Ms", percentile(sorted, 0.95));
+        summary.put("p99Ms", percentile(sorted, 0.99));
+        summary.put("maxMs", sorted.length == 0 ? 0.0 : round(sorted[sorted.length - 1] / 1e6));
+        return summary;
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return round(sorted[Math.max(0, index)] / 1e6);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
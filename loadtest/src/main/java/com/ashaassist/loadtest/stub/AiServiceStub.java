@@ -0,0 +1,50 @@
+package com.ashaassist.loadtest.stub;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.sun.net.httpserver.HttpExchange;
+
+/**
+ * Stands in for the AI service configured as {@code ai.service.url}. It accepts
+ * {@code /index} requests and acknowledges them, and answers {@code /extract}
+ * batches with the same canned structured data for every item.
+ */
+public class AiServiceStub extends HttpStub {
+
+    private static final Pattern ITEM_ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final String STRUCTURED_DATA = "{\"main_complaint\":\"fever\","
+            + "\"all_symptoms\":[{\"symptom\":\"fever\",\"severity\":\"moderate\",\"value\":\"yes\"}],"
+            + "\"duration_mentioned\":\"2 days\",\"medications_mentioned\":[],"
+            + "\"potential_conditions_mentioned\":[]}";
+
+    public AiServiceStub(StubBehavior behavior) throws IOException {
+        super("ai", "/", behavior);
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange) throws IOException {
+        String body = readBody(exchange);
+        switch (exchange.getRequestURI().getPath()) {
+            case "/index" -> respond(exchange, 200, "application/json", "{\"message\":\"Transcript indexed\"}");
+            case "/extract" -> respond(exchange, 200, "application/json", extractResponse(body));
+            default -> respond(exchange, 404, "application/json", "{\"error\":\"Not found\"}");
+        }
+    }
+
+    private static String extractResponse(String body) {
+        StringBuilder results = new StringBuilder("{\"results\":[");
+        Matcher matcher = ITEM_ID.matcher(body);
+        boolean first = true;
+        while (matcher.find()) {
+            if (!first) {
+                results.append(',');
+            }
+            first = false;
+            results.append("{\"id\":").append(matcher.group(1))
+                    .append(",\"structuredData\":").append(STRUCTURED_DATA).append('}');
+        }
+        return results.append("]}").toString();
+    }
+}
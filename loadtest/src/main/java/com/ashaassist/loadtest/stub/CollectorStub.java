@@ -0,0 +1,44 @@
+package com.ashaassist.loadtest.stub;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sun.net.httpserver.HttpExchange;
+
+/**
+ * Stands in for an OpenTelemetry collector receiving OTLP/HTTP trace exports
+ * on {@code /v1/traces}. Exports are acknowledged with an empty
+ * {@code ExportTraceServiceResponse} and only their volume is recorded.
+ */
+public class CollectorStub extends HttpStub {
+
+    private final AtomicLong exportedBytes = new AtomicLong();
+
+    public CollectorStub(StubBehavior behavior) throws IOException {
+        super("collector", "/v1/traces", behavior);
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            exportedBytes.addAndGet(in.readAllBytes().length);
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/x-protobuf");
+        exchange.sendResponseHeaders(200, -1);
+    }
+
+    /**
+     * Returns the OTLP endpoint to configure in the backend.
+     *
+     * @return the traces endpoint URL.
+     */
+    public String tracesEndpoint() {
+        return baseUrl() + "/v1/traces";
+    }
+
+    @Override
+    public String summary() {
+        return super.summary() + String.format("  %d KiB exported", exportedBytes.get() / 1024);
+    }
+}
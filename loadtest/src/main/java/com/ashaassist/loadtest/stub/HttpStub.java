@@ -0,0 +1,102 @@
+package com.ashaassist.loadtest.stub;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Base class of the HTTP stand-ins. Each stub runs its own
+ * {@link HttpServer} on an ephemeral port, handles every request on a virtual
+ * thread and applies its {@link StubBehavior} before answering. Requests
+ * carrying a W3C {@code traceparent} header are counted, so the summary shows
+ * whether the backend propagated its trace context.
+ */
+public abstract class HttpStub implements AutoCloseable {
+
+    private final String name;
+    private final StubBehavior behavior;
+    private final HttpServer server;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong traced = new AtomicLong();
+
+    protected HttpStub(String name, String path, StubBehavior behavior) throws IOException {
+        this.name = name;
+        this.behavior = behavior;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext(path, this::dispatch);
+        this.server.start();
+    }
+
+    /**
+     * Handles a request that was not chosen to fail.
+     *
+     * @param exchange the exchange; the request body has not been read yet.
+     * @throws IOException if the exchange fails.
+     */
+    protected abstract void handle(HttpExchange exchange) throws IOException;
+
+    private void dispatch(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            if (exchange.getRequestHeaders().containsKey("traceparent")) {
+                traced.incrementAndGet();
+            }
+            if (behavior.delayAndDecideFailure()) {
+                failures.incrementAndGet();
+                exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+                respond(exchange, behavior.errorStatus(), "text/plain", "stubbed failure");
+                return;
+            }
+            handle(exchange);
+        }
+    }
+
+    protected static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    protected static void respond(HttpExchange exchange, int status, String contentType, String body)
+            throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Returns the base URL of the stub, e.g. {@code http://127.0.0.1:41234}.
+     *
+     * @return the base URL.
+     */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Returns a one-line summary of the traffic the stub received.
+     *
+     * @return the summary.
+     */
+    public String summary() {
+        return String.format("%-10s %8d requests %8d traced %6d injected failures  [%s]", name, requests.get(),
+                traced.get(), failures.get(), behavior);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,79 @@
+package com.ashaassist.loadtest.stub;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A distribution of response latencies in milliseconds.
+ * <p>
+ * Parsed from one of:
+ * <ul>
+ * <li>{@code fixed:MS}</li>
+ * <li>{@code uniform:MIN_MS:MAX_MS}</li>
+ * <li>{@code lognormal:MEDIAN_MS:P99_MS}, a long-tailed distribution with the
+ * given median and 99th percentile</li>
+ * </ul>
+ */
+public final class LatencyDistribution {
+
+    private static final double Z_99 = 2.326;
+
+    private final String kind;
+    private final double first;
+    private final double second;
+
+    private LatencyDistribution(String kind, double first, double second) {
+        this.kind = kind;
+        this.first = first;
+        this.second = second;
+    }
+
+    /**
+     * Parses a distribution specification.
+     *
+     * @param spec the specification, e.g. {@code lognormal:150:900}.
+     * @return the distribution.
+     */
+    public static LatencyDistribution parse(String spec) {
+        String[] parts = spec.split(":");
+        switch (parts[0]) {
+            case "fixed":
+                return new LatencyDistribution("fixed", Double.parseDouble(parts[1]), 0);
+            case "uniform":
+                return new LatencyDistribution("uniform", Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+            case "lognormal":
+                double median = Double.parseDouble(parts[1]);
+                double p99 = Double.parseDouble(parts[2]);
+                if (median <= 0 || p99 < median) {
+                    throw new IllegalArgumentException("lognormal needs 0 < median <= p99: " + spec);
+                }
+                double mu = Math.log(median);
+                return new LatencyDistribution("lognormal", mu, (Math.log(p99) - mu) / Z_99);
+            default:
+                throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+        }
+    }
+
+    /**
+     * Draws a latency.
+     *
+     * @return the latency in milliseconds.
+     */
+    public long sample() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (kind) {
+            case "fixed" -> (long) first;
+            case "uniform" -> (long) (first + random.nextDouble() * (second - first));
+            default -> (long) Math.exp(first + second * random.nextGaussian());
+        };
+    }
+
+    @Override
+    public String toString() {
+        return switch (kind) {
+            case "fixed" -> "fixed " + (long) first + "ms";
+            case "uniform" -> "uniform " + (long) first + "-" + (long) second + "ms";
+            default -> "lognormal median " + Math.round(Math.exp(first)) + "ms p99 "
+                    + Math.round(Math.exp(first + Z_99 * second)) + "ms";
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package com.ashaassist.loadtest.stub;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The latency and error behaviour of a stub service.
+ * <p>
+ * Parsed from a comma-separated specification such as
+ * {@code latency=lognormal:150:900,errors=0.02,status=503}. Omitted keys default
+ * to no latency and no errors.
+ *
+ * @param latency     the latency distribution.
+ * @param errorRate   the share of requests that fail, between 0 and 1.
+ * @param errorStatus the HTTP status (or gRPC {@code UNAVAILABLE}) returned for failed requests.
+ */
+public record StubBehavior(LatencyDistribution latency, double errorRate, int errorStatus) {
+
+    /**
+     * Parses a behaviour specification.
+     *
+     * @param spec the specification, may be {@code null} or empty.
+     * @return the behaviour.
+     */
+    public static StubBehavior parse(String spec) {
+        LatencyDistribution latency = LatencyDistribution.parse("fixed:0");
+        double errorRate = 0;
+        int errorStatus = 503;
+        if (spec != null && !spec.isBlank()) {
+            for (String part : spec.split(",")) {
+                String[] keyValue = part.split("=", 2);
+                switch (keyValue[0].trim()) {
+                    case "latency" -> latency = LatencyDistribution.parse(keyValue[1].trim());
+                    case "errors" -> errorRate = Double.parseDouble(keyValue[1].trim());
+                    case "status" -> errorStatus = Integer.parseInt(keyValue[1].trim());
+                    default -> throw new IllegalArgumentException("Unknown stub setting: " + part);
+                }
+            }
+        }
+        return new StubBehavior(latency, errorRate, errorStatus);
+    }
+
+    /**
+     * Waits for a sampled latency and decides whether the request fails.
+     *
+     * @return {@code true} if the request should fail.
+     */
+    public boolean delayAndDecideFailure() {
+        long millis = latency.sample();
+        if (millis > 0) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return ThreadLocalRandom.current().nextDouble() < errorRate;
+    }
+
+    @Override
+    public String toString() {
+        return latency + ", " + Math.round(errorRate * 1000) / 10.0 + "% errors (" + errorStatus + ")";
+    }
+}
@@ -0,0 +1,86 @@
+package com.ashaassist.loadtest.stub;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.cloud.translate.v3.TranslateTextRequest;
+import com.google.cloud.translate.v3.TranslateTextResponse;
+import com.google.cloud.translate.v3.Translation;
+import com.google.cloud.translate.v3.TranslationServiceGrpc;
+
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.StreamObserver;
+
+/**
+ * Stands in for the Google Cloud Translation v3 gRPC API. The backend reaches
+ * it through {@code app.translate.endpoint} with
+ * {@code app.translate.plaintext=true}. Each content is "translated" by
+ * prefixing it with the target language, and reported as detected Hindi.
+ */
+public class TranslateStub implements AutoCloseable {
+
+    private final StubBehavior behavior;
+    private final Server server;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    public TranslateStub(StubBehavior behavior) throws IOException {
+        this.behavior = behavior;
+        this.server = NettyServerBuilder.forAddress(new InetSocketAddress("127.0.0.1", 0))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .addService(new Service())
+                .build()
+                .start();
+    }
+
+    private final class Service extends TranslationServiceGrpc.TranslationServiceImplBase {
+
+        @Override
+        public void translateText(TranslateTextRequest request, StreamObserver<TranslateTextResponse> observer) {
+            requests.incrementAndGet();
+            if (behavior.delayAndDecideFailure()) {
+                failures.incrementAndGet();
+                observer.onError(Status.UNAVAILABLE.withDescription("stubbed failure").asRuntimeException());
+                return;
+            }
+            TranslateTextResponse.Builder response = TranslateTextResponse.newBuilder();
+            for (String content : request.getContentsList()) {
+                response.addTranslations(Translation.newBuilder()
+                        .setTranslatedText("[" + request.getTargetLanguageCode() + "] " + content)
+                        .setDetectedLanguageCode(request.getSourceLanguageCode().isEmpty()
+                                ? "hi"
+                                : request.getSourceLanguageCode()));
+            }
+            observer.onNext(response.build());
+            observer.onCompleted();
+        }
+    }
+
+    /**
+     * Returns the endpoint to configure as {@code app.translate.endpoint}.
+     *
+     * @return the endpoint as {@code host:port}.
+     */
+    public String endpoint() {
+        return "127.0.0.1:" + server.getPort();
+    }
+
+    /**
+     * Returns a one-line summary of the traffic the stub received.
+     *
+     * @return the summary.
+     */
+    public String summary() {
+        return String.format("%-10s %8d requests %6d injected failures  [%s]", "translate", requests.get(),
+                failures.get(), behavior);
+    }
+
+    @Override
+    public void close() {
+        server.shutdownNow();
+    }
+}
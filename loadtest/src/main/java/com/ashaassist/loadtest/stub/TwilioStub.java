@@ -0,0 +1,78 @@
+package com.ashaassist.loadtest.stub;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+
+/**
+ * Stands in for the Twilio Messages API. Every OTP sent by the backend is
+ * captured by recipient, so the load test can complete the verification step.
+ * The backend reaches it through {@code twilio.api-base-url}.
+ */
+public class TwilioStub extends HttpStub {
+
+    private static final Pattern OTP = Pattern.compile("\\b(\\d{6})\\b");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, String> otpByRecipient = new ConcurrentHashMap<>();
+
+    public TwilioStub(StubBehavior behavior) throws IOException {
+        super("twilio", "/2010-04-01/Accounts/", behavior);
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod()) || !exchange.getRequestURI().getPath().endsWith("/Messages.json")) {
+            readBody(exchange);
+            respond(exchange, 404, "application/json", "{\"code\":20404,\"message\":\"Not found\",\"status\":404}");
+            return;
+        }
+        Map<String, String> form = parseForm(readBody(exchange));
+        String to = form.getOrDefault("To", "");
+        Matcher matcher = OTP.matcher(form.getOrDefault("Body", ""));
+        if (matcher.find()) {
+            otpByRecipient.put(to, matcher.group(1));
+        }
+
+        Map<String, Object> message = new HashMap<>();
+        message.put("sid", "SM" + UUID.randomUUID().toString().replace("-", ""));
+        message.put("to", to);
+        message.put("from", form.get("From"));
+        message.put("body", form.get("Body"));
+        message.put("status", "queued");
+        message.put("num_segments", "1");
+        message.put("direction", "outbound-api");
+        respond(exchange, 201, "application/json", objectMapper.writeValueAsString(message));
+    }
+
+    /**
+     * Returns and forgets the last OTP sent to the given phone number.
+     *
+     * @param phoneNumber the recipient, in E.164 format.
+     * @return the OTP, or {@code null} if none was sent.
+     */
+    public String takeOtp(String phoneNumber) {
+        return otpByRecipient.remove(phoneNumber);
+    }
+
+    private static Map<String, String> parseForm(String body) {
+        Map<String, String> form = new HashMap<>();
+        for (String pair : body.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                form.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return form;
+    }
+}
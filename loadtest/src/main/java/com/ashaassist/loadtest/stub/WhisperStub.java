@@ -0,0 +1,63 @@
+package com.ashaassist.loadtest.stub;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+
+/**
+ * Stands in for the Whisper transcription service configured as
+ * {@code whisper.api.url}. It drains the uploaded audio and answers with a
+ * mixed Hindi and English transcript of configurable length, with one timed
+ * segment per sentence.
+ */
+public class WhisperStub extends HttpStub {
+
+    private static final String SENTENCE =
+            "Mujhe teen din se bukhar hai aur sir mein dard ho raha hai, the patient also reports body ache. ";
+
+    private final byte[] response;
+
+    public WhisperStub(StubBehavior behavior, int transcriptSentences) throws IOException {
+        super("whisper", "/", behavior);
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("transcription", SENTENCE.repeat(transcriptSentences).strip())
+                .put("language", "hi")
+                .put("duration", transcriptSentences * 6.5);
+        ArrayNode segments = body.putArray("segments");
+        for (int i = 0; i < transcriptSentences; i++) {
+            segments.addObject()
+                    .put("id", i)
+                    .put("start", i * 6.5)
+                    .put("end", (i + 1) * 6.5)
+                    .put("text", SENTENCE.strip());
+        }
+        this.response = objectMapper.writeValueAsBytes(body);
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+
+    /**
+     * Returns the URL to configure as {@code whisper.api.url}.
+     *
+     * @return the transcription URL.
+     */
+    public String transcribeUrl() {
+        return baseUrl() + "/transcribe";
+    }
+}